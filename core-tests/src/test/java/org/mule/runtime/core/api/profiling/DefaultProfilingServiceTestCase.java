@@ -23,6 +23,8 @@ import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +40,7 @@ import org.mule.runtime.api.profiling.ProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.api.profiling.ProfilingDataConsumer;
 import org.mule.runtime.api.profiling.ProfilingDataProducer;
 import org.mule.runtime.api.profiling.ProfilingEventContext;
+import org.mule.runtime.api.profiling.tracing.ExecutionContext;
 import org.mule.runtime.api.profiling.type.ProfilingEventType;
 import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
 import org.mule.runtime.api.profiling.type.context.ExtensionProfilingEventContext;
@@ -57,6 +60,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -70,6 +74,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import reactor.core.publisher.Flux;
 
 @Feature(PROFILING)
 @Story(DEFAULT_PROFILING_SERVICE)
@@ -180,6 +185,47 @@ public class DefaultProfilingServiceTestCase extends AbstractMuleContextTestCase
     verify(notificationManager).fireNotification(any(ProfilingNotification.class));
   }
 
+  @Test
+  @Description("The execution context is only set while the item is processed downstream, and the previous one is restored")
+  public void executionContextSetOnlyWhileProcessing() {
+    ExecutionContext outerExecutionContext = mock(ExecutionContext.class);
+    ExecutionContext executionContext = mock(ExecutionContext.class);
+    AtomicReference<ExecutionContext> processingExecutionContext = new AtomicReference<>();
+    profilingService.getTracingService().deleteCurrentExecutionContext();
+
+    profilingService.setCurrentExecutionContext(Flux.just(1), i -> executionContext)
+        .doOnNext(i -> processingExecutionContext.set(profilingService.getTracingService().getCurrentExecutionContext()))
+        .blockLast();
+    assertThat(processingExecutionContext.get(), is(sameInstance(executionContext)));
+    assertThat(profilingService.getTracingService().getCurrentExecutionContext(), is(nullValue()));
+
+    profilingService.getTracingService().setCurrentExecutionContext(outerExecutionContext);
+    try {
+      profilingService.setCurrentExecutionContext(Flux.just(1), i -> executionContext).blockLast();
+      assertThat(profilingService.getTracingService().getCurrentExecutionContext(), is(sameInstance(outerExecutionContext)));
+    } finally {
+      profilingService.getTracingService().deleteCurrentExecutionContext();
+    }
+  }
+
+  @Test
+  @Description("A null execution context leaves the thread without context while the item is processed downstream")
+  public void nullExecutionContextClearedWhileProcessing() {
+    ExecutionContext outerExecutionContext = mock(ExecutionContext.class);
+    AtomicReference<ExecutionContext> processingExecutionContext = new AtomicReference<>(outerExecutionContext);
+
+    profilingService.getTracingService().setCurrentExecutionContext(outerExecutionContext);
+    try {
+      profilingService.setCurrentExecutionContext(Flux.just(1), i -> null)
+          .doOnNext(i -> processingExecutionContext.set(profilingService.getTracingService().getCurrentExecutionContext()))
+          .blockLast();
+      assertThat(processingExecutionContext.get(), is(nullValue()));
+      assertThat(profilingService.getTracingService().getCurrentExecutionContext(), is(sameInstance(outerExecutionContext)));
+    } finally {
+      profilingService.getTracingService().deleteCurrentExecutionContext();
+    }
+  }
+
   /**
    * Stub for a {@link ProfilingDataConsumerDiscoveryStrategy}.
    */
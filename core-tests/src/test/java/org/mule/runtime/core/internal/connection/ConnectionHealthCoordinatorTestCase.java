@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.State.CLOSED;
+import static org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.State.HALF_OPEN;
+import static org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.State.OPEN;
+
+import org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.Permit;
+import org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.StateListener;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ConnectionHealthCoordinatorTestCase extends AbstractMuleTestCase {
+
+  private static final String CONFIG_NAME = "config";
+  private static final int THRESHOLD = 3;
+  private static final long BACKOFF = 100;
+  private static final long MAX_BACKOFF = 1000;
+
+  private final AtomicLong clock = new AtomicLong(0);
+  private StateListener listener;
+  private ConnectionHealthCoordinator coordinator;
+
+  @Before
+  public void before() {
+    listener = mock(StateListener.class);
+    coordinator = new ConnectionHealthCoordinator(CONFIG_NAME, THRESHOLD, BACKOFF, MAX_BACKOFF, 0, listener, clock::get);
+  }
+
+  @Test
+  public void opensAfterThreshold() throws Exception {
+    failTimes(THRESHOLD - 1);
+    assertThat(coordinator.getState(), is(CLOSED));
+
+    coordinator.onFailure(coordinator.acquirePermission());
+    assertThat(coordinator.getState(), is(OPEN));
+    assertThat(coordinator.getCircuitState(), is("OPEN"));
+    assertThat(coordinator.getOpenings(), is(1L));
+    verify(listener).onStateChange(coordinator, CLOSED, OPEN);
+  }
+
+  @Test
+  public void successResetsFailureCount() throws Exception {
+    failTimes(THRESHOLD - 1);
+    coordinator.onSuccess(coordinator.acquirePermission());
+    failTimes(THRESHOLD - 1);
+
+    assertThat(coordinator.getState(), is(CLOSED));
+  }
+
+  @Test
+  public void failsFastWhileOpen() {
+    failTimes(THRESHOLD);
+
+    assertRejected();
+    assertRejected();
+    assertThat(coordinator.getRejections(), is(2L));
+  }
+
+  @Test
+  public void singleProbeWhenHalfOpen() throws Exception {
+    failTimes(THRESHOLD);
+    clock.addAndGet(BACKOFF);
+
+    Permit probe = coordinator.acquirePermission();
+    assertThat(probe.isProbe(), is(true));
+    assertThat(coordinator.getState(), is(HALF_OPEN));
+    assertRejected();
+
+    coordinator.onSuccess(probe);
+    assertThat(coordinator.getState(), is(CLOSED));
+    verify(listener).onStateChange(coordinator, OPEN, HALF_OPEN);
+    verify(listener).onStateChange(coordinator, HALF_OPEN, CLOSED);
+    assertThat(coordinator.acquirePermission().isProbe(), is(false));
+  }
+
+  @Test
+  public void failedProbeReopensWithLongerBackoff() throws Exception {
+    failTimes(THRESHOLD);
+    clock.addAndGet(BACKOFF);
+
+    coordinator.onFailure(coordinator.acquirePermission());
+    assertThat(coordinator.getState(), is(OPEN));
+
+    clock.addAndGet(BACKOFF);
+    assertRejected();
+
+    clock.addAndGet(BACKOFF);
+    coordinator.acquirePermission();
+    assertThat(coordinator.getState(), is(HALF_OPEN));
+    assertThat(coordinator.getOpenings(), is(2L));
+  }
+
+  @Test
+  public void abortedProbeLetsAnotherOneThrough() throws Exception {
+    failTimes(THRESHOLD);
+    clock.addAndGet(BACKOFF);
+    coordinator.abort(coordinator.acquirePermission());
+
+    coordinator.acquirePermission();
+    assertThat(coordinator.getState(), is(HALF_OPEN));
+  }
+
+  @Test
+  public void failureAdmittedWhileClosedDoesNotAffectProbe() throws Exception {
+    failTimes(THRESHOLD - 1);
+    Permit admittedWhileClosed = coordinator.acquirePermission();
+    failTimes(1);
+    clock.addAndGet(BACKOFF);
+    Permit probe = coordinator.acquirePermission();
+
+    coordinator.onFailure(admittedWhileClosed);
+    assertThat(coordinator.getState(), is(HALF_OPEN));
+    assertRejected();
+
+    coordinator.onSuccess(probe);
+    assertThat(coordinator.getState(), is(CLOSED));
+  }
+
+  @Test
+  public void successAdmittedWhileClosedDoesNotCloseHalfOpenCircuit() throws Exception {
+    Permit admittedWhileClosed = coordinator.acquirePermission();
+    failTimes(THRESHOLD);
+    clock.addAndGet(BACKOFF);
+    coordinator.acquirePermission();
+
+    coordinator.onSuccess(admittedWhileClosed);
+    assertThat(coordinator.getState(), is(HALF_OPEN));
+  }
+
+  @Test
+  public void unreportedProbeReplacedAfterMaxBackoff() throws Exception {
+    failTimes(THRESHOLD);
+    clock.addAndGet(BACKOFF);
+    Permit staleProbe = coordinator.acquirePermission();
+
+    clock.addAndGet(MAX_BACKOFF);
+    Permit probe = coordinator.acquirePermission();
+
+    coordinator.onFailure(staleProbe);
+    assertThat(coordinator.getState(), is(HALF_OPEN));
+    coordinator.onSuccess(probe);
+    assertThat(coordinator.getState(), is(CLOSED));
+  }
+
+  @Test
+  public void backoffIsCappedAndJittered() {
+    coordinator = new ConnectionHealthCoordinator(CONFIG_NAME, THRESHOLD, BACKOFF, MAX_BACKOFF, 0.5, listener, clock::get);
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(coordinator.nextBackoff(0), allOf(greaterThanOrEqualTo(BACKOFF / 2), lessThanOrEqualTo(BACKOFF * 3 / 2)));
+      assertThat(coordinator.nextBackoff(40), lessThanOrEqualTo(MAX_BACKOFF));
+    }
+  }
+
+  private void failTimes(int times) {
+    for (int i = 0; i < times; i++) {
+      try {
+        coordinator.onFailure(coordinator.acquirePermission());
+      } catch (ConnectionCircuitOpenException e) {
+        fail("Permission should have been granted");
+      }
+    }
+  }
+
+  private void assertRejected() {
+    try {
+      coordinator.acquirePermission();
+      fail("Permission should have been rejected");
+    } catch (ConnectionCircuitOpenException e) {
+      // expected
+    }
+  }
+}
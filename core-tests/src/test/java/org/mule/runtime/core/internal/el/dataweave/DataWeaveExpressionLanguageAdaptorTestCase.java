@@ -57,7 +57,10 @@ import static org.mule.runtime.api.metadata.DataType.STRING;
 import static org.mule.runtime.api.metadata.DataType.fromType;
 import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_EXPRESSIONS_COMPILATION_FAIL_DEPLOYMENT;
+import static org.mule.runtime.core.api.tracing.TraceContextPropagator.TRACEPARENT;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.compile;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanKind.OPERATION;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer.startSpan;
 import static org.mule.runtime.core.privileged.component.AnnotatedObjectInvocationHandler.addAnnotationsToClass;
 import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
 import static org.mule.tck.junit4.matcher.DataTypeCompatibilityMatcher.assignableTo;
@@ -95,6 +98,8 @@ import org.mule.runtime.core.internal.el.IllegalCompiledExpression;
 import org.mule.runtime.core.internal.message.BaseAttributes;
 import org.mule.runtime.core.internal.message.ErrorBuilder;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.profiling.tracing.span.InMemorySpanExporter;
+import org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer;
 import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
 
@@ -470,6 +475,19 @@ public class DataWeaveExpressionLanguageAdaptorTestCase extends AbstractWeaveExp
     assertThat(result.getValue(), is(flowName));
   }
 
+  @Test
+  public void traceparentBinding() throws MuleException {
+    SpanTracer tracer = new SpanTracer(new InMemorySpanExporter(), 1);
+    CoreEvent event = testEvent();
+    tracer.continueTrace(event.getContext(), "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+    startSpan(event.getContext(), this, "flow/processors/0", OPERATION);
+
+    TypedValue<?> result = expressionLanguage.evaluate(TRACEPARENT, event, BindingContext.builder().build());
+    assertThat(result.getDataType(), is(assignableTo(STRING)));
+    assertThat(result.getValue(), is(tracer.getTraceparent(event.getContext()).get()));
+    assertThat((String) result.getValue(), containsString("-4bf92f3577b34da6a3ce929d0e0e4736-"));
+  }
+
   @Test
   public void payloadExpressionShouldNotBeEvaluate() throws MuleException {
     new DataWeaveExpressionLanguageAdaptor(mock(MuleContext.class, RETURNS_DEEP_STUBS), registry,
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.event;
+
+import static org.mule.test.allure.AllureConstants.EventContextFeature.EVENT_CONTEXT;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.core.api.context.notification.FlowCallStack;
+import org.mule.runtime.core.api.context.notification.FlowStackElement;
+import org.mule.runtime.core.api.event.EventContextService;
+import org.mule.runtime.core.api.event.EventContextService.FlowStackEntry;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(EVENT_CONTEXT)
+public class DefaultEventContextServiceTestCase extends AbstractMuleTestCase {
+
+  private final DefaultEventContextService eventContextService = new DefaultEventContextService();
+
+  @Test
+  public void visitAllFlows() {
+    eventContextService.addContext(mockContext("event1", "flow1"));
+    eventContextService.addContext(mockContext("event2", "flow2"));
+
+    assertThat(visitedEventIds(null), containsInAnyOrder("event1", "event2"));
+    assertThat(eventContextService.getCurrentlyActiveFlowStacks().stream().map(FlowStackEntry::getEventId).collect(toList()),
+               containsInAnyOrder("event1", "event2"));
+  }
+
+  @Test
+  public void visitSingleFlow() {
+    eventContextService.addContext(mockContext("event1", "flow1"));
+    eventContextService.addContext(mockContext("event2", "flow2"));
+    eventContextService.addContext(mockContext("event3", "flow1"));
+
+    assertThat(visitedEventIds("flow1"), containsInAnyOrder("event1", "event3"));
+    assertThat(visitedEventIds("flow3"), empty());
+  }
+
+  @Test
+  public void removedContextNotVisited() {
+    DefaultEventContext context = mockContext("event1", "flow1");
+    eventContextService.addContext(context);
+    eventContextService.removeContext(context);
+
+    assertThat(visitedEventIds(null), empty());
+    assertThat(visitedEventIds("flow1"), empty());
+  }
+
+  @Test
+  public void defaultVisitFiltersByOutermostFlow() {
+    FlowStackEntry nested = mockEntry("event1", new FlowStackElement("flow2", "flow2/processors/0"),
+                                      new FlowStackElement("flow1", "flow1/processors/0"));
+    FlowStackEntry other = mockEntry("event2", new FlowStackElement("flow2", "flow2/processors/0"));
+    EventContextService service = () -> asList(nested, other);
+
+    List<String> eventIds = new ArrayList<>();
+    service.visitCurrentlyActiveFlowStacks("flow1", entry -> eventIds.add(entry.getEventId()));
+    assertThat(eventIds, contains("event1"));
+
+    eventIds.clear();
+    service.visitCurrentlyActiveFlowStacks(null, entry -> eventIds.add(entry.getEventId()));
+    assertThat(eventIds, contains("event1", "event2"));
+  }
+
+  private static FlowStackEntry mockEntry(String eventId, FlowStackElement... elements) {
+    FlowCallStack flowCallStack = mock(FlowCallStack.class);
+    when(flowCallStack.getElements()).thenReturn(asList(elements));
+
+    FlowStackEntry entry = mock(FlowStackEntry.class);
+    when(entry.getEventId()).thenReturn(eventId);
+    when(entry.getFlowCallStack()).thenReturn(flowCallStack);
+    return entry;
+  }
+
+  private List<String> visitedEventIds(String flowName) {
+    List<String> eventIds = new ArrayList<>();
+    eventContextService.visitCurrentlyActiveFlowStacks(flowName, entry -> eventIds.add(entry.getEventId()));
+    return eventIds;
+  }
+
+  private static DefaultEventContext mockContext(String eventId, String flowName) {
+    ComponentLocation location = mock(ComponentLocation.class);
+    when(location.getRootContainerName()).thenReturn(flowName);
+    when(location.getLocation()).thenReturn(flowName + "/source");
+
+    FlowCallStack flowCallStack = mock(FlowCallStack.class);
+    when(flowCallStack.clone()).thenReturn(flowCallStack);
+
+    DefaultEventContext context = mock(DefaultEventContext.class);
+    when(context.getId()).thenReturn(eventId);
+    when(context.getOriginatingLocation()).thenReturn(location);
+    when(context.getFlowCallStack()).thenReturn(flowCallStack);
+    return context;
+  }
+}
@@ -9,17 +9,23 @@ package org.mule.runtime.core.internal.execution;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static java.util.Optional.empty;
+import static java.util.Optional.of;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
@@ -71,6 +77,7 @@ import org.mule.runtime.core.internal.policy.SourcePolicy;
 import org.mule.runtime.core.internal.policy.SourcePolicyContext;
 import org.mule.runtime.core.internal.policy.SourcePolicyFailureResult;
 import org.mule.runtime.core.internal.policy.SourcePolicySuccessResult;
+import org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.dsl.api.component.config.DefaultComponentLocation;
@@ -224,6 +231,20 @@ public class FlowProcessMediatorTestCase extends AbstractMuleContextTestCase {
     verifySuccess();
   }
 
+  @Test
+  public void traceContinuedFromSource() throws Exception {
+    String traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+    SpanTracer spanTracer = mock(SpanTracer.class);
+    flowProcessMediator.setSpanTracer(of(spanTracer));
+    when(resultAdapter.getTraceparent()).thenReturn(of(traceparent));
+
+    flowProcessMediator.process(template, context);
+
+    verify(spanTracer).continueTrace(event.get().getContext(), traceparent);
+    verify(spanTracer).sample(event.get().getContext());
+    verifySuccess();
+  }
+
   @Test
   public void successDelayedResponseCompletion() throws Exception {
     Reference<CompletableCallback<Void>> callbackReference = new Reference<>();
@@ -450,6 +471,57 @@ public class FlowProcessMediatorTestCase extends AbstractMuleContextTestCase {
     verifyFlowError(isErrorTypeBackpressure());
   }
 
+  @Test
+  public void batchDispatchedThroughPolicyInSingleCall() throws Exception {
+    doCallRealMethod().when(sourcePolicy).processBatch(anyList(), anyList(), anyList());
+    FlowProcessTemplate otherTemplate = createTemplate();
+
+    flowProcessMediator.processBatch(asList(template, otherTemplate), context);
+
+    verify(sourcePolicy).processBatch(anyList(), eq(asList(template, otherTemplate)), anyList());
+    verify(template).sendResponseToClient(any(), any(), any());
+    verify(otherTemplate).sendResponseToClient(any(), any(), any());
+    verify(template).afterPhaseExecution(argThat(rightMatches(Matchers.any(CoreEvent.class))));
+    verify(otherTemplate).afterPhaseExecution(argThat(rightMatches(Matchers.any(CoreEvent.class))));
+    verify(notifier, times(2)).phaseSuccessfully();
+    verify(notifier, never()).phaseFailure(any());
+  }
+
+  @Test
+  public void batchBackpressureOnlyRejectsAffectedEvent() throws Exception {
+    doCallRealMethod().when(sourcePolicy).processBatch(anyList(), anyList(), anyList());
+    FlowProcessTemplate otherTemplate = createTemplate();
+    doThrow(propagate(new FlowBackPressureMaxConcurrencyExceededException(flow))).doNothing().when(flow)
+        .checkBackpressure(any());
+
+    flowProcessMediator.processBatch(asList(template, otherTemplate), context);
+
+    verify(template, never()).sendResponseToClient(any(), any(), any());
+    verify(template).sendFailureResponseToClient(any(), any(), any());
+    verify(template).afterPhaseExecution(argThat(leftMatches(withEventThat(isErrorTypeBackpressure()))));
+    verify(notifier, times(2)).phaseSuccessfully();
+    verify(notifier, never()).phaseFailure(any());
+    verify(sourcePolicy).processBatch(anyList(), eq(singletonList(otherTemplate)), anyList());
+    verify(otherTemplate).sendResponseToClient(any(), any(), any());
+    verify(otherTemplate, never()).sendFailureResponseToClient(any(), any(), any());
+  }
+
+  @Test
+  public void batchPolicyManagerFailureOnlyFailsAffectedEvent() throws Exception {
+    doCallRealMethod().when(sourcePolicy).processBatch(anyList(), anyList(), anyList());
+    FlowProcessTemplate otherTemplate = createTemplate();
+    when(policyManager.createSourcePolicyInstance(any(), any(), any(), eq(template))).thenThrow(mockException);
+
+    flowProcessMediator.processBatch(asList(template, otherTemplate), context);
+
+    verify(template, never()).sendResponseToClient(any(), any(), any());
+    verify(template).sendFailureResponseToClient(any(), any(), any());
+    verify(notifier).phaseFailure(argThat(instanceOf(mockException.getClass())));
+    verify(sourcePolicy).processBatch(anyList(), eq(singletonList(otherTemplate)), anyList());
+    verify(otherTemplate).sendResponseToClient(any(), any(), any());
+    verify(notifier).phaseSuccessfully();
+  }
+
   private void verifySuccess() {
     verify(flow.getExceptionListener(), never()).handleException(any(), any());
     verify(template).sendResponseToClient(any(), any(), any());
@@ -516,6 +588,17 @@ public class FlowProcessMediatorTestCase extends AbstractMuleContextTestCase {
   }
 
 
+  private FlowProcessTemplate createTemplate() {
+    FlowProcessTemplate template = mock(FlowProcessTemplate.class);
+    when(template.getSourceMessage()).thenReturn(resultAdapter);
+    when(template.getNotificationFunctions()).thenReturn(emptyList());
+    when(template.getFailedExecutionResponseParametersFunction()).thenReturn(event -> emptyMap());
+    doAnswer(onCallback(callback -> callback.complete(null))).when(template).sendResponseToClient(any(), any(), any());
+    doAnswer(onCallback(callback -> callback.complete(null)))
+        .when(template).sendFailureResponseToClient(any(), any(), any());
+    return template;
+  }
+
   private MessagingException buildFailingFlowException(final CoreEvent event, final Exception exception) {
     return new MessagingException(CoreEvent.builder(event)
         .error(ErrorBuilder.builder(exception).errorType(ERROR_FROM_FLOW).build())
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lifecycle;
+
+import static org.mule.runtime.core.internal.lifecycle.LayeredLifecycleExecutor.PARALLEL_LIFECYCLE_PROPERTY;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+public class LayeredLifecycleExecutorTestCase extends AbstractMuleContextTestCase {
+
+  @Rule
+  public SystemProperty parallelLifecycle = new SystemProperty(PARALLEL_LIFECYCLE_PROPERTY, "true");
+
+  private LayeredLifecycleExecutor executor(long timeoutMillis) {
+    return new LayeredLifecycleExecutor(muleContext, Initialisable.PHASE_NAME, 4, timeoutMillis);
+  }
+
+  @Test
+  public void enabledForInitialiseOnly() {
+    assertThat(LayeredLifecycleExecutor.isEnabledFor(Initialisable.PHASE_NAME), is(true));
+    assertThat(LayeredLifecycleExecutor.isEnabledFor(Disposable.PHASE_NAME), is(false));
+  }
+
+  @Test
+  public void layersProcessedInOrder() throws LifecycleException {
+    List<Object> processed = new ArrayList<>();
+
+    executor(10000).execute(asList(singletonList("a"), asList("b", "c"), singletonList("d")), processed::add);
+
+    assertThat(processed, contains("a", "b", "c", "d"));
+  }
+
+  @Test
+  public void flowsInSameLayerProcessedInParallel() throws LifecycleException {
+    FlowConstruct flowA = mock(FlowConstruct.class);
+    FlowConstruct flowB = mock(FlowConstruct.class);
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    List<Boolean> awaited = new ArrayList<>();
+
+    executor(10000).execute(singletonList(asList(flowA, flowB)), target -> {
+      bothStarted.countDown();
+      try {
+        boolean result = bothStarted.await(5, SECONDS);
+        synchronized (awaited) {
+          awaited.add(result);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    assertThat(awaited, contains(true, true));
+  }
+
+  @Test
+  public void firstFailureAbortsPhaseOnceRunningObjectsFinish() {
+    FlowConstruct flowA = mock(FlowConstruct.class);
+    FlowConstruct flowB = mock(FlowConstruct.class);
+    LifecycleException errorA = new LifecycleException(new Exception("a"), flowA);
+    CountDownLatch failing = new CountDownLatch(1);
+    List<Object> processed = synchronizedList(new ArrayList<>());
+
+    try {
+      executor(10000).execute(asList(asList(flowA, flowB), singletonList("next")), target -> {
+        if (target == flowA) {
+          failing.countDown();
+          throw errorA;
+        } else if (target == flowB) {
+          try {
+            // Still being processed when the other flow fails
+            failing.await(5, SECONDS);
+            Thread.sleep(100);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+        processed.add(target);
+      });
+      fail("Expected the lifecycle to fail");
+    } catch (LifecycleException e) {
+      assertThat(e, is(sameInstance(errorA)));
+    }
+
+    assertThat(processed, contains(flowB));
+  }
+
+  @Test
+  public void phaseFailsWhenLayerTimesOut() throws LifecycleException {
+    FlowConstruct flowA = mock(FlowConstruct.class);
+    FlowConstruct flowB = mock(FlowConstruct.class);
+    CountDownLatch neverReleased = new CountDownLatch(1);
+
+    try {
+      executor(100).execute(singletonList(asList(flowA, flowB)), target -> {
+        try {
+          neverReleased.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      fail("Expected the lifecycle to time out");
+    } catch (MuleRuntimeException e) {
+      assertThat(e.getMessage(), containsString("did not complete within 100 ms"));
+    }
+  }
+
+  @Test
+  public void lifecycleLockHandedOverToPhaseOwner() throws Exception {
+    FlowConstruct flowA = mock(FlowConstruct.class);
+    FlowConstruct flowB = mock(FlowConstruct.class);
+    List<Thread> lockedThreads = new ArrayList<>();
+
+    // As the registry does, the phase is applied holding the lifecycle lock
+    muleContext.withLifecycleLock(() -> {
+      try {
+        executor(10000).execute(singletonList(asList(flowA, flowB)),
+                                target -> muleContext.withLifecycleLock(() -> lockedThreads.add(Thread.currentThread())));
+      } catch (LifecycleException e) {
+        throw new MuleRuntimeException(e);
+      }
+    });
+
+    assertThat(lockedThreads, contains(Thread.currentThread(), Thread.currentThread()));
+  }
+}
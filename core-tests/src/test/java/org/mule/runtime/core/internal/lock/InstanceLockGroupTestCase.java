@@ -10,6 +10,7 @@ package org.mule.runtime.core.internal.lock;
 import static java.util.Collections.unmodifiableMap;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.TemplateObjectStore;
 import org.mule.runtime.api.util.concurrent.Latch;
@@ -20,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.junit.Test;
 import org.mockito.Answers;
@@ -67,6 +69,50 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
     Mockito.verify(mockLockProvider, VerificationModeFactory.times(1)).createLock("lockId");
   }
 
+  @Test
+  public void testReleasedLockReusedForOtherId() {
+    LockProvider lockProvider = Mockito.spy(new SingleServerLockProvider(false));
+    Mockito.doReturn(true).when(lockProvider).isLockReusable();
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(lockProvider);
+    instanceLockGroup.lock("lockId");
+    instanceLockGroup.unlock("lockId");
+    instanceLockGroup.lock("otherLockId");
+    instanceLockGroup.unlock("otherLockId");
+    Mockito.verify(lockProvider, VerificationModeFactory.times(1)).createLock(Mockito.anyString());
+  }
+
+  @Test
+  public void testHeldLockNotReusedForOtherId() {
+    LockProvider lockProvider = Mockito.spy(new SingleServerLockProvider());
+    Mockito.doReturn(true).when(lockProvider).isLockReusable();
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(lockProvider);
+    instanceLockGroup.lock("lockId");
+    assertThat(instanceLockGroup.tryLock("otherLockId"), is(true));
+    Mockito.verify(lockProvider, VerificationModeFactory.times(2)).createLock(Mockito.anyString());
+  }
+
+  @Test
+  public void testLocksOfSingleServerLockProviderSubclassNotReusable() {
+    assertThat(new SingleServerLockProvider().isLockReusable(), is(true));
+    assertThat(new SingleServerLockProvider() {}.isLockReusable(), is(false));
+  }
+
+  @Test
+  public void testWhenLockInterruptedThenDestroy() throws Exception {
+    mockLockProvider = Mockito.mock(LockProvider.class);
+    Mockito.when(mockLockProvider.createLock("lockId")).thenAnswer(invocation -> new ReentrantLock());
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
+    Thread.currentThread().interrupt();
+    try {
+      instanceLockGroup.lockInterruptibly("lockId");
+      fail("Lock should have been interrupted");
+    } catch (InterruptedException e) {
+      // Expected
+    }
+    instanceLockGroup.lock("lockId");
+    Mockito.verify(mockLockProvider, VerificationModeFactory.times(2)).createLock("lockId");
+  }
+
 
 
   private void testHighConcurrency(boolean useTryLock) throws InterruptedException, ObjectStoreException {
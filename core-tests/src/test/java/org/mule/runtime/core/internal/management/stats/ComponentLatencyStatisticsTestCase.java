@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+
+import static java.util.Optional.empty;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatistics;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+/**
+ * Validates the recording and the export of {@link ComponentLatencyStatistics}.
+ */
+public class ComponentLatencyStatisticsTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void bucketsContainTheirValues() {
+    for (long value = 0; value < 1 << 20; value += 7) {
+      int index = LatencyHistogram.bucketIndex(value);
+      assertThat(LatencyHistogram.bucketUpperBound(index), greaterThanOrEqualTo(value));
+      if (index > 0) {
+        assertThat(LatencyHistogram.bucketUpperBound(index - 1), lessThanOrEqualTo(value - 1));
+      }
+    }
+  }
+
+  @Test
+  public void percentilesWithinPrecision() {
+    ComponentLatencyStatistics statistics = new ComponentLatencyStatistics("flow/processors/0", "mule:logger", "flow");
+    for (long micros = 1; micros <= 1000; ++micros) {
+      statistics.recordLatency(micros * 1000);
+    }
+
+    assertThat(statistics.getExecutionCount(), is(1000L));
+    assertThat(statistics.getMaxLatencyNanos(), is(1_000_000L));
+    assertThat(statistics.getMeanLatencyNanos(), equalTo(500_500d));
+    assertWithinPrecision(statistics.getLatencyNanosAtPercentile(50), 500_000L);
+    assertWithinPrecision(statistics.getLatencyNanosAtPercentile(99), 990_000L);
+    assertThat(statistics.getLatencyNanosAtPercentile(100), is(1_000_000L));
+  }
+
+  @Test
+  public void emptyStatistics() {
+    ComponentLatencyStatistics statistics = new ComponentLatencyStatistics("flow/processors/0", "mule:logger", "flow");
+
+    assertThat(statistics.getExecutionCount(), is(0L));
+    assertThat(statistics.getMeanLatencyNanos(), equalTo(0d));
+    assertThat(statistics.getLatencyNanosAtPercentile(99), is(0L));
+  }
+
+  @Test
+  public void tableKeepsIndexByLocation() {
+    ComponentLatencyStatisticsTable table = new ComponentLatencyStatisticsTable();
+    int[] indexes = new int[40];
+    for (int i = 0; i < indexes.length; ++i) {
+      indexes[i] = table.register(mockComponent("flow/processors/" + i));
+    }
+
+    assertThat(table.register(mockComponent("flow/processors/7")), is(indexes[7]));
+    assertThat(table.getAll().size(), is(indexes.length));
+    assertThat(table.get(indexes[33]).getComponentLocation(), is("flow/processors/33"));
+    assertThat(table.get(indexes[33]), sameInstance(table.get(table.register(mockComponent("flow/processors/33")))));
+  }
+
+  @Test
+  public void exportPrometheus() throws Exception {
+    ComponentLatencyStatisticsTable table = new ComponentLatencyStatisticsTable();
+    ComponentLatencyStatistics statistics = table.get(table.register(mockComponent("flow/processors/0")));
+    statistics.recordLatency(2_000_000_000L);
+    statistics.recordError();
+
+    StringWriter writer = new StringWriter();
+    new PrometheusComponentLatencyStatisticsExporter().export(table.getAll(), writer);
+
+    String labels = "flow=\"flow\",location=\"flow/processors/0\",component=\"mule:logger\"";
+    assertThat(writer.toString(), allOf(containsString("# TYPE mule_component_latency_seconds summary"),
+                                        containsString("mule_component_latency_seconds{" + labels + ",quantile=\"0.5\"} 2.0"),
+                                        containsString("mule_component_latency_seconds_sum{" + labels + "} 2.0"),
+                                        containsString("mule_component_latency_seconds_count{" + labels + "} 1"),
+                                        containsString("mule_component_errors_total{" + labels + "} 1")));
+  }
+
+  @Test
+  public void startTimesOfNestedExecutions() {
+    ComponentStartTimes startTimes = new ComponentStartTimes();
+    Object scope = new Object();
+    Object[] processors = new Object[10];
+    startTimes.start(scope, 100);
+    for (int i = 0; i < processors.length; ++i) {
+      processors[i] = new Object();
+      startTimes.start(processors[i], 200 + i);
+    }
+
+    assertThat(startTimes.end(processors[9], 300), is(91L));
+    // Abandoned executions are discarded along with the one enclosing them
+    assertThat(startTimes.end(scope, 400), is(300L));
+    assertThat(startTimes.end(processors[0], 500), is(-1L));
+  }
+
+  @Test
+  public void recorderMeasuresExecutionsKeptByEventContext() {
+    AllStatistics allStatistics = new AllStatistics();
+    int index = allStatistics.registerComponentLatencyStatistics(mockComponent("flow/processors/0"));
+    ComponentLatencyRecorder recorder = new ComponentLatencyRecorder(allStatistics, index);
+    EventContext first = create("first", "test", TEST_CONNECTOR_LOCATION, null, empty());
+    EventContext second = create("second", "test", TEST_CONNECTOR_LOCATION, null, empty());
+
+    recorder.started(first);
+    recorder.started(second);
+    recorder.finished(second);
+    recorder.failed(first);
+    recorder.finished(first);
+
+    assertThat(allStatistics.getComponentLatencyStatistics(index).getExecutionCount(), is(1L));
+    assertThat(allStatistics.getComponentLatencyStatistics(index).getErrorCount(), is(1L));
+  }
+
+  private static void assertWithinPrecision(long actual, long expected) {
+    assertThat(actual, greaterThanOrEqualTo(expected));
+    assertThat(actual, lessThanOrEqualTo(expected + expected / 16));
+  }
+
+  private static Component mockComponent(String location) {
+    ComponentLocation componentLocation = mock(ComponentLocation.class);
+    when(componentLocation.getLocation()).thenReturn(location);
+    when(componentLocation.getRootContainerName()).thenReturn("flow");
+
+    Component component = mock(Component.class);
+    when(component.getLocation()).thenReturn(componentLocation);
+    when(component.getIdentifier()).thenReturn(ComponentIdentifier.buildFromStringRepresentation("mule:logger"));
+    return component;
+  }
+}
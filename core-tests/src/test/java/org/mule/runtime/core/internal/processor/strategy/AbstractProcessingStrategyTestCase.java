@@ -85,6 +85,7 @@ import org.mule.runtime.api.notification.MessageProcessorNotificationListener;
 import org.mule.runtime.api.profiling.ProfilingDataConsumer;
 import org.mule.runtime.api.profiling.ProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.api.profiling.ProfilingService;
+import org.mule.runtime.api.profiling.tracing.ExecutionContext;
 import org.mule.runtime.api.profiling.type.context.ComponentProcessingStrategyProfilingEventContext;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.concurrent.Latch;
@@ -176,6 +177,7 @@ public abstract class AbstractProcessingStrategyTestCase extends AbstractMuleCon
   protected Flow flow;
   protected Set<String> threads = synchronizedSet(new HashSet<>());
   protected Set<String> schedulers = synchronizedSet(new HashSet<>());
+  protected AtomicReference<ExecutionContext> processorExecutionContext = new AtomicReference<>();
   protected TriggerableMessageSource triggerableMessageSource = getTriggerableMessageSource();
   protected Processor cpuLightProcessor = new ThreadTrackingProcessor() {
 
@@ -717,7 +719,8 @@ public abstract class AbstractProcessingStrategyTestCase extends AbstractMuleCon
   }
 
   protected void assertProcessingStrategyTracing() {
-    Assert.assertThat(profilingService.getTracingService().getCurrentExecutionContext(), notNullValue());
+    // The context is set in the thread that executes the processor
+    Assert.assertThat(processorExecutionContext.get(), notNullValue());
   }
 
   protected interface TransactionAwareProcessingStrategyTestCase {
@@ -1045,6 +1048,7 @@ public abstract class AbstractProcessingStrategyTestCase extends AbstractMuleCon
     @Override
     public CoreEvent process(CoreEvent event) throws MuleException {
       threads.add(currentThread().getName());
+      processorExecutionContext.set(profilingService.getTracingService().getCurrentExecutionContext());
       return event;
     }
 
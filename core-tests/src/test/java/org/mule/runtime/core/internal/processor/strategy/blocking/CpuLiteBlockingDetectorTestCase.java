@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy.blocking;
+
+import static org.mule.runtime.core.internal.processor.strategy.blocking.CpuLiteBlockingDetector.BLOCKED_MILLIS_KEY;
+import static org.mule.runtime.core.internal.processor.strategy.blocking.CpuLiteBlockingDetector.CPU_LITE_BLOCKING_EVENT_SUBTYPE;
+import static org.mule.runtime.core.internal.processor.strategy.blocking.CpuLiteBlockingDetector.STACK_TRACE_KEY;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import static java.lang.Thread.currentThread;
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.profiling.ProfilingDataProducer;
+import org.mule.runtime.api.profiling.tracing.ExecutionContext;
+import org.mule.runtime.api.profiling.type.context.ExtensionProfilingEventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.internal.profiling.DefaultProfilingService;
+import org.mule.runtime.core.internal.profiling.tracing.DefaultComponentMetadata;
+import org.mule.runtime.core.internal.profiling.tracing.DefaultExecutionContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import io.qameta.allure.Feature;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+
+@Feature(PROCESSING_STRATEGIES)
+public class CpuLiteBlockingDetectorTestCase extends AbstractMuleTestCase {
+
+  private static final String ARTIFACT_ID = "app";
+  private static final String LOCATION = "flow/processors/0";
+  private static final String NESTED_LOCATION = "flow/processors/0/processors/0";
+
+  private final ProfilingDataProducer<ExtensionProfilingEventContext, Object> profilingDataProducer =
+      mock(ProfilingDataProducer.class);
+  private final ComponentLocation location = mock(ComponentLocation.class);
+  private final ComponentLocation nestedLocation = mock(ComponentLocation.class);
+  private final DefaultProfilingService profilingService = new DefaultProfilingService();
+  private final CoreEvent event = mock(CoreEvent.class);
+
+  private CpuLiteBlockingDetector detector;
+
+  @Before
+  public void before() {
+    when(location.getLocation()).thenReturn(LOCATION);
+    when(nestedLocation.getLocation()).thenReturn(NESTED_LOCATION);
+    detector = new CpuLiteBlockingDetector(ARTIFACT_ID, 50, profilingDataProducer);
+    detector.monitor(location);
+    detector.start();
+  }
+
+  @After
+  public void after() {
+    detector.stop();
+  }
+
+  @Test
+  public void blockingProcessorReported() throws Exception {
+    process(component(location, p -> Flux.from(p).doOnNext(e -> sleepUninterruptibly(500))));
+
+    assertThat(detector.getBlockingLocations(), contains(LOCATION));
+    assertThat(detector.isBlocking(location), is(true));
+
+    ArgumentCaptor<Function<Object, ExtensionProfilingEventContext>> eventContextCaptor = ArgumentCaptor.forClass(Function.class);
+    verify(profilingDataProducer).triggerProfilingEvent(any(), eventContextCaptor.capture());
+    ExtensionProfilingEventContext eventContext = eventContextCaptor.getValue().apply(location);
+    assertThat(eventContext.getProfilingDataSourceIdentifier(), is(LOCATION));
+    assertThat(eventContext.getExtensionEventSubtypeIdentifier(), is(CPU_LITE_BLOCKING_EVENT_SUBTYPE));
+    assertThat((Long) eventContext.get(BLOCKED_MILLIS_KEY).get(), greaterThanOrEqualTo(50L));
+    assertThat((String) eventContext.get(STACK_TRACE_KEY).get(), containsString("sleepUninterruptibly"));
+  }
+
+  @Test
+  public void nonBlockingProcessorNotReported() throws Exception {
+    process(component(location, p -> p));
+    // Gives the watchdog time to check
+    sleep(200);
+
+    assertThat(detector.getBlockingLocations(), is(empty()));
+  }
+
+  @Test
+  public void blockingAfterProcessorReturnsNotReported() throws Exception {
+    // The processor returns the thread once the event is emitted downstream, the time spent downstream is not attributed to it
+    Flux.just(event).transform(component(location, p -> p)).subscribe(e -> sleepUninterruptibly(500));
+
+    assertThat(detector.getBlockingLocations(), is(empty()));
+  }
+
+  @Test
+  public void blockingNestedProcessorNotReported() throws Exception {
+    // Nested processors that run in the same thread have their own context, their time is not attributed to the enclosing one
+    process(component(location, p -> Flux.from(p)
+        .transform(component(nestedLocation, n -> Flux.from(n).doOnNext(e -> sleepUninterruptibly(500))))));
+
+    assertThat(detector.getBlockingLocations(), is(empty()));
+  }
+
+  @Test
+  public void notMonitoredProcessorNotReported() throws Exception {
+    process(component(nestedLocation, p -> Flux.from(p).doOnNext(e -> sleepUninterruptibly(500))));
+
+    assertThat(detector.getBlockingLocations(), is(empty()));
+  }
+
+  @Test
+  public void stoppedDetectorDoesNotReport() throws Exception {
+    detector.stop();
+    process(component(location, p -> Flux.from(p).doOnNext(e -> sleepUninterruptibly(500))));
+
+    assertThat(detector.getBlockingLocations(), is(empty()));
+  }
+
+  @Test
+  public void reroutedOnceBlocking() throws Exception {
+    ScheduledExecutorService scheduler = newSingleThreadScheduledExecutor();
+    try {
+      ScheduledExecutorService reroutingScheduler = detector.rerouteOnceBlocking(location, scheduler);
+      AtomicReference<Thread> thread = new AtomicReference<>();
+
+      reroutingScheduler.submit(() -> thread.set(currentThread())).get();
+      assertThat(thread.get(), sameInstance(currentThread()));
+
+      process(component(location, p -> Flux.from(p).doOnNext(e -> sleepUninterruptibly(500))));
+
+      reroutingScheduler.submit(() -> thread.set(currentThread())).get();
+      assertThat(thread.get(), not(sameInstance(currentThread())));
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Sets the context of the component only while {@code processor} runs, as the processing strategy does.
+   */
+  private ReactiveProcessor component(ComponentLocation componentLocation, ReactiveProcessor processor) {
+    Function<CoreEvent, ExecutionContext> executionContext =
+        e -> new DefaultExecutionContext(new DefaultComponentMetadata(e.getCorrelationId(), ARTIFACT_ID, "APP",
+                                                                      componentLocation));
+    return p -> profilingService
+        .setCurrentExecutionContext(profilingService.setCurrentExecutionContext(Flux.from(p), executionContext)
+            .transform(processor), e -> null);
+  }
+
+  private void process(ReactiveProcessor processor) {
+    Flux.just(event).transform(processor).blockLast();
+  }
+
+  private static void sleepUninterruptibly(long millis) {
+    try {
+      sleep(millis);
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.sampling;
+
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.DEFAULT_PROFILING_SERVICE;
+
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.internal.profiling.tracing.DefaultComponentMetadata;
+import org.mule.runtime.core.internal.profiling.tracing.DefaultExecutionContext;
+import org.mule.runtime.core.internal.profiling.tracing.ThreadLocalTracingService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(PROFILING)
+@Story(DEFAULT_PROFILING_SERVICE)
+public class ComponentSamplingProfilerTestCase {
+
+  private static final String ARTIFACT_ID = "app";
+  private static final String FLOW_NAME = "flow";
+  private static final String LOCATION = "flow/processors/0";
+  private static final long SAMPLING_INTERVAL = 10L;
+  // Long enough for the shared sampler not to sample while the tests do
+  private static final long SCHEDULED_SAMPLING_INTERVAL = HOURS.toMillis(1);
+
+  private final ComponentSamplingProfiler profiler = new ComponentSamplingProfiler(ARTIFACT_ID, SCHEDULED_SAMPLING_INTERVAL);
+  private final Latch finish = new Latch();
+  private final List<Thread> threads = new ArrayList<>();
+
+  @Before
+  public void before() {
+    profiler.start();
+  }
+
+  @After
+  public void after() throws InterruptedException {
+    profiler.stop();
+    finish.release();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+  }
+
+  @Test
+  public void attributesRunningThreadToComponent() throws Exception {
+    startThread(ARTIFACT_ID, false);
+
+    sampleTwice();
+
+    List<ComponentSamplingProfile> profiles = profiler.getComponentProfiles();
+    assertThat(profiles, hasSize(1));
+    assertThat(profiles.get(0).getFlowName(), is(FLOW_NAME));
+    assertThat(profiles.get(0).getLocation(), is(LOCATION));
+    assertThat(profiles.get(0).getSamples(), is(1L));
+    assertThat(profiles.get(0).getCpuTimeNanos() + profiles.get(0).getWaitTimeNanos(), is(greaterThan(0L)));
+  }
+
+  @Test
+  public void ignoresComponentsOfOtherArtifacts() throws Exception {
+    startThread("otherApp", false);
+
+    sampleTwice();
+
+    assertThat(profiler.getComponentProfiles(), is(empty()));
+  }
+
+  @Test
+  public void attributesParkedThreadToComponentAsWait() throws Exception {
+    startThread(ARTIFACT_ID, true);
+
+    sampleTwice();
+
+    List<ComponentSamplingProfile> profiles = profiler.getComponentProfiles();
+    assertThat(profiles, hasSize(1));
+    assertThat(profiles.get(0).getSamples(), is(1L));
+    assertThat(profiles.get(0).getWaitTimeNanos(), is(greaterThan(0L)));
+  }
+
+  @Test
+  public void ignoresThreadsWithoutComponent() throws Exception {
+    Thread thread = new Thread(() -> {
+      try {
+        finish.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    threads.add(thread);
+    thread.start();
+
+    sampleTwice();
+
+    assertThat(profiler.getComponentProfiles(), is(empty()));
+  }
+
+  @Test
+  public void samplesOnceForAllArtifacts() throws Exception {
+    ComponentSamplingProfiler otherProfiler = new ComponentSamplingProfiler("otherApp", SCHEDULED_SAMPLING_INTERVAL);
+    otherProfiler.start();
+    try {
+      startThread(ARTIFACT_ID, false);
+      startThread("otherApp", false);
+
+      sampleTwice();
+
+      assertThat(profiler.getComponentProfiles(), hasSize(1));
+      assertThat(otherProfiler.getComponentProfiles(), hasSize(1));
+      assertThat(profiler.getSamplingIntervalMillis(), is(SCHEDULED_SAMPLING_INTERVAL));
+    } finally {
+      otherProfiler.stop();
+    }
+  }
+
+  @Test
+  public void doesNotSampleForStoppedProfiler() throws Exception {
+    profiler.stop();
+    startThread(ARTIFACT_ID, false);
+
+    sampleTwice();
+
+    assertThat(profiler.getComponentProfiles(), is(empty()));
+  }
+
+  private void startThread(String artifactId, boolean parked) throws InterruptedException {
+    ComponentLocation location = mock(ComponentLocation.class);
+    when(location.getLocation()).thenReturn(LOCATION);
+    when(location.getRootContainerName()).thenReturn(FLOW_NAME);
+
+    CountDownLatch started = new CountDownLatch(1);
+    Thread thread = new Thread(() -> {
+      ThreadLocalTracingService tracingService = new ThreadLocalTracingService();
+      tracingService.setCurrentExecutionContext(new DefaultExecutionContext(new DefaultComponentMetadata("correlationId",
+                                                                                                         artifactId, "APP",
+                                                                                                         location)));
+      started.countDown();
+      try {
+        if (parked) {
+          finish.await();
+        } else {
+          while (!finish.await(0, SECONDS)) {
+            // Keeps the thread running
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        tracingService.deleteCurrentExecutionContext();
+      }
+    });
+    threads.add(thread);
+    thread.start();
+    started.await();
+  }
+
+  private void sampleTwice() throws InterruptedException {
+    ComponentSamplingProfiler.sample();
+    sleep(SAMPLING_INTERVAL);
+    ComponentSamplingProfiler.sample();
+  }
+}
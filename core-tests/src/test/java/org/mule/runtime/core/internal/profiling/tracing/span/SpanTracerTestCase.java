@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+import static org.mule.runtime.core.internal.event.DefaultEventContext.child;
+import static org.mule.runtime.core.internal.event.DefaultEventContext.getEventSpans;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanKind.OPERATION;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanKind.POLICY;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer.endSpan;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer.startSpan;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+
+import static java.util.Optional.empty;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.runtime.core.api.tracing.SpanData;
+import org.mule.runtime.core.internal.event.DefaultEventContext;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(PROFILING)
+public class SpanTracerTestCase extends AbstractMuleTestCase {
+
+  private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+  private final InMemorySpanExporter exporter = new InMemorySpanExporter();
+  private final Object flow = new Object();
+  private final Object operation = new Object();
+  private final Object policy = new Object();
+
+  @Test
+  public void nestedSpans() {
+    SpanTracer tracer = new SpanTracer(exporter, 1);
+    BaseEventContext context = newContext();
+
+    tracer.startFlowSpan(context, flow, "flow");
+    startSpan(context, policy, "policy", POLICY);
+    startSpan(context, operation, "flow/processors/0", OPERATION);
+    endSpan(context, operation, false);
+    endSpan(context, policy, false);
+    endSpan(context, flow, false);
+    tracer.export();
+
+    List<SpanData> spans = exporter.getSpans();
+    assertThat(spans, hasSize(3));
+    SpanData operationSpan = spans.get(0);
+    SpanData policySpan = spans.get(1);
+    SpanData flowSpan = spans.get(2);
+
+    assertThat(flowSpan.getName(), is("flow"));
+    assertThat(flowSpan.getKind(), is("FLOW"));
+    assertThat(flowSpan.getParentSpanId(), is(nullValue()));
+    assertThat(policySpan.getKind(), is("POLICY"));
+    assertThat(policySpan.getParentSpanId(), is(flowSpan.getSpanId()));
+    assertThat(operationSpan.getName(), is("flow/processors/0"));
+    assertThat(operationSpan.getParentSpanId(), is(policySpan.getSpanId()));
+    assertThat(operationSpan.getTraceId(), is(flowSpan.getTraceId()));
+    assertThat(operationSpan.isError(), is(false));
+  }
+
+  @Test
+  public void endingSpanEndsInnerSpansAsFailed() {
+    SpanTracer tracer = new SpanTracer(exporter, 1);
+    BaseEventContext context = newContext();
+
+    tracer.startFlowSpan(context, flow, "flow");
+    startSpan(context, operation, "flow/processors/0", OPERATION);
+    endSpan(context, flow, false);
+    tracer.export();
+
+    List<SpanData> spans = exporter.getSpans();
+    assertThat(spans, hasSize(2));
+    assertThat(spans.get(0).getName(), is("flow/processors/0"));
+    assertThat(spans.get(0).isError(), is(true));
+    assertThat(spans.get(1).isError(), is(false));
+  }
+
+  @Test
+  public void childContextSpansNestedInParentSpan() {
+    SpanTracer tracer = new SpanTracer(exporter, 1);
+    BaseEventContext context = newContext();
+
+    tracer.startFlowSpan(context, flow, "flow");
+    BaseEventContext childContext = child(context, empty());
+    Object referencedFlow = new Object();
+    tracer.startFlowSpan(childContext, referencedFlow, "referencedFlow");
+    endSpan(childContext, referencedFlow, false);
+    endSpan(context, flow, false);
+    tracer.export();
+
+    List<SpanData> spans = exporter.getSpans();
+    assertThat(spans, hasSize(2));
+    assertThat(spans.get(0).getName(), is("referencedFlow"));
+    assertThat(spans.get(0).getParentSpanId(), is(spans.get(1).getSpanId()));
+  }
+
+  @Test
+  public void notSampled() {
+    SpanTracer tracer = new SpanTracer(exporter, 0);
+    BaseEventContext context = newContext();
+
+    tracer.startFlowSpan(context, flow, "flow");
+    assertThat(getEventSpans(context), is(sameInstance(EventSpans.NOT_SAMPLED)));
+    assertThat(getEventSpans(child(context, empty())), is(sameInstance(EventSpans.NOT_SAMPLED)));
+    assertThat(tracer.getTraceparent(context).isPresent(), is(false));
+
+    endSpan(context, flow, false);
+    tracer.export();
+    assertThat(exporter.getSpans(), hasSize(0));
+  }
+
+  @Test
+  public void continueTrace() {
+    SpanTracer tracer = new SpanTracer(exporter, 0);
+    BaseEventContext context = newContext();
+
+    tracer.continueTrace(context, TRACEPARENT);
+    tracer.startFlowSpan(context, flow, "flow");
+    String traceparent = tracer.getTraceparent(context).get();
+    endSpan(context, flow, false);
+    tracer.export();
+
+    SpanData flowSpan = exporter.getSpans().get(0);
+    assertThat(flowSpan.getTraceId(), is("4bf92f3577b34da6a3ce929d0e0e4736"));
+    assertThat(flowSpan.getParentSpanId(), is("00f067aa0ba902b7"));
+    assertThat(traceparent, is("00-4bf92f3577b34da6a3ce929d0e0e4736-" + flowSpan.getSpanId() + "-01"));
+  }
+
+  @Test
+  public void continueNotSampledTrace() {
+    SpanTracer tracer = new SpanTracer(exporter, 1);
+    BaseEventContext context = newContext();
+
+    tracer.continueTrace(context, "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00");
+
+    assertThat(getEventSpans(context), is(sameInstance(EventSpans.NOT_SAMPLED)));
+  }
+
+  @Test
+  public void traceNotContinuedOnceDecided() {
+    SpanTracer tracer = new SpanTracer(exporter, 0);
+    BaseEventContext context = newContext();
+
+    tracer.sample(context);
+    tracer.continueTrace(context, TRACEPARENT);
+
+    assertThat(getEventSpans(context), is(sameInstance(EventSpans.NOT_SAMPLED)));
+  }
+
+  @Test
+  public void bufferGrowsUpToItsMaxCapacity() {
+    SpanBuffer buffer = new SpanBuffer(2, 8);
+    assertThat(buffer.getCapacity(), is(2));
+
+    for (int i = 0; i < 10; ++i) {
+      buffer.record(1, 1, i + 1, 0, "span" + i, OPERATION, 0, 1, false);
+    }
+    assertThat(buffer.getCapacity(), is(8));
+    assertThat(buffer.getDropped(), is(2L));
+
+    List<SpanData> spans = new ArrayList<>();
+    buffer.drainTo(spans, 0);
+    assertThat(spans, hasSize(8));
+    for (int i = 0; i < 8; ++i) {
+      assertThat(spans.get(i).getName(), is("span" + i));
+    }
+  }
+
+  @Test
+  public void bufferKeepsUndrainedSpansWhenGrowing() {
+    SpanBuffer buffer = new SpanBuffer(2, 8);
+    List<SpanData> spans = new ArrayList<>();
+
+    buffer.record(1, 1, 1, 0, "span0", OPERATION, 0, 1, false);
+    buffer.drainTo(spans, 0);
+    buffer.record(1, 1, 2, 0, "span1", OPERATION, 0, 1, false);
+    buffer.record(1, 1, 3, 0, "span2", OPERATION, 0, 1, false);
+    buffer.record(1, 1, 4, 0, "span3", OPERATION, 0, 1, false);
+    buffer.drainTo(spans, 0);
+
+    assertThat(buffer.getCapacity(), is(4));
+    assertThat(spans, hasSize(4));
+    for (int i = 0; i < 4; ++i) {
+      assertThat(spans.get(i).getName(), is("span" + i));
+    }
+  }
+
+  private static BaseEventContext newContext() {
+    return new DefaultEventContext("id", "serverId", null, null, empty());
+  }
+}
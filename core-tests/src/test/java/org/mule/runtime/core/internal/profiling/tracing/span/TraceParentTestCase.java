@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+import static org.mule.runtime.core.internal.profiling.tracing.span.TraceParent.format;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@Feature(PROFILING)
+public class TraceParentTestCase extends AbstractMuleTestCase {
+
+  private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+  @Test
+  public void parse() {
+    TraceParent traceParent = TraceParent.parse(TRACEPARENT);
+
+    assertThat(traceParent.getTraceIdHigh(), is(0x4bf92f3577b34da6L));
+    assertThat(traceParent.getTraceIdLow(), is(0xa3ce929d0e0e4736L));
+    assertThat(traceParent.getParentSpanId(), is(0x00f067aa0ba902b7L));
+    assertThat(traceParent.isSampled(), is(true));
+  }
+
+  @Test
+  public void parseNotSampled() {
+    assertThat(TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00").isSampled(), is(false));
+  }
+
+  @Test
+  public void formatParsed() {
+    TraceParent traceParent = TraceParent.parse(TRACEPARENT);
+
+    assertThat(format(traceParent.getTraceIdHigh(), traceParent.getTraceIdLow(), traceParent.getParentSpanId(), true),
+               is(TRACEPARENT));
+  }
+
+  @Test
+  public void parseLaterVersionWithMoreFields() {
+    assertThat(TraceParent.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-future"), is(notNullValue()));
+  }
+
+  @Test
+  public void invalid() {
+    assertThat(TraceParent.parse(null), is(nullValue()));
+    assertThat(TraceParent.parse(""), is(nullValue()));
+    // Invalid version
+    assertThat(TraceParent.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"), is(nullValue()));
+    // Version 00 has no more fields
+    assertThat(TraceParent.parse(TRACEPARENT + "-future"), is(nullValue()));
+    // Uppercase
+    assertThat(TraceParent.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00F067AA0BA902B7-01"), is(nullValue()));
+    // Zero trace id
+    assertThat(TraceParent.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"), is(nullValue()));
+    // Zero parent id
+    assertThat(TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"), is(nullValue()));
+    // Misplaced separator
+    assertThat(TraceParent.parse("00-4bf92f3577b34da6a3ce929d0e0e47360-0f067aa0ba902b7-01"), is(nullValue()));
+  }
+}
@@ -465,6 +465,45 @@ public class TemplateParserTestCase extends AbstractMuleTestCase {
     assertEquals(expectedResult, result);
   }
 
+  @Test
+  public void muleCompiledTemplateParsesAsTemplate() {
+    TemplateParser tp = createMuleStyleParser();
+    String[] templates = {"Hello", "#[payload]", "Hello #[payload]!", "#[a]#[b]", "\\#[escaped] #[payload]",
+        "# #[payload] #", "##[payload]", "a\\b #[payload]", "#[payload ++ '#[nested]']", "#['[' ++ payload ++ ']']"};
+    TemplateParser.TemplateCallback[] callbacks = {token -> token, token -> "<" + token + ">", token -> "#[value]",
+        token -> "a\\b", token -> null};
+
+    for (String template : templates) {
+      for (TemplateParser.TemplateCallback callback : callbacks) {
+        assertEquals(template, tp.parse(callback, template), tp.compile(template).parse(callback));
+      }
+    }
+  }
+
+  @Test
+  public void muleCompiledTemplateWithoutExpressionsIsLiteral() {
+    TemplateParser tp = createMuleStyleParser();
+    assertTrue(tp.compile("Hello world").isLiteral());
+    assertTrue(tp.compile("Hello \\#[world]").isLiteral());
+    assertFalse(tp.compile("Hello #[world]").isLiteral());
+    assertEquals("Hello #[world]", tp.compile("Hello \\#[world]").parse(null));
+  }
+
+  @Test
+  public void muleCompiledTemplateParsedWhileParsing() {
+    TemplateParser tp = createMuleStyleParser();
+    TemplateParser.CompiledTemplate inner = tp.compile("inner #[value]");
+    TemplateParser.CompiledTemplate outer = tp.compile("outer #[value] #[inner]");
+
+    String result = outer.parse(token -> token.equals("inner") ? inner.parse(innerToken -> "2") : "1");
+    assertEquals("outer 1 inner 2", result);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void muleCompiledTemplateNotBalanced() {
+    createMuleStyleParser().compile("#[payload");
+  }
+
   private Map<String, Object> buildMap() {
     Map<String, Object> props = new HashMap<String, Object>();
     props.put("prop1", "value1");
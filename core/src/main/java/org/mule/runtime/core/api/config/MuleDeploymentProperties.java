@@ -22,6 +22,241 @@ public class MuleDeploymentProperties {
       MULE_LAZY_INIT_DEPLOYMENT_PROPERTY + ".enableDslDeclarationValidations";
   public static final String MULE_LAZY_CONNECTIONS_DEPLOYMENT_PROPERTY = DEPLOYMENT_PROPERTY_PREFIX + ".lazyConnections";
 
+  /**
+   * Comma separated list of config names for which the connection obtained by an operation is kept bound to the executing event
+   * and reused by the following operations of that event with the same config, instead of being released after each one.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_CONNECTION_AFFINITY_DEPLOYMENT_PROPERTY = DEPLOYMENT_PROPERTY_PREFIX + ".connectionAffinity";
+
+  /**
+   * Max amount of messages an extension source groups in a single micro-batch. Micro-batching is disabled unless this is set to
+   * a value greater than 1. The value can be overridden for the sources of a single flow by appending {@code .<flowName>} to
+   * the property name.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_SOURCE_MICRO_BATCHING_MAX_SIZE_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".source.microBatching.maxSize";
+
+  /**
+   * Max time, in milliseconds, a message may wait for its micro-batch to be dispatched. Defaults to 5. The value can be
+   * overridden for the sources of a single flow by appending {@code .<flowName>} to the property name.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_SOURCE_MICRO_BATCHING_MAX_DELAY_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".source.microBatching.maxDelay";
+
+  /**
+   * Amount of consecutive connection failures after which the connection circuit of a config opens, making further attempts to
+   * obtain a connection from it fail fast. Circuit breaking is disabled unless this is set to a value greater than 0.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_CONNECTION_CIRCUIT_BREAKER_FAILURE_THRESHOLD_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".connectionCircuitBreaker.failureThreshold";
+
+  /**
+   * Time in milliseconds a connection circuit stays open the first time it opens. It doubles with each consecutive opening.
+   * Defaults to 1000.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_CONNECTION_CIRCUIT_BREAKER_BACKOFF_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".connectionCircuitBreaker.backoff";
+
+  /**
+   * Max time in milliseconds a connection circuit may stay open. Defaults to 60000.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_CONNECTION_CIRCUIT_BREAKER_MAX_BACKOFF_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".connectionCircuitBreaker.maxBackoff";
+
+  /**
+   * Comma separated list of the locations of the operations which results are cached, keyed by their resolved parameters and
+   * config. Only meant for idempotent operations that neither stream nor page their results.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_OPERATION_RESULT_CACHE_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".operationResultCache";
+
+  /**
+   * Time in milliseconds a cached operation result is valid for after being obtained. Defaults to 60000.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_OPERATION_RESULT_CACHE_TTL_DEPLOYMENT_PROPERTY =
+      MULE_OPERATION_RESULT_CACHE_DEPLOYMENT_PROPERTY + ".ttl";
+
+  /**
+   * Max amount of results cached for each operation. Defaults to 1000.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_OPERATION_RESULT_CACHE_MAX_SIZE_DEPLOYMENT_PROPERTY =
+      MULE_OPERATION_RESULT_CACHE_DEPLOYMENT_PROPERTY + ".maxSize";
+
+  /**
+   * When set to {@code true}, flows without a source are not created, initialized nor started along with the application, but
+   * the first time they are looked up or called, either through a {@code flow-ref} or directly.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY = DEPLOYMENT_PROPERTY_PREFIX + ".lazyFlows";
+
+  /**
+   * Time in milliseconds after which a flow materialized on demand is stopped if it hasn't been called again and has no events
+   * in flight. Defaults to 0, meaning that materialized flows are never stopped.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_LAZY_FLOWS_IDLE_TIMEOUT_DEPLOYMENT_PROPERTY =
+      MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY + ".idleTimeout";
+
+  /**
+   * When set to {@code true}, the default log file of the artifact is written asynchronously from a bounded ring buffer, so
+   * logging doesn't block when the disk stalls. The loggers of the artifact then evaluate their messages only when the log event
+   * is accepted.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_ASYNC_LOGGING_DEPLOYMENT_PROPERTY = DEPLOYMENT_PROPERTY_PREFIX + ".asyncLogging";
+
+  /**
+   * Amount of log events the asynchronous logging ring buffer of the artifact can hold. Rounded up to the next power of 2.
+   * Defaults to 8192.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_ASYNC_LOGGING_BUFFER_SIZE_DEPLOYMENT_PROPERTY =
+      MULE_ASYNC_LOGGING_DEPLOYMENT_PROPERTY + ".bufferSize";
+
+  /**
+   * What to do with the log events that don't fit in the asynchronous logging ring buffer of the artifact: {@code
+   * drop-debug-first} (the default) drops {@code DEBUG} and {@code TRACE} events and waits for space for the others,
+   * {@code block} always waits for space and {@code sample} only waits for space for one of every 10 events, dropping the rest.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_ASYNC_LOGGING_OVERFLOW_POLICY_DEPLOYMENT_PROPERTY =
+      MULE_ASYNC_LOGGING_DEPLOYMENT_PROPERTY + ".overflowPolicy";
+
+  /**
+   * When set to {@code true}, the threads executing the components of the application are sampled periodically to attribute CPU
+   * and wait time to each flow and processor. Requires the profiling service to be enabled. The result is available through the
+   * {@code profile} troubleshooting operation.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_SAMPLING_PROFILER_DEPLOYMENT_PROPERTY = DEPLOYMENT_PROPERTY_PREFIX + ".samplingProfiler";
+
+  /**
+   * Time in milliseconds between the samples taken by the sampling profiler. Defaults to 20. The threads of all the applications
+   * are sampled together, at the smallest interval among the applications with the sampling profiler enabled.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_SAMPLING_PROFILER_INTERVAL_DEPLOYMENT_PROPERTY =
+      MULE_SAMPLING_PROFILER_DEPLOYMENT_PROPERTY + ".interval";
+
+  /**
+   * When set to {@code true}, the latency, executions and errors of each processor of the application are recorded in its
+   * {@link org.mule.runtime.core.api.management.stats.ComponentLatencyStatistics}.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_COMPONENT_LATENCY_STATISTICS_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".componentLatencyStatistics";
+
+  /**
+   * When set to {@code true}, the {@code CPU_LITE} processors that keep the thread they run on for longer than a threshold are
+   * logged, along with the stack of the thread, and reported as profiling events. Requires the profiling service to be enabled.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_CPU_LITE_BLOCKING_DETECTION_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".cpuLiteBlockingDetection";
+
+  /**
+   * Time in milliseconds a {@code CPU_LITE} processor may keep the thread it runs on before it is considered blocking. Defaults to
+   * 100.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_CPU_LITE_BLOCKING_DETECTION_THRESHOLD_DEPLOYMENT_PROPERTY =
+      MULE_CPU_LITE_BLOCKING_DETECTION_DEPLOYMENT_PROPERTY + ".threshold";
+
+  /**
+   * When set to {@code true}, the events of a {@code CPU_LITE} processor found blocking are dispatched to the {@code IO} scheduler
+   * from then on. Only applies to flows with a proactor processing strategy.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_CPU_LITE_BLOCKING_DETECTION_ADAPTIVE_DEPLOYMENT_PROPERTY =
+      MULE_CPU_LITE_BLOCKING_DETECTION_DEPLOYMENT_PROPERTY + ".adaptive";
+
+  /**
+   * When set to {@code true}, spans are recorded for the flows, operations and policies that process the sampled events of the
+   * application, and exported periodically. The W3C {@code traceparent} of the sampled events is available to the components that
+   * call other systems, so the trace continues on them. See {@link org.mule.runtime.core.api.tracing.TraceContextPropagator}.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_TRACING_DEPLOYMENT_PROPERTY = DEPLOYMENT_PROPERTY_PREFIX + ".tracing";
+
+  /**
+   * Ratio, between 0 and 1, of the events received by the sources of the application that are traced. Defaults to 1. The events
+   * received with a W3C {@code traceparent} keep the sampling decision of the caller.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_TRACING_SAMPLE_RATE_DEPLOYMENT_PROPERTY = MULE_TRACING_DEPLOYMENT_PROPERTY + ".sampleRate";
+
+  /**
+   * Name of the {@link org.mule.runtime.core.api.tracing.SpanExporter} the spans are exported with. {@code file} (the default)
+   * appends them as JSON lines to {@code spans.jsonl} in the working directory of the application and {@code memory} keeps the
+   * latest ones in memory. Other exporters may be provided through the {@code ServiceLoader} mechanism.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_TRACING_EXPORTER_DEPLOYMENT_PROPERTY = MULE_TRACING_DEPLOYMENT_PROPERTY + ".exporter";
+
+  /**
+   * When set to {@code true}, the idempotent message validators of the application keep a Bloom filter of the ids they have seen,
+   * so the object store is not queried for ids that are definitely new. The store is still the authority for the rest of the ids.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".idempotentValidator.prefilter";
+
+  /**
+   * Number of ids expected to be seen by an idempotent message validator within the time its store keeps them, used to size its
+   * Bloom filter. Defaults to 100000.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_IDEMPOTENT_VALIDATOR_PREFILTER_EXPECTED_IDS_DEPLOYMENT_PROPERTY =
+      MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY + ".expectedIds";
+
+  /**
+   * Time in milliseconds the ids accepted by an idempotent message validator may be kept in memory before they are written to its
+   * object store, so they are written in batches outside of the processing of the messages. Defaults to 0, writing each id as its
+   * message is accepted. Ids not yet written are lost if the runtime stops abruptly.
+   * <p>
+   * Only applies to validators whose object store is not shared, that is, one created for the validator or a private one, and
+   * only outside of a cluster. An id found in the store when written can only be logged, since its message was already
+   * processed. The prefilter is only used along with batching when the validator created its own store.
+   *
+   * @since 4.5.0
+   */
+  public static final String MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY =
+      DEPLOYMENT_PROPERTY_PREFIX + ".idempotentValidator.storeBatchingWindow";
+
   public static final String MULE_FORCE_TOOLING_APP_LOGS_DEPLOYMENT_PROPERTY = DEPLOYMENT_PROPERTY_PREFIX + ".lazyInit.forceLog";
 
   private MuleDeploymentProperties() {}
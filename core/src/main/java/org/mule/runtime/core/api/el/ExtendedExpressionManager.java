@@ -8,10 +8,12 @@ package org.mule.runtime.core.api.el;
 
 import org.mule.api.annotation.NoImplement;
 import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.privileged.util.TemplateParser.CompiledTemplate;
 
 /**
  * Extends the {@link ExpressionManager} supporting mutating operations and the propagation of more variables.
@@ -66,4 +68,31 @@ public interface ExtendedExpressionManager extends ExpressionManager {
   @Deprecated
   String parse(String expression, CoreEvent event, ComponentLocation componentLocation) throws ExpressionRuntimeException;
 
+  /**
+   * Compiles a logging expression template, so it is not scanned for expressions each time it is parsed with
+   * {@link #parseLogTemplate(CompiledTemplate, CoreEvent, ComponentLocation, BindingContext)}.
+   *
+   * @param template the string template featuring inner expressions to compile
+   * @return the compiled template
+   * @throws IllegalArgumentException if the template is not balanced
+   * @since 4.5.0
+   */
+  CompiledTemplate compileLogTemplate(String template);
+
+  /**
+   * Same as {@link #parseLogTemplate(String, CoreEvent, ComponentLocation, BindingContext)} for a template compiled with
+   * {@link #compileLogTemplate(String)}.
+   *
+   * @param template          the compiled template to parse
+   * @param event             the current event being processed
+   * @param componentLocation the location of the component where the event is being processed
+   * @param bindingContext    the bindings to consider
+   * @return the result of the evaluation of the template
+   * @throws ExpressionRuntimeException if a problem occurs evaluating the expressions of the template
+   * @since 4.5.0
+   */
+  String parseLogTemplate(CompiledTemplate template, CoreEvent event, ComponentLocation componentLocation,
+                          BindingContext bindingContext)
+      throws ExpressionRuntimeException;
+
 }
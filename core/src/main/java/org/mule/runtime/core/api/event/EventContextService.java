@@ -10,8 +10,11 @@ import org.mule.api.annotation.NoImplement;
 import org.mule.runtime.api.event.Event;
 import org.mule.runtime.api.event.EventContext;
 import org.mule.runtime.core.api.context.notification.FlowCallStack;
+import org.mule.runtime.core.api.context.notification.FlowStackElement;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Provides methods to query the internal state of event processing in the Mule Runtime.
@@ -32,6 +35,28 @@ public interface EventContextService {
    */
   List<FlowStackEntry> getCurrentlyActiveFlowStacks();
 
+  /**
+   * Calls the given {@code visitor} with a {@link FlowStackEntry} for each currently active {@link EventContext}.
+   * <p>
+   * Unlike {@link #getCurrentlyActiveFlowStacks()}, the entries are not collected beforehand, so the amount of memory used does
+   * not depend on the amount of {@link Event}s in process.
+   * <p>
+   * By default, the entries of {@link #getCurrentlyActiveFlowStacks()} which outermost flow is the given one are visited.
+   *
+   * @param flowName the name of the flow the {@link EventContext}s to visit originated in, or {@code null} to visit all of them.
+   * @param visitor  the callback to call with each {@link FlowStackEntry}.
+   * @since 4.5.0
+   */
+  default void visitCurrentlyActiveFlowStacks(String flowName, Consumer<FlowStackEntry> visitor) {
+    for (FlowStackEntry flowStackEntry : getCurrentlyActiveFlowStacks()) {
+      // The elements of the call stack are ordered from the innermost flow
+      List<FlowStackElement> elements = flowStackEntry.getFlowCallStack().getElements();
+      if (flowName == null || (!elements.isEmpty() && flowName.equals(elements.get(elements.size() - 1).getFlowName()))) {
+        visitor.accept(flowStackEntry);
+      }
+    }
+  }
+
   /**
    * Contains a {@link FlowCallStack} and context information about its owner.
    */
@@ -51,5 +76,13 @@ public interface EventContextService {
      * @return the {@link FlowCallStack} of a single event.
      */
     FlowCallStack getFlowCallStack();
+
+    /**
+     * @return the time the event the {@link FlowCallStack} belongs to was received, or {@code null} if it is not known.
+     * @since 4.5.0
+     */
+    default Instant getReceivedTime() {
+      return null;
+    }
   }
 }
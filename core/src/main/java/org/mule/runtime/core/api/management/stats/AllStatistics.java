@@ -19,10 +19,12 @@ import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.config.MuleRuntimeFeature;
 import org.mule.runtime.core.api.config.FeatureFlaggingRegistry;
 import org.mule.runtime.core.internal.management.stats.ApplicationStatistics;
+import org.mule.runtime.core.internal.management.stats.ComponentLatencyStatisticsTable;
 
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -38,6 +40,9 @@ public class AllStatistics {
   private final ApplicationStatistics appStats;
   private final Map<String, FlowConstructStatistics> flowConstructStats = new HashMap<>();
   private final Map<String, PayloadStatistics> payloadStatistics = new ConcurrentHashMap<>();
+  private final ComponentLatencyStatisticsTable componentLatencyStatistics = new ComponentLatencyStatisticsTable();
+  private volatile AsyncLoggingStatistics asyncLoggingStatistics;
+  private final Map<String, ConnectionCircuitStatistics> connectionCircuitStatistics = new ConcurrentHashMap<>();
 
   /**
    *
@@ -154,6 +159,69 @@ public class AllStatistics {
     return isEnabled() && !payloadStatisticsDisabled;
   }
 
+  /**
+   * Creates the latency statistics for the provided {@code component}, if they don't exist already.
+   *
+   * @param component the component to get the latency statistics for.
+   * @return the index of the latency statistics of the component, to get them with
+   *         {@link #getComponentLatencyStatistics(int)}.
+   * @since 4.5.0
+   */
+  public int registerComponentLatencyStatistics(Component component) {
+    return componentLatencyStatistics.register(component);
+  }
+
+  /**
+   * @param index the index returned by {@link #registerComponentLatencyStatistics(Component)}.
+   * @return the latency statistics of the component.
+   * @since 4.5.0
+   */
+  public ComponentLatencyStatistics getComponentLatencyStatistics(int index) {
+    return componentLatencyStatistics.get(index);
+  }
+
+  /**
+   * @return the latency statistics of all the components they were registered for.
+   * @since 4.5.0
+   */
+  public Collection<ComponentLatencyStatistics> getComponentLatencyStatistics() {
+    return componentLatencyStatistics.getAll();
+  }
+
+  /**
+   * @param asyncLoggingStatistics the statistics of the asynchronous logging of the artifact.
+   * @since 4.5.0
+   */
+  public void setAsyncLoggingStatistics(AsyncLoggingStatistics asyncLoggingStatistics) {
+    this.asyncLoggingStatistics = asyncLoggingStatistics;
+  }
+
+  /**
+   * @return the statistics of the asynchronous logging of the artifact, or {@link Optional#empty()} if it doesn't log
+   *         asynchronously.
+   * @since 4.5.0
+   */
+  public Optional<AsyncLoggingStatistics> getAsyncLoggingStatistics() {
+    return Optional.ofNullable(asyncLoggingStatistics);
+  }
+
+  /**
+   * @param connectionCircuitStatistics the statistics of the connection circuit breaker of a config, replacing any previously
+   *                                    registered for the same config.
+   * @since 4.5.0
+   */
+  public void registerConnectionCircuitStatistics(ConnectionCircuitStatistics connectionCircuitStatistics) {
+    this.connectionCircuitStatistics.put(connectionCircuitStatistics.getConfigName(), connectionCircuitStatistics);
+  }
+
+  /**
+   * @return the statistics of the connection circuit breakers of all the configs that have one.
+   * @since 4.5.0
+   */
+  public Collection<ConnectionCircuitStatistics> getConnectionCircuitStatistics() {
+    return connectionCircuitStatistics.values();
+  }
+
   /**
    * Configures the {@link MuleRuntimeFeature#COMPUTE_CONNECTION_ERRORS_IN_STATS} feature flag.
    *
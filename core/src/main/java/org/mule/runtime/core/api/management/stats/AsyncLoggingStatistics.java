@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import org.mule.api.annotation.NoImplement;
+
+/**
+ * Statistics of the asynchronous logging of an artifact, enabled through the
+ * {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_ASYNC_LOGGING_DEPLOYMENT_PROPERTY} deployment property.
+ *
+ * @since 4.5.0
+ */
+@NoImplement
+public interface AsyncLoggingStatistics {
+
+  /**
+   * @return the amount of log events the buffer can hold
+   */
+  int getBufferSize();
+
+  /**
+   * @return the amount of log events in the buffer waiting to be written
+   */
+  long getQueueDepth();
+
+  /**
+   * @return the amount of log events dropped because the buffer was full
+   */
+  long getDroppedEvents();
+
+}
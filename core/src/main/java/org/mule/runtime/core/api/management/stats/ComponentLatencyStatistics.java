@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import org.mule.api.annotation.NoExtend;
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.core.internal.management.stats.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contains the latency and the amount of successful and failed executions of a component.
+ * <p>
+ * The latency of an execution is measured from the moment the event is handed to the component, before any processing strategy
+ * thread switch, until its result is available.
+ *
+ * @since 4.5.0
+ */
+@NoExtend
+public class ComponentLatencyStatistics implements Statistics {
+
+  private static final long serialVersionUID = -4021187653406711245L;
+
+  private final String componentLocation;
+  private final String componentIdentifier;
+  private final String flowName;
+
+  private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+  private final LongAdder errorCount = new LongAdder();
+
+  public ComponentLatencyStatistics(String componentLocation, String componentIdentifier, String flowName) {
+    this.componentLocation = componentLocation;
+    this.componentIdentifier = componentIdentifier;
+    this.flowName = flowName;
+  }
+
+  /**
+   * Ref: {@link Component#getLocation()}
+   *
+   * @return the location of the component this statistics are for. i.e: {@code flow/processors/2}
+   */
+  public String getComponentLocation() {
+    return componentLocation;
+  }
+
+  /**
+   * Ref: {@link Component#getIdentifier()}
+   *
+   * @return the id of the component this statistics are for. i.e: {@code http:request} or {@code db:select}
+   */
+  public String getComponentIdentifier() {
+    return componentIdentifier;
+  }
+
+  /**
+   * @return the name of the flow containing the component
+   */
+  public String getFlowName() {
+    return flowName;
+  }
+
+  /**
+   * Records a successful execution of the component.
+   *
+   * @param latencyNanos the time the execution took, in nanoseconds
+   */
+  public void recordLatency(long latencyNanos) {
+    latencyHistogram.record(latencyNanos);
+  }
+
+  /**
+   * Records a failed execution of the component.
+   */
+  public void recordError() {
+    errorCount.increment();
+  }
+
+  /**
+   * @return the amount of successful executions of the component
+   */
+  public long getExecutionCount() {
+    return latencyHistogram.getCount();
+  }
+
+  /**
+   * @return the amount of failed executions of the component
+   */
+  public long getErrorCount() {
+    return errorCount.sum();
+  }
+
+  /**
+   * @return the sum of the latencies of the successful executions, in nanoseconds
+   */
+  public long getTotalLatencyNanos() {
+    return latencyHistogram.getTotalNanos();
+  }
+
+  /**
+   * @return the mean latency of the successful executions, in nanoseconds
+   */
+  public double getMeanLatencyNanos() {
+    return latencyHistogram.getMeanNanos();
+  }
+
+  /**
+   * @return the greatest latency of the successful executions, in nanoseconds
+   */
+  public long getMaxLatencyNanos() {
+    return latencyHistogram.getMaxNanos();
+  }
+
+  /**
+   * @param percentile the percentile to get, between 0 and 100
+   * @return the latency, in nanoseconds, that is greater than or equal to the latency of {@code percentile}% of the successful
+   *         executions, with a precision of 6.25%
+   */
+  public long getLatencyNanosAtPercentile(double percentile) {
+    return latencyHistogram.getNanosAtPercentile(percentile);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * Writes {@link ComponentLatencyStatistics} in the format of a metrics backend.
+ * <p>
+ * Implementations are discovered through {@link java.util.ServiceLoader}, and chosen by the {@link #getFormat() format} requested
+ * by the consumer of the statistics.
+ *
+ * @since 4.5.0
+ */
+public interface ComponentLatencyStatisticsExporter {
+
+  /**
+   * @return the name of the format this exporter writes. i.e: {@code prometheus}
+   */
+  String getFormat();
+
+  /**
+   * Writes the provided statistics.
+   *
+   * @param statistics the statistics to write
+   * @param writer     where to write the statistics to
+   * @throws IOException if the statistics can't be written
+   */
+  void export(Collection<ComponentLatencyStatistics> statistics, Writer writer) throws IOException;
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import org.mule.api.annotation.NoImplement;
+
+/**
+ * Statistics of the connection circuit breaker of a config, enabled through the
+ * {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_CONNECTION_CIRCUIT_BREAKER_FAILURE_THRESHOLD_DEPLOYMENT_PROPERTY}
+ * deployment property.
+ *
+ * @since 4.5.0
+ */
+@NoImplement
+public interface ConnectionCircuitStatistics {
+
+  /**
+   * @return the name of the config the circuit guards
+   */
+  String getConfigName();
+
+  /**
+   * @return the current state of the circuit, one of {@code CLOSED}, {@code OPEN} or {@code HALF_OPEN}
+   */
+  String getCircuitState();
+
+  /**
+   * @return the amount of times the circuit has opened
+   */
+  long getOpenings();
+
+  /**
+   * @return the amount of attempts to obtain a connection rejected because the circuit was open
+   */
+  long getRejections();
+
+}
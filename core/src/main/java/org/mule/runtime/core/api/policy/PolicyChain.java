@@ -12,6 +12,9 @@ import static java.util.Optional.ofNullable;
 import static org.mule.runtime.api.notification.PolicyNotification.PROCESS_END;
 import static org.mule.runtime.api.notification.PolicyNotification.PROCESS_START;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanKind.POLICY;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer.endSpan;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer.startSpan;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.buildNewChainWithListOfProcessors;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 import static reactor.core.publisher.Flux.from;
@@ -135,11 +138,13 @@ public class PolicyChain extends AbstractComponent
   public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
     return from(publisher)
         .doOnNext(pushBeforeNextFlowStackElement()
-            .andThen(notificationHelper.notification(PROCESS_START)))
+            .andThen(notificationHelper.notification(PROCESS_START))
+            .andThen(e -> startSpan(e.getContext(), this, getLocation().getRootContainerName(), POLICY)))
         .transform(processorChain)
         .doOnNext(popFlowFlowStackElement()
             .andThen(e -> notificationHelper.fireNotification(e, null,
-                                                              PROCESS_END)));
+                                                              PROCESS_END))
+            .andThen(e -> endSpan(e.getContext(), this, false)));
   }
 
   public MuleContext getMuleContext() {
@@ -154,6 +159,7 @@ public class PolicyChain extends AbstractComponent
         MessagingException t = (MessagingException) exception;
         notificationHelper.fireNotification(t.getEvent(), t, PROCESS_END);
         popFlowFlowStackElement().accept(t.getEvent());
+        endSpan(t.getEvent().getContext(), PolicyChain.this, true);
         onError.ifPresent(onError -> onError.accept(t));
       }
 
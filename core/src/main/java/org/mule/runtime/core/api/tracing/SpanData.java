@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.tracing;
+
+import org.mule.api.annotation.NoImplement;
+
+/**
+ * A finished span, representing the execution of a flow, an operation or a policy for an event.
+ * <p>
+ * Identifiers are represented as lowercase hexadecimal strings, as in a W3C {@code traceparent}.
+ *
+ * @since 4.5.0
+ */
+@NoImplement
+public interface SpanData {
+
+  /**
+   * @return the id of the trace this span belongs to, 32 hexadecimal characters long.
+   */
+  String getTraceId();
+
+  /**
+   * @return the id of this span, 16 hexadecimal characters long.
+   */
+  String getSpanId();
+
+  /**
+   * @return the id of the parent of this span, or {@code null} if this is the root span of the trace.
+   */
+  String getParentSpanId();
+
+  /**
+   * @return the name of the flow, the location of the operation or the id of the policy this span represents.
+   */
+  String getName();
+
+  /**
+   * @return the kind of execution this span represents: {@code FLOW}, {@code OPERATION} or {@code POLICY}.
+   */
+  String getKind();
+
+  /**
+   * @return the time the span started, in nanoseconds since the epoch.
+   */
+  long getStartEpochNanos();
+
+  /**
+   * @return the time the span ended, in nanoseconds since the epoch.
+   */
+  long getEndEpochNanos();
+
+  /**
+   * @return whether the execution represented by this span failed.
+   */
+  boolean isError();
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.tracing;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Sends the {@link SpanData spans} of an artifact to a tracing backend.
+ * <p>
+ * Implementations are discovered through {@link java.util.ServiceLoader}, and chosen by the {@link #getName() name} configured
+ * for the artifact. The spans are exported in batches, from a single thread at a time.
+ *
+ * @since 4.5.0
+ */
+public interface SpanExporter {
+
+  /**
+   * @return the name this exporter is configured with. i.e: {@code file}
+   */
+  String getName();
+
+  /**
+   * Exports a batch of finished spans.
+   *
+   * @param spans the spans to export
+   * @throws IOException if the spans couldn't be exported
+   */
+  void export(Collection<SpanData> spans) throws IOException;
+
+  /**
+   * Releases the resources of this exporter. Called once the artifact doesn't export spans anymore.
+   *
+   * @throws IOException if the resources couldn't be released
+   */
+  default void dispose() throws IOException {}
+}
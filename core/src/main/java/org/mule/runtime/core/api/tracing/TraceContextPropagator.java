@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.tracing;
+
+import org.mule.api.annotation.NoImplement;
+import org.mule.runtime.api.event.EventContext;
+
+import java.util.Optional;
+
+/**
+ * Propagates the W3C trace context of the events of an artifact, so their traces continue in the systems they are received from
+ * and the ones called while processing them.
+ * <p>
+ * Besides through this interface, the trace context is propagated:
+ * <ul>
+ * <li>inbound, from the variable {@value #TRACEPARENT} that a source adds to the {@code SourceCallbackContext} of a message.</li>
+ * <li>outbound, through the expression binding {@value #TRACEPARENT}, available while a traced event is processed. i.e:
+ * {@code #[traceparent]}</li>
+ * </ul>
+ *
+ * @since 4.5.0
+ */
+@NoImplement
+public interface TraceContextPropagator {
+
+  /**
+   * The name of the W3C header with the trace context, also used for the source callback context variable and for the
+   * expression binding it is propagated through.
+   */
+  String TRACEPARENT = "traceparent";
+
+  /**
+   * Continues the trace of the W3C {@code traceparent} the event of the given context was received with, keeping the sampling
+   * decision of the caller. A new trace is started if the {@code traceparent} is not valid. Does nothing if tracing is not
+   * enabled or it was already decided whether the event is traced.
+   *
+   * @param context     the context of an event received by a source
+   * @param traceparent the {@code traceparent} the event was received with
+   */
+  void continueTrace(EventContext context, String traceparent);
+
+  /**
+   * @param context the context of an event
+   * @return the W3C {@code traceparent} to propagate to the systems called while processing the event, if it is traced.
+   */
+  Optional<String> getTraceparent(EventContext context);
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.String.format;
+
+import org.mule.runtime.api.notification.CustomNotification;
+
+/**
+ * Custom notification that communicates the state transitions of the circuit of a {@link ConnectionHealthCoordinator}.
+ * <p>
+ * These are not {@link org.mule.runtime.api.notification.ConnectionNotification}s: a circuit opening or closing is not a
+ * connection being established or lost, but a change in whether connections of a config are attempted at all.
+ *
+ * @since 4.5.0
+ */
+public class ConnectionCircuitNotification extends CustomNotification {
+
+  private static final int CONNECTION_CIRCUIT_ACTION_BASE = (CUSTOM_EVENT_ACTION_START_RANGE + 5) * 5;
+  private static int ACTION_INDEX = 0;
+
+  public static final int CONNECTION_CIRCUIT_OPENED = ++ACTION_INDEX + CONNECTION_CIRCUIT_ACTION_BASE;
+  public static final int CONNECTION_CIRCUIT_HALF_OPENED = ++ACTION_INDEX + CONNECTION_CIRCUIT_ACTION_BASE;
+  public static final int CONNECTION_CIRCUIT_CLOSED = ++ACTION_INDEX + CONNECTION_CIRCUIT_ACTION_BASE;
+
+  static {
+    registerAction("Connection circuit opened", CONNECTION_CIRCUIT_OPENED);
+    registerAction("Connection circuit half opened", CONNECTION_CIRCUIT_HALF_OPENED);
+    registerAction("Connection circuit closed", CONNECTION_CIRCUIT_CLOSED);
+  }
+
+  /**
+   * Creates a notification for a transition of the circuit of the given {@code coordinator}.
+   *
+   * @param coordinator the coordinator which circuit changed state
+   * @param action      one of {@link #CONNECTION_CIRCUIT_OPENED}, {@link #CONNECTION_CIRCUIT_HALF_OPENED} or
+   *                    {@link #CONNECTION_CIRCUIT_CLOSED}
+   */
+  public ConnectionCircuitNotification(ConnectionHealthCoordinator coordinator, int action) {
+    super(coordinator, action);
+    this.resourceIdentifier = coordinator.getConfigName();
+  }
+
+  /**
+   * @return the coordinator which circuit changed state
+   */
+  public ConnectionHealthCoordinator getCoordinator() {
+    return (ConnectionHealthCoordinator) getSource();
+  }
+
+  @Override
+  public String toString() {
+    return format("%s {action=%s, resourceId=%s, timestamp=%s}", getEventName(), getActionName(action), resourceIdentifier,
+                  timestamp);
+  }
+
+  @Override
+  public String getEventName() {
+    return "ConnectionCircuitNotification";
+  }
+}
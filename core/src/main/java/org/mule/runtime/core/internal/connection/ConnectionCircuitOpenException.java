@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.String.format;
+
+import org.mule.runtime.api.connection.ConnectionException;
+
+/**
+ * {@link ConnectionException} thrown when a connection is requested while the {@link ConnectionHealthCoordinator} of its config
+ * is not letting requests through.
+ * <p>
+ * This exception is never retried, since its purpose is to fail fast while the backend is known to be unavailable.
+ *
+ * @since 4.5.0
+ */
+public final class ConnectionCircuitOpenException extends ConnectionException {
+
+  private static final long serialVersionUID = -2361848227370478461L;
+
+  /**
+   * Creates a new instance
+   *
+   * @param configName the name of the config which circuit is open
+   */
+  public ConnectionCircuitOpenException(String configName) {
+    super(format("Connection circuit for config '%s' is open, failing fast until the backend is available again",
+                 configName));
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.State.CLOSED;
+import static org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.State.HALF_OPEN;
+import static org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.State.OPEN;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.management.stats.ConnectionCircuitStatistics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+
+/**
+ * A circuit breaker shared by all the components that obtain connections from the same config.
+ * <p>
+ * While {@link State#CLOSED}, connections are obtained normally. After {@code failureThreshold} consecutive connection failures
+ * the circuit {@link State#OPEN opens} and every attempt to obtain a connection fails fast with a
+ * {@link ConnectionCircuitOpenException}, without hitting the backend. Once the open period elapses, the circuit becomes
+ * {@link State#HALF_OPEN} and a single caller is let through to probe the backend (single-flight reconnection). If the probe
+ * succeeds the circuit closes, otherwise it opens again for a longer period.
+ * <p>
+ * Each attempt gets a {@link Permit} which it reports its outcome with, once the connection has actually been used. Only the
+ * outcome of the probe's own attempt closes or reopens a half open circuit. If a probe never reports its outcome, another one is
+ * let through after {@code maxBackoff}.
+ * <p>
+ * The open period grows exponentially with each consecutive opening, up to {@code maxBackoff}, and is randomized by
+ * {@code +/- jitter} so that the circuits of different configs or nodes don't probe the backend in lockstep.
+ * <p>
+ * The amount of openings and rejected attempts is kept so that it can be published as {@link ConnectionCircuitStatistics}.
+ *
+ * @since 4.5.0
+ */
+public final class ConnectionHealthCoordinator implements ConnectionCircuitStatistics {
+
+  private static final Logger LOGGER = getLogger(ConnectionHealthCoordinator.class);
+
+  /**
+   * The states of a {@link ConnectionHealthCoordinator}
+   */
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  /**
+   * Listener notified of the state transitions of a {@link ConnectionHealthCoordinator}
+   */
+  @FunctionalInterface
+  public interface StateListener {
+
+    /**
+     * @param coordinator the coordinator which circuit changed state
+     * @param from        the previous state
+     * @param to          the new state
+     */
+    void onStateChange(ConnectionHealthCoordinator coordinator, State from, State to);
+  }
+
+  private final String configName;
+  private final int failureThreshold;
+  private final long baseBackoff;
+  private final long maxBackoff;
+  private final double jitter;
+  private final StateListener listener;
+  private final LongSupplier clock;
+
+  /**
+   * The permission to attempt to obtain and use a connection, granted by {@link #acquirePermission()}.
+   */
+  public static final class Permit {
+
+    private static final Permit NOT_PROBE = new Permit(false, 0);
+
+    private final boolean probe;
+    private final long acquiredAt;
+
+    private Permit(boolean probe, long acquiredAt) {
+      this.probe = probe;
+      this.acquiredAt = acquiredAt;
+    }
+
+    /**
+     * @return whether this is the attempt that probes the backend of a half open circuit
+     */
+    public boolean isProbe() {
+      return probe;
+    }
+  }
+
+  private final AtomicReference<State> state = new AtomicReference<>(CLOSED);
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private final AtomicInteger consecutiveOpenings = new AtomicInteger();
+  private final AtomicReference<Permit> probeInFlight = new AtomicReference<>();
+  private volatile long openUntil;
+
+  private final LongAdder openingsCount = new LongAdder();
+  private final LongAdder rejectedCount = new LongAdder();
+
+  /**
+   * Creates a new instance
+   *
+   * @param configName       the name of the config this circuit guards
+   * @param failureThreshold the amount of consecutive failures that open the circuit
+   * @param baseBackoff      the time in milliseconds the circuit stays open the first time it opens
+   * @param maxBackoff       the max time in milliseconds the circuit may stay open
+   * @param jitter           the ratio, between 0 and 1, by which the open time is randomized
+   * @param listener         the listener to notify of state transitions
+   */
+  public ConnectionHealthCoordinator(String configName, int failureThreshold, long baseBackoff, long maxBackoff, double jitter,
+                                     StateListener listener) {
+    this(configName, failureThreshold, baseBackoff, maxBackoff, jitter, listener, System::currentTimeMillis);
+  }
+
+  ConnectionHealthCoordinator(String configName, int failureThreshold, long baseBackoff, long maxBackoff, double jitter,
+                              StateListener listener, LongSupplier clock) {
+    checkArgument(failureThreshold > 0, "failureThreshold must be greater than zero");
+    checkArgument(baseBackoff > 0 && maxBackoff >= baseBackoff, "backoff must be positive and not greater than maxBackoff");
+    checkArgument(jitter >= 0 && jitter < 1, "jitter must be between 0 and 1");
+    this.configName = configName;
+    this.failureThreshold = failureThreshold;
+    this.baseBackoff = baseBackoff;
+    this.maxBackoff = maxBackoff;
+    this.jitter = jitter;
+    this.listener = listener;
+    this.clock = clock;
+  }
+
+  /**
+   * Checks whether a connection may be obtained right now. The outcome of the attempt must be reported through either
+   * {@link #onSuccess(Permit)}, {@link #onFailure(Permit)} or {@link #abort(Permit)} with the returned {@link Permit}.
+   *
+   * @return the {@link Permit} of the attempt
+   * @throws ConnectionCircuitOpenException if the circuit is open, or half open with a probe already in flight
+   */
+  public Permit acquirePermission() throws ConnectionCircuitOpenException {
+    State current = state.get();
+    if (current == CLOSED) {
+      return Permit.NOT_PROBE;
+    }
+
+    long now = clock.getAsLong();
+    if (current == OPEN) {
+      if (now < openUntil) {
+        reject();
+      }
+      transition(OPEN, HALF_OPEN);
+    }
+
+    Permit inFlight = probeInFlight.get();
+    // A probe that never reports its outcome must not keep the circuit half open forever
+    if (inFlight != null && now - inFlight.acquiredAt < maxBackoff) {
+      reject();
+    }
+
+    Permit probe = new Permit(true, now);
+    if (!probeInFlight.compareAndSet(inFlight, probe)) {
+      reject();
+    }
+    return probe;
+  }
+
+  /**
+   * Notifies that the attempt of the given {@code permit} obtained and used a connection successfully.
+   *
+   * @param permit the {@link Permit} of the attempt
+   */
+  public void onSuccess(Permit permit) {
+    if (!permit.probe) {
+      if (state.get() == CLOSED) {
+        consecutiveFailures.set(0);
+      }
+      return;
+    }
+
+    if (probeInFlight.get() == permit) {
+      if (transition(HALF_OPEN, CLOSED)) {
+        consecutiveOpenings.set(0);
+        consecutiveFailures.set(0);
+      }
+      probeInFlight.compareAndSet(permit, null);
+    }
+  }
+
+  /**
+   * Notifies that the attempt of the given {@code permit} failed to obtain or use a connection because of connectivity issues.
+   * <p>
+   * Failures of attempts admitted while the circuit was closed only count while it still is, so they can't reopen the circuit
+   * while a probe is in flight.
+   *
+   * @param permit the {@link Permit} of the attempt
+   */
+  public void onFailure(Permit permit) {
+    if (!permit.probe) {
+      if (state.get() == CLOSED && consecutiveFailures.incrementAndGet() >= failureThreshold) {
+        open(CLOSED);
+      }
+      return;
+    }
+
+    if (probeInFlight.get() == permit) {
+      // Opened before the probe is cleared, so that no other probe is let through in between
+      open(HALF_OPEN);
+      probeInFlight.compareAndSet(permit, null);
+    }
+  }
+
+  /**
+   * Gives up the {@code permit} obtained through {@link #acquirePermission()} without reporting any outcome, for cases where the
+   * attempt failed for reasons not related to connectivity.
+   *
+   * @param permit the {@link Permit} of the attempt
+   */
+  public void abort(Permit permit) {
+    if (permit.probe) {
+      probeInFlight.compareAndSet(permit, null);
+    }
+  }
+
+  private void open(State from) {
+    openUntil = clock.getAsLong() + nextBackoff(consecutiveOpenings.get());
+    if (transition(from, OPEN)) {
+      openingsCount.increment();
+      consecutiveOpenings.incrementAndGet();
+      consecutiveFailures.set(0);
+    }
+  }
+
+  long nextBackoff(int openings) {
+    long backoff = min(maxBackoff, baseBackoff << min(openings, 30));
+    if (backoff < 0) {
+      backoff = maxBackoff;
+    }
+
+    double factor = 1 - jitter + ThreadLocalRandom.current().nextDouble() * 2 * jitter;
+    return min(maxBackoff, (long) (backoff * factor));
+  }
+
+  private boolean transition(State from, State to) {
+    if (state.compareAndSet(from, to)) {
+      LOGGER.info("Connection circuit for config '{}' changed from {} to {}", configName, from, to);
+      try {
+        listener.onStateChange(this, from, to);
+      } catch (Exception e) {
+        LOGGER.warn(format("Listener failed to handle transition of connection circuit for config '%s'", configName), e);
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private void reject() throws ConnectionCircuitOpenException {
+    rejectedCount.increment();
+    throw new ConnectionCircuitOpenException(configName);
+  }
+
+  /**
+   * @return the current {@link State} of the circuit
+   */
+  public State getState() {
+    return state.get();
+  }
+
+  @Override
+  public String getConfigName() {
+    return configName;
+  }
+
+  @Override
+  public String getCircuitState() {
+    return state.get().name();
+  }
+
+  @Override
+  public long getOpenings() {
+    return openingsCount.sum();
+  }
+
+  @Override
+  public long getRejections() {
+    return rejectedCount.sum();
+  }
+}
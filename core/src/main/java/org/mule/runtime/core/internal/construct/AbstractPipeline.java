@@ -28,6 +28,7 @@ import static org.mule.runtime.core.api.processor.strategy.AsyncProcessingStrate
 import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.WAIT;
 import static org.mule.runtime.core.internal.construct.FlowBackPressureException.createFlowBackPressureException;
 import static org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter.createInterceptors;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer.endSpan;
 import static org.mule.runtime.core.internal.util.rx.RxUtils.KEY_ON_NEXT_ERROR_STRATEGY;
 import static org.mule.runtime.core.internal.util.rx.RxUtils.ON_NEXT_FAILURE_STRATEGY;
 import static org.mule.runtime.core.internal.util.rx.RxUtils.propagateCompletion;
@@ -77,6 +78,7 @@ import org.mule.runtime.core.internal.interception.ReactiveInterceptor;
 import org.mule.runtime.core.internal.message.ErrorBuilder;
 import org.mule.runtime.core.internal.processor.interceptor.FlowInterceptorFactoryAdapter;
 import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
+import org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.processor.MessageProcessorBuilder;
@@ -107,6 +109,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
 
   private final InterceptorManager interceptorManager;
   private final NotificationDispatcher notificationFirer;
+  private final SpanTracer spanTracer;
 
   private final SchedulerService schedulerService;
 
@@ -140,6 +143,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
     try {
       interceptorManager = ((MuleContextWithRegistry) muleContext).getRegistry().lookupObject(InterceptorManager.class);
       notificationFirer = ((MuleContextWithRegistry) muleContext).getRegistry().lookupObject(NotificationDispatcher.class);
+      spanTracer = ((MuleContextWithRegistry) muleContext).getRegistry().lookupObject(SpanTracer.class);
     } catch (RegistrationException e) {
       throw new MuleRuntimeException(e);
     }
@@ -441,6 +445,9 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
       }
       notificationFirer.dispatch(new PipelineMessageNotification(createInfo(event, null, AbstractPipeline.this),
                                                                  AbstractPipeline.this.getName(), PROCESS_START));
+      if (spanTracer != null) {
+        spanTracer.startFlowSpan(event.getContext(), AbstractPipeline.this, AbstractPipeline.this.getName());
+      }
 
       long startTime = currentTimeMillis();
 
@@ -458,6 +465,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
           response = messagingException.getEvent();
         }
         fireCompleteNotification(response, messagingException);
+        endSpan(baseEventContext, AbstractPipeline.this, throwable != null);
         baseEventContext.getProcessingTime().ifPresent(time -> time.addFlowExecutionBranchTime(startTime));
       });
     };
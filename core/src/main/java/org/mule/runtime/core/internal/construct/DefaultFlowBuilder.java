@@ -15,6 +15,7 @@ import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.construct.Flow.INITIAL_STATE_STARTED;
 import static org.mule.runtime.core.internal.construct.AbstractFlowConstruct.createFlowStatistics;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
+import static reactor.core.publisher.Flux.defer;
 import static reactor.core.publisher.Flux.from;
 
 import org.mule.runtime.api.deployment.management.ComponentInitialStateManager;
@@ -35,6 +36,7 @@ import org.mule.runtime.core.privileged.processor.MessageProcessors;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.reactivestreams.Publisher;
 
@@ -197,6 +199,8 @@ public class DefaultFlowBuilder implements Builder {
    */
   public static class DefaultFlow extends AbstractPipeline implements Flow {
 
+    private volatile OnDemandLifecycle onDemandLifecycle;
+
     protected DefaultFlow(String name, MuleContext muleContext, MessageSource source, List<Processor> processors,
                           Optional<FlowExceptionHandler> exceptionListener,
                           Optional<ProcessingStrategyFactory> processingStrategyFactory, String initialState,
@@ -208,12 +212,25 @@ public class DefaultFlowBuilder implements Builder {
 
     @Override
     public CoreEvent process(final CoreEvent event) throws MuleException {
+      final OnDemandLifecycle lifecycle = onDemandLifecycle;
+      if (lifecycle != null) {
+        // This is a blocking call already, so the lifecycle may be applied in the calling thread
+        lifecycle.apply();
+      }
       return processToApply(event, this);
     }
 
     @Override
     public ReactiveProcessor referenced() {
-      return pub -> from(pub)
+      final OnDemandLifecycle lifecycle = onDemandLifecycle;
+      if (lifecycle != null) {
+        return pub -> withOnDemandLifecycle(lifecycle, pub, this::doReferenced);
+      }
+      return this::doReferenced;
+    }
+
+    private Publisher<CoreEvent> doReferenced(Publisher<CoreEvent> pub) {
+      return from(pub)
           .doOnNext(this::checkBackpressureReferenced)
           .transform(dispatchToFlow());
     }
@@ -223,6 +240,14 @@ public class DefaultFlowBuilder implements Builder {
      */
     @Override
     public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+      final OnDemandLifecycle lifecycle = onDemandLifecycle;
+      if (lifecycle != null) {
+        return withOnDemandLifecycle(lifecycle, publisher, this::doApply);
+      }
+      return doApply(publisher);
+    }
+
+    private Publisher<CoreEvent> doApply(Publisher<CoreEvent> publisher) {
       return from(publisher)
           .doOnNext(assertStarted())
           // Insert the incoming event into the flow, routing it through the processing strategy
@@ -231,6 +256,27 @@ public class DefaultFlowBuilder implements Builder {
           .onErrorStop();
     }
 
+    /**
+     * Applies the on demand lifecycle when subscribing, since part of the processing is only available once the flow is
+     * initialised, and for every event, since the flow may have been stopped in between.
+     */
+    private Publisher<CoreEvent> withOnDemandLifecycle(OnDemandLifecycle lifecycle, Publisher<CoreEvent> publisher,
+                                                       Function<Publisher<CoreEvent>, Publisher<CoreEvent>> processing) {
+      return defer(() -> from(lifecycle.whenApplied(publisher))
+          .flatMap(pub -> processing.apply(from(pub).concatMap(lifecycle::enter))));
+    }
+
+    /**
+     * Sets the lifecycle that brings this flow to the started state when it is not applied along with the rest of the
+     * application. It is applied whenever this flow is about to receive events, no matter where they come from.
+     *
+     * @param onDemandLifecycle the lifecycle of this flow
+     * @since 4.5.0
+     */
+    public void setOnDemandLifecycle(OnDemandLifecycle onDemandLifecycle) {
+      this.onDemandLifecycle = onDemandLifecycle;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -245,5 +291,35 @@ public class DefaultFlowBuilder implements Builder {
     public boolean isSynchronous() {
       return getProcessingStrategy() != null ? getProcessingStrategy().isSynchronous() : true;
     }
+
+    /**
+     * The lifecycle of a {@link DefaultFlow} which is applied when the flow is about to receive events instead of along with the
+     * rest of the application.
+     *
+     * @since 4.5.0
+     */
+    public interface OnDemandLifecycle {
+
+      /**
+       * Brings the flow to the started state, if it isn't already, blocking the calling thread until it is done.
+       */
+      void apply();
+
+      /**
+       * Brings the flow to the started state, if it isn't already, without blocking the calling thread if it is not allowed to.
+       *
+       * @param value the value to emit once the flow is started
+       * @return a {@link Publisher} that emits {@code value} once the flow is started
+       */
+      <T> Publisher<T> whenApplied(T value);
+
+      /**
+       * Notifies that the given {@code event} is about to enter the flow. The flow is kept started until the event is responded.
+       *
+       * @param event the event about to enter the flow
+       * @return a {@link Publisher} that emits {@code event} once the flow is started
+       */
+      Publisher<CoreEvent> enter(CoreEvent event);
+    }
   }
 }
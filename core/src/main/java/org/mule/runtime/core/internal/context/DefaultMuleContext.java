@@ -55,6 +55,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNee
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.management.stats.AllStatistics.configureComputeConnectionErrorsInStats;
 import static org.mule.runtime.core.api.util.UUID.getClusterUUID;
+import static org.mule.runtime.core.internal.lifecycle.LayeredLifecycleExecutor.runOnPhaseOwner;
 import static org.mule.runtime.core.internal.logging.LogUtil.log;
 import static org.mule.runtime.core.internal.profiling.AbstractProfilingService.configureEnableProfilingService;
 import static org.mule.runtime.core.internal.transformer.simple.ObjectToString.configureToStringTransformerTransformIteratorElements;
@@ -577,6 +578,11 @@ public class DefaultMuleContext implements MuleContextWithRegistry, PrivilegedMu
 
   @Override
   public void withLifecycleLock(Runnable command) {
+    // The thread applying a parallel lifecycle phase already holds the lock, so the command is run there
+    if (runOnPhaseOwner(command)) {
+      return;
+    }
+
     synchronized (lifecycleStateLock) {
       command.run();
     }
@@ -41,6 +41,8 @@ import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.internal.util.OneTimeWarning;
 import org.mule.runtime.core.privileged.transformer.TransformersRegistry;
 import org.mule.runtime.core.privileged.util.TemplateParser;
+import org.mule.runtime.core.privileged.util.TemplateParser.CompiledTemplate;
+import org.mule.runtime.core.privileged.util.TemplateParser.TemplateCallback;
 
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -248,12 +250,31 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
   public String parseLogTemplate(String template, CoreEvent event, ComponentLocation componentLocation,
                                  BindingContext bindingContext)
       throws ExpressionRuntimeException {
+    return parser.parse(logTemplateCallback(template, event, componentLocation, bindingContext), template);
+  }
+
+  @Override
+  public CompiledTemplate compileLogTemplate(String template) {
+    return parser.compile(template);
+  }
+
+  @Override
+  public String parseLogTemplate(CompiledTemplate template, CoreEvent event, ComponentLocation componentLocation,
+                                 BindingContext bindingContext)
+      throws ExpressionRuntimeException {
+    if (template.isLiteral()) {
+      return template.parse(null);
+    }
+    return template.parse(logTemplateCallback(template.getTemplate(), event, componentLocation, bindingContext));
+  }
 
+  private TemplateCallback logTemplateCallback(String template, CoreEvent event, ComponentLocation componentLocation,
+                                               BindingContext bindingContext) {
     if ((!hasDwExpression(template) && !hasMelExpression(template) && melDefault) || hasMelExpression(template)) {
       Builder eventBuilder = CoreEvent.builder(event);
-      return parser.parse(token -> melParseEvaluation(event, componentLocation, eventBuilder, token), template);
+      return token -> melParseEvaluation(event, componentLocation, eventBuilder, token);
     } else {
-      return parser.parse(token -> {
+      return token -> {
         TypedValue<?> evaluation = expressionLanguage.evaluateLogExpression(token, event, componentLocation, bindingContext);
         if (evaluation.getValue() instanceof Message) {
           // Do not apply transformation to Message since payload will be considered then
@@ -268,7 +289,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
                                                                           STRING)),
                                                e);
         }
-      }, template);
+      };
     }
   }
 
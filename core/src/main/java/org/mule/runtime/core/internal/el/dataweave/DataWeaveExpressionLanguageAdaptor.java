@@ -9,12 +9,15 @@ package org.mule.runtime.core.internal.el.dataweave;
 import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
 import static org.mule.runtime.api.el.BindingContextUtils.addEventBuindingsToBuilder;
 import static org.mule.runtime.api.el.BindingContextUtils.addFlowNameBindingsToBuilder;
+import static org.mule.runtime.api.metadata.DataType.STRING;
 import static org.mule.runtime.api.metadata.DataType.fromType;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_EXPRESSIONS_COMPILATION_FAIL_DEPLOYMENT;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.expressionEvaluationFailed;
+import static org.mule.runtime.core.api.tracing.TraceContextPropagator.TRACEPARENT;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.isSanitizedPayload;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.sanitize;
+import static org.mule.runtime.core.internal.event.DefaultEventContext.getEventSpans;
 
 import static java.lang.System.getProperty;
 
@@ -42,6 +45,7 @@ import org.mule.runtime.core.internal.el.ExtendedExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.el.IllegalCompiledExpression;
 import org.mule.runtime.core.internal.el.context.MuleInstanceContext;
 import org.mule.runtime.core.internal.el.context.ServerContext;
+import org.mule.runtime.core.internal.profiling.tracing.span.EventSpans;
 
 import java.util.Iterator;
 import java.util.function.Function;
@@ -229,6 +233,7 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
     Builder contextBuilder;
     if (event != null) {
       contextBuilder = addEventBuindingsToBuilder(event, context);
+      addTraceparentBinding(event, contextBuilder);
     } else {
       contextBuilder = BindingContext.builder(context);
     }
@@ -238,6 +243,14 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
     return contextBuilder.build();
   }
 
+  private void addTraceparentBinding(CoreEvent event, Builder contextBuilder) {
+    EventSpans spans = getEventSpans(event.getContext());
+    if (spans != null && spans.isSampled()) {
+      // Resolved when read, so it has the innermost span open at that moment
+      contextBuilder.addBinding(TRACEPARENT, () -> new TypedValue<>(spans.getTraceparent(), STRING));
+    }
+  }
+
   @Override
   public ExpressionLanguageSessionAdaptor openSession(ComponentLocation location, CoreEvent event, BindingContext baseContext) {
     final BindingContext context = bindingContextFor(location, event, baseContext);
@@ -24,6 +24,8 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
 import org.mule.runtime.core.api.exception.NullExceptionHandler;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.management.stats.ComponentStartTimes;
+import org.mule.runtime.core.internal.profiling.tracing.span.EventSpans;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
 import java.util.ArrayList;
@@ -75,6 +77,9 @@ abstract class AbstractEventContext implements BaseEventContext {
   private volatile byte state = STATE_READY;
   private volatile Either<Throwable, CoreEvent> result;
 
+  private transient volatile EventSpans eventSpans;
+  private transient volatile ComponentStartTimes componentStartTimes;
+
   private LazyValue<ResponsePublisher> responsePublisher = new LazyValue<>(ResponsePublisher::new);
 
   protected FlowCallStack flowCallStack;
@@ -410,6 +415,27 @@ abstract class AbstractEventContext implements BaseEventContext {
     }
   }
 
+  EventSpans getEventSpans() {
+    return eventSpans;
+  }
+
+  void setEventSpans(EventSpans eventSpans) {
+    this.eventSpans = eventSpans;
+  }
+
+  ComponentStartTimes getComponentStartTimes() {
+    ComponentStartTimes startTimes = componentStartTimes;
+    if (startTimes == null) {
+      synchronized (this) {
+        startTimes = componentStartTimes;
+        if (startTimes == null) {
+          componentStartTimes = startTimes = new ComponentStartTimes();
+        }
+      }
+    }
+    return startTimes;
+  }
+
   @Override
   public int getDepthLevel() {
     return depthLevel;
@@ -17,6 +17,7 @@ import static org.mule.runtime.core.api.util.StringUtils.EMPTY;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.event.EventContext;
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
 import org.mule.runtime.core.api.construct.FlowConstruct;
@@ -30,6 +31,8 @@ import org.mule.runtime.core.api.management.stats.ProcessingTime;
 import org.mule.runtime.core.api.source.MessageSource;
 import org.mule.runtime.core.internal.context.notification.DefaultFlowCallStack;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.management.stats.ComponentStartTimes;
+import org.mule.runtime.core.internal.profiling.tracing.span.EventSpans;
 import org.mule.runtime.core.internal.streaming.EventStreamingState;
 import org.mule.runtime.core.internal.streaming.ManagedCursorProvider;
 import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
@@ -99,6 +102,39 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     return child;
   }
 
+  /**
+   * @param context an event context
+   * @return the spans of the event of the given context, or {@code null} if it is not traced or it wasn't yet decided whether it
+   *         is traced.
+   * @since 4.5.0
+   */
+  public static EventSpans getEventSpans(EventContext context) {
+    return context instanceof AbstractEventContext ? ((AbstractEventContext) context).getEventSpans() : null;
+  }
+
+  /**
+   * Sets the spans of the event of the given context. The child contexts created afterwards inherit them.
+   *
+   * @param context    an event context
+   * @param eventSpans the spans of the event
+   * @since 4.5.0
+   */
+  public static void setEventSpans(EventContext context, EventSpans eventSpans) {
+    if (context instanceof AbstractEventContext) {
+      ((AbstractEventContext) context).setEventSpans(eventSpans);
+    }
+  }
+
+  /**
+   * @param context an event context
+   * @return the start times of the executions of components in progress for the event of the given context, or {@code null} if
+   *         the context can't keep them.
+   * @since 4.5.0
+   */
+  public static ComponentStartTimes getComponentStartTimes(EventContext context) {
+    return context instanceof AbstractEventContext ? ((AbstractEventContext) context).getComponentStartTimes() : null;
+  }
+
   private final String id;
   private final String correlationId;
   private final Instant receivedDate = now();
@@ -340,6 +376,11 @@ public final class DefaultEventContext extends AbstractEventContext implements S
           : Integer.toString(identityHashCode(this));
       this.correlationId = correlationId != null ? correlationId : parent.getCorrelationId();
       this.rootId = root.getRootId();
+
+      EventSpans parentSpans = DefaultEventContext.getEventSpans(parent);
+      if (parentSpans != null) {
+        setEventSpans(parentSpans.child());
+      }
     }
 
     private ChildEventContext(BaseEventContext parent, ComponentLocation componentLocation,
@@ -9,42 +9,74 @@ package org.mule.runtime.core.internal.event;
 import static java.lang.System.lineSeparator;
 import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 
+import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.core.api.context.notification.FlowCallStack;
 import org.mule.runtime.core.api.event.EventContextService;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Implementation of {@link EventContextService} that keeps a reference to all active {@link DefaultEventContext}s in the Mule
  * Runtime.
+ * <p>
+ * The contexts are indexed by the flow they originated in, so that adding and removing contexts of different flows don't contend
+ * with each other and the contexts of a single flow can be visited without going through the rest.
  *
  * @since 4.1
  */
 public class DefaultEventContextService implements EventContextService {
 
-  private final Set<DefaultEventContext> currentContexts = newKeySet(512);
+  private static final String UNKNOWN_FLOW = "";
+
+  private final ConcurrentHashMap<String, Set<DefaultEventContext>> currentContextsByFlow = new ConcurrentHashMap<>();
 
   @Override
   public List<FlowStackEntry> getCurrentlyActiveFlowStacks() {
     List<FlowStackEntry> flowStacks = new ArrayList<>();
+    visitCurrentlyActiveFlowStacks(null, flowStacks::add);
+    return flowStacks;
+  }
 
-    for (DefaultEventContext context : currentContexts) {
-      flowStacks.add(new DefaultFlowStackEntry(context));
-      context.forEachChild(childContext -> flowStacks.add(new DefaultFlowStackEntry(childContext)));
+  @Override
+  public void visitCurrentlyActiveFlowStacks(String flowName, Consumer<FlowStackEntry> visitor) {
+    if (flowName == null) {
+      currentContextsByFlow.values().forEach(contexts -> visitFlowStacks(contexts, visitor));
+    } else {
+      Set<DefaultEventContext> contexts = currentContextsByFlow.get(flowName);
+      if (contexts != null) {
+        visitFlowStacks(contexts, visitor);
+      }
     }
+  }
 
-    return flowStacks;
+  private void visitFlowStacks(Set<DefaultEventContext> contexts, Consumer<FlowStackEntry> visitor) {
+    for (DefaultEventContext context : contexts) {
+      visitor.accept(new DefaultFlowStackEntry(context));
+      context.forEachChild(childContext -> visitor.accept(new DefaultFlowStackEntry(childContext)));
+    }
   }
 
   public void addContext(DefaultEventContext context) {
-    currentContexts.add(context);
+    currentContextsByFlow.computeIfAbsent(getFlowName(context), flowName -> newKeySet()).add(context);
   }
 
   public void removeContext(DefaultEventContext context) {
-    currentContexts.remove(context);
+    // The sets of the flows are kept once created, their amount is bound by the amount of flows of the artifact
+    Set<DefaultEventContext> contexts = currentContextsByFlow.get(getFlowName(context));
+    if (contexts != null) {
+      contexts.remove(context);
+    }
+  }
+
+  private static String getFlowName(DefaultEventContext context) {
+    ComponentLocation location = context.getOriginatingLocation();
+    return location != null ? location.getRootContainerName() : UNKNOWN_FLOW;
   }
 
   private static final class DefaultFlowStackEntry implements FlowStackEntry {
@@ -53,12 +85,14 @@ public class DefaultEventContextService implements EventContextService {
     private final String eventId;
     private final String originatingLocation;
     private final FlowCallStack flowCallStack;
+    private final Instant receivedTime;
 
     public DefaultFlowStackEntry(BaseEventContext context) {
       this.serverId = context.getServerId();
       this.eventId = context.getId();
       this.originatingLocation = context.getOriginatingLocation().getLocation();
       this.flowCallStack = context.getFlowCallStack().clone();
+      this.receivedTime = context.getReceivedTime();
     }
 
     @Override
@@ -76,6 +110,11 @@ public class DefaultEventContextService implements EventContextService {
       return flowCallStack;
     }
 
+    @Override
+    public Instant getReceivedTime() {
+      return receivedTime;
+    }
+
     @Override
     public String toString() {
       return "eventId: " + eventId + " @ " + originatingLocation + ";" + lineSeparator() + getFlowCallStack().toString();
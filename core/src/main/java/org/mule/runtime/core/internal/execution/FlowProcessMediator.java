@@ -78,6 +78,7 @@ import org.mule.runtime.core.internal.policy.SourcePolicyFailureResult;
 import org.mule.runtime.core.internal.policy.SourcePolicySuccessResult;
 import org.mule.runtime.core.internal.processor.interceptor.CompletableInterceptorSourceFailureCallbackAdapter;
 import org.mule.runtime.core.internal.processor.interceptor.CompletableInterceptorSourceSuccessCallbackAdapter;
+import org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer;
 import org.mule.runtime.core.internal.util.mediatype.MediaTypeDecoratedResultCollection;
 import org.mule.runtime.core.internal.util.message.TransformingLegacyResultAdapterCollection;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
@@ -85,6 +86,7 @@ import org.mule.runtime.core.privileged.event.context.FlowProcessMediatorContext
 import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
 import org.mule.sdk.api.runtime.operation.Result;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -129,6 +131,8 @@ public class FlowProcessMediator implements Initialisable {
   @Inject
   private MuleContext muleContext;
 
+  private SpanTracer spanTracer;
+
   private final PolicyManager policyManager;
   private final PhaseResultNotifier phaseResultNotifier;
   private final List<CompletableInterceptorSourceSuccessCallbackAdapter> additionalSuccessInterceptors = new LinkedList<>();
@@ -147,6 +151,15 @@ public class FlowProcessMediator implements Initialisable {
     this.phaseResultNotifier = phaseResultNotifier;
   }
 
+  /**
+   * @param spanTracer the tracer of the flows, not registered in every context
+   * @since 4.5.0
+   */
+  @Inject
+  public void setSpanTracer(Optional<SpanTracer> spanTracer) {
+    this.spanTracer = spanTracer.orElse(null);
+  }
+
   @Override
   public void initialise() throws InitialisationException {
     this.notificationHelper =
@@ -201,81 +214,181 @@ public class FlowProcessMediator implements Initialisable {
       final MessageSource messageSource = messageProcessContext.getMessageSource();
       final Pipeline flowConstruct = (Pipeline) messageProcessContext.getFlowConstruct();
       final CompletableFuture<Void> responseCompletion = new CompletableFuture<>();
-      final FlowProcessor flowExecutionProcessor =
-          new FlowProcessor(publisher -> applyWithChildContext(from(publisher), template::routeEventAsync, empty()),
-                            flowConstruct);
-
-      final CursorComponentDecoratorFactory componentDecoratorFactory = messageProcessContext.getComponentDecoratorFactory();
-      final CoreEvent event = createEvent(template, componentDecoratorFactory, messageSource,
-                                          responseCompletion, flowConstruct);
-      componentDecoratorFactory.incrementInvocationCount(event.getCorrelationId());
-
-      policyManager.addSourcePointcutParametersIntoEvent(messageSource, event.getMessage().getAttributes(),
-                                                         (InternalEvent) event);
+      final CoreEvent event = createSourceEvent(template, messageProcessContext, responseCompletion);
 
       try {
-        final SourcePolicy policy =
-            policyManager.createSourcePolicyInstance(messageSource, event, flowExecutionProcessor, template);
-
-        final DefaultFlowProcessMediatorContext phaseContext = new DefaultFlowProcessMediatorContext(template,
-                                                                                                     getTerminateConsumer(messageSource,
-                                                                                                                          template),
-                                                                                                     responseCompletion);
-        ((InternalEvent) event).setFlowProcessMediatorContext(phaseContext);
-
-        // registering source interceptor callback to the event context
-        BaseEventContext rootContext = ((BaseEventContext) event.getContext()).getRootContext();
-        sourceInterceptors.forEach(sourceInterceptor -> rootContext
-            .onTerminated((e, t) -> sourceInterceptor.afterTerminated(messageSource.getLocation(), rootContext)));
+        final SourcePolicy policy = createSourcePolicy(template, messageSource, flowConstruct, event);
+        final DefaultFlowProcessMediatorContext phaseContext =
+            createPhaseContext(template, messageSource, event, responseCompletion);
 
         dispatch(event, policy, flowConstruct, phaseContext);
       } catch (Exception e) {
-        template.sendFailureResponseToClient(messageProcessContext.getMessagingExceptionResolver()
-            .resolve(new MessagingException(event, e), errorTypeLocator, exceptionContextProviders),
-                                             template.getFailedExecutionResponseParametersFunction().apply(event),
-                                             always(() -> phaseResultNotifier.phaseFailure(e)));
-
-        ((BaseEventContext) event.getContext()).error(e);
-        responseCompletion.complete(null);
+        failBeforeDispatch(template, messageProcessContext, event, responseCompletion, e);
       }
     } catch (Exception e) {
       phaseResultNotifier.phaseFailure(e);
     }
   }
 
+  /**
+   * Routes a batch of messages received by the same source through the flow.
+   * <p>
+   * Each message gets its own event, notifications, backpressure check and response, exactly as if it was passed to
+   * {@link #process(FlowProcessTemplate, MessageProcessContext)}, but consecutive events that resolve to the same
+   * {@link SourcePolicy} are handed to it in a single call, so the whole batch goes through the policy and into the processing
+   * strategy in one pass.
+   *
+   * @param templates             the templates of the received messages, in the order they were received.
+   * @param messageProcessContext the context of the source that received the messages.
+   *
+   * @since 4.5.0
+   */
+  public void processBatch(List<FlowProcessTemplate> templates, MessageProcessContext messageProcessContext) {
+    final MessageSource messageSource = messageProcessContext.getMessageSource();
+    final Pipeline flowConstruct = (Pipeline) messageProcessContext.getFlowConstruct();
+    final PolicyRun run = new PolicyRun(flowConstruct, templates.size());
+
+    for (FlowProcessTemplate template : templates) {
+      try {
+        final CompletableFuture<Void> responseCompletion = new CompletableFuture<>();
+        final CoreEvent event = createSourceEvent(template, messageProcessContext, responseCompletion);
+
+        try {
+          final SourcePolicy policy = createSourcePolicy(template, messageSource, flowConstruct, event);
+          final DefaultFlowProcessMediatorContext phaseContext =
+              createPhaseContext(template, messageSource, event, responseCompletion);
+
+          if (!run.accepts(policy)) {
+            run.dispatch();
+          }
+          admit(event, policy, flowConstruct, phaseContext, run);
+        } catch (Exception e) {
+          failBeforeDispatch(template, messageProcessContext, event, responseCompletion, e);
+        }
+      } catch (Exception e) {
+        phaseResultNotifier.phaseFailure(e);
+      }
+    }
+
+    run.dispatch();
+  }
+
+  private CoreEvent createSourceEvent(FlowProcessTemplate template, MessageProcessContext messageProcessContext,
+                                      CompletableFuture<Void> responseCompletion) {
+    final MessageSource messageSource = messageProcessContext.getMessageSource();
+    final CursorComponentDecoratorFactory componentDecoratorFactory = messageProcessContext.getComponentDecoratorFactory();
+    final CoreEvent event = createEvent(template, componentDecoratorFactory, messageSource,
+                                        responseCompletion, messageProcessContext.getFlowConstruct());
+    componentDecoratorFactory.incrementInvocationCount(event.getCorrelationId());
+    if (spanTracer != null) {
+      // The decision is taken here so it also applies to the source policies
+      template.getSourceMessage().getTraceparent()
+          .ifPresent(traceparent -> spanTracer.continueTrace(event.getContext(), traceparent));
+      spanTracer.sample(event.getContext());
+    }
+
+    policyManager.addSourcePointcutParametersIntoEvent(messageSource, event.getMessage().getAttributes(),
+                                                       (InternalEvent) event);
+    return event;
+  }
+
+  private SourcePolicy createSourcePolicy(FlowProcessTemplate template, MessageSource messageSource, Pipeline flowConstruct,
+                                          CoreEvent event) {
+    final FlowProcessor flowExecutionProcessor =
+        new FlowProcessor(publisher -> applyWithChildContext(from(publisher), template::routeEventAsync, empty()),
+                          flowConstruct);
+    return policyManager.createSourcePolicyInstance(messageSource, event, flowExecutionProcessor, template);
+  }
+
+  private DefaultFlowProcessMediatorContext createPhaseContext(FlowProcessTemplate template, MessageSource messageSource,
+                                                               CoreEvent event, CompletableFuture<Void> responseCompletion) {
+    final DefaultFlowProcessMediatorContext phaseContext = new DefaultFlowProcessMediatorContext(template,
+                                                                                                 getTerminateConsumer(messageSource,
+                                                                                                                      template),
+                                                                                                 responseCompletion);
+    ((InternalEvent) event).setFlowProcessMediatorContext(phaseContext);
+
+    // registering source interceptor callback to the event context
+    BaseEventContext rootContext = ((BaseEventContext) event.getContext()).getRootContext();
+    sourceInterceptors.forEach(sourceInterceptor -> rootContext
+        .onTerminated((e, t) -> sourceInterceptor.afterTerminated(messageSource.getLocation(), rootContext)));
+    return phaseContext;
+  }
+
+  private void failBeforeDispatch(FlowProcessTemplate template, MessageProcessContext messageProcessContext, CoreEvent event,
+                                  CompletableFuture<Void> responseCompletion, Exception e) {
+    template.sendFailureResponseToClient(messageProcessContext.getMessagingExceptionResolver()
+        .resolve(new MessagingException(event, e), errorTypeLocator, exceptionContextProviders),
+                                         template.getFailedExecutionResponseParametersFunction().apply(event),
+                                         always(() -> phaseResultNotifier.phaseFailure(e)));
+
+    ((BaseEventContext) event.getContext()).error(e);
+    responseCompletion.complete(null);
+  }
+
   private void dispatch(@Nonnull CoreEvent event, SourcePolicy sourcePolicy, Pipeline flowConstruct,
                         DefaultFlowProcessMediatorContext ctx)
       throws Exception {
     try {
-      onMessageReceived(event, flowConstruct, ctx);
-      flowConstruct.checkBackpressure(event);
-      ctx.template.getNotificationFunctions().forEach(notificationFunction -> notificationManager
-          .fireNotification(notificationFunction.apply(event, flowConstruct.getSource())));
-      sourcePolicy.process(event, ctx.template,
-                           new CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>>() {
-
-                             @Override
-                             public void complete(Either<SourcePolicyFailureResult, SourcePolicySuccessResult> value) {
-                               dispatchResponse(flowConstruct, ctx, value);
-                             }
-
-                             @Override
-                             public void error(Throwable e) {
-                               dispatchResponse(flowConstruct, ctx,
-                                                left(new SourcePolicyFailureResult(new MessagingException(event, e),
-                                                                                   Collections::emptyMap)));
-                             }
-                           });
+      enterFlow(event, flowConstruct, ctx);
+      sourcePolicy.process(event, ctx.template, policyCallback(event, flowConstruct, ctx));
+    } catch (Exception e) {
+      handleDispatchException(event, flowConstruct, ctx, e);
+    }
+  }
+
+  /*
+   * Runs the same steps as dispatch for an event of a batch, but collects the admitted event into the run instead of handing it
+   * to the policy right away.
+   */
+  private void admit(@Nonnull CoreEvent event, SourcePolicy sourcePolicy, Pipeline flowConstruct,
+                     DefaultFlowProcessMediatorContext ctx, PolicyRun run)
+      throws Exception {
+    try {
+      enterFlow(event, flowConstruct, ctx);
+      run.add(sourcePolicy, event, ctx);
     } catch (Exception e) {
-      e = (Exception) Exceptions.unwrap(e);
-      if (e instanceof FlowBackPressureException) {
-        ((BaseEventContext) event.getContext()).error(e);
+      handleDispatchException(event, flowConstruct, ctx, e);
+    }
+  }
+
+  private void enterFlow(CoreEvent event, Pipeline flowConstruct, DefaultFlowProcessMediatorContext ctx) {
+    onMessageReceived(event, flowConstruct, ctx);
+    flowConstruct.checkBackpressure(event);
+    ctx.template.getNotificationFunctions().forEach(notificationFunction -> notificationManager
+        .fireNotification(notificationFunction.apply(event, flowConstruct.getSource())));
+  }
+
+  private void handleDispatchException(CoreEvent event, Pipeline flowConstruct, DefaultFlowProcessMediatorContext ctx,
+                                       Exception e)
+      throws Exception {
+    e = (Exception) Exceptions.unwrap(e);
+    if (e instanceof FlowBackPressureException) {
+      ((BaseEventContext) event.getContext()).error(e);
+      dispatchResponse(flowConstruct, ctx,
+                       mapBackPressureExceptionToPolicyFailureResult(ctx.template, event, (FlowBackPressureException) e));
+    } else {
+      throw e;
+    }
+  }
+
+  private CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>> policyCallback(CoreEvent event,
+                                                                                                           Pipeline flowConstruct,
+                                                                                                           DefaultFlowProcessMediatorContext ctx) {
+    return new CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>>() {
+
+      @Override
+      public void complete(Either<SourcePolicyFailureResult, SourcePolicySuccessResult> value) {
+        dispatchResponse(flowConstruct, ctx, value);
+      }
+
+      @Override
+      public void error(Throwable e) {
         dispatchResponse(flowConstruct, ctx,
-                         mapBackPressureExceptionToPolicyFailureResult(ctx.template, event, (FlowBackPressureException) e));
-      } else {
-        throw e;
+                         left(new SourcePolicyFailureResult(new MessagingException(event, e),
+                                                            Collections::emptyMap)));
       }
-    }
+    };
   }
 
   private void dispatchResponse(Pipeline flowConstruct, DefaultFlowProcessMediatorContext ctx,
@@ -617,6 +730,57 @@ public class FlowProcessMediator implements Initialisable {
     this.muleContext = context;
   }
 
+  /**
+   * Consecutive events of a batch that were admitted into the flow and resolved to the same {@link SourcePolicy}.
+   */
+  private final class PolicyRun {
+
+    private final Pipeline flowConstruct;
+    private final int capacity;
+    private SourcePolicy policy;
+    private List<CoreEvent> events;
+    private List<FlowProcessTemplate> templates;
+    private List<CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>>> callbacks;
+
+    private PolicyRun(Pipeline flowConstruct, int capacity) {
+      this.flowConstruct = flowConstruct;
+      this.capacity = capacity;
+      reset();
+    }
+
+    private boolean accepts(SourcePolicy sourcePolicy) {
+      return policy == null || policy == sourcePolicy;
+    }
+
+    private void add(SourcePolicy sourcePolicy, CoreEvent event, DefaultFlowProcessMediatorContext ctx) {
+      policy = sourcePolicy;
+      events.add(event);
+      templates.add(ctx.template);
+      callbacks.add(policyCallback(event, flowConstruct, ctx));
+    }
+
+    private void dispatch() {
+      if (events.isEmpty()) {
+        return;
+      }
+
+      try {
+        policy.processBatch(events, templates, callbacks);
+      } catch (Exception e) {
+        phaseResultNotifier.phaseFailure(e);
+      } finally {
+        reset();
+      }
+    }
+
+    private void reset() {
+      policy = null;
+      events = new ArrayList<>(capacity);
+      templates = new ArrayList<>(capacity);
+      callbacks = new ArrayList<>(capacity);
+    }
+  }
+
   /**
    * Container for passing relevant context between private methods to avoid long method signatures everywhere.
    */
@@ -8,6 +8,8 @@ package org.mule.runtime.core.internal.execution;
 
 import org.mule.runtime.core.api.source.MessageSource;
 
+import java.util.List;
+
 /**
  * In charge of processing messages through mule.
  *
@@ -25,4 +27,20 @@ public interface MessageProcessingManager {
    */
   void processMessage(FlowProcessTemplate messageProcessTemplate, MessageProcessContext messageProcessContext);
 
+  /**
+   * Process a batch of messages received by the same {@link MessageSource} by routing them through a flow. Each message is
+   * processed as if it was passed to {@link #processMessage(FlowProcessTemplate, MessageProcessContext)}, but implementations
+   * may route the whole batch in a single pass.
+   *
+   * @param messageProcessTemplates the templates of each message, in the order they were received
+   * @param messageProcessContext   defines the context of execution of the messages
+   * @since 4.5.0
+   */
+  default void processMessages(List<FlowProcessTemplate> messageProcessTemplates,
+                               MessageProcessContext messageProcessContext) {
+    for (FlowProcessTemplate messageProcessTemplate : messageProcessTemplates) {
+      processMessage(messageProcessTemplate, messageProcessContext);
+    }
+  }
+
 }
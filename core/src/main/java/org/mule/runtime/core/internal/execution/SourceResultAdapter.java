@@ -28,6 +28,7 @@ public class SourceResultAdapter {
   private final MediaType mediaType;
   private final Optional<String> correlationId;
   private final PayloadMediaTypeResolver payloadMediaTypeResolver;
+  private final Optional<String> traceparent;
 
   /**
    * Creates a new instance
@@ -63,12 +64,35 @@ public class SourceResultAdapter {
                              boolean isCollection,
                              Optional<String> correlationId,
                              PayloadMediaTypeResolver payloadMediaTypeResolver) {
+    this(result, cursorProviderFactory, mediaType, isCollection, correlationId, payloadMediaTypeResolver, Optional.empty());
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param result                   the source result
+   * @param cursorProviderFactory    the {@link CursorStreamProviderFactory} used by the source
+   * @param mediaType                the {@link MediaType} to set in the message
+   * @param isCollection             whether the {@code result} represents a {@link List} of messages.
+   * @param correlationId            the correlationId of the message to be set
+   * @param payloadMediaTypeResolver resolver used in case result is a {@link List} of results.
+   * @param traceparent              the W3C {@code traceparent} the message was received with
+   * @since 4.5.0
+   */
+  public SourceResultAdapter(Result<?, ?> result,
+                             CursorProviderFactory cursorProviderFactory,
+                             MediaType mediaType,
+                             boolean isCollection,
+                             Optional<String> correlationId,
+                             PayloadMediaTypeResolver payloadMediaTypeResolver,
+                             Optional<String> traceparent) {
     this.result = result;
     this.cursorProviderFactory = cursorProviderFactory;
     this.mediaType = mediaType;
     this.isCollection = isCollection;
     this.correlationId = correlationId;
     this.payloadMediaTypeResolver = payloadMediaTypeResolver;
+    this.traceparent = traceparent;
   }
 
   /**
@@ -110,4 +134,12 @@ public class SourceResultAdapter {
   public PayloadMediaTypeResolver getPayloadMediaTypeResolver() {
     return payloadMediaTypeResolver;
   }
+
+  /**
+   * @return Optionally return the W3C {@code traceparent} the message was received with
+   * @since 4.5.0
+   */
+  public Optional<String> getTraceparent() {
+    return traceparent;
+  }
 }
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lifecycle;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.String.format;
+import static java.lang.System.lineSeparator;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.joining;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+
+/**
+ * Applies a lifecycle phase over objects grouped in dependency layers, as provided by
+ * {@link org.mule.runtime.core.internal.lifecycle.phases.LifecycleObjectSorter#getSortedObjectLayers()}.
+ * <p>
+ * Layers are processed one after the other. Within a layer, {@link ConfigurationProvider}s and {@link FlowConstruct}s, the
+ * objects that usually account for most of the time spent in the initialise and start phases, are processed in parallel on a
+ * bounded scheduler while the rest are processed on the calling thread. A layer is only finished when all of its objects are.
+ * The first object that fails aborts the phase: the objects of the layer not yet processed are skipped, and the ones being
+ * processed are left to finish, so none is left halfway through the phase. The phase not finishing within
+ * {@link #PARALLEL_LIFECYCLE_TIMEOUT_PROPERTY} aborts it right away, without interrupting the objects still being processed.
+ * <p>
+ * The phase is applied by a thread holding the lifecycle lock of the {@link MuleContext}. An object processed in parallel that
+ * needs that lock, for instance to register another object in the registry, hands the locked section over to the calling
+ * thread through {@link #runOnPhaseOwner(Runnable)}, so that it is run exactly as if the object had been processed sequentially.
+ * <p>
+ * Once the phase is complete, its critical path (the sum of the slowest object of each layer) is logged along with the objects
+ * that make it up, leaving out those that took less than a millisecond.
+ *
+ * @since 4.5.0
+ */
+public final class LayeredLifecycleExecutor {
+
+  /**
+   * When set to {@code true}, the initialise and start phases of the registry objects are applied in parallel where the
+   * dependencies between them allow it.
+   */
+  public static final String PARALLEL_LIFECYCLE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallel";
+
+  /**
+   * The max amount of threads used to apply a parallel lifecycle phase. Defaults to the amount of available processors.
+   */
+  public static final String PARALLEL_LIFECYCLE_MAX_THREADS_PROPERTY = PARALLEL_LIFECYCLE_PROPERTY + ".maxThreads";
+
+  /**
+   * The max time, in milliseconds, to wait for a layer of a parallel lifecycle phase to complete. Defaults to 5 minutes.
+   */
+  public static final String PARALLEL_LIFECYCLE_TIMEOUT_PROPERTY = PARALLEL_LIFECYCLE_PROPERTY + ".timeout";
+
+  private static final long DEFAULT_TIMEOUT_MILLIS = 5 * 60 * 1000L;
+
+  private static final Logger LOGGER = getLogger(LayeredLifecycleExecutor.class);
+
+  private static final ThreadLocal<LayerExecution> CURRENT_LAYER = new ThreadLocal<>();
+
+  /**
+   * Applies the lifecycle to a single object.
+   */
+  @FunctionalInterface
+  interface LifecycleAction {
+
+    void apply(Object target) throws LifecycleException;
+  }
+
+  private final MuleContext muleContext;
+  private final String phaseName;
+  private final int maxThreads;
+  private final long timeoutNanos;
+
+  LayeredLifecycleExecutor(MuleContext muleContext, String phaseName) {
+    this(muleContext, phaseName, getInteger(PARALLEL_LIFECYCLE_MAX_THREADS_PROPERTY, getRuntime().availableProcessors()),
+         getLong(PARALLEL_LIFECYCLE_TIMEOUT_PROPERTY, DEFAULT_TIMEOUT_MILLIS));
+  }
+
+  LayeredLifecycleExecutor(MuleContext muleContext, String phaseName, int maxThreads, long timeoutMillis) {
+    this.muleContext = muleContext;
+    this.phaseName = phaseName;
+    this.maxThreads = maxThreads;
+    this.timeoutNanos = MILLISECONDS.toNanos(timeoutMillis);
+  }
+
+  /**
+   * @param phaseName the phase to apply
+   * @return whether the given phase has to be applied through a {@link LayeredLifecycleExecutor}
+   */
+  public static boolean isEnabledFor(String phaseName) {
+    return getBoolean(PARALLEL_LIFECYCLE_PROPERTY)
+        && (Initialisable.PHASE_NAME.equals(phaseName) || Startable.PHASE_NAME.equals(phaseName));
+  }
+
+  /**
+   * When the current thread is applying a phase on behalf of a {@link LayeredLifecycleExecutor}, runs the given
+   * {@code command} on the thread that owns the phase, which holds the lifecycle lock, and waits for it to complete.
+   *
+   * @param command the command that has to be run holding the lifecycle lock
+   * @return {@code false} if the current thread is not applying a parallel phase, in which case the {@code command} was not run.
+   */
+  public static boolean runOnPhaseOwner(Runnable command) {
+    LayerExecution layer = CURRENT_LAYER.get();
+    if (layer == null) {
+      return false;
+    }
+
+    layer.runOnOwner(command);
+    return true;
+  }
+
+  /**
+   * Applies the given {@code action} over the objects in the given {@code layers}.
+   *
+   * @param layers the objects to process, grouped in dependency layers
+   * @param action the action applying the lifecycle phase over each object
+   * @throws LifecycleException if the phase failed for any object
+   */
+  void execute(List<List<Object>> layers, LifecycleAction action) throws LifecycleException {
+    final long phaseStart = nanoTime();
+    final List<TimedTarget> criticalPath = new ArrayList<>(layers.size());
+    Scheduler scheduler = null;
+    try {
+      for (List<Object> layer : layers) {
+        List<TimedTarget> targets = new ArrayList<>(layer.size());
+        int parallelizable = 0;
+        for (Object target : layer) {
+          TimedTarget timedTarget = new TimedTarget(target);
+          targets.add(timedTarget);
+          if (timedTarget.parallelizable) {
+            parallelizable++;
+          }
+        }
+
+        if (parallelizable > 1 && maxThreads > 1) {
+          if (scheduler == null) {
+            scheduler = muleContext.getSchedulerService()
+                .customScheduler(muleContext.getSchedulerBaseConfig()
+                    .withName("lifecycle." + phaseName)
+                    .withMaxConcurrentTasks(maxThreads));
+          }
+          new LayerExecution(targets, parallelizable).execute(action, scheduler);
+        } else {
+          for (TimedTarget target : targets) {
+            target.execute(action);
+            target.rethrowFailure();
+          }
+        }
+
+        targets.stream().max(comparingLong(target -> target.elapsed)).ifPresent(criticalPath::add);
+      }
+    } finally {
+      if (scheduler != null) {
+        scheduler.stop();
+      }
+    }
+
+    logCriticalPath(layers.size(), NANOSECONDS.toMillis(nanoTime() - phaseStart), criticalPath);
+  }
+
+  private void logCriticalPath(int layersCount, long elapsed, List<TimedTarget> criticalPath) {
+    if (!LOGGER.isInfoEnabled()) {
+      return;
+    }
+
+    long criticalPathTime = 0;
+    StringBuilder criticalPathDescription = new StringBuilder();
+    for (TimedTarget target : criticalPath) {
+      long targetElapsed = NANOSECONDS.toMillis(target.elapsed);
+      criticalPathTime += targetElapsed;
+      if (targetElapsed > 0) {
+        criticalPathDescription.append(lineSeparator())
+            .append("  ").append(target.describe()).append(": ").append(targetElapsed).append(" ms");
+      }
+    }
+
+    LOGGER.info("Phase '{}' applied in {} ms over {} layers, critical path took {} ms:{}",
+                phaseName, elapsed, layersCount, criticalPathTime, criticalPathDescription);
+  }
+
+  /**
+   * A layer being processed in parallel. The thread processing it waits for the objects processed on the scheduler to complete,
+   * meanwhile running any command that those need to run holding the lifecycle lock.
+   */
+  private final class LayerExecution {
+
+    private final List<TimedTarget> targets;
+    private final int parallelizable;
+    // Holds the commands to run on the owner thread, and the targets processed in parallel as they complete
+    private final BlockingQueue<Object> ownerQueue = new LinkedBlockingQueue<>();
+    private volatile boolean finished;
+    // Set once an object failed, so the ones not yet processed are skipped
+    private volatile boolean aborting;
+
+    private LayerExecution(List<TimedTarget> targets, int parallelizable) {
+      this.targets = targets;
+      this.parallelizable = parallelizable;
+    }
+
+    private void execute(LifecycleAction action, Scheduler scheduler) throws LifecycleException {
+      final long deadline = nanoTime() + timeoutNanos;
+      List<Future<?>> futures = new ArrayList<>(parallelizable);
+      try {
+        for (TimedTarget target : targets) {
+          if (target.parallelizable) {
+            futures.add(scheduler.submit(() -> {
+              CURRENT_LAYER.set(this);
+              try {
+                if (!aborting) {
+                  target.execute(action);
+                }
+              } finally {
+                CURRENT_LAYER.remove();
+                ownerQueue.add(target);
+              }
+            }));
+          }
+        }
+
+        TimedTarget failed = null;
+        for (TimedTarget target : targets) {
+          if (!target.parallelizable && failed == null) {
+            target.execute(action);
+            if (target.failure != null) {
+              failed = target;
+              aborting = true;
+            }
+          }
+        }
+
+        // Waits for all the objects being processed, even after a failure, so none is left halfway through the phase
+        int pending = parallelizable;
+        while (pending > 0) {
+          Object next = ownerQueue.poll(deadline - nanoTime(), NANOSECONDS);
+          if (next == null) {
+            throw new MuleRuntimeException(createStaticMessage(format("Phase '%s' did not complete within %d ms for: %s",
+                                                                      phaseName, NANOSECONDS.toMillis(timeoutNanos),
+                                                                      describePending())));
+          } else if (next instanceof OwnerCommand) {
+            ((OwnerCommand) next).run();
+          } else {
+            --pending;
+            if (failed == null && ((TimedTarget) next).failure != null) {
+              failed = (TimedTarget) next;
+              aborting = true;
+            }
+          }
+        }
+
+        if (failed != null) {
+          failed.rethrowFailure();
+        }
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        throw new MuleRuntimeException(e);
+      } finally {
+        aborting = true;
+        finished = true;
+        // Only the objects not yet started are cancelled, interrupting the rest would leave them halfway through the phase
+        futures.forEach(future -> future.cancel(false));
+        // Release any thread that handed over a command after the layer was aborted
+        Object next;
+        while ((next = ownerQueue.poll()) != null) {
+          if (next instanceof OwnerCommand) {
+            ((OwnerCommand) next).abort();
+          }
+        }
+      }
+    }
+
+    private void runOnOwner(Runnable command) {
+      OwnerCommand ownerCommand = new OwnerCommand(command);
+      ownerQueue.add(ownerCommand);
+      if (finished) {
+        ownerCommand.abort();
+      }
+
+      try {
+        ownerCommand.result.get(timeoutNanos, NANOSECONDS);
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        throw new MuleRuntimeException(e);
+      } catch (TimeoutException e) {
+        throw new MuleRuntimeException(createStaticMessage(format("Phase '%s' owner did not run the command within %d ms",
+                                                                  phaseName, NANOSECONDS.toMillis(timeoutNanos))),
+                                       e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new MuleRuntimeException(cause);
+      }
+    }
+
+    private String describePending() {
+      return targets.stream()
+          .filter(target -> target.parallelizable && !target.done)
+          .map(TimedTarget::describe)
+          .collect(joining(", "));
+    }
+
+    private final class OwnerCommand {
+
+      private final Runnable command;
+      private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+      private OwnerCommand(Runnable command) {
+        this.command = command;
+      }
+
+      private void run() {
+        try {
+          command.run();
+          result.complete(null);
+        } catch (Throwable t) {
+          result.completeExceptionally(t);
+        }
+      }
+
+      private void abort() {
+        result.completeExceptionally(new MuleRuntimeException(createStaticMessage(format("Phase '%s' was aborted",
+                                                                                         phaseName))));
+      }
+    }
+  }
+
+  private static final class TimedTarget {
+
+    private final Object target;
+    private final boolean parallelizable;
+    private volatile long elapsed;
+    private volatile Throwable failure;
+    private volatile boolean done;
+
+    private TimedTarget(Object target) {
+      this.target = target;
+      this.parallelizable = target instanceof ConfigurationProvider || target instanceof FlowConstruct;
+    }
+
+    private void execute(LifecycleAction action) {
+      final long start = nanoTime();
+      try {
+        action.apply(target);
+      } catch (Throwable t) {
+        failure = t;
+      } finally {
+        elapsed = nanoTime() - start;
+        done = true;
+      }
+    }
+
+    private void rethrowFailure() throws LifecycleException {
+      if (failure == null) {
+        return;
+      }
+
+      if (failure instanceof LifecycleException) {
+        throw (LifecycleException) failure;
+      } else if (failure instanceof RuntimeException) {
+        throw (RuntimeException) failure;
+      } else if (failure instanceof Error) {
+        throw (Error) failure;
+      }
+      throw new MuleRuntimeException(failure);
+    }
+
+    private String describe() {
+      if (target instanceof FlowConstruct) {
+        return ((FlowConstruct) target).getName();
+      } else if (target instanceof ConfigurationProvider) {
+        return ((ConfigurationProvider) target).getName();
+      } else if (target instanceof Component && ((Component) target).getLocation() != null) {
+        return ((Component) target).getLocation().getLocation();
+      }
+      return target.getClass().getSimpleName();
+    }
+  }
+}
@@ -14,6 +14,7 @@ import static java.lang.String.format;
 import static java.lang.System.getProperty;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -72,7 +73,18 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
       LOGGER.debug("Applying lifecycle phase: {} for registry: {}", phase, object.getClass().getSimpleName());
     }
 
-    doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    if (LayeredLifecycleExecutor.isEnabledFor(phaseName)) {
+      Set<Object> duplicates = newKeySet();
+      new LayeredLifecycleExecutor(registryLifecycleManager.muleContext, phaseName)
+          .execute(registryLifecycleManager.getObjectLayersForPhase(phase), target -> {
+            // Claimed before applying the phase, so an object in more than one layer is only processed once
+            if (target != null && duplicates.add(target)) {
+              applyLifecycle(phase, duplicates, target);
+            }
+          });
+    } else {
+      doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    }
 
     interceptor.onPhaseCompleted(phase);
   }
@@ -182,6 +182,14 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
   }
 
   protected List<Object> getObjectsForPhase(LifecyclePhase phase) {
+    return sorterForPhase(phase).getSortedObjects();
+  }
+
+  protected List<List<Object>> getObjectLayersForPhase(LifecyclePhase phase) {
+    return sorterForPhase(phase).getSortedObjectLayers();
+  }
+
+  private LifecycleObjectSorter sorterForPhase(LifecyclePhase phase) {
     LifecycleObjectSorter sorter = phase.newLifecycleObjectSorter();
     Map<String, Object> lookupObjectsForLifecycle = lookupObjectsForLifecycle();
     List<String> lookupObjects = new ArrayList<>();
@@ -191,7 +199,7 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
       lookupObjects.add(key);
     });
     sorter.setLifeCycleObjectNameOrder(lookupObjects);
-    return sorter.getSortedObjects();
+    return sorter;
   }
 
   protected Map<String, Object> lookupObjectsForLifecycle() {
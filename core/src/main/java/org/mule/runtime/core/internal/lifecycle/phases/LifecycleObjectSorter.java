@@ -6,8 +6,11 @@
  */
 package org.mule.runtime.core.internal.lifecycle.phases;
 
+import static java.util.stream.Collectors.toList;
+
 import org.mule.runtime.core.internal.registry.Registry;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -31,6 +34,20 @@ public interface LifecycleObjectSorter {
    */
   List<Object> getSortedObjects();
 
+  /**
+   * Groups the sorted objects in layers, so that the objects in a layer only depend on objects from previous layers and the
+   * lifecycle may be applied to all the objects in a layer at the same time.
+   * <p>
+   * By default, each object is put in its own layer, since no dependency information is available.
+   *
+   * @return The objects previously added through {@link #addObject(String, Object)}, grouped in layers in the order they have to
+   *         be processed
+   * @since 4.5.0
+   */
+  default List<List<Object>> getSortedObjectLayers() {
+    return getSortedObjects().stream().map(Collections::singletonList).collect(toList());
+  }
+
   /**
    * Provides the order of objects as reference for initialise/dispose phases
    *
@@ -6,77 +6,65 @@
  */
 package org.mule.runtime.core.internal.lock;
 
-import java.util.HashMap;
-import java.util.Map;
+import static java.lang.Thread.currentThread;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Lock;
+import java.util.function.BiFunction;
 
 /**
  * {@link LockGroup} implementation for holding references to created locks inside a mule instance.
+ * <p>
+ * The entries of the locks are reference counted atomically for each {@code lockId} within the {@link ConcurrentHashMap} that
+ * holds them, so locking unrelated ids does not contend. When the {@link LockProvider} allows it, the entries of the released
+ * locks are recycled for other ids instead of creating new locks.
  */
 public class InstanceLockGroup implements LockGroup {
 
-  private Map<String, LockEntry> locks;
-  private Object lockAccessMonitor = new Object();
-  private LockProvider lockProvider;
+  // Must be a power of 2
+  private static final int ENTRY_POOL_SIZE = 64;
+
+  private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+  private final LockProvider lockProvider;
+  // Only set when the locks of the provider can be reused for other ids
+  private final AtomicReferenceArray<LockEntry> entryPool;
+
+  // Kept so that no function is created on each access to the locks
+  private final BiFunction<String, LockEntry, LockEntry> acquireFunction = this::acquireEntry;
+  private final BiFunction<String, LockEntry, LockEntry> releaseFunction = (lockId, lockEntry) -> releaseEntry(lockEntry);
+  private final BiFunction<String, LockEntry, LockEntry> unlockFunction = (lockId, lockEntry) -> {
+    lockEntry.getLock().unlock();
+    return releaseEntry(lockEntry);
+  };
 
   public InstanceLockGroup(LockProvider lockProvider) {
     this.lockProvider = lockProvider;
-    this.locks = new HashMap<>();
+    this.entryPool = lockProvider.isLockReusable() ? new AtomicReferenceArray<>(ENTRY_POOL_SIZE) : null;
   }
 
   @Override
   public void lock(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    lockEntry.getLock().lock();
+    locks.compute(lockId, acquireFunction).getLock().lock();
   }
 
   @Override
   public void unlock(String key) {
-    synchronized (lockAccessMonitor) {
-      LockEntry lockEntry = locks.get(key);
-      if (lockEntry != null) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(key);
-        }
-        lockEntry.getLock().unlock();
-      }
-      lockAccessMonitor.notifyAll();
-    }
+    locks.computeIfPresent(key, unlockFunction);
   }
 
   @Override
   public boolean tryLock(String lockId, long timeout, TimeUnit timeUnit) throws InterruptedException {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    boolean lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
-    if (!lockAcquired) {
-      synchronized (lockAccessMonitor) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(lockId);
-        }
+    LockEntry lockEntry = locks.compute(lockId, acquireFunction);
+    boolean lockAcquired = false;
+    try {
+      lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
+    } finally {
+      if (!lockAcquired) {
+        locks.computeIfPresent(lockId, releaseFunction);
       }
     }
     return lockAcquired;
@@ -84,43 +72,64 @@ public class InstanceLockGroup implements LockGroup {
 
   @Override
   public boolean tryLock(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
+    LockEntry lockEntry = locks.compute(lockId, acquireFunction);
     boolean lockAcquired = lockEntry.getLock().tryLock();
     if (!lockAcquired) {
-      synchronized (lockAccessMonitor) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(lockId);
-        }
-      }
+      locks.computeIfPresent(lockId, releaseFunction);
     }
     return lockAcquired;
   }
 
   @Override
   public void lockInterruptibly(String lockId) throws InterruptedException {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
+    LockEntry lockEntry = locks.compute(lockId, acquireFunction);
+    try {
+      lockEntry.getLock().lockInterruptibly();
+    } catch (InterruptedException e) {
+      locks.computeIfPresent(lockId, releaseFunction);
+      throw e;
+    }
+  }
+
+  private LockEntry acquireEntry(String lockId, LockEntry lockEntry) {
+    if (lockEntry == null) {
+      lockEntry = pollPooledEntry();
+      if (lockEntry == null) {
         lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
       }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
     }
-    lockEntry.getLock().lockInterruptibly();
+    lockEntry.incrementLockCount();
+    return lockEntry;
+  }
+
+  /**
+   * Decrements the count of the entry, removing it from the group once no thread holds nor waits for its lock.
+   */
+  private LockEntry releaseEntry(LockEntry lockEntry) {
+    lockEntry.decrementLockCount();
+    if (lockEntry.hasPendingLocks()) {
+      return lockEntry;
+    }
+
+    if (entryPool != null) {
+      // The entry is not referenced by anyone else at this point. If the slot is taken, the entry is just discarded
+      entryPool.compareAndSet(poolIndex(), null, lockEntry);
+    }
+    return null;
+  }
+
+  private LockEntry pollPooledEntry() {
+    if (entryPool == null) {
+      return null;
+    }
+
+    int index = poolIndex();
+    LockEntry lockEntry = entryPool.get(index);
+    return lockEntry != null && entryPool.compareAndSet(index, lockEntry, null) ? lockEntry : null;
+  }
+
+  private static int poolIndex() {
+    return (int) currentThread().getId() & (ENTRY_POOL_SIZE - 1);
   }
 
   public static class LockEntry {
@@ -151,8 +160,11 @@ public class InstanceLockGroup implements LockGroup {
 
   @Override
   public void dispose() {
-    synchronized (lockAccessMonitor) {
-      locks.clear();
+    locks.clear();
+    if (entryPool != null) {
+      for (int i = 0; i < ENTRY_POOL_SIZE; ++i) {
+        entryPool.set(i, null);
+      }
     }
   }
 }
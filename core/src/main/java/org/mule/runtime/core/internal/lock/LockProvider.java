@@ -27,4 +27,15 @@ public interface LockProvider {
    */
   Lock createLock(String lockId);
 
+  /**
+   * Whether a {@link Lock} created by this provider may be used for a {@code lockId} other than the one it was created for, once
+   * no thread holds nor waits for it. This allows the {@link LockGroup} to recycle the released locks.
+   *
+   * @return {@code true} if the created locks don't depend on their {@code lockId}.
+   * @since 4.5.0
+   */
+  default boolean isLockReusable() {
+    return false;
+  }
+
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.logging;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A log message parameter which is evaluated the first time it is needed, so it isn't evaluated for log events that are
+ * discarded.
+ * <p>
+ * Appenders that may discard events call {@link #evaluate()} once they accept an event and discard it if the evaluation fails,
+ * so no empty message is written. The error is rethrown by the code that logged the message, through
+ * {@link #rethrowEvaluationError()}.
+ *
+ * @since 4.5.0
+ */
+public final class LazyLogMessage {
+
+  private final Function<Object, String> evaluator;
+  private final Object source;
+  private volatile boolean evaluated;
+  private String message;
+  private RuntimeException evaluationError;
+
+  /**
+   * @param messageSupplier evaluates the message
+   */
+  public LazyLogMessage(Supplier<String> messageSupplier) {
+    this(source -> messageSupplier.get(), null);
+  }
+
+  /**
+   * Allows callers to reuse a single {@code evaluator} instead of creating a {@link Supplier} for each message.
+   *
+   * @param evaluator evaluates the message from the given {@code source}
+   * @param source    what the message is evaluated from
+   */
+  public <T> LazyLogMessage(Function<T, String> evaluator, T source) {
+    this.evaluator = (Function<Object, String>) evaluator;
+    this.source = source;
+  }
+
+  /**
+   * Evaluates the message, unless it was already evaluated.
+   *
+   * @return whether the message could be evaluated
+   */
+  public synchronized boolean evaluate() {
+    if (!evaluated) {
+      try {
+        message = evaluator.apply(source);
+      } catch (RuntimeException e) {
+        evaluationError = e;
+      } finally {
+        evaluated = true;
+      }
+    }
+    return evaluationError == null;
+  }
+
+  /**
+   * Throws the error of the evaluation of the message, if it was evaluated and failed.
+   */
+  public synchronized void rethrowEvaluationError() {
+    if (evaluationError != null) {
+      throw evaluationError;
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return evaluate() && message != null ? message : "";
+  }
+}
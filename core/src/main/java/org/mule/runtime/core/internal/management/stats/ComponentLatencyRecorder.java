@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static org.mule.runtime.core.internal.event.DefaultEventContext.getComponentStartTimes;
+
+import static java.lang.System.nanoTime;
+
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatistics;
+
+/**
+ * Measures the executions of a component, recording them in its {@link ComponentLatencyStatistics}.
+ * <p>
+ * The start time of each execution in progress is kept in the {@link ComponentStartTimes} of the {@link EventContext} of its
+ * event, so no structure is shared among the events. The executions that never finish, for instance because the component
+ * dropped the event, are discarded when an enclosing execution finishes, or along with their context.
+ *
+ * @since 4.5.0
+ */
+public final class ComponentLatencyRecorder {
+
+  private final AllStatistics statistics;
+  private final int index;
+
+  /**
+   * @param statistics the statistics of the artifact
+   * @param index      the index of the latency statistics of the component, as returned by
+   *                   {@link AllStatistics#registerComponentLatencyStatistics}
+   */
+  public ComponentLatencyRecorder(AllStatistics statistics, int index) {
+    this.statistics = statistics;
+    this.index = index;
+  }
+
+  /**
+   * Called when an event is handed to the component.
+   *
+   * @param context the context of the event
+   */
+  public void started(EventContext context) {
+    ComponentStartTimes startTimes = getComponentStartTimes(context);
+    if (startTimes != null) {
+      startTimes.start(this, nanoTime());
+    }
+  }
+
+  /**
+   * Called when the component returns the result for an event.
+   *
+   * @param context the context of the event
+   */
+  public void finished(EventContext context) {
+    ComponentStartTimes startTimes = getComponentStartTimes(context);
+    long latencyNanos = startTimes != null ? startTimes.end(this, nanoTime()) : -1;
+    if (latencyNanos >= 0) {
+      statistics.getComponentLatencyStatistics(index).recordLatency(latencyNanos);
+    }
+  }
+
+  /**
+   * Called when the component fails processing an event.
+   *
+   * @param context the context of the event
+   */
+  public void failed(EventContext context) {
+    ComponentStartTimes startTimes = getComponentStartTimes(context);
+    if (startTimes != null && startTimes.end(this, nanoTime()) >= 0) {
+      statistics.getComponentLatencyStatistics(index).recordError();
+    }
+  }
+}
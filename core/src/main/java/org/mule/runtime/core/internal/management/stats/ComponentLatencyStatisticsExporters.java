@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatisticsExporter;
+import org.mule.runtime.core.api.registry.ServiceRegistry;
+import org.mule.runtime.core.api.registry.SpiServiceRegistry;
+
+import java.util.Optional;
+
+/**
+ * Looks up the {@link ComponentLatencyStatisticsExporter} for a format among the ones provided through SPI and the built-in
+ * {@link PrometheusComponentLatencyStatisticsExporter}.
+ *
+ * @since 4.5.0
+ */
+public final class ComponentLatencyStatisticsExporters {
+
+  private static final ServiceRegistry serviceRegistry = new SpiServiceRegistry();
+
+  private ComponentLatencyStatisticsExporters() {}
+
+  /**
+   * @param format      the format to get the exporter for
+   * @param classLoader the class loader to look up the exporters provided through SPI with
+   * @return the exporter for the format, if any. Exporters provided through SPI take precedence over the built-in ones.
+   */
+  public static Optional<ComponentLatencyStatisticsExporter> getExporter(String format, ClassLoader classLoader) {
+    for (ComponentLatencyStatisticsExporter exporter : serviceRegistry
+        .lookupProviders(ComponentLatencyStatisticsExporter.class, classLoader)) {
+      if (exporter.getFormat().equalsIgnoreCase(format)) {
+        return of(exporter);
+      }
+    }
+
+    if (PrometheusComponentLatencyStatisticsExporter.PROMETHEUS_FORMAT.equalsIgnoreCase(format)) {
+      return of(new PrometheusComponentLatencyStatisticsExporter());
+    }
+    return empty();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.util.Arrays.asList;
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.unmodifiableList;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatistics;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the {@link ComponentLatencyStatistics} of the components of an artifact in an array, indexed by an {@code int} assigned
+ * to each {@link ComponentLocation} when it is registered. Recording only takes an array read once the index is known.
+ *
+ * @since 4.5.0
+ */
+public final class ComponentLatencyStatisticsTable {
+
+  private final Map<String, Integer> indexes = new HashMap<>();
+  private volatile ComponentLatencyStatistics[] statistics = new ComponentLatencyStatistics[16];
+  private volatile int size;
+
+  /**
+   * Registers a component, if it wasn't already.
+   *
+   * @param component the component to register
+   * @return the index of the statistics of the component
+   */
+  public synchronized int register(Component component) {
+    ComponentLocation location = component.getLocation();
+    Integer index = indexes.get(location.getLocation());
+    if (index != null) {
+      return index;
+    }
+
+    ComponentLatencyStatistics[] current = statistics;
+    if (size == current.length) {
+      current = copyOf(current, current.length * 2);
+    }
+    current[size] = new ComponentLatencyStatistics(location.getLocation(), component.getIdentifier().toString(),
+                                                   location.getRootContainerName());
+    indexes.put(location.getLocation(), size);
+    // Publishes the new element before the new size
+    statistics = current;
+    return size++;
+  }
+
+  /**
+   * @param index the index returned when the component was registered
+   * @return the statistics of the component
+   */
+  public ComponentLatencyStatistics get(int index) {
+    return statistics[index];
+  }
+
+  /**
+   * @return the statistics of all the registered components
+   */
+  public Collection<ComponentLatencyStatistics> getAll() {
+    int currentSize = size;
+    return unmodifiableList(asList(copyOf(statistics, currentSize)));
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Math.max;
+import static java.util.Arrays.copyOf;
+
+import org.mule.runtime.api.event.EventContext;
+
+/**
+ * The start times of the executions of components in progress for an event. Kept by its {@link EventContext}, so measuring the
+ * executions doesn't require any structure shared by the events.
+ * <p>
+ * Executions are nested, since a component such as a scope or a router executes other components before it finishes.
+ *
+ * @since 4.5.0
+ */
+public final class ComponentStartTimes {
+
+  // Executions nested deeper than this are not measured
+  private static final int MAX_DEPTH = 32;
+  private static final int INITIAL_DEPTH = 4;
+
+  private Object[] owners = new Object[INITIAL_DEPTH];
+  private long[] startNanos = new long[INITIAL_DEPTH];
+  private int depth;
+
+  /**
+   * Starts an execution, nested in the innermost one in progress.
+   *
+   * @param owner the object measuring the execution, used to end it
+   * @param nanos the start time, as given by {@link System#nanoTime()}
+   */
+  public synchronized void start(Object owner, long nanos) {
+    if (depth == owners.length) {
+      if (depth == MAX_DEPTH) {
+        return;
+      }
+      owners = copyOf(owners, depth * 2);
+      startNanos = copyOf(startNanos, depth * 2);
+    }
+
+    owners[depth] = owner;
+    startNanos[depth] = nanos;
+    ++depth;
+  }
+
+  /**
+   * Ends the innermost execution in progress started by the given {@code owner}, if any.
+   * <p>
+   * The executions started after it that are still in progress are discarded, since they were abandoned, for instance, because
+   * they failed or dropped the event.
+   *
+   * @param owner the object the execution was started by
+   * @param nanos the end time, as given by {@link System#nanoTime()}
+   * @return the duration of the execution in nanoseconds, or {@code -1} if {@code owner} has no execution in progress
+   */
+  public synchronized long end(Object owner, long nanos) {
+    for (int i = depth - 1; i >= 0; --i) {
+      if (owners[i] == owner) {
+        for (int j = depth - 1; j >= i; --j) {
+          owners[j] = null;
+        }
+        depth = i;
+        return max(0, nanos - startNanos[i]);
+      }
+    }
+    return -1;
+  }
+}
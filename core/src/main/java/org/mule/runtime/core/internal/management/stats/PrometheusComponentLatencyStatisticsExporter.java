@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatisticsExporter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * Writes {@link ComponentLatencyStatistics} in the Prometheus text exposition format, as a summary of the latency with its
+ * quantiles plus a counter of the errors of each component.
+ *
+ * @since 4.5.0
+ */
+public final class PrometheusComponentLatencyStatisticsExporter implements ComponentLatencyStatisticsExporter {
+
+  public static final String PROMETHEUS_FORMAT = "prometheus";
+
+  private static final String LATENCY_METRIC = "mule_component_latency_seconds";
+  private static final String ERRORS_METRIC = "mule_component_errors_total";
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  @Override
+  public String getFormat() {
+    return PROMETHEUS_FORMAT;
+  }
+
+  @Override
+  public void export(Collection<ComponentLatencyStatistics> statistics, Writer writer) throws IOException {
+    writer.write("# HELP " + LATENCY_METRIC + " Latency of the successful executions of each component.\n");
+    writer.write("# TYPE " + LATENCY_METRIC + " summary\n");
+    for (ComponentLatencyStatistics componentStatistics : statistics) {
+      String labels = labels(componentStatistics);
+      for (double quantile : QUANTILES) {
+        writer.write(LATENCY_METRIC + "{" + labels + ",quantile=\"" + quantile + "\"} "
+            + toSeconds(componentStatistics.getLatencyNanosAtPercentile(quantile * 100)) + "\n");
+      }
+      writer.write(LATENCY_METRIC + "_sum{" + labels + "} " + toSeconds(componentStatistics.getTotalLatencyNanos()) + "\n");
+      writer.write(LATENCY_METRIC + "_count{" + labels + "} " + componentStatistics.getExecutionCount() + "\n");
+    }
+
+    writer.write("# HELP " + ERRORS_METRIC + " Failed executions of each component.\n");
+    writer.write("# TYPE " + ERRORS_METRIC + " counter\n");
+    for (ComponentLatencyStatistics componentStatistics : statistics) {
+      writer.write(ERRORS_METRIC + "{" + labels(componentStatistics) + "} " + componentStatistics.getErrorCount() + "\n");
+    }
+    writer.flush();
+  }
+
+  private static String labels(ComponentLatencyStatistics statistics) {
+    return "flow=\"" + escape(statistics.getFlowName()) + "\",location=\"" + escape(statistics.getComponentLocation())
+        + "\",component=\"" + escape(statistics.getComponentIdentifier()) + "\"";
+  }
+
+  private static String escape(String labelValue) {
+    if (labelValue == null) {
+      return "";
+    }
+    return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static double toSeconds(long nanos) {
+    return nanos / NANOS_PER_SECOND;
+  }
+}
@@ -18,6 +18,7 @@ import org.mule.runtime.core.internal.util.rx.RoundRobinFluxSinkSupplier;
 import org.mule.runtime.core.internal.util.rx.TransactionAwareFluxSinkSupplier;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.util.List;
 import java.util.function.Supplier;
 
 import reactor.core.publisher.FluxSink;
@@ -47,6 +48,23 @@ class CommonSourcePolicy {
     policySink.get().next(sourceEvent);
   }
 
+  public void processBatch(List<CoreEvent> sourceEvents,
+                           List<? extends MessageSourceResponseParametersProcessor> respParamProcessors,
+                           List<CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>>> callbacks) {
+    for (int i = 0; i < sourceEvents.size(); ++i) {
+      SourcePolicyContext ctx = from(sourceEvents.get(i));
+      if (ctx != null) {
+        ctx.configure(respParamProcessors.get(i), callbacks.get(i));
+      }
+    }
+
+    // The whole batch goes through the same sink, back to back
+    FluxSink<CoreEvent> sink = policySink.get();
+    for (CoreEvent sourceEvent : sourceEvents) {
+      sink.next(sourceEvent);
+    }
+  }
+
   public void finishFlowProcessing(CoreEvent event, Either<SourcePolicyFailureResult, SourcePolicySuccessResult> result) {
     if (!((BaseEventContext) event.getContext()).isComplete()) {
       ((BaseEventContext) event.getContext()).success(event);
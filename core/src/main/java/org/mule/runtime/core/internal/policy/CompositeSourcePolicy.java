@@ -215,6 +215,13 @@ public class CompositeSourcePolicy
     commonPolicy.process(sourceEvent, respParamProcessor, callback);
   }
 
+  @Override
+  public void processBatch(List<CoreEvent> sourceEvents,
+                           List<? extends MessageSourceResponseParametersProcessor> respParamProcessors,
+                           List<CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>>> callbacks) {
+    commonPolicy.processBatch(sourceEvents, respParamProcessors, callbacks);
+  }
+
   private static Map<String, Object> concatMaps(Map<String, Object> originalResponseParameters,
                                                 Map<String, Object> policyResponseParameters) {
     if (originalResponseParameters == null) {
@@ -22,6 +22,7 @@ import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
 
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
+import java.util.List;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -117,6 +118,13 @@ public class NoSourcePolicy implements SourcePolicy, Disposable, DeferredDisposa
     commonPolicy.process(sourceEvent, respParamProcessor, callback);
   }
 
+  @Override
+  public void processBatch(List<CoreEvent> sourceEvents,
+                           List<? extends MessageSourceResponseParametersProcessor> respParamProcessors,
+                           List<CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>>> callbacks) {
+    commonPolicy.processBatch(sourceEvents, respParamProcessors, callbacks);
+  }
+
   @Override
   public void dispose() {
     commonPolicy.dispose();
@@ -11,6 +11,8 @@ import org.mule.runtime.api.functional.Either;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.Processor;
 
+import java.util.List;
+
 /**
  * Interceptor of a {@link Processor} that executes logic before and after it. It allows to modify the content of the response (if
  * any) to be sent by a {@link org.mule.runtime.core.api.source.MessageSource}
@@ -35,4 +37,25 @@ public interface SourcePolicy {
                MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor,
                CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>> callback);
 
+  /**
+   * Process a batch of events through the source policy chain. Each event is processed as if it was passed to
+   * {@link #process(CoreEvent, MessageSourceResponseParametersProcessor, CompletableCallback)}, with its own response
+   * parameters processor and callback, but implementations may hand all of them to the chain at once.
+   *
+   * @param sourceEvents                              the events with the data created from the source messages, in the order
+   *                                                  they were received.
+   * @param messageSourceResponseParametersProcessors the processor to generate the response and error response parameters of
+   *                                                  the source for each event.
+   * @param callbacks                                 the callback used to signal the result of processing each event through
+   *                                                  the policy chain.
+   * @since 4.5.0
+   */
+  default void processBatch(List<CoreEvent> sourceEvents,
+                            List<? extends MessageSourceResponseParametersProcessor> messageSourceResponseParametersProcessors,
+                            List<CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>>> callbacks) {
+    for (int i = 0; i < sourceEvents.size(); ++i) {
+      process(sourceEvents.get(i), messageSourceResponseParametersProcessors.get(i), callbacks.get(i));
+    }
+  }
+
 }
@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.EXTENSION_PROFILING_EVENT;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_CPU_LITE_BLOCKING_DETECTION_ADAPTIVE_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_CPU_LITE_BLOCKING_DETECTION_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_CPU_LITE_BLOCKING_DETECTION_THRESHOLD_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE_ASYNC;
@@ -13,24 +17,31 @@ import static org.slf4j.LoggerFactory.getLogger;
 import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_BUFFER_SIZE;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactId;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactType;
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Long.parseLong;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.api.profiling.ProfilingDataProducer;
+import org.mule.runtime.api.profiling.type.context.ExtensionProfilingEventContext;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.BackPressureReason;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.internal.construct.FromFlowRejectedExecutionException;
+import org.mule.runtime.core.internal.processor.strategy.blocking.CpuLiteBlockingDetector;
 import org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy;
 import org.mule.runtime.core.internal.processor.strategy.enricher.CpuLiteAsyncNonBlockingProcessingStrategyEnricher;
 import org.mule.runtime.core.internal.processor.strategy.enricher.CpuLiteNonBlockingProcessingStrategyEnricher;
 import org.mule.runtime.core.internal.processor.strategy.enricher.ReactiveProcessorEnricher;
 import org.mule.runtime.core.internal.processor.strategy.enricher.ProcessingTypeBasedReactiveProcessorEnricher;
 import org.mule.runtime.core.internal.profiling.CoreProfilingService;
+import org.mule.runtime.core.internal.profiling.tracing.ThreadLocalTracingService;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.util.Properties;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -58,6 +69,7 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
 
   private Scheduler cpuLightScheduler;
   private ReactiveProcessorEnricher processorEnricher = null;
+  private CpuLiteBlockingDetector blockingDetector;
 
   @Inject
   CoreProfilingService profilingService;
@@ -136,7 +148,37 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
 
   @Override
   public void start() throws MuleException {
+    blockingDetector = createBlockingDetector();
     processorEnricher = getProcessingStrategyEnricher();
+    if (blockingDetector != null) {
+      blockingDetector.start();
+    }
+  }
+
+  private CpuLiteBlockingDetector createBlockingDetector() {
+    Properties deploymentProperties = muleContext != null ? muleContext.getDeploymentProperties() : null;
+    if (deploymentProperties == null
+        || !parseBoolean(deploymentProperties.getProperty(MULE_CPU_LITE_BLOCKING_DETECTION_DEPLOYMENT_PROPERTY, "false"))) {
+      return null;
+    }
+
+    // The detector watches the execution contexts that the profiling service sets while the processors run
+    if (getProfilingService() == null || !(getProfilingService().getTracingService() instanceof ThreadLocalTracingService)) {
+      LOGGER.warn("CPU_LITE blocking detection requires the profiling service to be enabled, it will not be done for '{}'",
+                  getArtifactId(muleContext));
+      return null;
+    }
+
+    ProfilingDataProducer<ExtensionProfilingEventContext, Object> profilingDataProducer =
+        getProfilingService().getProfilingDataProducer(EXTENSION_PROFILING_EVENT);
+    long threshold = parseLong(deploymentProperties.getProperty(MULE_CPU_LITE_BLOCKING_DETECTION_THRESHOLD_DEPLOYMENT_PROPERTY,
+                                                                "100"));
+    return new CpuLiteBlockingDetector(getArtifactId(muleContext), threshold, profilingDataProducer);
+  }
+
+  private boolean isAdaptiveBlockingDetection() {
+    return parseBoolean(muleContext.getDeploymentProperties()
+        .getProperty(MULE_CPU_LITE_BLOCKING_DETECTION_ADAPTIVE_DEPLOYMENT_PROPERTY, "false"));
   }
 
   protected ProcessingTypeBasedReactiveProcessorEnricher getProcessingStrategyEnricher() {
@@ -148,7 +190,10 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
 
     CpuLiteNonBlockingProcessingStrategyEnricher cpuLiteEnricher =
         new CpuLiteNonBlockingProcessingStrategyEnricher(() -> cpuLightScheduler, getProfilingService(), artifactId,
-                                                         artifactType);
+                                                         artifactType, blockingDetector,
+                                                         () -> blockingDetector != null && isAdaptiveBlockingDetection()
+                                                             ? getBlockingScheduler()
+                                                             : null);
     CpuLiteAsyncNonBlockingProcessingStrategyEnricher cpuLiteAsyncEnricher =
         new CpuLiteAsyncNonBlockingProcessingStrategyEnricher(() -> cpuLightScheduler, this::getNonBlockingTaskScheduler,
                                                               getProfilingService(), artifactId, artifactType);
@@ -162,11 +207,24 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
     return profilingService;
   }
 
+  /**
+   * @return the {@link Scheduler} to dispatch the events of the CPU_LITE processors found blocking to, {@code null} if this
+   *         strategy has none.
+   * @since 4.5.0
+   */
+  protected Scheduler getBlockingScheduler() {
+    return null;
+  }
+
   @Override
   public void stop() {
     // This counter relies on BaseEventContext.onResponse() and other ProcessingStrategy could be still processing
     // child events that will be dropped because of this stop, impeding such invocation.
     inFlightEvents.getAndSet(0);
+
+    if (blockingDetector != null) {
+      blockingDetector.stop();
+    }
   }
 
   protected Scheduler createCpuLightScheduler(Supplier<Scheduler> cpuLightSchedulerSupplier) {
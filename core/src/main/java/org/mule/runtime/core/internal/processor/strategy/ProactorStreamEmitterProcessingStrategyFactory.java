@@ -152,6 +152,11 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
                                                     subscribers);
     }
 
+    @Override
+    protected Scheduler getBlockingScheduler() {
+      return blockingScheduler;
+    }
+
     @Override
     protected Scheduler getFlowDispatcherScheduler() {
       return getCpuLightScheduler();
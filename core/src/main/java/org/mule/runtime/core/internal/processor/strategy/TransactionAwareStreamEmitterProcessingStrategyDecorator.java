@@ -104,9 +104,6 @@ public class TransactionAwareStreamEmitterProcessingStrategyDecorator extends Pr
             // The profiling events related to the processing strategy scheduling are triggered independently of this being
             // a blocking processing strategy that does not involve a thread switch.
             return buildFlux(pub)
-                .setTracingContext(profilingService,
-                                   coreEvent -> new DefaultExecutionContext(new DefaultComponentMetadata(coreEvent
-                                       .getCorrelationId(), artifactId, artifactType, location)))
                 .profileProcessingStrategyEvent(profilingService,
                                                 getDataProducer(PS_SCHEDULING_FLOW_EXECUTION),
                                                 transformer)
@@ -114,6 +111,9 @@ public class TransactionAwareStreamEmitterProcessingStrategyDecorator extends Pr
                                                 getDataProducer(
                                                                 STARTING_FLOW_EXECUTION),
                                                 transformer)
+                .setTracingContext(profilingService,
+                                   coreEvent -> new DefaultExecutionContext(new DefaultComponentMetadata(coreEvent
+                                       .getCorrelationId(), artifactId, artifactType, location)))
                 .transform(BLOCKING_PROCESSING_STRATEGY_INSTANCE.onPipeline(pipeline))
                 .profileProcessingStrategyEvent(profilingService,
                                                 getDataProducer(
@@ -158,6 +158,7 @@ public class TransactionAwareStreamEmitterProcessingStrategyDecorator extends Pr
                                                 getDataProducer(PS_STARTING_OPERATION_EXECUTION),
                                                 transformer)
                 .transform(BLOCKING_PROCESSING_STRATEGY_INSTANCE.onProcessor(processor))
+                .setTracingContext(profilingService, coreEvent -> null)
                 .profileProcessingStrategyEvent(profilingService,
                                                 getDataProducer(
                                                                 PS_OPERATION_EXECUTED),
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy.blocking;
+
+import static org.mule.runtime.core.internal.profiling.tracing.ThreadLocalTracingService.forEachThreadExecutionContext;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.lineSeparator;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.profiling.ProfilingDataProducer;
+import org.mule.runtime.api.profiling.tracing.ComponentMetadata;
+import org.mule.runtime.api.profiling.tracing.ExecutionContext;
+import org.mule.runtime.api.profiling.type.context.ExtensionProfilingEventContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.internal.profiling.tracing.ThreadLocalTracingService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+
+/**
+ * Detects the {@link ReactiveProcessor.ProcessingType#CPU_LITE} processors that block the thread they run on.
+ * <p>
+ * The processors are not decorated: the current {@link ExecutionContext} that the processing strategy sets in the
+ * {@link ThreadLocalTracingService} while a component executes is used instead. A single watchdog thread, shared by all the
+ * detectors, periodically looks for threads that have kept the same context of a monitored processor for longer than the
+ * threshold of its detector. When found, the stack of the thread is logged and an {@code EXTENSION_PROFILING_EVENT} of subtype
+ * {@value #CPU_LITE_BLOCKING_EVENT_SUBTYPE} is triggered. Each location is reported once.
+ * <p>
+ * Since nested components set their own context while they execute, the time spent in them is not attributed to the enclosing
+ * processor. Elapsed time is measured in ticks of the watchdog ({@value #TICK_MILLIS} ms), so detection has that precision.
+ *
+ * @since 4.5.0
+ */
+public final class CpuLiteBlockingDetector {
+
+  private static final Logger LOGGER = getLogger(CpuLiteBlockingDetector.class);
+
+  public static final String CPU_LITE_BLOCKING_EVENT_SUBTYPE = "CPU_LITE_BLOCKING";
+  public static final String BLOCKED_MILLIS_KEY = "blockedMillis";
+  public static final String THREAD_NAME_KEY = "threadName";
+  public static final String STACK_TRACE_KEY = "stackTrace";
+
+  static final long TICK_MILLIS = 10;
+
+  // The running detectors, by artifact and by the locations they monitor
+  private static final Map<String, Map<String, CpuLiteBlockingDetector>> runningDetectors = new ConcurrentHashMap<>();
+
+  // Only accessed by the watchdog, under the lock of the class
+  private static final Map<Thread, Observation> observations = new HashMap<>();
+  private static long tick;
+
+  private static ScheduledExecutorService watchdog;
+  private static ScheduledFuture<?> watchdogTask;
+  private static int runningDetectorsCount;
+
+  private final String artifactId;
+  private final long thresholdTicks;
+  private final ProfilingDataProducer<ExtensionProfilingEventContext, Object> profilingDataProducer;
+  private final Set<String> monitoredLocations = newKeySet();
+  private final Set<String> blockingLocations = newKeySet();
+
+  private volatile boolean running;
+
+  /**
+   * @param artifactId            the id of the artifact the monitored processors belong to
+   * @param thresholdMillis       time a processor may keep the thread before being reported
+   * @param profilingDataProducer the producer through which the blocking processors are reported, may be {@code null}
+   */
+  public CpuLiteBlockingDetector(String artifactId, long thresholdMillis,
+                                 ProfilingDataProducer<ExtensionProfilingEventContext, Object> profilingDataProducer) {
+    this.artifactId = artifactId;
+    this.thresholdTicks = Math.max(1, (thresholdMillis + TICK_MILLIS - 1) / TICK_MILLIS);
+    this.profilingDataProducer = profilingDataProducer;
+  }
+
+  /**
+   * Starts watching the threads running the processors monitored by this detector.
+   */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    monitoredLocations.forEach(this::register);
+
+    synchronized (CpuLiteBlockingDetector.class) {
+      if (runningDetectorsCount++ == 0) {
+        watchdog = newSingleThreadScheduledExecutor(r -> {
+          Thread thread = new Thread(r, "[MuleRuntime].cpuLite.blockingDetector");
+          thread.setDaemon(true);
+          return thread;
+        });
+        watchdogTask = watchdog.scheduleAtFixedRate(CpuLiteBlockingDetector::safeCheck, TICK_MILLIS, TICK_MILLIS, MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Stops watching the threads running the processors monitored by this detector.
+   */
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    monitoredLocations.forEach(this::unregister);
+
+    synchronized (CpuLiteBlockingDetector.class) {
+      if (--runningDetectorsCount == 0) {
+        watchdogTask.cancel(false);
+        watchdog.shutdownNow();
+        watchdogTask = null;
+        watchdog = null;
+        observations.clear();
+      }
+    }
+  }
+
+  /**
+   * Watches the threads that run the processor at {@code location}, while they have its context as current.
+   *
+   * @param location the location of the processor
+   */
+  public synchronized void monitor(ComponentLocation location) {
+    if (monitoredLocations.add(location.getLocation()) && running) {
+      register(location.getLocation());
+    }
+  }
+
+  private void register(String location) {
+    runningDetectors.computeIfAbsent(artifactId, id -> new ConcurrentHashMap<>()).put(location, this);
+  }
+
+  private void unregister(String location) {
+    runningDetectors.computeIfPresent(artifactId, (id, detectors) -> {
+      detectors.remove(location, this);
+      return detectors.isEmpty() ? null : detectors;
+    });
+  }
+
+  /**
+   * @param location the location of a monitored processor
+   * @return whether the processor was found blocking
+   */
+  public boolean isBlocking(ComponentLocation location) {
+    return blockingLocations.contains(location.getLocation());
+  }
+
+  /**
+   * @return the locations of the monitored processors that were found blocking
+   */
+  public Set<String> getBlockingLocations() {
+    return unmodifiableSet(blockingLocations);
+  }
+
+  /**
+   * Provides a {@link ScheduledExecutorService} that runs its tasks in the calling thread until the processor at
+   * {@code location} is found blocking, and in {@code scheduler} from then on.
+   *
+   * @param location  the location of a monitored processor
+   * @param scheduler where to run the tasks once the processor is found blocking
+   * @return a {@link ScheduledExecutorService} to dispatch the events of the processor with
+   */
+  public ScheduledExecutorService rerouteOnceBlocking(ComponentLocation location, ScheduledExecutorService scheduler) {
+    return new ReroutingExecutorService(location, scheduler);
+  }
+
+  private static void safeCheck() {
+    try {
+      check();
+    } catch (Throwable t) {
+      // The watchdog must keep running
+      LOGGER.error("Exception looking for blocked CPU_LITE threads", t);
+    }
+  }
+
+  static synchronized void check() {
+    long now = ++tick;
+
+    forEachThreadExecutionContext((thread, executionContext) -> {
+      Observation observation = observations.get(thread);
+      if (observation == null || observation.executionContext != executionContext) {
+        // Another component execution started in the thread since the last check
+        observations.put(thread, new Observation(executionContext, now));
+        return;
+      }
+      observation.lastSeenTick = now;
+
+      ComponentMetadata componentMetadata = executionContext.getCurrentComponentMetadata().orElse(null);
+      ComponentLocation location = componentMetadata != null ? componentMetadata.getComponentLocation().orElse(null) : null;
+      if (location == null) {
+        return;
+      }
+      Map<String, CpuLiteBlockingDetector> artifactDetectors = runningDetectors.get(componentMetadata.getArtifactId());
+      CpuLiteBlockingDetector detector = artifactDetectors != null ? artifactDetectors.get(location.getLocation()) : null;
+      if (detector == null) {
+        return;
+      }
+
+      long elapsedTicks = now - observation.firstSeenTick;
+      if (elapsedTicks >= detector.thresholdTicks && detector.running
+          && !detector.blockingLocations.contains(location.getLocation())) {
+        detector.report(thread, location, elapsedTicks * TICK_MILLIS);
+      }
+    });
+
+    // The threads without a context are no longer executing the component they were observed with
+    observations.values().removeIf(observation -> observation.lastSeenTick != now);
+  }
+
+  private void report(Thread thread, ComponentLocation location, long blockedMillis) {
+    if (!blockingLocations.add(location.getLocation())) {
+      return;
+    }
+
+    StringBuilder stackTrace = new StringBuilder();
+    for (StackTraceElement element : thread.getStackTrace()) {
+      stackTrace.append("\tat ").append(element).append(lineSeparator());
+    }
+
+    LOGGER.warn("Processor '{}' declared as CPU_LITE has been blocking thread '{}' for more than {} ms. "
+        + "Blocking operations must not be done in CPU_LITE processors:{}{}",
+                location.getLocation(), thread.getName(), blockedMillis, lineSeparator(), stackTrace);
+
+    if (profilingDataProducer != null) {
+      profilingDataProducer
+          .triggerProfilingEvent(location, l -> new CpuLiteBlockingProfilingEventContext(location.getLocation(), blockedMillis,
+                                                                                         thread.getName(),
+                                                                                         stackTrace.toString()));
+    }
+  }
+
+  /**
+   * The context a thread was last seen with by the watchdog, and since when.
+   */
+  private static final class Observation {
+
+    private final ExecutionContext executionContext;
+    private final long firstSeenTick;
+    private long lastSeenTick;
+
+    private Observation(ExecutionContext executionContext, long firstSeenTick) {
+      this.executionContext = executionContext;
+      this.firstSeenTick = firstSeenTick;
+      this.lastSeenTick = firstSeenTick;
+    }
+  }
+
+  /**
+   * Runs its tasks in the calling thread until a processor is found blocking, and in a delegate {@link ScheduledExecutorService}
+   * from then on. Its lifecycle is the one of the delegate.
+   */
+  private final class ReroutingExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private final ComponentLocation location;
+    private final ScheduledExecutorService delegate;
+
+    private ReroutingExecutorService(ComponentLocation location, ScheduledExecutorService delegate) {
+      this.location = location;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      if (isBlocking(location)) {
+        delegate.execute(command);
+      } else {
+        command.run();
+      }
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+      return delegate.schedule(command, delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+      return delegate.schedule(callable, delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+      return delegate.scheduleAtFixedRate(command, initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+      return delegate.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+    }
+
+    @Override
+    public void shutdown() {
+      // Nothing to do, the delegate is not owned by this executor
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return delegate.awaitTermination(timeout, unit);
+    }
+  }
+
+  private static final class CpuLiteBlockingProfilingEventContext implements ExtensionProfilingEventContext {
+
+    private final String location;
+    private final long blockedMillis;
+    private final String threadName;
+    private final String stackTrace;
+    private final long timestamp = currentTimeMillis();
+
+    private CpuLiteBlockingProfilingEventContext(String location, long blockedMillis, String threadName, String stackTrace) {
+      this.location = location;
+      this.blockedMillis = blockedMillis;
+      this.threadName = threadName;
+      this.stackTrace = stackTrace;
+    }
+
+    @Override
+    public long getTriggerTimestamp() {
+      return timestamp;
+    }
+
+    @Override
+    public String getProfilingDataSourceIdentifier() {
+      return location;
+    }
+
+    @Override
+    public String getExtensionEventSubtypeIdentifier() {
+      return CPU_LITE_BLOCKING_EVENT_SUBTYPE;
+    }
+
+    @Override
+    public Optional<Object> get(String key) {
+      switch (key) {
+        case BLOCKED_MILLIS_KEY:
+          return of(blockedMillis);
+        case THREAD_NAME_KEY:
+          return of(threadName);
+        case STACK_TRACE_KEY:
+          return of(stackTrace);
+        default:
+          return empty();
+      }
+    }
+  }
+}
@@ -7,10 +7,15 @@
 
 package org.mule.runtime.core.internal.processor.strategy.enricher;
 
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.internal.processor.strategy.reactor.builder.ComponentProcessingStrategyReactiveProcessorBuilder.processingStrategyReactiveProcessorFrom;
+import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getLocation;
 
+import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.internal.processor.strategy.blocking.CpuLiteBlockingDetector;
+import org.mule.runtime.core.internal.processor.strategy.reactor.builder.ComponentProcessingStrategyReactiveProcessorBuilder;
 import org.mule.runtime.core.internal.profiling.CoreProfilingService;
 
 import java.util.function.Supplier;
@@ -26,21 +31,57 @@ public class CpuLiteNonBlockingProcessingStrategyEnricher implements ReactivePro
   private final CoreProfilingService profilingService;
   private final String artifactId;
   private final String artifactType;
+  private final CpuLiteBlockingDetector blockingDetector;
+  private final Supplier<Scheduler> blockingSchedulerSupplier;
 
   public CpuLiteNonBlockingProcessingStrategyEnricher(Supplier<Scheduler> liteSchedulerSupplier,
                                                       CoreProfilingService profilingService,
                                                       String artifactId,
                                                       String artifactType) {
+    this(liteSchedulerSupplier, profilingService, artifactId, artifactType, null, () -> null);
+  }
+
+  /**
+   * @param blockingDetector          the detector to monitor the {@link ReactiveProcessor.ProcessingType#CPU_LITE} processors
+   *                                  with, {@code null} if not enabled.
+   * @param blockingSchedulerSupplier the {@link Scheduler} to dispatch the events of the processors found blocking to, or
+   *                                  {@code null} if they have to keep running in the CPU_LITE scheduler.
+   * @since 4.5.0
+   */
+  public CpuLiteNonBlockingProcessingStrategyEnricher(Supplier<Scheduler> liteSchedulerSupplier,
+                                                      CoreProfilingService profilingService,
+                                                      String artifactId,
+                                                      String artifactType,
+                                                      CpuLiteBlockingDetector blockingDetector,
+                                                      Supplier<Scheduler> blockingSchedulerSupplier) {
     this.liteSchedulerSupplier = liteSchedulerSupplier;
     this.profilingService = profilingService;
     this.artifactId = artifactId;
     this.artifactType = artifactType;
+    this.blockingDetector = blockingDetector;
+    this.blockingSchedulerSupplier = blockingSchedulerSupplier;
   }
 
   @Override
   public ReactiveProcessor enrich(ReactiveProcessor processor) {
-    return processingStrategyReactiveProcessorFrom(processor, liteSchedulerSupplier.get(), artifactId, artifactType)
-        .withProfilingService(profilingService)
-        .build();
+    Scheduler liteScheduler = liteSchedulerSupplier.get();
+    ComponentProcessingStrategyReactiveProcessorBuilder builder =
+        processingStrategyReactiveProcessorFrom(processor, liteScheduler, artifactId, artifactType)
+            .withProfilingService(profilingService);
+
+    ComponentLocation location = getLocation(processor);
+    if (blockingDetector == null || location == null || processor.getProcessingType() != CPU_LITE) {
+      return builder.build();
+    }
+
+    Scheduler blockingScheduler = blockingSchedulerSupplier.get();
+    if (blockingScheduler != null) {
+      builder
+          .withDispatcherScheduler(blockingDetector.rerouteOnceBlocking(location, blockingScheduler))
+          .withCallbackScheduler(blockingDetector.rerouteOnceBlocking(location, liteScheduler));
+    }
+    // The builder sets the context of the processor in the thread only while the processor runs, that is what is watched
+    blockingDetector.monitor(location);
+    return builder.build();
   }
 }
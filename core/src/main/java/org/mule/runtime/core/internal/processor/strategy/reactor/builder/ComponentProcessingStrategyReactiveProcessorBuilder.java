@@ -151,14 +151,17 @@ public class ComponentProcessingStrategyReactiveProcessorBuilder {
 
     // General structure of processing strategy publishOn -> operation -> publishOn
     return builder
+        .profileProcessingStrategyEvent(profilingService, psSchedulingOperationExecutionDataProducer, transformer)
+        .publishOn(ofNullable(dispatcherScheduler))
+        .profileProcessingStrategyEvent(profilingService, startingOperationExecutionDataProducer, transformer)
+        // Set in the thread that executes the processor, only while it does
         .setTracingContext(profilingService,
                            coreEvent -> new DefaultExecutionContext(new DefaultComponentMetadata(coreEvent.getCorrelationId(),
                                                                                                  artifactId, artifactType,
                                                                                                  location)))
-        .profileProcessingStrategyEvent(profilingService, psSchedulingOperationExecutionDataProducer, transformer)
-        .publishOn(ofNullable(dispatcherScheduler))
-        .profileProcessingStrategyEvent(profilingService, startingOperationExecutionDataProducer, transformer)
         .transform(processor)
+        // What is done downstream in the same thread is not attributed to the processor
+        .setTracingContext(profilingService, coreEvent -> null)
         .profileProcessingStrategyEvent(profilingService, operationExecutionDataProducer, transformer)
         .publishOn(ofNullable(callbackScheduler))
         .profileProcessingStrategyEvent(profilingService, psFlowMessagePassingDataProducer, transformer)
@@ -112,14 +112,15 @@ public class PipelineProcessingStrategyReactiveProcessorBuilder {
                                                                                  artifactType, currentTimeMillis());
 
     return publisher
-        .setTracingContext(profilingService,
-                           coreEvent -> new DefaultExecutionContext(new DefaultComponentMetadata(coreEvent.getCorrelationId(),
-                                                                                                 artifactId, artifactType,
-                                                                                                 location)))
         .profileProcessingStrategyEvent(profilingService, psSchedulingFlowExecutionDataProducer, transformer)
         .publishOn(ofNullable(scheduler))
         .profileProcessingStrategyEvent(profilingService, startingFlowExecutionDataproducer, transformer)
         .doOnSubscribe(subscription -> currentThread().setContextClassLoader(executionClassloader))
+        // Set in the thread that executes the pipeline, only while it does
+        .setTracingContext(profilingService,
+                           coreEvent -> new DefaultExecutionContext(new DefaultComponentMetadata(coreEvent.getCorrelationId(),
+                                                                                                 artifactId, artifactType,
+                                                                                                 location)))
         .transform(pipeline)
         .profileProcessingStrategyEvent(profilingService, flowExecutedDataProducer, transformer);
   }
@@ -7,9 +7,16 @@
 
 package org.mule.runtime.core.internal.profiling;
 
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_SAMPLING_PROFILER_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_SAMPLING_PROFILER_INTERVAL_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactId;
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Long.parseLong;
 import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
+import static reactor.core.publisher.Operators.lift;
 
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.profiling.ProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.api.profiling.ProfilingDataProducer;
@@ -22,6 +29,7 @@ import org.mule.runtime.api.profiling.type.ProfilingEventType;
 import org.mule.runtime.core.internal.profiling.discovery.CompositeProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.core.internal.profiling.discovery.DefaultProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.core.internal.profiling.producer.provider.ProfilingDataProducerResolver;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentSamplingProfiler;
 import org.mule.runtime.core.internal.profiling.threading.JvmThreadSnapshotCollector;
 import org.mule.runtime.feature.internal.config.profiling.ProfilingFeatureFlaggingService;
 import org.mule.runtime.core.internal.profiling.tracing.ThreadLocalTracingService;
@@ -29,14 +37,19 @@ import org.mule.runtime.core.internal.profiling.tracing.ThreadLocalTracingServic
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.inject.Inject;
 
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 /**
  * Default diagnostic service for the runtime.
@@ -58,6 +71,8 @@ public class DefaultProfilingService extends AbstractProfilingService {
 
   private ProfilingDataProducerResolver profilingDataProducerResolver;
 
+  private ComponentSamplingProfiler componentSamplingProfiler;
+
   private final Map<ProfilingEventType<?>, Map<ProfilingProducerScope, ResettableProfilingDataProducer<?, ?>>> profilingDataProducers =
       new ConcurrentHashMap<>();
 
@@ -81,6 +96,38 @@ public class DefaultProfilingService extends AbstractProfilingService {
     super.initialise();
   }
 
+  @Override
+  public void start() throws MuleException {
+    super.start();
+
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
+    if (deploymentProperties != null
+        && parseBoolean(deploymentProperties.getProperty(MULE_SAMPLING_PROFILER_DEPLOYMENT_PROPERTY, "false"))) {
+      componentSamplingProfiler =
+          new ComponentSamplingProfiler(getArtifactId(muleContext),
+                                        parseLong(deploymentProperties
+                                            .getProperty(MULE_SAMPLING_PROFILER_INTERVAL_DEPLOYMENT_PROPERTY, "20")));
+      componentSamplingProfiler.start();
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (componentSamplingProfiler != null) {
+      componentSamplingProfiler.stop();
+    }
+    super.stop();
+  }
+
+  /**
+   * @return the {@link ComponentSamplingProfiler} of the artifact, if enabled.
+   *
+   * @since 4.5.0
+   */
+  public Optional<ComponentSamplingProfiler> getComponentSamplingProfiler() {
+    return ofNullable(componentSamplingProfiler);
+  }
+
   @Override
   protected void onDataConsumersRegistered() {
     profilingDataProducers
@@ -153,13 +200,83 @@ public class DefaultProfilingService extends AbstractProfilingService {
     return original.doOnNext(s -> dataProducer.triggerProfilingEvent(s, transformer));
   }
 
+  /**
+   * Sets the current {@link ExecutionContext} of the thread only while the item is passed downstream, restoring the previous one
+   * afterwards. So a thread doesn't keep the context of a component it is no longer executing, for instance, after handing the
+   * item over to another thread. If the supplier returns {@code null}, the thread has no context while the item is passed.
+   */
   @Override
   public <S> Mono<S> setCurrentExecutionContext(Mono<S> original, Function<S, ExecutionContext> executionContextSupplier) {
-    return original.doOnNext(s -> getTracingService().setCurrentExecutionContext(executionContextSupplier.apply(s)));
+    return original.transform(scoped(executionContextSupplier));
   }
 
+  /**
+   * Same as {@link #setCurrentExecutionContext(Mono, Function)}, for each item of a {@link Flux}.
+   */
   @Override
   public <S> Flux<S> setCurrentExecutionContext(Flux<S> original, Function<S, ExecutionContext> executionContextSupplier) {
-    return original.doOnNext(s -> getTracingService().setCurrentExecutionContext(executionContextSupplier.apply(s)));
+    return original.transform(scoped(executionContextSupplier));
+  }
+
+  private <S> Function<? super Publisher<S>, ? extends Publisher<S>> scoped(Function<S, ExecutionContext> contextSupplier) {
+    return lift((scannable, subscriber) -> new ExecutionContextSubscriber<>(contextSupplier, subscriber));
+  }
+
+  /**
+   * Sets the current {@link ExecutionContext} of the thread while an item is passed to the subscriber, restoring the previous one
+   * afterwards.
+   */
+  private final class ExecutionContextSubscriber<S> implements CoreSubscriber<S> {
+
+    private final Function<S, ExecutionContext> executionContextSupplier;
+    private final CoreSubscriber<? super S> subscriber;
+
+    private ExecutionContextSubscriber(Function<S, ExecutionContext> executionContextSupplier,
+                                       CoreSubscriber<? super S> subscriber) {
+      this.executionContextSupplier = executionContextSupplier;
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void onNext(S s) {
+      TracingService tracingService = getTracingService();
+      ExecutionContext previousExecutionContext = tracingService.getCurrentExecutionContext();
+      ExecutionContext executionContext = executionContextSupplier.apply(s);
+      if (executionContext != null) {
+        tracingService.setCurrentExecutionContext(executionContext);
+      } else {
+        tracingService.deleteCurrentExecutionContext();
+      }
+      try {
+        subscriber.onNext(s);
+      } finally {
+        // Any component that was already being executed in this thread resumes now
+        if (previousExecutionContext != null) {
+          tracingService.setCurrentExecutionContext(previousExecutionContext);
+        } else {
+          tracingService.deleteCurrentExecutionContext();
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      subscriber.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      subscriber.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+      return subscriber.currentContext();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      subscriber.onSubscribe(s);
+    }
   }
 }
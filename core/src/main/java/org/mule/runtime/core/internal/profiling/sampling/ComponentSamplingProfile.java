@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.sampling;
+
+/**
+ * The time attributed to a component by the {@link ComponentSamplingProfiler}.
+ *
+ * @since 4.5.0
+ */
+public final class ComponentSamplingProfile {
+
+  private final String flowName;
+  private final String location;
+  private long samples;
+  private long cpuTimeNanos;
+  private long waitTimeNanos;
+
+  ComponentSamplingProfile(String flowName, String location) {
+    this.flowName = flowName;
+    this.location = location;
+  }
+
+  /**
+   * Creates a profile with the given totals, i.e.: to report the profile of a component collected elsewhere.
+   *
+   * @param flowName      the name of the flow containing the component
+   * @param location      the location of the component
+   * @param samples       amount of samples in which a thread was executing the component
+   * @param cpuTimeNanos  CPU time spent executing the component, in nanoseconds
+   * @param waitTimeNanos time the threads executing the component spent off CPU, in nanoseconds
+   */
+  public ComponentSamplingProfile(String flowName, String location, long samples, long cpuTimeNanos, long waitTimeNanos) {
+    this(flowName, location);
+    this.samples = samples;
+    this.cpuTimeNanos = cpuTimeNanos;
+    this.waitTimeNanos = waitTimeNanos;
+  }
+
+  void record(long cpuNanos, long waitNanos) {
+    samples++;
+    cpuTimeNanos += cpuNanos;
+    waitTimeNanos += waitNanos;
+  }
+
+  void add(ComponentSamplingProfile other) {
+    samples += other.samples;
+    cpuTimeNanos += other.cpuTimeNanos;
+    waitTimeNanos += other.waitTimeNanos;
+  }
+
+  /**
+   * @return the name of the flow containing the component
+   */
+  public String getFlowName() {
+    return flowName;
+  }
+
+  /**
+   * @return the location of the component
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  /**
+   * @return amount of samples in which a thread was executing the component
+   */
+  public long getSamples() {
+    return samples;
+  }
+
+  /**
+   * @return CPU time spent executing the component, in nanoseconds
+   */
+  public long getCpuTimeNanos() {
+    return cpuTimeNanos;
+  }
+
+  /**
+   * @return time the threads executing the component spent off CPU, blocked or waiting, in nanoseconds
+   */
+  public long getWaitTimeNanos() {
+    return waitTimeNanos;
+  }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.sampling;
+
+import static org.mule.runtime.core.internal.profiling.tracing.ThreadLocalTracingService.forEachThreadExecutionContext;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.profiling.tracing.ComponentMetadata;
+import org.mule.runtime.api.profiling.tracing.ExecutionContext;
+import org.mule.runtime.core.internal.profiling.tracing.ThreadLocalTracingService;
+
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Attributes the CPU and wait time of the threads executing the components of an artifact to the component each one is
+ * executing according to the {@link ThreadLocalTracingService}.
+ * <p>
+ * A single sampling thread, shared by the profilers of all the artifacts, periodically reads the current context of every
+ * thread and dispatches the sample to the profiler of the artifact of the component. The threads are sampled at the smallest of
+ * the intervals of the running profilers.
+ * <p>
+ * The time is aggregated by component in buckets of 10 seconds, the last 6 of which are kept, so the profile covers the last
+ * minute.
+ * <p>
+ * Each thread found executing a component is attributed the time elapsed since the previous sample. A thread only has a
+ * context while it executes a component, so the time it is blocked or waiting then is attributed as wait time. The time a
+ * non-blocking component waits for its callback is not spent in any thread, so it is not part of the profile.
+ *
+ * @since 4.5.0
+ */
+public class ComponentSamplingProfiler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComponentSamplingProfiler.class);
+
+  private static final long BUCKET_MILLIS = SECONDS.toMillis(10);
+  private static final int BUCKETS = 6;
+
+  private static final ThreadMXBean threadMXBean = getThreadMXBean();
+  private static final boolean cpuTimeSupported =
+      threadMXBean.isThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+
+  private static final Map<String, ComponentSamplingProfiler> runningProfilers = new ConcurrentHashMap<>();
+
+  private static ScheduledExecutorService sampler;
+  private static ScheduledFuture<?> samplingTask;
+  private static volatile long currentSamplingIntervalMillis;
+
+  // Only accessed while sampling or rescheduling, with the lock of the class
+  private static Map<Long, Long> lastCpuNanos = new HashMap<>();
+  private static long lastSampleNanos = -1;
+
+  private final String artifactId;
+  private final long samplingIntervalMillis;
+  private final Bucket[] buckets = new Bucket[BUCKETS];
+
+  private boolean running;
+
+  /**
+   * @param artifactId             the id of the artifact which components are profiled
+   * @param samplingIntervalMillis maximum time between samples
+   */
+  public ComponentSamplingProfiler(String artifactId, long samplingIntervalMillis) {
+    this.artifactId = artifactId;
+    this.samplingIntervalMillis = samplingIntervalMillis;
+    for (int i = 0; i < BUCKETS; ++i) {
+      buckets[i] = new Bucket();
+    }
+  }
+
+  /**
+   * Starts profiling the components of the artifact.
+   */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+
+    synchronized (ComponentSamplingProfiler.class) {
+      runningProfilers.put(artifactId, this);
+      reschedule();
+    }
+  }
+
+  /**
+   * Stops profiling the components of the artifact. The profile collected so far is kept.
+   */
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+
+    synchronized (ComponentSamplingProfiler.class) {
+      runningProfilers.remove(artifactId, this);
+      reschedule();
+    }
+  }
+
+  private static void reschedule() {
+    long samplingIntervalMillis = runningProfilers.values().stream()
+        .mapToLong(profiler -> profiler.samplingIntervalMillis)
+        .min()
+        .orElse(0);
+    if (samplingIntervalMillis == currentSamplingIntervalMillis) {
+      return;
+    }
+
+    if (samplingTask != null) {
+      samplingTask.cancel(false);
+      samplingTask = null;
+    }
+    currentSamplingIntervalMillis = samplingIntervalMillis;
+
+    if (samplingIntervalMillis == 0) {
+      sampler.shutdownNow();
+      sampler = null;
+      return;
+    }
+
+    if (sampler == null) {
+      // Nothing was sampled while no profiler was running
+      lastSampleNanos = -1;
+      lastCpuNanos = new HashMap<>();
+      sampler = newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "[MuleRuntime].profiling.sampler");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    samplingTask = sampler.scheduleAtFixedRate(ComponentSamplingProfiler::safeSample, samplingIntervalMillis,
+                                               samplingIntervalMillis, MILLISECONDS);
+  }
+
+  /**
+   * @return time between samples, in milliseconds
+   */
+  public long getSamplingIntervalMillis() {
+    long sharedSamplingIntervalMillis = currentSamplingIntervalMillis;
+    return running && sharedSamplingIntervalMillis > 0 ? sharedSamplingIntervalMillis : samplingIntervalMillis;
+  }
+
+  /**
+   * @return time covered by the profile, in milliseconds
+   */
+  public long getWindowMillis() {
+    return BUCKET_MILLIS * BUCKETS;
+  }
+
+  private static void safeSample() {
+    try {
+      sample();
+    } catch (Throwable t) {
+      // The sampler must keep running
+      LOGGER.warn("Error sampling the threads executing components", t);
+    }
+  }
+
+  /**
+   * Takes a sample of the threads executing the components of the artifacts being profiled.
+   */
+  static synchronized void sample() {
+    long sampleNanos = nanoTime();
+    long elapsedNanos = lastSampleNanos < 0 ? 0 : sampleNanos - lastSampleNanos;
+    lastSampleNanos = sampleNanos;
+    Map<Long, Long> cpuNanosByThread = new HashMap<>();
+
+    forEachThreadExecutionContext((thread, executionContext) -> {
+      ComponentMetadata componentMetadata = executionContext.getCurrentComponentMetadata().orElse(null);
+      if (componentMetadata == null) {
+        return;
+      }
+      ComponentSamplingProfiler profiler = runningProfilers.get(componentMetadata.getArtifactId());
+      ComponentLocation location = componentMetadata.getComponentLocation().orElse(null);
+      Thread.State state = thread.getState();
+      if (profiler == null || location == null || state == Thread.State.TERMINATED) {
+        return;
+      }
+
+      long threadId = thread.getId();
+      long cpuNanos = cpuTimeSupported ? threadMXBean.getThreadCpuTime(threadId) : -1;
+      Long lastThreadCpuNanos = lastCpuNanos.get(threadId);
+      if (cpuNanos >= 0) {
+        cpuNanosByThread.put(threadId, cpuNanos);
+      }
+      if (elapsedNanos == 0) {
+        return;
+      }
+
+      long cpuDeltaNanos;
+      if (cpuNanos >= 0 && lastThreadCpuNanos != null) {
+        cpuDeltaNanos = max(0, min(elapsedNanos, cpuNanos - lastThreadCpuNanos));
+      } else {
+        // Without a previous CPU time, runnable threads are assumed to be on CPU
+        cpuDeltaNanos = state == Thread.State.RUNNABLE ? elapsedNanos : 0;
+      }
+      profiler.record(location, cpuDeltaNanos, elapsedNanos - cpuDeltaNanos);
+    });
+
+    lastCpuNanos = cpuNanosByThread;
+  }
+
+  private void record(ComponentLocation location, long cpuNanos, long waitNanos) {
+    synchronized (buckets) {
+      currentBucket().record(location, cpuNanos, waitNanos);
+    }
+  }
+
+  private Bucket currentBucket() {
+    long bucketStart = currentTimeMillis() / BUCKET_MILLIS * BUCKET_MILLIS;
+    Bucket bucket = buckets[(int) (bucketStart / BUCKET_MILLIS % BUCKETS)];
+    if (bucket.startMillis != bucketStart) {
+      bucket.startMillis = bucketStart;
+      bucket.profiles.clear();
+    }
+    return bucket;
+  }
+
+  /**
+   * @return the time attributed to each component during the last minute, sorted by decreasing CPU time
+   */
+  public List<ComponentSamplingProfile> getComponentProfiles() {
+    long windowStart = currentTimeMillis() / BUCKET_MILLIS * BUCKET_MILLIS - BUCKET_MILLIS * (BUCKETS - 1);
+    Map<String, ComponentSamplingProfile> profiles = new HashMap<>();
+
+    synchronized (buckets) {
+      for (Bucket bucket : buckets) {
+        if (bucket.startMillis < windowStart) {
+          continue;
+        }
+        bucket.profiles.forEach((location, profile) -> profiles
+            .computeIfAbsent(location, l -> new ComponentSamplingProfile(profile.getFlowName(), location))
+            .add(profile));
+      }
+    }
+
+    List<ComponentSamplingProfile> sortedProfiles = new ArrayList<>(profiles.values());
+    sortedProfiles.sort(comparingLong(ComponentSamplingProfile::getCpuTimeNanos).reversed());
+    return sortedProfiles;
+  }
+
+  private static final class Bucket {
+
+    private long startMillis = -1;
+    private final Map<String, ComponentSamplingProfile> profiles = new HashMap<>();
+
+    private void record(ComponentLocation location, long cpuNanos, long waitNanos) {
+      profiles
+          .computeIfAbsent(location.getLocation(),
+                           l -> new ComponentSamplingProfile(location.getRootContainerName(), location.getLocation()))
+          .record(cpuNanos, waitNanos);
+    }
+  }
+}
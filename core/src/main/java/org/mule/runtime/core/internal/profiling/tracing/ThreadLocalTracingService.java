@@ -6,35 +6,91 @@
  */
 package org.mule.runtime.core.internal.profiling.tracing;
 
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+
 import org.mule.runtime.api.profiling.tracing.ExecutionContext;
 import org.mule.runtime.api.profiling.tracing.TracingService;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * {@link TracingService} implementation that stores the tracing data as {@link ThreadLocal} values.
+ * <p>
+ * The current {@link ExecutionContext} of each thread can also be read from other threads through
+ * {@link #forEachThreadExecutionContext(BiConsumer)}, so it can be sampled.
  */
 public class ThreadLocalTracingService implements TracingService {
 
-  private static final ThreadLocal<ExecutionContext> currentExecutionContext = new ThreadLocal<>();
+  // The holders only reference their threads weakly, and are discarded once their threads are collected
+  private static final Set<ExecutionContextHolder> executionContextHolders = newKeySet();
+  private static final ReferenceQueue<Thread> collectedThreads = new ReferenceQueue<>();
+
+  private static final ThreadLocal<ExecutionContextHolder> currentExecutionContext = ThreadLocal.withInitial(() -> {
+    expungeCollectedThreads();
+    ExecutionContextHolder holder = new ExecutionContextHolder(currentThread());
+    executionContextHolders.add(holder);
+    return holder;
+  });
 
   public ThreadLocalTracingService() {}
 
   @Override
   public ExecutionContext getCurrentExecutionContext() {
-    return currentExecutionContext.get();
+    return currentExecutionContext.get().executionContext;
   }
 
   @Override
   public void deleteCurrentExecutionContext() {
-    currentExecutionContext.remove();
+    currentExecutionContext.get().executionContext = null;
   }
 
   @Override
   public ExecutionContext setCurrentExecutionContext(ExecutionContext tracingContext) {
     // Since TracingContext is immutable, it can be set as is (it would require creating a copy otherwise).
     Objects.requireNonNull(tracingContext);
-    currentExecutionContext.set(tracingContext);
+    currentExecutionContext.get().executionContext = tracingContext;
     return tracingContext;
   }
+
+  /**
+   * Calls {@code consumer} with each thread that has a current {@link ExecutionContext} and that context.
+   * <p>
+   * The contexts are read while the threads keep running, without blocking them, so they may have changed by the time
+   * {@code consumer} is called.
+   *
+   * @param consumer the consumer of the threads and their current contexts
+   * @since 4.5.0
+   */
+  public static void forEachThreadExecutionContext(BiConsumer<Thread, ExecutionContext> consumer) {
+    expungeCollectedThreads();
+    for (ExecutionContextHolder holder : executionContextHolders) {
+      ExecutionContext executionContext = holder.executionContext;
+      Thread thread = holder.get();
+      if (executionContext != null && thread != null) {
+        consumer.accept(thread, executionContext);
+      }
+    }
+  }
+
+  private static void expungeCollectedThreads() {
+    Reference<? extends Thread> collected;
+    while ((collected = collectedThreads.poll()) != null) {
+      executionContextHolders.remove(collected);
+    }
+  }
+
+  private static final class ExecutionContextHolder extends WeakReference<Thread> {
+
+    private volatile ExecutionContext executionContext;
+
+    private ExecutionContextHolder(Thread thread) {
+      super(thread, collectedThreads);
+    }
+  }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+import static java.lang.System.nanoTime;
+
+import org.mule.runtime.api.event.EventContext;
+
+/**
+ * The spans open for an {@link EventContext}, kept by the context itself so they are propagated along with it.
+ * <p>
+ * The executions of an event context are nested: a flow runs operations, which in turn may be wrapped by policies. So the open
+ * spans are kept as a stack, where each span is the parent of the one above it. The spans of a child context are children of
+ * the innermost span open in its parent when it was created.
+ * <p>
+ * Events that are not sampled share the {@link #NOT_SAMPLED} instance, so that nothing is allocated for them.
+ *
+ * @since 4.5.0
+ */
+public final class EventSpans {
+
+  /**
+   * The spans of an event that is not traced. Starting and ending spans on it does nothing.
+   */
+  public static final EventSpans NOT_SAMPLED = new EventSpans();
+
+  // Spans nested deeper than this are not recorded
+  private static final int MAX_DEPTH = 32;
+
+  private final SpanTracer tracer;
+  private final long traceIdHigh;
+  private final long traceIdLow;
+  private final long parentSpanId;
+
+  private final Object[] owners;
+  private final long[] spanIds;
+  private final long[] startNanos;
+  private final String[] names;
+  private final SpanKind[] kinds;
+  private int depth;
+
+  private EventSpans() {
+    this.tracer = null;
+    this.traceIdHigh = 0;
+    this.traceIdLow = 0;
+    this.parentSpanId = 0;
+    this.owners = null;
+    this.spanIds = null;
+    this.startNanos = null;
+    this.names = null;
+    this.kinds = null;
+  }
+
+  /**
+   * @param tracer       the tracer to record the spans with once they end
+   * @param traceIdHigh  the high 64 bits of the id of the trace
+   * @param traceIdLow   the low 64 bits of the id of the trace
+   * @param parentSpanId the id of the parent of the outermost span, or {@code 0} if it is the root span of the trace
+   */
+  EventSpans(SpanTracer tracer, long traceIdHigh, long traceIdLow, long parentSpanId) {
+    this.tracer = tracer;
+    this.traceIdHigh = traceIdHigh;
+    this.traceIdLow = traceIdLow;
+    this.parentSpanId = parentSpanId;
+    this.owners = new Object[MAX_DEPTH];
+    this.spanIds = new long[MAX_DEPTH];
+    this.startNanos = new long[MAX_DEPTH];
+    this.names = new String[MAX_DEPTH];
+    this.kinds = new SpanKind[MAX_DEPTH];
+  }
+
+  /**
+   * @return whether the spans of the event are recorded.
+   */
+  public boolean isSampled() {
+    return tracer != null;
+  }
+
+  /**
+   * @return the spans for a child context of the one owning these spans.
+   */
+  public synchronized EventSpans child() {
+    if (!isSampled()) {
+      return this;
+    }
+    return new EventSpans(tracer, traceIdHigh, traceIdLow, currentSpanId());
+  }
+
+  /**
+   * Starts a span as a child of the innermost one open.
+   *
+   * @param owner the object executing what the span represents, used to end it
+   * @param name  the name of the span
+   * @param kind  the kind of execution the span represents
+   */
+  public synchronized void start(Object owner, String name, SpanKind kind) {
+    if (!isSampled() || depth == MAX_DEPTH) {
+      return;
+    }
+
+    owners[depth] = owner;
+    spanIds[depth] = tracer.newSpanId();
+    startNanos[depth] = nanoTime();
+    names[depth] = name;
+    kinds[depth] = kind;
+    ++depth;
+  }
+
+  /**
+   * Ends the innermost span open by the given {@code owner}, if any.
+   * <p>
+   * The spans started after it that are still open are ended along with it, as failed, since only an error may have prevented
+   * them from ending.
+   *
+   * @param owner the object the span was started by
+   * @param error whether the execution represented by the span failed
+   */
+  public synchronized void end(Object owner, boolean error) {
+    if (!isSampled()) {
+      return;
+    }
+
+    for (int i = depth - 1; i >= 0; --i) {
+      if (owners[i] == owner) {
+        long endNanos = nanoTime();
+        for (int j = depth - 1; j > i; --j) {
+          record(j, endNanos, true);
+        }
+        record(i, endNanos, error);
+        depth = i;
+        return;
+      }
+    }
+  }
+
+  private void record(int index, long endNanos, boolean error) {
+    tracer.record(traceIdHigh, traceIdLow, spanIds[index], index == 0 ? parentSpanId : spanIds[index - 1], names[index],
+                  kinds[index], startNanos[index], endNanos, error);
+    owners[index] = null;
+    names[index] = null;
+  }
+
+  /**
+   * @return the W3C {@code traceparent} to propagate to the systems called from the innermost span open, or {@code null} if
+   *         the event is not sampled or there is no span to be the parent of the ones of those systems.
+   */
+  public synchronized String getTraceparent() {
+    if (!isSampled() || currentSpanId() == 0) {
+      return null;
+    }
+    return TraceParent.format(traceIdHigh, traceIdLow, currentSpanId(), true);
+  }
+
+  private long currentSpanId() {
+    return depth == 0 ? parentSpanId : spanIds[depth - 1];
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.mule.runtime.core.api.tracing.SpanData;
+import org.mule.runtime.core.api.tracing.SpanExporter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * {@link SpanExporter} that appends the exported spans to a local file, as one JSON object per line.
+ *
+ * @since 4.5.0
+ */
+public final class FileSpanExporter implements SpanExporter {
+
+  public static final String FILE_EXPORTER_NAME = "file";
+
+  private final File file;
+  private Writer writer;
+
+  /**
+   * @param file the file to append the spans to. It is created if it doesn't exist.
+   */
+  public FileSpanExporter(File file) {
+    this.file = file;
+  }
+
+  @Override
+  public String getName() {
+    return FILE_EXPORTER_NAME;
+  }
+
+  @Override
+  public synchronized void export(Collection<SpanData> spans) throws IOException {
+    if (writer == null) {
+      file.getParentFile().mkdirs();
+      writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), UTF_8));
+    }
+
+    for (SpanData span : spans) {
+      writer.write("{\"traceId\":\"");
+      writer.write(span.getTraceId());
+      writer.write("\",\"spanId\":\"");
+      writer.write(span.getSpanId());
+      writer.write("\",\"parentSpanId\":");
+      writer.write(span.getParentSpanId() == null ? "null" : "\"" + span.getParentSpanId() + "\"");
+      writer.write(",\"name\":\"");
+      writeEscaped(span.getName());
+      writer.write("\",\"kind\":\"");
+      writer.write(span.getKind());
+      writer.write("\",\"startEpochNanos\":");
+      writer.write(Long.toString(span.getStartEpochNanos()));
+      writer.write(",\"endEpochNanos\":");
+      writer.write(Long.toString(span.getEndEpochNanos()));
+      writer.write(",\"error\":");
+      writer.write(Boolean.toString(span.isError()));
+      writer.write("}\n");
+    }
+    writer.flush();
+  }
+
+  private void writeEscaped(String value) throws IOException {
+    for (int i = 0; i < value.length(); ++i) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        writer.write('\\');
+        writer.write(c);
+      } else if (c < 0x20) {
+        writer.write(String.format("\\u%04x", (int) c));
+      } else {
+        writer.write(c);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void dispose() throws IOException {
+    if (writer != null) {
+      writer.close();
+      writer = null;
+    }
+  }
+}
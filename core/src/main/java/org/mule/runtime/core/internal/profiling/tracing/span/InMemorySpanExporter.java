@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+import org.mule.runtime.core.api.tracing.SpanData;
+import org.mule.runtime.core.api.tracing.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * {@link SpanExporter} that keeps the last exported spans in memory.
+ *
+ * @since 4.5.0
+ */
+public final class InMemorySpanExporter implements SpanExporter {
+
+  public static final String MEMORY_EXPORTER_NAME = "memory";
+
+  private static final int DEFAULT_MAX_SPANS = 10000;
+
+  private final int maxSpans;
+  private final Deque<SpanData> spans = new ArrayDeque<>();
+
+  public InMemorySpanExporter() {
+    this(DEFAULT_MAX_SPANS);
+  }
+
+  /**
+   * @param maxSpans the amount of spans to keep, the oldest ones are discarded to make room for the new ones.
+   */
+  public InMemorySpanExporter(int maxSpans) {
+    this.maxSpans = maxSpans;
+  }
+
+  @Override
+  public String getName() {
+    return MEMORY_EXPORTER_NAME;
+  }
+
+  @Override
+  public synchronized void export(Collection<SpanData> exportedSpans) {
+    for (SpanData span : exportedSpans) {
+      if (spans.size() == maxSpans) {
+        spans.removeFirst();
+      }
+      spans.addLast(span);
+    }
+  }
+
+  /**
+   * @return the spans kept, from the oldest to the newest.
+   */
+  public synchronized List<SpanData> getSpans() {
+    return new ArrayList<>(spans);
+  }
+
+  /**
+   * Discards the spans kept.
+   */
+  public synchronized void clear() {
+    spans.clear();
+  }
+}
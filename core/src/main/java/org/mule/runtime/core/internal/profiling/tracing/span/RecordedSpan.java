@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+import static org.mule.runtime.core.internal.profiling.tracing.span.TraceParent.toHex;
+
+import org.mule.runtime.core.api.tracing.SpanData;
+
+/**
+ * {@link SpanData} of a span drained from a {@link SpanBuffer}.
+ *
+ * @since 4.5.0
+ */
+final class RecordedSpan implements SpanData {
+
+  private final String traceId;
+  private final String spanId;
+  private final String parentSpanId;
+  private final String name;
+  private final SpanKind kind;
+  private final long startEpochNanos;
+  private final long endEpochNanos;
+  private final boolean error;
+
+  RecordedSpan(long traceIdHigh, long traceIdLow, long spanId, long parentSpanId, String name, SpanKind kind,
+               long startEpochNanos, long endEpochNanos, boolean error) {
+    this.traceId = toHex(traceIdHigh) + toHex(traceIdLow);
+    this.spanId = toHex(spanId);
+    this.parentSpanId = parentSpanId == 0 ? null : toHex(parentSpanId);
+    this.name = name;
+    this.kind = kind;
+    this.startEpochNanos = startEpochNanos;
+    this.endEpochNanos = endEpochNanos;
+    this.error = error;
+  }
+
+  @Override
+  public String getTraceId() {
+    return traceId;
+  }
+
+  @Override
+  public String getSpanId() {
+    return spanId;
+  }
+
+  @Override
+  public String getParentSpanId() {
+    return parentSpanId;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getKind() {
+    return kind.name();
+  }
+
+  @Override
+  public long getStartEpochNanos() {
+    return startEpochNanos;
+  }
+
+  @Override
+  public long getEndEpochNanos() {
+    return endEpochNanos;
+  }
+
+  @Override
+  public boolean isError() {
+    return error;
+  }
+
+  @Override
+  public String toString() {
+    return kind + " " + name + " { traceId: " + traceId + "; spanId: " + spanId + "; parentSpanId: " + parentSpanId
+        + "; durationNanos: " + (endEpochNanos - startEpochNanos) + "; error: " + error + " }";
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+import static java.lang.Thread.currentThread;
+
+import org.mule.runtime.core.api.tracing.SpanData;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+
+/**
+ * Ring buffer where a single thread records the spans it ends, until they are drained to be exported.
+ * <p>
+ * Only the owner thread records spans and only one thread at a time drains them, so the buffer doesn't need locks. The buffer
+ * starts small, so the threads that end few spans take little memory, and doubles its capacity when full up to a maximum. From
+ * then on, the spans that don't fit are dropped.
+ *
+ * @since 4.5.0
+ */
+final class SpanBuffer {
+
+  private final int maxCapacity;
+  private final WeakReference<Thread> owner = new WeakReference<>(currentThread());
+
+  // Replaced by the owner thread when the buffer grows, the draining thread keeps reading the one it started with
+  private volatile Slots slots;
+
+  private volatile long writeIndex;
+  private volatile long readIndex;
+  private volatile long dropped;
+
+  /**
+   * @param initialCapacity the amount of spans the buffer can initially hold, has to be a power of 2
+   * @param maxCapacity     the amount of spans the buffer can grow to hold, has to be a power of 2
+   */
+  SpanBuffer(int initialCapacity, int maxCapacity) {
+    this.maxCapacity = maxCapacity;
+    this.slots = new Slots(initialCapacity);
+  }
+
+  /**
+   * Records a span. Only to be called by the owner thread of the buffer.
+   */
+  void record(long traceIdHigh, long traceIdLow, long spanId, long parentSpanId, String name, SpanKind kind,
+              long spanStartNanos, long spanEndNanos, boolean error) {
+    long index = writeIndex;
+    Slots current = slots;
+    if (index - readIndex > current.mask) {
+      if (current.mask + 1 >= maxCapacity) {
+        dropped = dropped + 1;
+        return;
+      }
+      current = grow(current, index);
+    }
+
+    int slot = (int) (index & current.mask);
+    current.traceIdsHigh[slot] = traceIdHigh;
+    current.traceIdsLow[slot] = traceIdLow;
+    current.spanIds[slot] = spanId;
+    current.parentSpanIds[slot] = parentSpanId;
+    current.names[slot] = name;
+    current.kinds[slot] = kind;
+    current.startNanos[slot] = spanStartNanos;
+    current.endNanos[slot] = spanEndNanos;
+    current.errors[slot] = error;
+    // Publishes the slot to the draining thread
+    writeIndex = index + 1;
+  }
+
+  private Slots grow(Slots current, long limit) {
+    Slots grown = new Slots((current.mask + 1) * 2);
+    // The spans drained meanwhile are copied too, but they are behind the read index so they are not read again
+    for (long index = readIndex; index < limit; ++index) {
+      grown.copy(index, current);
+    }
+    slots = grown;
+    return grown;
+  }
+
+  /**
+   * Moves the recorded spans to {@code spans}.
+   *
+   * @param spans            where to add the drained spans to
+   * @param epochNanosOffset the difference between the epoch time and the {@link System#nanoTime()}, both in nanoseconds
+   */
+  void drainTo(Collection<SpanData> spans, long epochNanosOffset) {
+    long index = readIndex;
+    long limit = writeIndex;
+    // Read after the write index, so it has all the spans up to it
+    Slots current = slots;
+    for (; index < limit; ++index) {
+      int slot = (int) (index & current.mask);
+      spans.add(new RecordedSpan(current.traceIdsHigh[slot], current.traceIdsLow[slot], current.spanIds[slot],
+                                 current.parentSpanIds[slot], current.names[slot], current.kinds[slot],
+                                 current.startNanos[slot] + epochNanosOffset, current.endNanos[slot] + epochNanosOffset,
+                                 current.errors[slot]));
+    }
+    // Frees the slots for the owner thread
+    readIndex = limit;
+  }
+
+  /**
+   * @return the amount of spans the buffer can currently hold.
+   */
+  int getCapacity() {
+    return slots.mask + 1;
+  }
+
+  /**
+   * @return the amount of spans that were dropped because the buffer was full.
+   */
+  long getDropped() {
+    return dropped;
+  }
+
+  /**
+   * @return whether the owner thread of this buffer finished and all its spans were drained, so the buffer can be discarded.
+   */
+  boolean isDiscardable() {
+    Thread ownerThread = owner.get();
+    return (ownerThread == null || !ownerThread.isAlive()) && readIndex == writeIndex;
+  }
+
+  private static final class Slots {
+
+    private final int mask;
+    private final long[] traceIdsHigh;
+    private final long[] traceIdsLow;
+    private final long[] spanIds;
+    private final long[] parentSpanIds;
+    private final long[] startNanos;
+    private final long[] endNanos;
+    private final String[] names;
+    private final SpanKind[] kinds;
+    private final boolean[] errors;
+
+    private Slots(int capacity) {
+      this.mask = capacity - 1;
+      this.traceIdsHigh = new long[capacity];
+      this.traceIdsLow = new long[capacity];
+      this.spanIds = new long[capacity];
+      this.parentSpanIds = new long[capacity];
+      this.startNanos = new long[capacity];
+      this.endNanos = new long[capacity];
+      this.names = new String[capacity];
+      this.kinds = new SpanKind[capacity];
+      this.errors = new boolean[capacity];
+    }
+
+    private void copy(long index, Slots from) {
+      int slot = (int) (index & mask);
+      int fromSlot = (int) (index & from.mask);
+      traceIdsHigh[slot] = from.traceIdsHigh[fromSlot];
+      traceIdsLow[slot] = from.traceIdsLow[fromSlot];
+      spanIds[slot] = from.spanIds[fromSlot];
+      parentSpanIds[slot] = from.parentSpanIds[fromSlot];
+      names[slot] = from.names[fromSlot];
+      kinds[slot] = from.kinds[fromSlot];
+      startNanos[slot] = from.startNanos[fromSlot];
+      endNanos[slot] = from.endNanos[fromSlot];
+      errors[slot] = from.errors[fromSlot];
+    }
+  }
+}
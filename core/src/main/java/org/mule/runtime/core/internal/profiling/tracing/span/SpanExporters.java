@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+import static org.mule.runtime.core.internal.profiling.tracing.span.FileSpanExporter.FILE_EXPORTER_NAME;
+import static org.mule.runtime.core.internal.profiling.tracing.span.InMemorySpanExporter.MEMORY_EXPORTER_NAME;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import org.mule.runtime.core.api.registry.ServiceRegistry;
+import org.mule.runtime.core.api.registry.SpiServiceRegistry;
+import org.mule.runtime.core.api.tracing.SpanExporter;
+
+import java.io.File;
+import java.util.Optional;
+
+/**
+ * Looks up the {@link SpanExporter} for a name among the ones provided through SPI and the built-in {@link FileSpanExporter}
+ * and {@link InMemorySpanExporter}.
+ *
+ * @since 4.5.0
+ */
+public final class SpanExporters {
+
+  /**
+   * Name of the file the {@link FileSpanExporter} writes to, in the working directory of the artifact.
+   */
+  public static final String SPANS_FILE_NAME = "spans.jsonl";
+
+  private static final ServiceRegistry serviceRegistry = new SpiServiceRegistry();
+
+  private SpanExporters() {}
+
+  /**
+   * @param name             the name of the exporter
+   * @param classLoader      the class loader to look up the exporters provided through SPI with
+   * @param workingDirectory the working directory of the artifact
+   * @return the exporter with the name, if any. Exporters provided through SPI take precedence over the built-in ones.
+   */
+  public static Optional<SpanExporter> getExporter(String name, ClassLoader classLoader, File workingDirectory) {
+    for (SpanExporter exporter : serviceRegistry.lookupProviders(SpanExporter.class, classLoader)) {
+      if (exporter.getName().equalsIgnoreCase(name)) {
+        return of(exporter);
+      }
+    }
+
+    if (FILE_EXPORTER_NAME.equalsIgnoreCase(name)) {
+      return of(new FileSpanExporter(new File(workingDirectory, SPANS_FILE_NAME)));
+    }
+    if (MEMORY_EXPORTER_NAME.equalsIgnoreCase(name)) {
+      return of(new InMemorySpanExporter());
+    }
+    return empty();
+  }
+}
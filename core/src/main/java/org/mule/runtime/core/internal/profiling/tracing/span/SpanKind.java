@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+/**
+ * The kinds of execution the spans of an event represent.
+ *
+ * @since 4.5.0
+ */
+public enum SpanKind {
+
+  FLOW, OPERATION, POLICY
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_TRACING_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_TRACING_EXPORTER_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_TRACING_SAMPLE_RATE_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.internal.event.DefaultEventContext.getEventSpans;
+import static org.mule.runtime.core.internal.event.DefaultEventContext.setEventSpans;
+import static org.mule.runtime.core.internal.profiling.tracing.span.FileSpanExporter.FILE_EXPORTER_NAME;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanKind.FLOW;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Double.parseDouble;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.tracing.SpanData;
+import org.mule.runtime.core.api.tracing.SpanExporter;
+import org.mule.runtime.core.api.tracing.TraceContextPropagator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+
+/**
+ * Traces the flows, operations and policies that process the events of an artifact, exporting the spans of the sampled events
+ * through a {@link SpanExporter}.
+ * <p>
+ * Whether an event is sampled is decided when it is received by a source, or when it enters a flow if it wasn't received by one.
+ * The decision and the open spans of the event are kept by its {@link EventContext} through {@link EventSpans}, so they are
+ * propagated to its child contexts. Nothing is allocated for the events that are not sampled.
+ * <p>
+ * Each thread records the spans it ends in its own {@link SpanBuffer}, which grows up to a bounded capacity. The buffers are
+ * periodically drained and their spans exported in a single batch.
+ *
+ * @since 4.5.0
+ */
+public class SpanTracer implements TraceContextPropagator, Initialisable, Startable, Stoppable {
+
+  private static final Logger LOGGER = getLogger(SpanTracer.class);
+
+  private static final int BUFFER_INITIAL_CAPACITY = 16;
+  private static final int BUFFER_MAX_CAPACITY = 1024;
+  private static final long EXPORT_INTERVAL_MILLIS = 1000;
+
+  @Inject
+  private MuleContext muleContext;
+
+  private final ThreadLocal<SpanBuffer> threadBuffer = ThreadLocal.withInitial(this::createBuffer);
+  private final List<SpanBuffer> buffers = new CopyOnWriteArrayList<>();
+  private final long epochNanosOffset = MILLISECONDS.toNanos(currentTimeMillis()) - nanoTime();
+
+  private boolean enabled;
+  private double sampleRate;
+  private SpanExporter exporter;
+  private Scheduler exportScheduler;
+  private long discardedBuffersDroppedSpans;
+
+  public SpanTracer() {}
+
+  /**
+   * Creates a tracer that is enabled regardless of the deployment properties.
+   *
+   * @param exporter   the exporter to export the spans with
+   * @param sampleRate the rate of the events that are traced
+   */
+  public SpanTracer(SpanExporter exporter, double sampleRate) {
+    this.enabled = true;
+    this.exporter = exporter;
+    this.sampleRate = sampleRate;
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
+    if (deploymentProperties == null
+        || !parseBoolean(deploymentProperties.getProperty(MULE_TRACING_DEPLOYMENT_PROPERTY, "false"))) {
+      return;
+    }
+
+    sampleRate = parseDouble(deploymentProperties.getProperty(MULE_TRACING_SAMPLE_RATE_DEPLOYMENT_PROPERTY, "1"));
+    String exporterName = deploymentProperties.getProperty(MULE_TRACING_EXPORTER_DEPLOYMENT_PROPERTY, FILE_EXPORTER_NAME);
+    exporter = SpanExporters.getExporter(exporterName, muleContext.getExecutionClassLoader(),
+                                         new File(muleContext.getConfiguration().getWorkingDirectory())).orElse(null);
+    if (exporter == null) {
+      throw new InitialisationException(createStaticMessage(format("No span exporter found with name '%s'", exporterName)), this);
+    }
+    enabled = true;
+  }
+
+  @Override
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+
+    exportScheduler = muleContext.getSchedulerService().ioScheduler(muleContext.getSchedulerBaseConfig()
+        .withMaxConcurrentTasks(1)
+        .withName("spanExporter"));
+    exportScheduler.scheduleWithFixedDelay(this::export, EXPORT_INTERVAL_MILLIS, EXPORT_INTERVAL_MILLIS, MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (exportScheduler == null) {
+      return;
+    }
+
+    exportScheduler.stop();
+    exportScheduler = null;
+    // Exports what was recorded since the last export
+    export();
+    try {
+      exporter.dispose();
+    } catch (IOException e) {
+      LOGGER.warn("Could not dispose span exporter '" + exporter.getName() + "'", e);
+    }
+  }
+
+  /**
+   * @return whether tracing is enabled for the artifact.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Decides whether the event of the given context is traced, unless it was already decided.
+   *
+   * @param context the context of an event received by a source
+   */
+  public void sample(EventContext context) {
+    if (enabled && getEventSpans(context) == null) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      setEventSpans(context, random.nextDouble() < sampleRate
+          ? new EventSpans(this, nonZeroRandom(random), random.nextLong(), 0)
+          : EventSpans.NOT_SAMPLED);
+    }
+  }
+
+  @Override
+  public void continueTrace(EventContext context, String traceparent) {
+    if (!enabled || getEventSpans(context) != null) {
+      return;
+    }
+
+    TraceParent parent = TraceParent.parse(traceparent);
+    if (parent == null) {
+      sample(context);
+    } else {
+      setEventSpans(context, parent.isSampled()
+          ? new EventSpans(this, parent.getTraceIdHigh(), parent.getTraceIdLow(), parent.getParentSpanId())
+          : EventSpans.NOT_SAMPLED);
+    }
+  }
+
+  /**
+   * Starts the span of a flow for an event, sampling the event if it wasn't yet.
+   *
+   * @param context  the context of the event
+   * @param flow     the flow, used to end the span
+   * @param flowName the name of the flow
+   */
+  public void startFlowSpan(EventContext context, Object flow, String flowName) {
+    if (!enabled) {
+      return;
+    }
+
+    sample(context);
+    startSpan(context, flow, flowName, FLOW);
+  }
+
+  /**
+   * Starts a span for an event, if it is traced.
+   *
+   * @param context the context of the event
+   * @param owner   the object executing what the span represents, used to end it
+   * @param name    the name of the span
+   * @param kind    the kind of execution the span represents
+   */
+  public static void startSpan(EventContext context, Object owner, String name, SpanKind kind) {
+    EventSpans spans = getEventSpans(context);
+    if (spans != null) {
+      spans.start(owner, name, kind);
+    }
+  }
+
+  /**
+   * Ends the innermost span started by {@code owner} for an event, if it is traced.
+   *
+   * @param context the context of the event
+   * @param owner   the object the span was started by
+   * @param error   whether the execution represented by the span failed
+   */
+  public static void endSpan(EventContext context, Object owner, boolean error) {
+    EventSpans spans = getEventSpans(context);
+    if (spans != null) {
+      spans.end(owner, error);
+    }
+  }
+
+  @Override
+  public Optional<String> getTraceparent(EventContext context) {
+    EventSpans spans = getEventSpans(context);
+    return spans == null ? Optional.empty() : ofNullable(spans.getTraceparent());
+  }
+
+  long newSpanId() {
+    return nonZeroRandom(ThreadLocalRandom.current());
+  }
+
+  private static long nonZeroRandom(ThreadLocalRandom random) {
+    long value;
+    do {
+      value = random.nextLong();
+    } while (value == 0);
+    return value;
+  }
+
+  void record(long traceIdHigh, long traceIdLow, long spanId, long parentSpanId, String name, SpanKind kind,
+              long startNanos, long endNanos, boolean error) {
+    threadBuffer.get().record(traceIdHigh, traceIdLow, spanId, parentSpanId, name, kind, startNanos, endNanos, error);
+  }
+
+  private SpanBuffer createBuffer() {
+    SpanBuffer buffer = new SpanBuffer(BUFFER_INITIAL_CAPACITY, BUFFER_MAX_CAPACITY);
+    buffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * Drains the spans recorded by all threads and exports them.
+   */
+  synchronized void export() {
+    try {
+      List<SpanData> spans = new ArrayList<>();
+      for (SpanBuffer buffer : buffers) {
+        buffer.drainTo(spans, epochNanosOffset);
+        if (buffer.isDiscardable()) {
+          // The thread that owned the buffer is gone, keep its count of dropped spans
+          buffers.remove(buffer);
+          discardedBuffersDroppedSpans += buffer.getDropped();
+        }
+      }
+
+      if (!spans.isEmpty()) {
+        exporter.export(spans);
+      }
+    } catch (Throwable t) {
+      LOGGER.warn("Could not export spans with exporter '" + exporter.getName() + "'", t);
+    }
+  }
+
+  /**
+   * @return the number of spans that were not exported because the buffer of the thread that ended them was full.
+   */
+  public synchronized long getDroppedSpans() {
+    long dropped = discardedBuffersDroppedSpans;
+    for (SpanBuffer buffer : buffers) {
+      dropped += buffer.getDropped();
+    }
+    return dropped;
+  }
+
+  /**
+   * @return the exporter the spans are exported with, if tracing is enabled.
+   */
+  public Optional<SpanExporter> getExporter() {
+    return ofNullable(exporter);
+  }
+}
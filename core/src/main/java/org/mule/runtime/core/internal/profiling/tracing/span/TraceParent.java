@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.tracing.span;
+
+/**
+ * A W3C {@code traceparent}, as defined by the <a href="https://www.w3.org/TR/trace-context/">Trace Context</a> specification:
+ * {@code <version>-<trace-id>-<parent-id>-<trace-flags>}.
+ *
+ * @since 4.5.0
+ */
+public final class TraceParent {
+
+  private static final String VERSION = "00";
+  private static final String INVALID_VERSION = "ff";
+  private static final int LENGTH = 55;
+  private static final int SAMPLED_FLAG = 0x01;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final long traceIdHigh;
+  private final long traceIdLow;
+  private final long parentSpanId;
+  private final boolean sampled;
+
+  private TraceParent(long traceIdHigh, long traceIdLow, long parentSpanId, boolean sampled) {
+    this.traceIdHigh = traceIdHigh;
+    this.traceIdLow = traceIdLow;
+    this.parentSpanId = parentSpanId;
+    this.sampled = sampled;
+  }
+
+  /**
+   * @param traceparent the value of a {@code traceparent} header
+   * @return the parsed {@code traceparent}, or {@code null} if it isn't valid, in which case a new trace has to be started.
+   */
+  public static TraceParent parse(String traceparent) {
+    if (traceparent == null || traceparent.length() < LENGTH
+        || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+      return null;
+    }
+
+    String version = traceparent.substring(0, 2);
+    if (!isHex(traceparent, 0, 2) || INVALID_VERSION.equals(version)) {
+      return null;
+    }
+    // Later versions may append fields, but have to keep the ones of this version at the beginning
+    if (traceparent.length() > LENGTH && (VERSION.equals(version) || traceparent.charAt(LENGTH) != '-')) {
+      return null;
+    }
+
+    if (!isHex(traceparent, 3, 35) || !isHex(traceparent, 36, 52) || !isHex(traceparent, 53, 55)) {
+      return null;
+    }
+
+    long traceIdHigh = parseHex(traceparent, 3, 19);
+    long traceIdLow = parseHex(traceparent, 19, 35);
+    long parentSpanId = parseHex(traceparent, 36, 52);
+    if ((traceIdHigh == 0 && traceIdLow == 0) || parentSpanId == 0) {
+      return null;
+    }
+
+    return new TraceParent(traceIdHigh, traceIdLow, parentSpanId, (parseHex(traceparent, 53, 55) & SAMPLED_FLAG) != 0);
+  }
+
+  /**
+   * @return the {@code traceparent} for a span, in the version of the specification this class implements.
+   */
+  public static String format(long traceIdHigh, long traceIdLow, long spanId, boolean sampled) {
+    char[] chars = new char[LENGTH];
+    chars[0] = '0';
+    chars[1] = '0';
+    chars[2] = '-';
+    writeHex(traceIdHigh, chars, 3);
+    writeHex(traceIdLow, chars, 19);
+    chars[35] = '-';
+    writeHex(spanId, chars, 36);
+    chars[52] = '-';
+    chars[53] = '0';
+    chars[54] = sampled ? '1' : '0';
+    return new String(chars);
+  }
+
+  /**
+   * @return the given id as 16 lowercase hexadecimal characters.
+   */
+  public static String toHex(long id) {
+    char[] chars = new char[16];
+    writeHex(id, chars, 0);
+    return new String(chars);
+  }
+
+  private static void writeHex(long value, char[] chars, int offset) {
+    for (int i = 15; i >= 0; --i) {
+      chars[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+      value >>>= 4;
+    }
+  }
+
+  private static boolean isHex(String value, int from, int to) {
+    for (int i = from; i < to; ++i) {
+      char c = value.charAt(i);
+      if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long parseHex(String value, int from, int to) {
+    long result = 0;
+    for (int i = from; i < to; ++i) {
+      result = (result << 4) | Character.digit(value.charAt(i), 16);
+    }
+    return result;
+  }
+
+  public long getTraceIdHigh() {
+    return traceIdHigh;
+  }
+
+  public long getTraceIdLow() {
+    return traceIdLow;
+  }
+
+  public long getParentSpanId() {
+    return parentSpanId;
+  }
+
+  public boolean isSampled() {
+    return sampled;
+  }
+}
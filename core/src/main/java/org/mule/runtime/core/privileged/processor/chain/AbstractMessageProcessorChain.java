@@ -14,6 +14,8 @@ import static org.mule.runtime.api.notification.MessageProcessorNotification.MES
 import static org.mule.runtime.api.notification.MessageProcessorNotification.createFrom;
 import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_EXECUTED;
 import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_OPERATION_EXECUTION;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_COMPONENT_LATENCY_STATISTICS_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_TRACING_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.isStopped;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
@@ -27,6 +29,9 @@ import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentM
 import static org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter.createInterceptors;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactId;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactType;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanKind.OPERATION;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer.endSpan;
+import static org.mule.runtime.core.internal.profiling.tracing.span.SpanTracer.startSpan;
 import static org.mule.runtime.core.internal.util.rx.RxUtils.propagateCompletion;
 import static org.mule.runtime.core.privileged.event.PrivilegedEvent.setCurrentEvent;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
@@ -34,6 +39,7 @@ import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlin
 import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlingUtils.resolveException;
 import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlingUtils.resolveMessagingException;
 
+import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
@@ -63,6 +69,7 @@ import org.mule.runtime.core.api.context.notification.ServerNotificationHandler;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
 import org.mule.runtime.core.api.execution.ExceptionContextProvider;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
@@ -71,6 +78,7 @@ import org.mule.runtime.core.internal.context.DefaultMuleContext;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.interception.InterceptorManager;
 import org.mule.runtime.core.internal.interception.ReactiveInterceptor;
+import org.mule.runtime.core.internal.management.stats.ComponentLatencyRecorder;
 import org.mule.runtime.core.internal.processor.chain.InterceptedReactiveProcessor;
 import org.mule.runtime.core.internal.processor.interceptor.ProcessorInterceptorFactoryAdapter;
 import org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter;
@@ -88,7 +96,10 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -172,6 +183,11 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
 
   private Scheduler switchOnErrorScheduler;
 
+  // Only set when the latency statistics of the components are enabled
+  private Map<Processor, ComponentLatencyRecorder> latencyRecorders;
+
+  private boolean tracingEnabled;
+
   AbstractMessageProcessorChain(String name,
                                 Optional<ProcessingStrategy> processingStrategyOptional,
                                 List<Processor> processors, FlowExceptionHandler messagingExceptionHandler) {
@@ -331,6 +347,15 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
 
   private void notifyError(Processor processor, BaseEventContext context, final MessagingException resolvedException,
                            BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+    if (latencyRecorders != null) {
+      ComponentLatencyRecorder latencyRecorder = latencyRecorders.get(processor);
+      if (latencyRecorder != null) {
+        latencyRecorder.failed(context);
+      }
+    }
+    if (tracingEnabled) {
+      endSpan(context, processor, true);
+    }
     errorNotification(processor)
         .andThen(t -> errorBubbler.accept(context, t))
         .accept(resolvedException);
@@ -373,7 +398,35 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     // Apply processor interceptors around processor and other core logic
     interceptors.addAll(additionalInterceptors);
 
-    // #4 Wrap execution, including processing strategy, on flow thread.
+    // #3 Measure the latency of the processor, including processing strategy.
+    if (latencyRecorders != null) {
+      interceptors.add((processor, next) -> {
+        ComponentLatencyRecorder latencyRecorder = getLatencyRecorder((Processor) processor);
+        if (latencyRecorder == null) {
+          return next;
+        }
+        return stream -> from(stream)
+            .doOnNext(event -> latencyRecorder.started(event.getContext()))
+            .transform(next)
+            .doOnNext(result -> latencyRecorder.finished(result.getContext()));
+      });
+    }
+
+    // #4 Trace the execution of the processor, including processing strategy, for the sampled events.
+    if (tracingEnabled) {
+      interceptors.add((processor, next) -> {
+        ComponentLocation location = getLocationIfComponent((Processor) processor);
+        if (location == null) {
+          return next;
+        }
+        return stream -> from(stream)
+            .doOnNext(event -> startSpan(event.getContext(), processor, location.getLocation(), OPERATION))
+            .transform(next)
+            .doOnNext(result -> endSpan(result.getContext(), processor, false));
+      });
+    }
+
+    // #5 Wrap execution, including processing strategy, on flow thread.
     interceptors.add((processor, next) -> {
       String processorPath = getProcessorPath((Processor) processor);
       return stream -> from(stream)
@@ -385,6 +438,18 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     return interceptors;
   }
 
+  private ComponentLatencyRecorder getLatencyRecorder(Processor processor) {
+    AllStatistics statistics = muleContext.getStatistics();
+    if (statistics == null || getLocationIfComponent(processor) == null) {
+      return null;
+    }
+
+    return latencyRecorders.computeIfAbsent(processor, p -> {
+      int index = statistics.registerComponentLatencyStatistics((Component) p);
+      return new ComponentLatencyRecorder(statistics, index);
+    });
+  }
+
   private void beforeProcessorInSameThread(CoreEvent event, Processor processor) {
     currentMuleContext.set(muleContext);
     setCurrentEvent((PrivilegedEvent) event);
@@ -610,6 +675,14 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     if (switchOnErrorScheduler == null) {
       switchOnErrorScheduler = schedulerService.cpuLightScheduler();
     }
+
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
+    if (deploymentProperties != null
+        && parseBoolean(deploymentProperties.getProperty(MULE_COMPONENT_LATENCY_STATISTICS_DEPLOYMENT_PROPERTY, "false"))) {
+      latencyRecorders = new ConcurrentHashMap<>();
+    }
+    tracingEnabled = deploymentProperties != null
+        && parseBoolean(deploymentProperties.getProperty(MULE_TRACING_DEPLOYMENT_PROPERTY, "false"));
   }
 
   @Override
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,6 +43,8 @@ public final class TemplateParser {
   private static final String QUOTATION_NOT_CLOSED_ERROR_MSG =
       "\tQuotation (%c) at line %d, column %d is not closed. Remember to use backslash (\\) if you are trying to use that character as a literal";
   private static final String PARSING_TEMPLATE_ERROR = "Error while parsing template:\n";
+  private static final int MAX_REUSABLE_BUILDER_CAPACITY = 16 * 1024;
+  private static final ThreadLocal<StringBuilder> REUSABLE_BUILDER = ThreadLocal.withInitial(StringBuilder::new);
 
   private static final Map<String, PatternInfo> patterns = of(
                                                               ANT_TEMPLATE_STYLE,
@@ -123,6 +126,18 @@ public final class TemplateParser {
   }
 
   private String parseMule(Map<?, ?> props, String template, TemplateCallback callback, boolean insideExpression) {
+    StringBuilder result = new StringBuilder();
+    scanMule(template, insideExpression, result,
+             (builder, expression) -> builder.append(resolveExpression(props, expression, callback)));
+    return result.toString();
+  }
+
+  /**
+   * Scans a mule style template, appending its literal parts to {@code result} and handing its expressions to
+   * {@code expressionHandler}.
+   */
+  private void scanMule(String template, boolean insideExpression, StringBuilder result,
+                        BiConsumer<StringBuilder, String> expressionHandler) {
     validateBalanceMuleStyle(template);
 
     boolean lastIsBackSlash = false;
@@ -130,7 +145,6 @@ public final class TemplateParser {
     boolean inExpression = insideExpression;
     boolean openSingleQuotes = false;
 
-    StringBuilder result = new StringBuilder();
     int currentPosition = 0;
     while (currentPosition < template.length()) {
       char c = template.charAt(currentPosition);
@@ -157,18 +171,7 @@ public final class TemplateParser {
 
       if (c == OPEN_EXPRESSION && lastStartedExpression && (!insideExpression || !openSingleQuotes)) {
         int closing = closingBracesPosition(template, currentPosition);
-        String enclosingTemplate = template.substring(currentPosition + 1, closing);
-
-        Object value = enclosingTemplate;
-        if (callback != null) {
-          value = callback.match(enclosingTemplate);
-          if (value == null) {
-            value = NULL_AS_STRING;
-          } else {
-            value = parseMule(props, escapeValue(enclosingTemplate, value.toString()), callback, value.equals(enclosingTemplate));
-          }
-        }
-        result.append(value);
+        expressionHandler.accept(result, template.substring(currentPosition + 1, closing));
 
         currentPosition = closing;
       } else if ((c != START_EXPRESSION || lastIsBackSlash) && c != '\\') {
@@ -179,8 +182,24 @@ public final class TemplateParser {
       lastIsBackSlash = c == '\\';
       currentPosition++;
     }
+  }
+
+  private Object resolveExpression(Map<?, ?> props, String expression, TemplateCallback callback) {
+    if (callback == null) {
+      return expression;
+    }
 
-    return result.toString();
+    Object value = callback.match(expression);
+    if (value == null) {
+      return NULL_AS_STRING;
+    }
+
+    String valueString = value.toString();
+    if (valueString.indexOf(START_EXPRESSION) == -1 && valueString.indexOf('\\') == -1) {
+      // Parsing the value wouldn't change it
+      return valueString;
+    }
+    return parseMule(props, escapeValue(expression, valueString), callback, value.equals(expression));
   }
 
   private int closingBracesPosition(String template, int startingPosition) {
@@ -430,6 +449,99 @@ public final class TemplateParser {
     style.validate(expression);
   }
 
+  /**
+   * Splits a mule style template into its literal parts and its expressions, so it doesn't have to be scanned again each time
+   * it is parsed.
+   *
+   * @param template the string containing the expressions
+   * @return the compiled template
+   * @throws IllegalArgumentException if the template is not balanced
+   * @since 4.5.0
+   */
+  public CompiledTemplate compile(String template) {
+    if (!styleIs(WIGGLY_MULE_TEMPLATE_STYLE)) {
+      throw new IllegalStateException("Only mule style templates can be compiled");
+    }
+
+    List<String> literals = new ArrayList<>();
+    List<String> expressions = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    scanMule(template, false, literal, (builder, expression) -> {
+      literals.add(builder.toString());
+      builder.setLength(0);
+      expressions.add(expression);
+    });
+    literals.add(literal.toString());
+
+    return new CompiledTemplate(template, literals.toArray(new String[literals.size()]),
+                                expressions.toArray(new String[expressions.size()]));
+  }
+
+  /**
+   * A mule style template split into its literal parts and its expressions by {@link TemplateParser#compile(String)}.
+   *
+   * @since 4.5.0
+   */
+  public final class CompiledTemplate {
+
+    private final String template;
+    // There is always one more literal than expressions, as the parts alternate starting and ending with a literal
+    private final String[] literals;
+    private final String[] expressions;
+
+    private CompiledTemplate(String template, String[] literals, String[] expressions) {
+      this.template = template;
+      this.literals = literals;
+      this.expressions = expressions;
+    }
+
+    /**
+     * @return the template this was compiled from
+     */
+    public String getTemplate() {
+      return template;
+    }
+
+    /**
+     * @return whether the template has no expressions, so parsing it always returns the same value
+     */
+    public boolean isLiteral() {
+      return expressions.length == 0;
+    }
+
+    /**
+     * Same as {@link TemplateParser#parse(TemplateCallback, String)} for the compiled template.
+     *
+     * @param callback a callback used to resolve the expressions
+     * @return the parsed String
+     */
+    public String parse(TemplateCallback callback) {
+      if (isLiteral()) {
+        return literals[0];
+      }
+
+      StringBuilder builder = REUSABLE_BUILDER.get();
+      if (builder == null) {
+        // The reusable builder is in use by an outer parse in this same thread
+        builder = new StringBuilder();
+      } else {
+        REUSABLE_BUILDER.set(null);
+      }
+
+      try {
+        for (int i = 0; i < expressions.length; ++i) {
+          builder.append(literals[i]).append(resolveExpression(null, expressions[i], callback));
+        }
+        return builder.append(literals[expressions.length]).toString();
+      } finally {
+        if (builder.capacity() <= MAX_REUSABLE_BUILDER_CAPACITY) {
+          builder.setLength(0);
+          REUSABLE_BUILDER.set(builder);
+        }
+      }
+    }
+  }
+
   @FunctionalInterface
   public interface TemplateCallback {
 
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.api.classloader;
+
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.jar.Attributes.Name.CLASS_PATH;
+import static org.apache.commons.io.FileUtils.toFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.slf4j.Logger;
+
+/**
+ * Immutable index of the directories that contain entries in the jars of a class path.
+ * <p>
+ * Used to answer negative resource and class lookups without going through every jar of the class path: a resource can only be
+ * found if its parent directory is in the index.
+ * <p>
+ * An index can only be built for class paths made exclusively of local jar files that don't reference other jars. Folders are
+ * never indexed since their contents may change while the class loader is in use.
+ *
+ * @since 4.5.0
+ */
+final class ClassPathResourceIndex {
+
+  private static final Logger LOGGER = getLogger(ClassPathResourceIndex.class);
+
+  private static final String VERSIONS_FOLDER = "META-INF/versions/";
+  private static final String JAR_INDEX = "META-INF/INDEX.LIST";
+  private static final char PATH_SEPARATOR = '/';
+
+  private final Set<String> directories;
+
+  private ClassPathResourceIndex(Set<String> directories) {
+    this.directories = unmodifiableSet(directories);
+  }
+
+  /**
+   * Builds the index for the given class path.
+   *
+   * @param urls the class path to index
+   * @return the index, or {@link Optional#empty()} if the class path can't be indexed
+   */
+  static Optional<ClassPathResourceIndex> create(URL[] urls) {
+    Set<String> directories = new HashSet<>();
+    for (URL url : urls) {
+      File file = "file".equals(url.getProtocol()) ? toFile(url) : null;
+      if (file == null || !file.isFile()) {
+        return empty();
+      }
+
+      try (JarFile jarFile = new JarFile(file)) {
+        if (!indexJar(jarFile, directories)) {
+          LOGGER.debug("Jar '{}' references other jars, skipping resource index", file);
+          return empty();
+        }
+      } catch (IOException e) {
+        LOGGER.debug("Could not read jar '{}', skipping resource index", file, e);
+        return empty();
+      }
+    }
+
+    return of(new ClassPathResourceIndex(directories));
+  }
+
+  private static boolean indexJar(JarFile jarFile, Set<String> directories) throws IOException {
+    Manifest manifest = jarFile.getManifest();
+    if (manifest != null && manifest.getMainAttributes().getValue(CLASS_PATH) != null) {
+      return false;
+    }
+
+    Enumeration<JarEntry> entries = jarFile.entries();
+    while (entries.hasMoreElements()) {
+      String name = entries.nextElement().getName();
+      if (JAR_INDEX.equals(name)) {
+        return false;
+      }
+
+      addParentDirectories(name, directories);
+      if (name.startsWith(VERSIONS_FOLDER)) {
+        // entries of multi-release jars are also looked up by their unversioned name
+        int versionEnd = name.indexOf(PATH_SEPARATOR, VERSIONS_FOLDER.length());
+        if (versionEnd != -1) {
+          addParentDirectories(name.substring(versionEnd + 1), directories);
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private static void addParentDirectories(String name, Set<String> directories) {
+    String directory = parentDirectory(name);
+    while (directories.add(directory) && !directory.isEmpty()) {
+      directory = parentDirectory(directory);
+    }
+  }
+
+  private static String parentDirectory(String name) {
+    int end = name.length();
+    if (end > 0 && name.charAt(end - 1) == PATH_SEPARATOR) {
+      end--;
+    }
+
+    int lastSeparator = name.lastIndexOf(PATH_SEPARATOR, end - 1);
+    return lastSeparator == -1 ? "" : name.substring(0, lastSeparator);
+  }
+
+  /**
+   * @param resourceName the name of a resource
+   * @return {@code false} if the resource is certainly not in the class path, {@code true} if it may be
+   */
+  boolean mayContainResource(String resourceName) {
+    if (resourceName.isEmpty() || resourceName.charAt(0) == PATH_SEPARATOR || resourceName.contains("..")) {
+      // not normalized, let the class path resolve it
+      return true;
+    }
+
+    return directories.contains(parentDirectory(resourceName));
+  }
+
+  /**
+   * @param className the binary name of a class
+   * @return {@code false} if the class is certainly not in the class path, {@code true} if it may be
+   */
+  boolean mayContainClass(String className) {
+    int lastDot = className.lastIndexOf('.');
+    return directories.contains(lastDot == -1 ? "" : className.substring(0, lastDot).replace('.', PATH_SEPARATOR));
+  }
+
+  /**
+   * @return the amount of indexed directories
+   */
+  int size() {
+    return directories.size();
+  }
+}
@@ -6,9 +6,13 @@
  */
 package org.mule.runtime.module.artifact.api.classloader;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Boolean.valueOf;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.util.Collections.emptyEnumeration;
+import static java.util.Optional.empty;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LOG_VERBOSE_CLASSLOADING;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -28,6 +32,7 @@ import java.net.URLStreamHandlerFactory;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 
@@ -47,16 +52,28 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     registerAsParallelCapable();
   }
 
+  /**
+   * When set to {@code true}, lookups of resources and classes go through every entry of the class path instead of being
+   * discarded upfront when the class path has no entries in the package of the requested resource.
+   *
+   * @since 4.5.0
+   */
+  public static final String DISABLE_RESOURCE_INDEX_PROPERTY = SYSTEM_PROPERTY_PREFIX + "classloading.disableResourceIndex";
+
   private static final Logger LOGGER = getLogger(FineGrainedControlClassLoader.class);
 
   private final ClassLoaderLookupPolicy lookupPolicy;
   private final boolean verboseLogging;
+  private final boolean resourceIndexEnabled;
+  private final Object resourceIndexLock = new Object();
+  private volatile Optional<ClassPathResourceIndex> resourceIndex;
 
   public FineGrainedControlClassLoader(URL[] urls, ClassLoader parent, ClassLoaderLookupPolicy lookupPolicy) {
     super(urls, parent, new NonCachingURLStreamHandlerFactory());
     checkArgument(lookupPolicy != null, "Lookup policy cannot be null");
     this.lookupPolicy = lookupPolicy;
     verboseLogging = valueOf(getProperty(MULE_LOG_VERBOSE_CLASSLOADING));
+    resourceIndexEnabled = !getBoolean(DISABLE_RESOURCE_INDEX_PROPERTY);
   }
 
   private boolean isVerboseLogging() {
@@ -175,10 +192,64 @@ public class FineGrainedControlClassLoader extends URLClassLoader
         return result;
       }
 
+      if (!getResourceIndex().map(index -> index.mayContainClass(name)).orElse(true)) {
+        throw new ClassNotFoundException(name);
+      }
+
       return super.findClass(name);
     }
   }
 
+  @Override
+  public URL findResource(String name) {
+    if (!getResourceIndex().map(index -> index.mayContainResource(name)).orElse(true)) {
+      return null;
+    }
+
+    return super.findResource(name);
+  }
+
+  @Override
+  public Enumeration<URL> findResources(String name) throws IOException {
+    if (!getResourceIndex().map(index -> index.mayContainResource(name)).orElse(true)) {
+      return emptyEnumeration();
+    }
+
+    return super.findResources(name);
+  }
+
+  @Override
+  protected void addURL(URL url) {
+    // Under the lock, so an index being built either includes the new URL or is discarded. It's rebuilt on the next lookup.
+    synchronized (resourceIndexLock) {
+      super.addURL(url);
+      resourceIndex = null;
+    }
+  }
+
+  /**
+   * Provides the index of the class path of this class loader, building it on the first invocation.
+   *
+   * @return the index, or {@link Optional#empty()} if it's disabled or the class path can't be indexed
+   */
+  private Optional<ClassPathResourceIndex> getResourceIndex() {
+    if (!resourceIndexEnabled) {
+      return empty();
+    }
+
+    Optional<ClassPathResourceIndex> index = resourceIndex;
+    if (index == null) {
+      synchronized (resourceIndexLock) {
+        index = resourceIndex;
+        if (index == null) {
+          index = ClassPathResourceIndex.create(getURLs());
+          resourceIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
   @Override
   public ClassLoaderLookupPolicy getClassLoaderLookupPolicy() {
     return lookupPolicy;
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.artifact.internal.util;
+
+import static java.lang.Boolean.getBoolean;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Objects;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * {@link FileJarExplorer} that remembers the {@link JarInfo} of the jar files it explores, so that exploring them again, for
+ * instance when an artifact is redeployed or when several artifacts use the same jar from a shared repository, doesn't require
+ * reading them again.
+ * <p>
+ * The cache is shared by all the instances. Entries are keyed by the path of the jar along with its size and last modification
+ * time, so a jar that changes is explored again. Folders are never cached, since their contents may change without their
+ * modification time being updated.
+ *
+ * @since 4.5.0
+ */
+public class CachingFileJarExplorer extends FileJarExplorer {
+
+  /**
+   * When set to {@code true}, jars are explored every time.
+   */
+  public static final String DISABLE_JAR_INFO_CACHE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "classloading.disableJarInfoCache";
+
+  private static final int MAX_CACHED_JARS = 2048;
+
+  private static final Cache<JarKey, JarInfo> JAR_INFO_CACHE = Caffeine.newBuilder()
+      .maximumSize(MAX_CACHED_JARS)
+      .softValues()
+      .build();
+
+  @Override
+  public JarInfo explore(URI library) {
+    final File libraryFile = new File(library);
+    if (getBoolean(DISABLE_JAR_INFO_CACHE_PROPERTY) || !libraryFile.isFile()) {
+      return super.explore(library);
+    }
+
+    return JAR_INFO_CACHE.get(new JarKey(libraryFile), key -> {
+      JarInfo jarInfo = super.explore(library);
+      return new JarInfo(unmodifiableSet(jarInfo.getPackages()), unmodifiableSet(jarInfo.getResources()),
+                         unmodifiableList(jarInfo.getServices()));
+    });
+  }
+
+  /**
+   * Discards all the cached {@link JarInfo}s.
+   */
+  public static void invalidateCache() {
+    JAR_INFO_CACHE.invalidateAll();
+  }
+
+  private static final class JarKey {
+
+    private final String path;
+    private final long length;
+    private final long lastModified;
+
+    private JarKey(File file) {
+      this.path = file.getAbsolutePath();
+      this.length = file.length();
+      this.lastModified = file.lastModified();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof JarKey)) {
+        return false;
+      }
+
+      JarKey other = (JarKey) obj;
+      return length == other.length && lastModified == other.lastModified && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, length, lastModified);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.api.classloader;
+
+import static java.util.jar.Attributes.Name.CLASS_PATH;
+import static java.util.jar.Attributes.Name.MANIFEST_VERSION;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ClassPathResourceIndexTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void resourcesInIndexedDirectories() throws Exception {
+    ClassPathResourceIndex index = indexOf(jar(null, "org/foo/Bar.class", "META-INF/mule.xsd"));
+
+    assertThat(index.mayContainResource("org/foo/Bar.class"), is(true));
+    assertThat(index.mayContainResource("org/foo/Other.class"), is(true));
+    assertThat(index.mayContainResource("META-INF/spring.handlers"), is(true));
+    assertThat(index.mayContainResource("org/foo"), is(true));
+    assertThat(index.mayContainResource("org/foo/"), is(true));
+    assertThat(index.mayContainResource("root.properties"), is(true));
+  }
+
+  @Test
+  public void resourcesInMissingDirectories() throws Exception {
+    ClassPathResourceIndex index = indexOf(jar(null, "org/foo/Bar.class"));
+
+    assertThat(index.mayContainResource("org/bar/Bar.class"), is(false));
+    assertThat(index.mayContainResource("META-INF/services/javax.xml.parsers.SAXParserFactory"), is(false));
+    assertThat(index.mayContainResource("org/baz/qux/"), is(false));
+  }
+
+  @Test
+  public void classes() throws Exception {
+    ClassPathResourceIndex index = indexOf(jar(null, "org/foo/Bar.class"));
+
+    assertThat(index.mayContainClass("org.foo.Bar"), is(true));
+    assertThat(index.mayContainClass("org.bar.Bar"), is(false));
+  }
+
+  @Test
+  public void multiReleaseEntriesIndexedByUnversionedName() throws Exception {
+    ClassPathResourceIndex index = indexOf(jar(null, "META-INF/versions/11/org/foo/Bar.class"));
+
+    assertThat(index.mayContainClass("org.foo.Bar"), is(true));
+  }
+
+  @Test
+  public void notNormalizedNamesNotDiscarded() throws Exception {
+    ClassPathResourceIndex index = indexOf(jar(null, "org/foo/Bar.class"));
+
+    assertThat(index.mayContainResource("/org/bar/Bar.class"), is(true));
+    assertThat(index.mayContainResource("org/foo/../bar/Bar.class"), is(true));
+  }
+
+  @Test
+  public void folderNotIndexed() throws Exception {
+    assertThat(ClassPathResourceIndex.create(new URL[] {temporaryFolder.newFolder().toURI().toURL()}).orElse(null),
+               is(nullValue()));
+  }
+
+  @Test
+  public void jarWithClassPathNotIndexed() throws Exception {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(MANIFEST_VERSION, "1.0");
+    manifest.getMainAttributes().put(CLASS_PATH, "other.jar");
+
+    assertThat(ClassPathResourceIndex.create(new URL[] {jar(manifest, "org/foo/Bar.class")}).orElse(null), is(nullValue()));
+  }
+
+  @Test
+  public void classLoaderDiscardsMissingResources() throws Exception {
+    FineGrainedControlClassLoader classLoader =
+        new FineGrainedControlClassLoader(new URL[] {jar(null, "org/foo/bar.txt")}, null, mock(ClassLoaderLookupPolicy.class));
+
+    assertThat(classLoader.findResource("org/foo/bar.txt") != null, is(true));
+    assertThat(classLoader.findResource("org/bar/bar.txt"), is(nullValue()));
+    assertThat(classLoader.findResources("org/bar/bar.txt").hasMoreElements(), is(false));
+  }
+
+  private ClassPathResourceIndex indexOf(URL jar) {
+    return ClassPathResourceIndex.create(new URL[] {jar}).get();
+  }
+
+  private URL jar(Manifest manifest, String... entries) throws IOException {
+    File file = temporaryFolder.newFile();
+    try (JarOutputStream jar = manifest == null
+        ? new JarOutputStream(new FileOutputStream(file))
+        : new JarOutputStream(new FileOutputStream(file), manifest)) {
+      for (String entry : entries) {
+        jar.putNextEntry(new JarEntry(entry));
+        jar.write(1);
+        jar.closeEntry();
+      }
+    }
+    return file.toURI().toURL();
+  }
+}
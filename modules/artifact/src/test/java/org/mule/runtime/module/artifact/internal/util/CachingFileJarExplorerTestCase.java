@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.module.artifact.internal.util;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.IsCollectionContaining.hasItem;
+
+import org.mule.tck.ZipUtils;
+import org.mule.tck.ZipUtils.ZipResource;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachingFileJarExplorerTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final CachingFileJarExplorer packageExplorer = new CachingFileJarExplorer();
+
+  @After
+  public void after() {
+    CachingFileJarExplorer.invalidateCache();
+  }
+
+  @Test
+  public void jarExploredOnce() throws Exception {
+    final File jarFile = createJar(new ZipResource("EchoTest.clazz", "org/foo/Foo.class"));
+
+    final JarInfo jarInfo = packageExplorer.explore(jarFile.toURI());
+    assertThat(jarInfo.getPackages(), hasItem("org.foo"));
+    assertThat(new CachingFileJarExplorer().explore(jarFile.toURI()), sameInstance(jarInfo));
+  }
+
+  @Test
+  public void modifiedJarExploredAgain() throws Exception {
+    final File jarFile = createJar(new ZipResource("EchoTest.clazz", "org/foo/Foo.class"));
+    final JarInfo jarInfo = packageExplorer.explore(jarFile.toURI());
+
+    jarFile.delete();
+    ZipUtils.compress(jarFile, new ZipResource[] {new ZipResource("EchoTest.clazz", "org/bar/Bar.class")});
+    jarFile.setLastModified(jarFile.lastModified() + 2000);
+
+    final JarInfo modifiedJarInfo = packageExplorer.explore(jarFile.toURI());
+    assertThat(modifiedJarInfo, not(sameInstance(jarInfo)));
+    assertThat(modifiedJarInfo.getPackages(), hasItem("org.bar"));
+  }
+
+  @Test
+  public void folderNotCached() throws Exception {
+    final File folder = temporaryFolder.newFolder();
+    writeStringToFile(new File(folder, "org/foo/Foo.class"), "foo");
+
+    final JarInfo jarInfo = packageExplorer.explore(folder.toURI());
+    writeStringToFile(new File(folder, "org/bar/Bar.class"), "bar");
+
+    assertThat(packageExplorer.explore(folder.toURI()), not(sameInstance(jarInfo)));
+    assertThat(packageExplorer.explore(folder.toURI()).getPackages().size(), equalTo(2));
+  }
+
+  private File createJar(ZipResource... resources) throws Exception {
+    final File jarFile = new File(temporaryFolder.getRoot(), "test.jar");
+    ZipUtils.compress(jarFile, resources);
+    return jarFile;
+  }
+}
@@ -6,9 +6,11 @@
  */
 package org.mule.runtime.core.internal.processor;
 
+import static java.lang.Boolean.parseBoolean;
 import static java.util.Arrays.asList;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LOGGING_BLOCKING_CATEGORIES;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ASYNC_LOGGING_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.util.StringUtils.EMPTY;
@@ -21,11 +23,16 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.util.StringUtils;
+import org.mule.runtime.core.internal.logging.LazyLogMessage;
+import org.mule.runtime.core.privileged.util.TemplateParser.CompiledTemplate;
 
 import java.util.HashSet;
+import java.util.Properties;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.log4j.Level;
 import org.slf4j.Logger;
@@ -53,6 +60,9 @@ public class LoggerMessageProcessor extends AbstractComponent
 
   protected MuleContext muleContext;
   ExtendedExpressionManager expressionManager;
+  boolean lazyMessage;
+  private final Function<CoreEvent, String> messageParser = this::parseMessage;
+  private CompiledTemplate compiledMessage;
 
   private volatile ProcessingType processingType;
 
@@ -61,6 +71,28 @@ public class LoggerMessageProcessor extends AbstractComponent
     initLogger();
     initProcessingTypeIfPossible();
     expressionManager = muleContext.getExpressionManager();
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
+    lazyMessage = deploymentProperties != null
+        && parseBoolean(deploymentProperties.getProperty(MULE_ASYNC_LOGGING_DEPLOYMENT_PROPERTY, "false"));
+    compiledMessage = compileMessage();
+  }
+
+  /**
+   * Compiles the message template once, so it isn't scanned for expressions each time an event is logged.
+   *
+   * @return the compiled message, or {@code null} if it can't be compiled
+   */
+  private CompiledTemplate compileMessage() {
+    if (StringUtils.isEmpty(message)) {
+      return null;
+    }
+
+    try {
+      return expressionManager.compileLogTemplate(message);
+    } catch (IllegalArgumentException e) {
+      // Keep failing when logging, as it did before compiling the templates
+      return null;
+    }
   }
 
   protected void initLogger() {
@@ -110,13 +142,47 @@ public class LoggerMessageProcessor extends AbstractComponent
         logWithLevel(event.getMessage());
       } else {
         LogLevel logLevel = LogLevel.valueOf(level);
-        if (LogLevel.valueOf(level).isEnabled(logger)) {
-          logLevel.log(logger, expressionManager.parseLogTemplate(message, event, getLocation(), NULL_BINDING_CONTEXT));
+        if (logLevel.isEnabled(logger)) {
+          if (compiledMessage != null && compiledMessage.isLiteral()) {
+            logLevel.log(logger, compiledMessage.parse(null));
+          } else if (lazyMessage && isLoggedAsynchronously()) {
+            logLazily(logLevel, event);
+          } else {
+            logLevel.log(logger, parseMessage(event));
+          }
         }
       }
     }
   }
 
+  private String parseMessage(CoreEvent event) {
+    if (compiledMessage != null) {
+      return expressionManager.parseLogTemplate(compiledMessage, event, getLocation(), NULL_BINDING_CONTEXT);
+    }
+    return expressionManager.parseLogTemplate(message, event, getLocation(), NULL_BINDING_CONTEXT);
+  }
+
+  /**
+   * The runtime only publishes the {@link org.mule.runtime.core.api.management.stats.AsyncLoggingStatistics} of the artifact
+   * when all of its log events go through its asynchronous appender. Other appenders would write a message which evaluation
+   * failed as an empty line, instead of discarding the event.
+   */
+  private boolean isLoggedAsynchronously() {
+    AllStatistics statistics = muleContext == null ? null : muleContext.getStatistics();
+    return statistics != null && statistics.getAsyncLoggingStatistics().isPresent();
+  }
+
+  /**
+   * Logs a message that is only evaluated if the log event is accepted by the logger, for instance, not when an asynchronous
+   * logger drops it because its buffer is full. An asynchronous logger discards the event if the message can't be evaluated,
+   * and the error is thrown once the event is logged.
+   */
+  private void logLazily(LogLevel logLevel, CoreEvent event) {
+    LazyLogMessage lazyLogMessage = new LazyLogMessage(messageParser, event);
+    logLevel.log(logger, "{}", lazyLogMessage);
+    lazyLogMessage.rethrowEvaluationError();
+  }
+
   protected void logWithLevel(Object object) {
     LogLevel logLevel = LogLevel.valueOf(level);
     if (logLevel.isEnabled(logger)) {
@@ -150,6 +216,11 @@ public class LoggerMessageProcessor extends AbstractComponent
         logger.error(object == null ? null : object.toString());
       }
 
+      @Override
+      public void log(Logger logger, String format, Object argument) {
+        logger.error(format, argument);
+      }
+
       @Override
       public boolean isEnabled(Logger logger) {
         return logger.isErrorEnabled();
@@ -162,6 +233,11 @@ public class LoggerMessageProcessor extends AbstractComponent
         logger.warn(object == null ? null : object.toString());
       }
 
+      @Override
+      public void log(Logger logger, String format, Object argument) {
+        logger.warn(format, argument);
+      }
+
       @Override
       public boolean isEnabled(Logger logger) {
         return logger.isWarnEnabled();
@@ -174,6 +250,11 @@ public class LoggerMessageProcessor extends AbstractComponent
         logger.info(object == null ? null : object.toString());
       }
 
+      @Override
+      public void log(Logger logger, String format, Object argument) {
+        logger.info(format, argument);
+      }
+
       @Override
       public boolean isEnabled(Logger logger) {
         return logger.isInfoEnabled();
@@ -186,6 +267,11 @@ public class LoggerMessageProcessor extends AbstractComponent
         logger.debug(object == null ? null : object.toString());
       }
 
+      @Override
+      public void log(Logger logger, String format, Object argument) {
+        logger.debug(format, argument);
+      }
+
       @Override
       public boolean isEnabled(Logger logger) {
         return logger.isDebugEnabled();
@@ -198,6 +284,11 @@ public class LoggerMessageProcessor extends AbstractComponent
         logger.trace(object == null ? null : object.toString());
       }
 
+      @Override
+      public void log(Logger logger, String format, Object argument) {
+        logger.trace(format, argument);
+      }
+
       @Override
       public boolean isEnabled(Logger logger) {
         return logger.isTraceEnabled();
@@ -206,6 +297,13 @@ public class LoggerMessageProcessor extends AbstractComponent
 
     public abstract void log(Logger logger, Object object);
 
+    /**
+     * Logs a parameterized message, so the argument is only formatted if the log event is accepted.
+     *
+     * @since 4.5.0
+     */
+    public abstract void log(Logger logger, String format, Object argument);
+
     public abstract boolean isEnabled(Logger logger);
   }
 
@@ -6,12 +6,20 @@
  */
 package org.mule.runtime.core.internal.routing;
 
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_IDEMPOTENT_VALIDATOR_PREFILTER_EXPECTED_IDS_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
 import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
@@ -29,6 +37,7 @@ import org.mule.runtime.api.el.ExpressionLanguageSession;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
@@ -42,7 +51,11 @@ import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 
@@ -54,12 +67,23 @@ import org.slf4j.Logger;
  * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/IdempotentReceiver.html">
  * http://www.eaipatterns.com/IdempotentReceiver.html</a>
+ * <p>
+ * Optionally, the ids seen are kept in a {@link MessageIdBloomFilter} so that the store is only queried for the ones that may
+ * have been seen, and the accepted ids are written to the store in batches, outside of the processing of the messages.
+ * <p>
+ * Batching only applies to stores used by this validator alone, outside of a cluster, since ids pending to be written are not
+ * seen by anyone else. A duplicate detected when writing an id, already written by someone else, can only be logged since its
+ * message was already processed. The prefilter is only combined with batching for the store created by this validator, the only
+ * one whose ids are all known to have gone through the filter.
  */
 public class IdempotentMessageValidator extends AbstractComponent
     implements Processor, MuleContextAware, Lifecycle {
 
   private static final Logger LOGGER = getLogger(IdempotentMessageValidator.class);
 
+  private static final long MESSAGE_ID_STORE_ENTRY_TTL = MINUTES.toMillis(5);
+  private static final long MESSAGE_ID_STORE_EXPIRATION_INTERVAL = SECONDS.toMillis(6);
+
   protected MuleContext muleContext;
 
   protected volatile ObjectStore<String> store;
@@ -72,6 +96,15 @@ public class IdempotentMessageValidator extends AbstractComponent
   private CompiledExpression compiledIdExpression;
   private CompiledExpression compiledValueExpression;
 
+  // Whether the store was created by this validator, so the time it keeps the ids is known
+  private boolean messageIdStoreCreated;
+  // Only set when the prefilter is enabled
+  private MessageIdBloomFilter messageIdFilter;
+  // Only set when the stores are batched, the accepted ids not yet written to the store along with their values
+  private Map<String, String> pendingIds;
+  private long storeBatchingWindow;
+  private Scheduler storeBatchingScheduler;
+
   @Override
   public void setMuleContext(MuleContext context) {
     this.muleContext = context;
@@ -85,10 +118,49 @@ public class IdempotentMessageValidator extends AbstractComponent
                  this.getClass().getName(), UUID.randomUUID());
     }
     setupObjectStore();
+    setupStoreAccess();
     compiledIdExpression = compile(idExpression, muleContext.getExpressionManager());
     compiledValueExpression = compile(valueExpression, muleContext.getExpressionManager());
   }
 
+  private void setupStoreAccess() {
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
+    if (deploymentProperties == null) {
+      return;
+    }
+
+    storeBatchingWindow =
+        parseLong(deploymentProperties.getProperty(MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY, "0"));
+    boolean clustered = !isEmpty(muleContext.getClusterId());
+    if (storeBatchingWindow > 0) {
+      if ((messageIdStoreCreated || privateStore != null) && !clustered) {
+        pendingIds = new ConcurrentHashMap<>();
+      } else {
+        LOGGER.warn("Ids accepted by the idempotent validator '{}' are not batched, its ObjectStore may be shared", storePrefix);
+        storeBatchingWindow = 0;
+      }
+    }
+
+    boolean prefilter =
+        parseBoolean(deploymentProperties.getProperty(MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY, "false"));
+    // When batching, a duplicate of an id the filter deems new is not detected when writing it to the store, so all the ids in
+    // the store have to be in the filter
+    if (prefilter && pendingIds != null && !messageIdStoreCreated) {
+      LOGGER.warn("The idempotent validator '{}' does not use the prefilter along with batching, its ObjectStore may have ids "
+          + "not seen by it", storePrefix);
+      prefilter = false;
+    }
+
+    if (prefilter) {
+      int expectedIds = parseInt(deploymentProperties
+          .getProperty(MULE_IDEMPOTENT_VALIDATOR_PREFILTER_EXPECTED_IDS_DEPLOYMENT_PROPERTY, "100000"));
+      // The ids have to be kept in the filter for at least as long as the store may keep them, if that is known
+      long storedIdsTtl = MESSAGE_ID_STORE_ENTRY_TTL + MESSAGE_ID_STORE_EXPIRATION_INTERVAL + storeBatchingWindow;
+      long rotationInterval = messageIdStoreCreated ? MILLISECONDS.toNanos(storedIdsTtl) : 0;
+      messageIdFilter = new MessageIdBloomFilter(expectedIds, rotationInterval);
+    }
+  }
+
   private void setupObjectStore() throws InitialisationException {
     // Check if OS was properly configured
     if (store != null && privateStore != null) {
@@ -99,6 +171,7 @@ public class IdempotentMessageValidator extends AbstractComponent
     if (store == null) {
       if (privateStore == null) { // If no object store was defined, create one
         this.store = createMessageIdStore();
+        messageIdStoreCreated = true;
       } else { // If object store was defined privately
         this.store = privateStore;
       }
@@ -109,13 +182,42 @@ public class IdempotentMessageValidator extends AbstractComponent
   @Override
   public void start() throws MuleException {
     startIfNeeded(store);
+
+    if (pendingIds != null) {
+      storeBatchingScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withMaxConcurrentTasks(1).withName(storePrefix + ".storeBatching"));
+      storeBatchingScheduler.scheduleWithFixedDelay(this::storePendingIds, storeBatchingWindow, storeBatchingWindow,
+                                                    MILLISECONDS);
+    }
   }
 
   @Override
   public void stop() throws MuleException {
+    if (storeBatchingScheduler != null) {
+      storeBatchingScheduler.stop();
+      storeBatchingScheduler = null;
+      storePendingIds();
+    }
     stopIfNeeded(store);
   }
 
+  private void storePendingIds() {
+    for (Entry<String, String> pendingId : pendingIds.entrySet()) {
+      try {
+        store.store(pendingId.getKey(), pendingId.getValue());
+      } catch (ObjectAlreadyExistsException e) {
+        LOGGER.warn("Id '{}' was already in the ObjectStore when written, its message may have been processed more than once",
+                    pendingId.getKey());
+      } catch (ObjectStoreException e) {
+        // Not kept for a retry, so that an unavailable store does not make the pending ids grow without bound
+        LOGGER.warn("Could not write id '{}' to the ObjectStore, a duplicate of its message may be accepted: {}",
+                    pendingId.getKey(), e.getMessage());
+      }
+      // Only removed once written, so that duplicates find it either pending or in the store
+      pendingIds.remove(pendingId.getKey());
+    }
+  }
+
   @Override
   public void dispose() {
     disposeIfNeeded(store, LOGGER);
@@ -125,8 +227,8 @@ public class IdempotentMessageValidator extends AbstractComponent
     ObjectStoreManager objectStoreManager = ((MuleContextWithRegistry) muleContext).getRegistry().get(OBJECT_STORE_MANAGER);
     return objectStoreManager.createObjectStore(storePrefix, ObjectStoreSettings.builder()
         .persistent(false)
-        .entryTtl(MINUTES.toMillis(5))
-        .expirationInterval(SECONDS.toMillis(6))
+        .entryTtl(MESSAGE_ID_STORE_ENTRY_TTL)
+        .expirationInterval(MESSAGE_ID_STORE_EXPIRATION_INTERVAL)
         .build());
   }
 
@@ -164,7 +266,23 @@ public class IdempotentMessageValidator extends AbstractComponent
       String id = getIdForEvent(session);
       String value = getValueForEvent(session);
 
-      if (event != null && isNewMessage(event, id)) {
+      if (event != null && pendingIds != null) {
+        // Claimed before checking the store, only one of concurrent duplicates gets here
+        if (pendingIds.putIfAbsent(id, value) != null) {
+          return false;
+        }
+        boolean newMessage = false;
+        try {
+          newMessage = isNewMessageId(event, id);
+        } finally {
+          if (!newMessage) {
+            pendingIds.remove(id);
+          }
+        }
+        return newMessage;
+      }
+
+      if (event != null && isNewMessageId(event, id)) {
         try {
           store.store(id, value);
           return true;
@@ -197,6 +315,15 @@ public class IdempotentMessageValidator extends AbstractComponent
     }
   }
 
+  private boolean isNewMessageId(CoreEvent event, String id) {
+    // Put before checking the store, so that a duplicate arriving meanwhile is not deemed definitely new
+    if (messageIdFilter != null && !messageIdFilter.put(id)) {
+      // The store would be authoritative if the id was there anyway, since storing an id already there fails
+      return true;
+    }
+    return isNewMessage(event, id);
+  }
+
   protected boolean isNewMessage(CoreEvent event, String id) {
     try {
       if (store == null) {
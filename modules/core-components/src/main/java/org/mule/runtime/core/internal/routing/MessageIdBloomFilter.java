@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.lang.Math.ceil;
+import static java.lang.Math.log;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.round;
+import static java.lang.System.nanoTime;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of the message ids seen by an {@link IdempotentMessageValidator}, used to tell the ids that are definitely new
+ * without querying its object store.
+ * <p>
+ * Since entries can't be removed from a Bloom filter, the ids are kept in two generations that are rotated periodically, to
+ * follow the expiration of the ids in the store. An id is kept for at least one rotation interval and at most two. When no
+ * interval is given the ids are never forgotten, and the false positive rate grows past the expected number of ids.
+ *
+ * @since 4.5.0
+ */
+final class MessageIdBloomFilter {
+
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+  private static final double LN_2 = log(2);
+
+  private final int bits;
+  private final int hashes;
+  private final long rotationIntervalNanos;
+
+  private volatile AtomicLongArray current;
+  private volatile AtomicLongArray previous;
+  private volatile long lastRotationNanos;
+
+  /**
+   * @param expectedIds           the number of ids expected within a rotation interval
+   * @param rotationIntervalNanos the time in nanoseconds between rotations of the generations, or {@code 0} to never rotate them
+   */
+  MessageIdBloomFilter(int expectedIds, long rotationIntervalNanos) {
+    long optimalBits = (long) ceil(-expectedIds * log(FALSE_POSITIVE_PROBABILITY) / (LN_2 * LN_2));
+    // Rounded to whole words
+    this.bits = (int) (max(64, min(optimalBits, Integer.MAX_VALUE - 63)) + 63) & ~63;
+    this.hashes = max(1, (int) round((double) bits / expectedIds * LN_2));
+    this.rotationIntervalNanos = rotationIntervalNanos;
+    this.current = new AtomicLongArray(bits / 64);
+    this.previous = new AtomicLongArray(bits / 64);
+    this.lastRotationNanos = nanoTime();
+  }
+
+  /**
+   * @param id a message id
+   * @return {@code false} if the id was definitely not put in the filter, {@code true} if it may have been.
+   */
+  boolean mightContain(String id) {
+    rotateIfNeeded();
+    long hash = hash(id);
+    return mightContain(current, hash) || mightContain(previous, hash);
+  }
+
+  /**
+   * Puts an id in the filter.
+   *
+   * @param id a message id seen by the validator
+   * @return {@code false} if the id was definitely not put in the filter before, {@code true} if it may have been.
+   */
+  boolean put(String id) {
+    rotateIfNeeded();
+    long hash = hash(id);
+    AtomicLongArray words = current;
+    int hash1 = (int) hash;
+    int hash2 = (int) (hash >>> 32);
+    boolean allSet = true;
+    for (int i = 0; i < hashes; ++i) {
+      int bit = ((hash1 + i * hash2) & Integer.MAX_VALUE) % bits;
+      long mask = 1L << bit;
+      int index = bit >>> 6;
+      long word;
+      do {
+        word = words.get(index);
+        if ((word & mask) != 0) {
+          break;
+        }
+        allSet = false;
+      } while (!words.compareAndSet(index, word, word | mask));
+    }
+    return allSet || mightContain(previous, hash);
+  }
+
+  private boolean mightContain(AtomicLongArray words, long hash) {
+    int hash1 = (int) hash;
+    int hash2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashes; ++i) {
+      int bit = ((hash1 + i * hash2) & Integer.MAX_VALUE) % bits;
+      if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void rotateIfNeeded() {
+    if (rotationIntervalNanos > 0 && nanoTime() - lastRotationNanos >= rotationIntervalNanos) {
+      synchronized (this) {
+        long now = nanoTime();
+        if (now - lastRotationNanos >= rotationIntervalNanos) {
+          previous = current;
+          current = new AtomicLongArray(bits / 64);
+          lastRotationNanos = now;
+        }
+      }
+    }
+  }
+
+  /**
+   * 64 bit FNV-1a hash of the chars of the id, with a final avalanche so both halves can be used as independent hashes.
+   */
+  private static long hash(String id) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < id.length(); ++i) {
+      hash ^= id.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
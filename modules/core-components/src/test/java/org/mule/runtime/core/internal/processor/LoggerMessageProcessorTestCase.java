@@ -7,11 +7,15 @@
 package org.mule.runtime.core.internal.processor;
 
 import static java.util.Collections.singletonMap;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -28,9 +32,12 @@ import static org.mule.test.allure.AllureConstants.ComponentsFeature.LoggerStory
 
 import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.AsyncLoggingStatistics;
 import org.mule.runtime.core.internal.message.InternalMessage;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -40,6 +47,7 @@ import org.slf4j.Logger;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.verification.VerificationMode;
 
 import io.qameta.allure.Feature;
@@ -90,6 +98,94 @@ public class LoggerMessageProcessorTestCase extends AbstractMuleTestCase {
     assertThat(logger.getProcessingType(), is(CPU_LITE));
   }
 
+  @Test
+  public void lazyMessageIsEvaluatedWhenFormatted() {
+    LoggerMessageProcessor loggerMessageProcessor = buildLoggerMessageProcessorForExpressionEvaluation("INFO");
+    loggerMessageProcessor.lazyMessage = true;
+    loggerMessageProcessor.setMuleContext(mockContextLoggingAsynchronously(true));
+    CoreEvent muleEvent = buildMuleEvent();
+
+    loggerMessageProcessor.log(muleEvent);
+
+    ArgumentCaptor<Object> argument = forClass(Object.class);
+    verify(loggerMessageProcessor.logger).info(eq("{}"), argument.capture());
+    verify(loggerMessageProcessor.expressionManager, never()).parseLogTemplate(anyString(), any(CoreEvent.class), any(),
+                                                                              any(BindingContext.class));
+
+    assertThat(argument.getValue().toString(), is("text to log"));
+    assertThat(argument.getValue().toString(), is("text to log"));
+    verify(loggerMessageProcessor.expressionManager, times(1)).parseLogTemplate("some expression", muleEvent,
+                                                                               ((Component) flow).getLocation(),
+                                                                               NULL_BINDING_CONTEXT);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void lazyMessageEvaluationErrorIsThrown() {
+    LoggerMessageProcessor loggerMessageProcessor = buildLoggerMessageProcessorForExpressionEvaluation("INFO");
+    loggerMessageProcessor.lazyMessage = true;
+    loggerMessageProcessor.setMuleContext(mockContextLoggingAsynchronously(true));
+    when(loggerMessageProcessor.expressionManager.parseLogTemplate(anyString(), any(CoreEvent.class), any(),
+                                                                   any(BindingContext.class)))
+        .thenThrow(new IllegalStateException());
+    doAnswer(invocation -> invocation.getArgument(1).toString())
+        .when(loggerMessageProcessor.logger).info(anyString(), any(Object.class));
+
+    loggerMessageProcessor.log(buildMuleEvent());
+  }
+
+  @Test
+  public void messageIsNotLazyWithoutAsynchronousAppender() {
+    LoggerMessageProcessor loggerMessageProcessor = buildLoggerMessageProcessorForExpressionEvaluation("INFO");
+    loggerMessageProcessor.lazyMessage = true;
+    loggerMessageProcessor.setMuleContext(mockContextLoggingAsynchronously(false));
+
+    loggerMessageProcessor.log(buildMuleEvent());
+
+    verify(loggerMessageProcessor.logger).info("text to log");
+    verify(loggerMessageProcessor.logger, never()).info(anyString(), any(Object.class));
+  }
+
+  @Test
+  public void failedMessageIsNotLoggedWithoutAsynchronousAppender() {
+    LoggerMessageProcessor loggerMessageProcessor = buildLoggerMessageProcessorForExpressionEvaluation("INFO");
+    loggerMessageProcessor.lazyMessage = true;
+    loggerMessageProcessor.setMuleContext(mockContextLoggingAsynchronously(false));
+    when(loggerMessageProcessor.expressionManager.parseLogTemplate(anyString(), any(CoreEvent.class), any(),
+                                                                   any(BindingContext.class)))
+        .thenThrow(new IllegalStateException());
+
+    try {
+      loggerMessageProcessor.log(buildMuleEvent());
+    } catch (IllegalStateException e) {
+      // expected
+    }
+
+    verify(loggerMessageProcessor.logger, never()).info(anyString());
+    verify(loggerMessageProcessor.logger, never()).info(anyString(), any(Object.class));
+  }
+
+  @Test
+  public void lazyMessageIsNotCreatedWhenLevelIsDisabled() {
+    LoggerMessageProcessor loggerMessageProcessor = buildLoggerMessageProcessorForExpressionEvaluation("DEBUG");
+    loggerMessageProcessor.lazyMessage = true;
+    MuleContext muleContext = mockContextLoggingAsynchronously(true);
+    loggerMessageProcessor.setMuleContext(muleContext);
+    when(loggerMessageProcessor.logger.isDebugEnabled()).thenReturn(false);
+
+    loggerMessageProcessor.log(buildMuleEvent());
+
+    verify(muleContext, never()).getStatistics();
+    verify(loggerMessageProcessor.logger, never()).debug(anyString(), any(Object.class));
+  }
+
+  private MuleContext mockContextLoggingAsynchronously(boolean asynchronous) {
+    AllStatistics statistics = mock(AllStatistics.class);
+    when(statistics.getAsyncLoggingStatistics()).thenReturn(asynchronous ? of(mock(AsyncLoggingStatistics.class)) : empty());
+    MuleContext muleContext = mock(MuleContext.class);
+    when(muleContext.getStatistics()).thenReturn(statistics);
+    return muleContext;
+  }
+
   // Verifies if the right call to the logger was made depending on the level enabled
   private void verifyLogCall(LoggerMessageProcessor loggerMessageProcessor, String logLevel, String enabledLevel,
                              CoreEvent muleEvent, String message) {
@@ -14,7 +14,10 @@ import static org.junit.rules.ExpectedException.none;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY;
 import static org.mule.test.allure.AllureConstants.ComponentsFeature.CORE_COMPONENTS;
 import static org.mule.test.allure.AllureConstants.ComponentsFeature.IdempotentMessageValidator.IDEMPOTENT_MESSAGE_VALIDATOR;
 
@@ -22,6 +25,7 @@ import org.mule.runtime.api.artifact.Registry;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.core.internal.el.ExpressionLanguageAdaptor;
@@ -221,6 +225,142 @@ public class IdempotentMessageValidatorTestCase extends AbstractMuleContextTestC
     assertThat(processedEvent, is(notNullValue()));
   }
 
+  @Test
+  public void duplicateRejectedWithPrefilter() throws Exception {
+    muleContext.getDeploymentProperties().setProperty(MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY, "true");
+    idempotent.setIdExpression("#[payload]");
+    idempotent.initialise();
+
+    CoreEvent event = eventWithPayload("OK");
+    assertThat(idempotent.process(event), sameInstance(event));
+    assertThat(idempotent.getObjectStore().retrieve("OK"), is("1"));
+    event = eventWithPayload("Other");
+    assertThat(idempotent.process(event), sameInstance(event));
+
+    expected.expect(ValidationException.class);
+    idempotent.process(eventWithPayload("OK"));
+  }
+
+  @Test
+  public void prefilterSeesIdsAlreadyInStore() throws Exception {
+    muleContext.getDeploymentProperties().setProperty(MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY, "true");
+    idempotent.setIdExpression("#[payload]");
+    idempotent.initialise();
+    idempotent.getObjectStore().store("OK", "1");
+
+    expected.expect(ValidationException.class);
+    idempotent.process(eventWithPayload("OK"));
+  }
+
+  @Test
+  public void batchedIdsStoredOnStop() throws Exception {
+    muleContext.getDeploymentProperties()
+        .setProperty(MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY, "60000");
+    muleContext.getDeploymentProperties().setProperty(MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY, "true");
+    idempotent.setObjectStore(null);
+    idempotent.setIdExpression("#[payload]");
+    idempotent.initialise();
+    idempotent.start();
+
+    CoreEvent event = eventWithPayload("OK");
+    assertThat(idempotent.process(event), sameInstance(event));
+    // Not written until the window elapses
+    assertThat(idempotent.getObjectStore().contains("OK"), is(false));
+
+    idempotent.stop();
+    assertThat(idempotent.getObjectStore().retrieve("OK"), is("1"));
+  }
+
+  @Test
+  public void batchedDuplicateRejected() throws Exception {
+    muleContext.getDeploymentProperties()
+        .setProperty(MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY, "60000");
+    idempotent.setObjectStore(null);
+    idempotent.setPrivateObjectStore(new InMemoryObjectStore<>());
+    idempotent.setIdExpression("#[payload]");
+    idempotent.initialise();
+    idempotent.start();
+
+    CoreEvent event = eventWithPayload("OK");
+    assertThat(idempotent.process(event), sameInstance(event));
+    assertThat(idempotent.getObjectStore().contains("OK"), is(false));
+
+    expected.expect(ValidationException.class);
+    idempotent.process(eventWithPayload("OK"));
+  }
+
+  @Test
+  public void batchingNotUsedWithReferencedStore() throws Exception {
+    muleContext.getDeploymentProperties()
+        .setProperty(MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY, "60000");
+    idempotent.setIdExpression("#[payload]");
+    idempotent.initialise();
+    idempotent.start();
+
+    CoreEvent event = eventWithPayload("OK");
+    assertThat(idempotent.process(event), sameInstance(event));
+    // The store may be shared, so the id is written right away
+    assertThat(idempotent.getObjectStore().retrieve("OK"), is("1"));
+  }
+
+  @Test
+  public void prefilterNotUsedWithBatchingForStoreNotCreated() throws Exception {
+    muleContext.getDeploymentProperties()
+        .setProperty(MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY, "60000");
+    muleContext.getDeploymentProperties().setProperty(MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY, "true");
+    InMemoryObjectStore<String> privateStore = new InMemoryObjectStore<>();
+    // Written before the validator is started, as if by a previous run of the app
+    privateStore.store("OK", "1");
+    idempotent.setObjectStore(null);
+    idempotent.setPrivateObjectStore(privateStore);
+    idempotent.setIdExpression("#[payload]");
+    idempotent.initialise();
+    idempotent.start();
+
+    CoreEvent event = eventWithPayload("Other");
+    assertThat(idempotent.process(event), sameInstance(event));
+
+    expected.expect(ValidationException.class);
+    idempotent.process(eventWithPayload("OK"));
+  }
+
+  @Test
+  public void batchedIdNotWrittenIsNotRetained() throws Exception {
+    muleContext.getDeploymentProperties()
+        .setProperty(MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY, "60000");
+    idempotent.setObjectStore(null);
+    idempotent.setPrivateObjectStore(new InMemoryObjectStore<String>() {
+
+      @Override
+      protected void doStore(String id, String value) throws ObjectStoreException {
+        if (id.equals("Failing")) {
+          throw new ObjectStoreException(createStaticMessage("expected"));
+        }
+        super.doStore(id, value);
+      }
+    });
+    idempotent.setIdExpression("#[payload]");
+    idempotent.initialise();
+    idempotent.start();
+
+    idempotent.process(eventWithPayload("Failing"));
+    idempotent.process(eventWithPayload("OK"));
+    idempotent.stop();
+
+    // The rest of the ids are written even if one of them fails
+    assertThat(idempotent.getObjectStore().retrieve("OK"), is("1"));
+    // and the one that failed is not kept pending
+    idempotent.start();
+    CoreEvent event = eventWithPayload("Failing");
+    assertThat(idempotent.process(event), sameInstance(event));
+  }
+
+  private static CoreEvent eventWithPayload(String payload) {
+    final BaseEventContext context = mock(BaseEventContext.class);
+    when(context.getCorrelationId()).thenReturn("1");
+    return CoreEvent.builder(context).message(of(payload)).build();
+  }
+
   @Test
   public void multipleObjectStoreConfigurationShouldRaiseException() throws Exception {
     idempotent.setPrivateObjectStore(new InMemoryObjectStore<>());
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.test.allure.AllureConstants.ComponentsFeature.CORE_COMPONENTS;
+import static org.mule.test.allure.AllureConstants.ComponentsFeature.IdempotentMessageValidator.IDEMPOTENT_MESSAGE_VALIDATOR;
+
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(CORE_COMPONENTS)
+@Story(IDEMPOTENT_MESSAGE_VALIDATOR)
+public class MessageIdBloomFilterTestCase extends AbstractMuleTestCase {
+
+  private static final int EXPECTED_IDS = 10000;
+
+  @Test
+  public void putIdsAreContained() {
+    MessageIdBloomFilter filter = new MessageIdBloomFilter(EXPECTED_IDS, 0);
+    for (int i = 0; i < EXPECTED_IDS; ++i) {
+      filter.put("id-" + i);
+    }
+
+    for (int i = 0; i < EXPECTED_IDS; ++i) {
+      assertThat(filter.mightContain("id-" + i), is(true));
+      assertThat(filter.put("id-" + i), is(true));
+    }
+  }
+
+  @Test
+  public void falsePositiveRate() {
+    MessageIdBloomFilter filter = new MessageIdBloomFilter(EXPECTED_IDS, 0);
+    for (int i = 0; i < EXPECTED_IDS; ++i) {
+      filter.put("id-" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < EXPECTED_IDS; ++i) {
+      if (filter.mightContain("other-" + i)) {
+        ++falsePositives;
+      }
+    }
+    // Sized for 1%, with some margin
+    assertThat(falsePositives, lessThan(EXPECTED_IDS / 50));
+  }
+
+  @Test
+  public void idsForgottenAfterTwoRotations() throws InterruptedException {
+    MessageIdBloomFilter filter = new MessageIdBloomFilter(EXPECTED_IDS, MILLISECONDS.toNanos(50));
+    assertThat(filter.put("id"), is(false));
+
+    sleep(60);
+    // Still in the previous generation
+    assertThat(filter.mightContain("id"), is(true));
+
+    sleep(60);
+    assertThat(filter.mightContain("id"), is(false));
+  }
+}
@@ -45,7 +45,7 @@ import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
 import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderModel;
 import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderModelLoader;
 import org.mule.runtime.module.artifact.api.descriptor.InvalidDescriptorLoaderException;
-import org.mule.runtime.module.artifact.internal.util.FileJarExplorer;
+import org.mule.runtime.module.artifact.internal.util.CachingFileJarExplorer;
 import org.mule.runtime.module.artifact.internal.util.JarExplorer;
 import org.mule.runtime.module.artifact.internal.util.JarInfo;
 import org.mule.runtime.module.reboot.api.MuleContainerBootstrapUtils;
@@ -102,7 +102,7 @@ public abstract class AbstractMavenClassLoaderModelLoader implements ClassLoader
   private final Supplier<JarExplorer> jarExplorerFactory;
 
   public AbstractMavenClassLoaderModelLoader(Optional<MavenClient> mavenClient) {
-    this(mavenClient, () -> new FileJarExplorer());
+    this(mavenClient, () -> new CachingFileJarExplorer());
   }
 
   public AbstractMavenClassLoaderModelLoader(Optional<MavenClient> mavenClient, Supplier<JarExplorer> jarExplorerFactory) {
@@ -40,6 +40,7 @@ import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptorCreateE
 import org.mule.runtime.module.artifact.api.descriptor.BundleDependency;
 import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
 import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderModel;
+import org.mule.runtime.module.artifact.internal.util.CachingFileJarExplorer;
 import org.mule.runtime.module.artifact.internal.util.FileJarExplorer;
 import org.mule.runtime.module.artifact.internal.util.JarInfo;
 
@@ -78,7 +79,7 @@ public abstract class ArtifactClassLoaderModelBuilder extends ClassLoaderModel.C
 
   private boolean processSharedLibraries = false;
   private boolean processAdditionalPluginLibraries = false;
-  protected FileJarExplorer fileJarExplorer = new FileJarExplorer();
+  protected FileJarExplorer fileJarExplorer = new CachingFileJarExplorer();
 
   protected File artifactFolder;
   protected ArtifactDescriptor deployableArtifactDescriptor;
@@ -12,6 +12,7 @@ import static org.mule.runtime.module.artifact.api.classloader.ChildOnlyLookupSt
 import static org.mule.runtime.module.artifact.api.classloader.ParentFirstLookupStrategy.PARENT_FIRST;
 import static org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor.MULE_PLUGIN_CLASSIFIER;
 
+import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
@@ -42,6 +43,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Creates the class loaders for plugins that are contained in a given region
+ * <p>
+ * Plugins declared as shareable through {@link SharedPluginClassLoaders#SHARED_PLUGINS_PROPERTY} that don't depend on other
+ * plugins are loaded by a {@link SharedPluginClassLoaders shared class loader} instead of one created by the configured
+ * {@link ArtifactClassLoaderFactory}, so regions with the same parent reuse the classes of the plugin.
  *
  * @since 4.0
  */
@@ -53,6 +58,7 @@ public class DefaultRegionPluginClassLoadersFactory implements RegionPluginClass
 
   private final ArtifactClassLoaderFactory artifactPluginClassLoaderFactory;
   private final ModuleRepository moduleRepository;
+  private final SharedPluginClassLoaders sharedPluginClassLoaders;
 
   /**
    * Creates a new factory
@@ -62,11 +68,18 @@ public class DefaultRegionPluginClassLoadersFactory implements RegionPluginClass
    */
   public DefaultRegionPluginClassLoadersFactory(ArtifactClassLoaderFactory artifactPluginClassLoaderFactory,
                                                 ModuleRepository moduleRepository) {
+    this(artifactPluginClassLoaderFactory, moduleRepository, new SharedPluginClassLoaders());
+  }
+
+  DefaultRegionPluginClassLoadersFactory(ArtifactClassLoaderFactory artifactPluginClassLoaderFactory,
+                                         ModuleRepository moduleRepository,
+                                         SharedPluginClassLoaders sharedPluginClassLoaders) {
     checkArgument(artifactPluginClassLoaderFactory != null, "artifactPluginClassLoaderFactory cannot be null");
     checkArgument(moduleRepository != null, "moduleRepository cannot be null");
 
     this.artifactPluginClassLoaderFactory = artifactPluginClassLoaderFactory;
     this.moduleRepository = moduleRepository;
+    this.sharedPluginClassLoaders = sharedPluginClassLoaders;
   }
 
   @Override
@@ -76,6 +89,15 @@ public class DefaultRegionPluginClassLoadersFactory implements RegionPluginClass
     List<ArtifactClassLoader> classLoaders = new LinkedList<>();
 
     for (ArtifactPluginDescriptor artifactPluginDescriptor : artifactPluginDescriptors) {
+      if (sharedPluginClassLoaders.isShareable(artifactPluginDescriptor)) {
+        ArtifactClassLoader sharedClassLoader =
+            acquireSharedPluginClassLoader(regionClassLoader, artifactPluginDescriptor, artifactPluginDescriptors);
+        if (sharedClassLoader != null) {
+          classLoaders.add(sharedClassLoader);
+          continue;
+        }
+      }
+
       final String pluginArtifactId = getArtifactPluginId(regionClassLoader.getArtifactId(), artifactPluginDescriptor.getName());
 
       ClassLoaderLookupPolicy pluginLookupPolicy = createPluginLookupPolicy(classLoaders, artifactPluginDescriptor,
@@ -89,6 +111,29 @@ public class DefaultRegionPluginClassLoadersFactory implements RegionPluginClass
     return classLoaders;
   }
 
+  private ArtifactClassLoader acquireSharedPluginClassLoader(ArtifactClassLoader regionClassLoader,
+                                                             ArtifactPluginDescriptor descriptor,
+                                                             List<ArtifactPluginDescriptor> artifactPluginDescriptors) {
+    // The lookup policy of a shared plugin can only depend on the parent of the region, which is the same for all the regions
+    // sharing it, and plugins that depend on other plugins need to see the class loaders of the region
+    ClassLoader parent = regionClassLoader.getClassLoader().getParent();
+    if (!(parent instanceof ArtifactClassLoader) || !getPluginDescriptors(descriptor, artifactPluginDescriptors).isEmpty()) {
+      return null;
+    }
+
+    ClassLoaderLookupPolicy pluginLookupPolicy =
+        createPluginLookupPolicy(emptyList(), descriptor, ((ArtifactClassLoader) parent).getClassLoaderLookupPolicy(),
+                                 emptyList());
+    return sharedPluginClassLoaders.acquire(parent, descriptor, pluginLookupPolicy);
+  }
+
+  /**
+   * @return the amount of plugin class loaders currently shared among regions
+   */
+  public int getSharedPluginClassLoadersCount() {
+    return sharedPluginClassLoaders.getSharedClassLoadersCount();
+  }
+
   /**
    * @param parentArtifactId identifier of the artifact that owns the plugin. Non empty.
    * @param pluginName       name of the plugin. Non empty.
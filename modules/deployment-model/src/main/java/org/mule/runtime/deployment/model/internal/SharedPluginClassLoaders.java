@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.deployment.model.internal;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getExecutionFolder;
+import static org.mule.runtime.deployment.model.internal.DefaultRegionPluginClassLoadersFactory.PLUGIN_CLASSLOADER_IDENTIFIER;
+
+import static java.lang.String.format;
+import static java.lang.System.getProperty;
+import static java.lang.management.ManagementFactory.getMemoryPoolMXBeans;
+import static java.util.Arrays.stream;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toSet;
+
+import static org.apache.commons.io.FileUtils.checksumCRC32;
+import static org.apache.commons.io.FileUtils.copyFile;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.apache.commons.io.FileUtils.toFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.classloader.ClassLoaderLookupPolicy;
+import org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.classloader.ShutdownListener;
+import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps the plugin class loaders that are shared among the regions of different artifacts.
+ * <p>
+ * A plugin is only shared if it is listed in {@link #SHARED_PLUGINS_PROPERTY}, meaning that it is declared safe to be used by
+ * many artifacts at once: it doesn't keep static state bound to an artifact and it doesn't need to load classes from the artifact
+ * that uses it. Such a plugin is loaded by a class loader whose parent is the parent of the region instead of the region itself,
+ * so its classes can be reused by every region with the same parent (the same domain) that resolves the plugin to the same set
+ * of jars and dependencies.
+ * <p>
+ * The jars of a shared plugin are copied to a folder of the container, so the class loader keeps working after the artifact
+ * that first used it is undeployed. The copies left by a previous run of the container are deleted when the folder is first used.
+ * Each region gets its own handle to the shared class loader, which is only disposed once all the handles are. The shutdown
+ * listeners of a handle are executed when that handle is disposed.
+ * <p>
+ * The jars are hashed and copied without holding the lock of this object, so plugins of artifacts deployed in parallel don't wait
+ * for each other. The regions acquiring a class loader being created wait for it.
+ *
+ * @since 4.5.0
+ */
+final class SharedPluginClassLoaders {
+
+  /**
+   * Comma separated list of the {@code groupId:artifactId} of the plugins which class loaders may be shared among artifacts.
+   */
+  public static final String SHARED_PLUGINS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "classloader.sharedPlugins";
+
+  private static final Logger LOGGER = getLogger(SharedPluginClassLoaders.class);
+
+  private static final String SHARED_PLUGINS_FOLDER = "shared-plugins";
+  // Unique among all the instances, since they may use the same folder
+  private static final AtomicInteger NEXT_CLASS_LOADER_ID = new AtomicInteger();
+  // The folders already used in this run of the container, so only the copies left by a previous run are deleted
+  private static final Set<File> USED_FOLDERS = newKeySet();
+
+  private final Set<String> sharedPlugins;
+  private final File sharedPluginsFolder;
+  // Class loaders don't override equals, so parents are compared by identity. Parents are weakly referenced so the entry of
+  // a parent doesn't keep it alive, although a shared class loader still in use does.
+  private final Map<ClassLoader, Map<String, SharedClassLoader>> classLoaders = new WeakHashMap<>();
+
+  SharedPluginClassLoaders() {
+    this(getSharedPluginsFromProperty(), new File(getExecutionFolder(), SHARED_PLUGINS_FOLDER));
+  }
+
+  SharedPluginClassLoaders(Set<String> sharedPlugins, File sharedPluginsFolder) {
+    this.sharedPlugins = sharedPlugins;
+    this.sharedPluginsFolder = sharedPluginsFolder;
+    if (!sharedPlugins.isEmpty() && USED_FOLDERS.add(sharedPluginsFolder.getAbsoluteFile())) {
+      deleteQuietly(sharedPluginsFolder);
+    }
+  }
+
+  private static Set<String> getSharedPluginsFromProperty() {
+    String property = getProperty(SHARED_PLUGINS_PROPERTY);
+    if (property == null) {
+      return emptySet();
+    }
+    return stream(property.split(",")).map(String::trim).filter(plugin -> !plugin.isEmpty()).collect(toSet());
+  }
+
+  /**
+   * @param descriptor the descriptor of a plugin
+   * @return whether the plugin is declared safe to be shared among artifacts
+   */
+  boolean isShareable(ArtifactPluginDescriptor descriptor) {
+    BundleDescriptor bundleDescriptor = descriptor.getBundleDescriptor();
+    return bundleDescriptor != null
+        && sharedPlugins.contains(bundleDescriptor.getGroupId() + ":" + bundleDescriptor.getArtifactId());
+  }
+
+  /**
+   * Obtains a handle to the shared class loader of a plugin, creating the class loader if no other region uses it.
+   *
+   * @param parent       the class loader to use as parent of the plugin class loader
+   * @param descriptor   the descriptor of the plugin
+   * @param lookupPolicy the lookup policy of the plugin class loader, which must only depend on {@code parent} and
+   *                     {@code descriptor}
+   * @return a handle to the shared class loader, or {@code null} if the plugin jars can't be shared
+   */
+  ArtifactClassLoader acquire(ClassLoader parent, ArtifactPluginDescriptor descriptor, ClassLoaderLookupPolicy lookupPolicy) {
+    String key;
+    try {
+      key = createKey(descriptor);
+    } catch (IOException | IllegalArgumentException e) {
+      LOGGER.debug("Plugin '{}' can't be shared: {}", descriptor.getName(), e.getMessage());
+      return null;
+    }
+
+    SharedClassLoader sharedClassLoader;
+    boolean created = false;
+    synchronized (this) {
+      Map<String, SharedClassLoader> parentClassLoaders = classLoaders.computeIfAbsent(parent, p -> new HashMap<>());
+      sharedClassLoader = parentClassLoaders.get(key);
+      if (sharedClassLoader == null) {
+        int classLoaderId = NEXT_CLASS_LOADER_ID.getAndIncrement();
+        File folder = new File(sharedPluginsFolder, classLoaderId + "-" + descriptor.getName());
+        sharedClassLoader = new SharedClassLoader(parent, key, classLoaderId, folder);
+        parentClassLoaders.put(key, sharedClassLoader);
+        created = true;
+      }
+      // Taken before the class loader is created, so it is not released meanwhile
+      sharedClassLoader.references++;
+    }
+
+    if (created) {
+      create(sharedClassLoader, descriptor, lookupPolicy);
+    }
+
+    MuleArtifactClassLoader classLoader = sharedClassLoader.classLoader.join();
+    if (classLoader == null) {
+      // Creating it failed, and it was already removed
+      return null;
+    }
+
+    if (created) {
+      LOGGER.info("Created shared class loader for plugin '{}'{}", descriptor.getName(), getMetaspaceUsage());
+    } else {
+      LOGGER.info("Reusing shared class loader for plugin '{}'{}", descriptor.getName(), getMetaspaceUsage());
+    }
+    return new SharedClassLoaderHandle(sharedClassLoader, classLoader);
+  }
+
+  private void create(SharedClassLoader sharedClassLoader, ArtifactPluginDescriptor descriptor,
+                      ClassLoaderLookupPolicy lookupPolicy) {
+    ClassLoader parent = sharedClassLoader.parent;
+    try {
+      URL[] urls = copyUrls(descriptor.getClassLoaderModel().getUrls(), sharedClassLoader.folder);
+      String artifactId = "shared" + PLUGIN_CLASSLOADER_IDENTIFIER + descriptor.getName() + "@" + sharedClassLoader.id;
+      sharedClassLoader.classLoader.complete(new MuleArtifactClassLoader(artifactId, descriptor, urls, parent, lookupPolicy));
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn(format("Could not copy the jars of plugin '%s' to share them, it won't be shared", descriptor.getName()), e);
+      synchronized (this) {
+        remove(sharedClassLoader);
+      }
+      deleteQuietly(sharedClassLoader.folder);
+    } finally {
+      // Releases the regions waiting for it in any case, does nothing if it was created
+      sharedClassLoader.classLoader.complete(null);
+    }
+  }
+
+  /**
+   * @return the amount of shared plugin class loaders currently in use
+   */
+  synchronized int getSharedClassLoadersCount() {
+    return classLoaders.values().stream().mapToInt(Map::size).sum();
+  }
+
+  private void release(SharedClassLoader sharedClassLoader) {
+    synchronized (this) {
+      if (--sharedClassLoader.references > 0) {
+        return;
+      }
+      remove(sharedClassLoader);
+    }
+
+    // Only released by a handle, so its class loader was created
+    sharedClassLoader.classLoader.join().dispose();
+    deleteQuietly(sharedClassLoader.folder);
+  }
+
+  private void remove(SharedClassLoader sharedClassLoader) {
+    Map<String, SharedClassLoader> parentClassLoaders = classLoaders.get(sharedClassLoader.parent);
+    if (parentClassLoaders != null && parentClassLoaders.get(sharedClassLoader.key) == sharedClassLoader) {
+      parentClassLoaders.remove(sharedClassLoader.key);
+      if (parentClassLoaders.isEmpty()) {
+        classLoaders.remove(sharedClassLoader.parent);
+      }
+    }
+  }
+
+  private String createKey(ArtifactPluginDescriptor descriptor) throws IOException {
+    StringBuilder key = new StringBuilder()
+        .append(descriptor.getBundleDescriptor()).append('|');
+
+    Set<String> dependencies = descriptor.getClassLoaderModel().getDependencies().stream()
+        .map(dependency -> dependency.getDescriptor().toString())
+        .collect(toCollection(TreeSet::new));
+    key.append(dependencies).append('|');
+
+    for (URL url : descriptor.getClassLoaderModel().getUrls()) {
+      File file = toFile(url);
+      if (file == null || !file.isFile()) {
+        throw new IllegalArgumentException(url + " is not a jar file");
+      }
+      key.append(file.getName()).append(':').append(file.length()).append(':').append(checksumCRC32(file)).append(',');
+    }
+    return key.toString();
+  }
+
+  private URL[] copyUrls(URL[] urls, File folder) throws IOException {
+    URL[] copiedUrls = new URL[urls.length];
+    for (int i = 0; i < urls.length; ++i) {
+      File source = toFile(urls[i]);
+      // The index keeps the order of the class path and avoids collisions between jars with the same name
+      File target = new File(new File(folder, String.valueOf(i)), source.getName());
+      copyFile(source, target);
+      try {
+        copiedUrls[i] = target.toURI().toURL();
+      } catch (MalformedURLException e) {
+        throw new IOException(e);
+      }
+    }
+    return copiedUrls;
+  }
+
+  private static String getMetaspaceUsage() {
+    for (MemoryPoolMXBean memoryPool : getMemoryPoolMXBeans()) {
+      if ("Metaspace".equals(memoryPool.getName())) {
+        return format(" (metaspace used: %d KB)", memoryPool.getUsage().getUsed() / 1024);
+      }
+    }
+    return "";
+  }
+
+  private static final class SharedClassLoader {
+
+    private final ClassLoader parent;
+    private final String key;
+    private final int id;
+    private final File folder;
+    // Completed by the region that creates it, with null if it could not be created
+    private final CompletableFuture<MuleArtifactClassLoader> classLoader = new CompletableFuture<>();
+    private int references;
+
+    private SharedClassLoader(ClassLoader parent, String key, int id, File folder) {
+      this.parent = parent;
+      this.key = key;
+      this.id = id;
+      this.folder = folder;
+    }
+  }
+
+  /**
+   * The view a region has of a shared plugin class loader. Disposing it executes its shutdown listeners and releases the region
+   * reference.
+   */
+  private final class SharedClassLoaderHandle implements ArtifactClassLoader {
+
+    private final SharedClassLoader sharedClassLoader;
+    private final MuleArtifactClassLoader delegate;
+    private final List<ShutdownListener> shutdownListeners = new ArrayList<>();
+    private boolean disposed;
+
+    private SharedClassLoaderHandle(SharedClassLoader sharedClassLoader, MuleArtifactClassLoader delegate) {
+      this.sharedClassLoader = sharedClassLoader;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public String getArtifactId() {
+      return delegate.getArtifactId();
+    }
+
+    @Override
+    public <T extends ArtifactDescriptor> T getArtifactDescriptor() {
+      return delegate.getArtifactDescriptor();
+    }
+
+    @Override
+    public URL findResource(String resource) {
+      return delegate.findResource(resource);
+    }
+
+    @Override
+    public URL findInternalResource(String resource) {
+      return delegate.findInternalResource(resource);
+    }
+
+    @Override
+    public Enumeration<URL> findResources(String name) throws IOException {
+      return delegate.findResources(name);
+    }
+
+    @Override
+    public Class<?> findLocalClass(String name) throws ClassNotFoundException {
+      return delegate.findLocalClass(name);
+    }
+
+    @Override
+    public Class<?> loadInternalClass(String name) throws ClassNotFoundException {
+      return delegate.loadInternalClass(name);
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+      return delegate;
+    }
+
+    @Override
+    public void addShutdownListener(ShutdownListener listener) {
+      synchronized (shutdownListeners) {
+        shutdownListeners.add(listener);
+      }
+    }
+
+    @Override
+    public URL findLocalResource(String resourceName) {
+      return delegate.findLocalResource(resourceName);
+    }
+
+    @Override
+    public ClassLoaderLookupPolicy getClassLoaderLookupPolicy() {
+      return delegate.getClassLoaderLookupPolicy();
+    }
+
+    @Override
+    public void dispose() {
+      synchronized (SharedPluginClassLoaders.this) {
+        if (disposed) {
+          return;
+        }
+        disposed = true;
+      }
+
+      List<ShutdownListener> listeners;
+      synchronized (shutdownListeners) {
+        listeners = new ArrayList<>(shutdownListeners);
+        shutdownListeners.clear();
+      }
+      for (ShutdownListener listener : listeners) {
+        try {
+          listener.execute();
+        } catch (Exception e) {
+          LOGGER.error("Error executing shutdown listener", e);
+        }
+      }
+      release(sharedClassLoader);
+    }
+
+    @Override
+    public String toString() {
+      return delegate.toString();
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.deployment.model.internal;
+
+import static java.util.Collections.singleton;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.classloader.ClassLoaderLookupPolicy;
+import org.mule.runtime.module.artifact.api.classloader.ShutdownListener;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderModel.ClassLoaderModelBuilder;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class SharedPluginClassLoadersTestCase extends AbstractMuleTestCase {
+
+  private static final String GROUP_ID = "org.mule.test";
+  private static final String PLUGIN_ID = "plugin";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+  private final ClassLoader parent = new URLClassLoader(new URL[0], getClass().getClassLoader());
+
+  private File sharedPluginsFolder;
+  private SharedPluginClassLoaders sharedPluginClassLoaders;
+  private File pluginJar;
+
+  @Before
+  public void setUp() throws Exception {
+    sharedPluginsFolder = temporaryFolder.newFolder("shared-plugins");
+    sharedPluginClassLoaders = new SharedPluginClassLoaders(singleton(GROUP_ID + ":" + PLUGIN_ID), sharedPluginsFolder);
+    pluginJar = temporaryFolder.newFile("plugin.jar");
+    writeStringToFile(pluginJar, "plugin content");
+  }
+
+  @Test
+  public void onlyListedPluginsAreShareable() throws Exception {
+    assertThat(sharedPluginClassLoaders.isShareable(createDescriptor(PLUGIN_ID, pluginJar)), is(true));
+    assertThat(sharedPluginClassLoaders.isShareable(createDescriptor("other", pluginJar)), is(false));
+  }
+
+  @Test
+  public void reusesClassLoaderForSameJars() throws Exception {
+    ArtifactClassLoader first = sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+    ArtifactClassLoader second = sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+
+    assertThat(first.getClassLoader(), sameInstance(second.getClassLoader()));
+    assertThat(sharedPluginClassLoaders.getSharedClassLoadersCount(), is(1));
+  }
+
+  @Test
+  public void doesNotReuseClassLoaderForDifferentJars() throws Exception {
+    File otherJar = temporaryFolder.newFile("other.jar");
+    writeStringToFile(otherJar, "other content");
+
+    ArtifactClassLoader first = sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+    ArtifactClassLoader second = sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, otherJar), lookupPolicy);
+
+    assertThat(first.getClassLoader(), not(sameInstance(second.getClassLoader())));
+    assertThat(sharedPluginClassLoaders.getSharedClassLoadersCount(), is(2));
+  }
+
+  @Test
+  public void doesNotReuseClassLoaderForDifferentParents() throws Exception {
+    ClassLoader otherParent = new URLClassLoader(new URL[0], getClass().getClassLoader());
+
+    ArtifactClassLoader first = sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+    ArtifactClassLoader second =
+        sharedPluginClassLoaders.acquire(otherParent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+
+    assertThat(first.getClassLoader(), not(sameInstance(second.getClassLoader())));
+  }
+
+  @Test
+  public void disposesClassLoaderWhenNotReferenced() throws Exception {
+    ArtifactClassLoader first = sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+    ArtifactClassLoader second = sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+
+    first.dispose();
+    // Disposing the same handle twice must not release the reference of the other region
+    first.dispose();
+    assertThat(sharedPluginClassLoaders.getSharedClassLoadersCount(), is(1));
+    assertThat(sharedPluginsFolder.list().length, is(1));
+
+    second.dispose();
+    assertThat(sharedPluginClassLoaders.getSharedClassLoadersCount(), is(0));
+    assertThat(sharedPluginsFolder.list().length, is(0));
+  }
+
+  @Test
+  public void executesShutdownListenersOfDisposedHandleOnly() throws Exception {
+    ArtifactClassLoader first = sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+    ArtifactClassLoader second = sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+    ShutdownListener firstListener = mock(ShutdownListener.class);
+    ShutdownListener secondListener = mock(ShutdownListener.class);
+    first.addShutdownListener(firstListener);
+    second.addShutdownListener(secondListener);
+
+    first.dispose();
+    verify(firstListener).execute();
+    verify(secondListener, never()).execute();
+
+    second.dispose();
+    verify(firstListener).execute();
+    verify(secondListener).execute();
+  }
+
+  @Test
+  public void keepsWorkingWhenOriginalJarIsRemoved() throws Exception {
+    ArtifactClassLoader classLoader =
+        sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+
+    pluginJar.delete();
+
+    URL[] urls = ((URLClassLoader) classLoader.getClassLoader()).getURLs();
+    assertThat(new File(urls[0].toURI()).exists(), is(true));
+  }
+
+  @Test
+  public void doesNotShareFolders() throws Exception {
+    File pluginFolder = temporaryFolder.newFolder("pluginFolder");
+
+    assertThat(sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginFolder), lookupPolicy), nullValue());
+    assertThat(sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy), notNullValue());
+  }
+
+  @Test
+  public void concurrentAcquiresShareClassLoader() throws Exception {
+    ExecutorService executor = newFixedThreadPool(4);
+    try {
+      List<Future<ArtifactClassLoader>> acquired = new ArrayList<>();
+      for (int i = 0; i < 4; ++i) {
+        acquired.add(executor
+            .submit(() -> sharedPluginClassLoaders.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy)));
+      }
+
+      ClassLoader classLoader = acquired.get(0).get(5, SECONDS).getClassLoader();
+      for (Future<ArtifactClassLoader> handle : acquired) {
+        assertThat(handle.get(5, SECONDS).getClassLoader(), sameInstance(classLoader));
+      }
+      assertThat(sharedPluginClassLoaders.getSharedClassLoadersCount(), is(1));
+      assertThat(sharedPluginsFolder.list().length, is(1));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void deletesCopiesOfPreviousRunOnFirstUse() throws Exception {
+    File previousRunFolder = temporaryFolder.newFolder("previous-run");
+    File staleCopy = new File(previousRunFolder, "0-plugin");
+    assertThat(staleCopy.mkdirs(), is(true));
+
+    SharedPluginClassLoaders firstUse = new SharedPluginClassLoaders(singleton(GROUP_ID + ":" + PLUGIN_ID), previousRunFolder);
+    assertThat(staleCopy.exists(), is(false));
+
+    firstUse.acquire(parent, createDescriptor(PLUGIN_ID, pluginJar), lookupPolicy);
+    new SharedPluginClassLoaders(singleton(GROUP_ID + ":" + PLUGIN_ID), previousRunFolder);
+    // The copies of this run are kept
+    assertThat(previousRunFolder.list().length, is(1));
+  }
+
+  private ArtifactPluginDescriptor createDescriptor(String artifactId, File jar) throws Exception {
+    ArtifactPluginDescriptor descriptor = new ArtifactPluginDescriptor(artifactId);
+    descriptor.setBundleDescriptor(new BundleDescriptor.Builder().setGroupId(GROUP_ID).setArtifactId(artifactId)
+        .setVersion("1.0").setClassifier("mule-plugin").build());
+    descriptor.setClassLoaderModel(new ClassLoaderModelBuilder().containing(jar.toURI().toURL()).build());
+    return descriptor;
+  }
+}
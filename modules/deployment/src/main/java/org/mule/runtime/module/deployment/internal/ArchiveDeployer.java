@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.module.deployment.internal;
 
+import static java.util.Optional.empty;
+
 import org.mule.runtime.deployment.model.api.DeployableArtifactDescriptor;
 import org.mule.runtime.deployment.model.api.DeploymentException;
 import org.mule.runtime.module.artifact.api.Artifact;
@@ -57,4 +59,15 @@ public interface ArchiveDeployer<D extends DeployableArtifactDescriptor, T exten
 
   void doNotPersistArtifactStop(T artifact);
 
+  /**
+   * Creates the descriptor of an exploded artifact without deploying it.
+   *
+   * @param artifactName name of the artifact folder within the deployment directory. Non empty.
+   * @return the descriptor of the artifact, or empty if this deployer can't provide it
+   * @since 4.5.0
+   */
+  default Optional<D> getExplodedArtifactDescriptor(String artifactName) {
+    return empty();
+  }
+
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Comparator.comparingLong;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Deploys artifacts honoring the dependencies between them, modeled as a directed acyclic graph.
+ * <p>
+ * An artifact is deployed as soon as all the artifacts it depends on are done, regardless of the deployment of any other
+ * artifact. Among the artifacts ready to be deployed, the ones expected to take longer are dispatched first, so that the slowest
+ * artifacts don't end up being deployed alone at the end. At most {@code parallelism} artifacts are deployed at the same time.
+ * <p>
+ * Artifacts may be added while others are being deployed. A failed deployment doesn't prevent its dependants from being deployed,
+ * as it happens when deploying sequentially. When the executor rejects a deployment, it is run by the thread that dispatched it
+ * once it no longer holds the lock of the graph.
+ *
+ * @since 4.5.0
+ */
+final class ArtifactDeploymentGraph {
+
+  /**
+   * Deploys a single artifact.
+   */
+  @FunctionalInterface
+  interface ArtifactDeployment {
+
+    void deploy() throws Exception;
+  }
+
+  private final Executor executor;
+  private final int parallelism;
+  private final DeploymentTimeline timeline;
+  private final PriorityQueue<Node> ready = new PriorityQueue<>(comparingLong((Node node) -> node.expectedTime).reversed());
+  private final List<Node> nodes = new ArrayList<>();
+
+  private int running;
+  private int pending;
+
+  /**
+   * @param executor    the executor where the deployments are run
+   * @param parallelism the max amount of artifacts deployed at the same time
+   * @param timeline    where each deployment is recorded
+   */
+  ArtifactDeploymentGraph(Executor executor, int parallelism, DeploymentTimeline timeline) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.timeline = timeline;
+  }
+
+  /**
+   * Adds an artifact to the graph, scheduling its deployment as soon as its dependencies are done.
+   *
+   * @param artifactName the name of the artifact
+   * @param domain       whether the artifact is a domain
+   * @param expectedTime the time in milliseconds the deployment is expected to take, used to prioritize it
+   * @param dependencies the nodes of the artifacts that have to be deployed before this one
+   * @param deployment   the deployment of the artifact
+   * @return the node of the added artifact, to be used as dependency of others
+   */
+  Node add(String artifactName, boolean domain, long expectedTime, Collection<Node> dependencies,
+           ArtifactDeployment deployment) {
+    Node node = new Node(artifactName, domain, expectedTime, deployment);
+    List<Node> rejected = emptyList();
+    synchronized (this) {
+      nodes.add(node);
+      pending++;
+
+      for (Node dependency : dependencies) {
+        if (!dependency.done) {
+          dependency.dependants.add(node);
+          node.pendingDependencies++;
+        }
+      }
+
+      if (node.pendingDependencies == 0) {
+        ready.add(node);
+        rejected = dispatch();
+      }
+    }
+
+    deploy(rejected);
+    return node;
+  }
+
+  /**
+   * @param artifactName the name of an artifact
+   * @param domain       whether the artifact is a domain
+   * @return whether an artifact with the given name and type was added to this graph
+   */
+  synchronized boolean contains(String artifactName, boolean domain) {
+    return nodes.stream().anyMatch(node -> node.domain == domain && node.artifactName.equals(artifactName));
+  }
+
+  /**
+   * @return the nodes of the domains added to this graph
+   */
+  synchronized List<Node> getDomains() {
+    List<Node> domains = new ArrayList<>();
+    for (Node node : nodes) {
+      if (node.domain) {
+        domains.add(node);
+      }
+    }
+    return domains;
+  }
+
+  /**
+   * Waits for the deployment of all the domains added to this graph.
+   */
+  synchronized void awaitDomains() {
+    awaitUntil(() -> nodes.stream().allMatch(node -> !node.domain || node.done));
+  }
+
+  /**
+   * Waits for the deployment of all the artifacts added to this graph.
+   */
+  synchronized void awaitCompletion() {
+    awaitUntil(() -> pending == 0);
+  }
+
+  /**
+   * Waits until the given {@code condition} is met. Interruptions don't stop the wait, since the deployments still running would
+   * otherwise be left behind, but the interrupted status of the thread is kept.
+   */
+  private void awaitUntil(BooleanSupplier condition) {
+    boolean interrupted = false;
+    while (!condition.getAsBoolean()) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted) {
+      currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return the nodes whose deployment the executor rejected, to be deployed by the current thread once it releases the lock
+   */
+  private List<Node> dispatch() {
+    List<Node> rejected = emptyList();
+    while (running < parallelism && !ready.isEmpty()) {
+      Node node = ready.poll();
+      running++;
+      try {
+        executor.execute(() -> deploy(singletonList(node)));
+      } catch (RuntimeException e) {
+        // Deployed in place to avoid leaving its dependants waiting, but not holding the lock so others can still complete
+        if (rejected.isEmpty()) {
+          rejected = new ArrayList<>();
+        }
+        rejected.add(node);
+      }
+    }
+    return rejected;
+  }
+
+  private void deploy(Collection<Node> nodes) {
+    Deque<Node> toDeploy = new ArrayDeque<>(nodes);
+    while (!toDeploy.isEmpty()) {
+      toDeploy.addAll(deploy(toDeploy.poll()));
+    }
+  }
+
+  /**
+   * @return the nodes dispatched after this one completed whose deployment the executor rejected
+   */
+  private List<Node> deploy(Node node) {
+    final long start = timeline.start(node.artifactName, node.domain);
+    boolean successful = false;
+    List<Node> rejected;
+    try {
+      node.deployment.deploy();
+      successful = true;
+    } catch (Exception e) {
+      // Ignore and continue, as the deployers already report the failure
+    } finally {
+      timeline.end(node.artifactName, start, successful);
+      rejected = completed(node);
+    }
+    return rejected;
+  }
+
+  private synchronized List<Node> completed(Node node) {
+    node.done = true;
+    running--;
+    pending--;
+
+    for (Node dependant : node.dependants) {
+      if (--dependant.pendingDependencies == 0) {
+        ready.add(dependant);
+      }
+    }
+
+    notifyAll();
+    return dispatch();
+  }
+
+  /**
+   * An artifact in the graph.
+   */
+  static final class Node {
+
+    private final String artifactName;
+    private final boolean domain;
+    private final long expectedTime;
+    private final ArtifactDeployment deployment;
+    private final List<Node> dependants = new ArrayList<>();
+    private int pendingDependencies;
+    private boolean done;
+
+    private Node(String artifactName, boolean domain, long expectedTime, ArtifactDeployment deployment) {
+      this.artifactName = artifactName;
+      this.domain = domain;
+      this.expectedTime = expectedTime;
+      this.deployment = deployment;
+    }
+
+    String getArtifactName() {
+      return artifactName;
+    }
+  }
+}
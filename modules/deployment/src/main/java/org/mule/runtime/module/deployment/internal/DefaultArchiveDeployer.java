@@ -17,6 +17,8 @@ import static java.lang.Boolean.valueOf;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 
 import static org.apache.commons.io.FileUtils.deleteDirectory;
@@ -129,6 +131,11 @@ public class DefaultArchiveDeployer<D extends DeployableArtifactDescriptor, T ex
     return artifactFactory.getArtifactDir();
   }
 
+  @Override
+  public Optional<D> getExplodedArtifactDescriptor(String artifactName) {
+    return of((D) artifactFactory.createArtifactDescriptor(new File(getDeploymentDirectory(), artifactName), empty()));
+  }
+
   private File installArtifact(URI artifactAchivedUri) throws IOException {
     File artifactLocation;
     try {
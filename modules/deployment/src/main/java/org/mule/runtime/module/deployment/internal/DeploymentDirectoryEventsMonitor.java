@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Triggers a scan of the deployment directories when the file system notifies changes on them, instead of scanning them
+ * periodically.
+ * <p>
+ * Events are debounced: the scan only happens once no events were received for the quiet period and the archives in the
+ * deployment directories kept the same size and timestamp since the last event, so artifacts being copied are not deployed
+ * partially. If the scan can't be done because another deployment operation is in progress, it is retried after the quiet
+ * period.
+ * <p>
+ * {@link WatchService} is not recursive, so only the folders provided by {@code monitoredFolders} are watched. They are
+ * refreshed after each scan to follow the artifacts that were deployed, undeployed or that failed to deploy.
+ *
+ * @since 4.5.0
+ */
+final class DeploymentDirectoryEventsMonitor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeploymentDirectoryEventsMonitor.class);
+
+  private final WatchService watchService;
+  private final ScheduledExecutorService executor;
+  private final long quietPeriodMs;
+  private final Collection<File> archivesFolders;
+  private final Supplier<Collection<File>> monitoredFolders;
+  private final BooleanSupplier scan;
+  private final Map<File, WatchKey> watchKeys = new HashMap<>();
+
+  private Thread eventsThread;
+  private ScheduledFuture<?> pendingScan;
+  private Map<String, String> archivesState;
+
+  /**
+   * @param executor         executor where the scans are done
+   * @param quietPeriodMs    time without changes to wait before doing a scan
+   * @param archivesFolders  folders containing archives that may be partially copied when the events are received
+   * @param monitoredFolders provides the folders to watch
+   * @param scan             scans the deployment directories, returning {@code false} if it couldn't be done
+   * @throws IOException if the file system doesn't support watching for changes
+   */
+  DeploymentDirectoryEventsMonitor(ScheduledExecutorService executor, long quietPeriodMs, Collection<File> archivesFolders,
+                                   Supplier<Collection<File>> monitoredFolders, BooleanSupplier scan)
+      throws IOException {
+    this.watchService = FileSystems.getDefault().newWatchService();
+    this.executor = executor;
+    this.quietPeriodMs = quietPeriodMs;
+    this.archivesFolders = archivesFolders;
+    this.monitoredFolders = monitoredFolders;
+    this.scan = scan;
+  }
+
+  /**
+   * Starts watching the monitored folders.
+   */
+  synchronized void start() {
+    refreshWatchedFolders();
+
+    eventsThread = new Thread(this::processEvents, "Mule.app.deployer.events");
+    eventsThread.setDaemon(true);
+    eventsThread.start();
+
+    // Catches the changes done since the last scan and before the folders were watched
+    changed();
+  }
+
+  /**
+   * Stops watching the monitored folders, cancelling any pending scan.
+   */
+  synchronized void stop() {
+    if (pendingScan != null) {
+      pendingScan.cancel(false);
+      pendingScan = null;
+    }
+
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      LOGGER.debug("Error closing the deployment directories watch service", e);
+    }
+  }
+
+  private void processEvents() {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        // Overflows are handled as any other change, as the scan doesn't depend on the events received
+        key.pollEvents();
+        key.reset();
+        changed();
+      }
+    } catch (ClosedWatchServiceException e) {
+      // Stopped
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private synchronized void changed() {
+    archivesState = getArchivesState();
+    scheduleScan();
+  }
+
+  private synchronized void scheduleScan() {
+    if (pendingScan != null) {
+      pendingScan.cancel(false);
+    }
+    pendingScan = executor.schedule(this::scanIfStable, quietPeriodMs, MILLISECONDS);
+  }
+
+  private void scanIfStable() {
+    synchronized (this) {
+      Map<String, String> currentArchivesState = getArchivesState();
+      if (!currentArchivesState.equals(archivesState)) {
+        // An archive is still being copied
+        archivesState = currentArchivesState;
+        scheduleScan();
+        return;
+      }
+      pendingScan = null;
+    }
+
+    if (scan.getAsBoolean()) {
+      synchronized (this) {
+        refreshWatchedFolders();
+      }
+    } else {
+      synchronized (this) {
+        if (pendingScan == null) {
+          scheduleScan();
+        }
+      }
+    }
+  }
+
+  private Map<String, String> getArchivesState() {
+    Map<String, String> state = new HashMap<>();
+    for (File folder : archivesFolders) {
+      File[] files = folder.listFiles();
+      if (files == null) {
+        continue;
+      }
+      for (File file : files) {
+        if (file.isFile()) {
+          state.put(file.getAbsolutePath(), file.length() + ":" + file.lastModified());
+        }
+      }
+    }
+    return state;
+  }
+
+  private void refreshWatchedFolders() {
+    Collection<File> folders = monitoredFolders.get();
+
+    for (Iterator<Entry<File, WatchKey>> iterator = watchKeys.entrySet().iterator(); iterator.hasNext();) {
+      Entry<File, WatchKey> entry = iterator.next();
+      if (!folders.contains(entry.getKey()) || !entry.getValue().isValid()) {
+        entry.getValue().cancel();
+        iterator.remove();
+      }
+    }
+
+    for (File folder : folders) {
+      if (watchKeys.containsKey(folder) || !folder.isDirectory()) {
+        continue;
+      }
+
+      Path path = folder.toPath();
+      try {
+        watchKeys.put(folder, path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
+      } catch (ClosedWatchServiceException e) {
+        return;
+      } catch (IOException e) {
+        LOGGER.warn("Could not watch folder '{}' for changes", folder, e);
+      }
+    }
+  }
+}
@@ -13,8 +13,10 @@ import static org.mule.runtime.core.internal.util.splash.SplashScreen.miniSplash
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.ZIP_FILE_SUFFIX;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.util.Arrays.asList;
 import static java.util.Arrays.sort;
 import static java.util.Arrays.stream;
 import static java.util.Optional.empty;
@@ -46,12 +48,17 @@ import org.mule.runtime.module.deployment.internal.util.ObservableList;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.io.IOException;
+import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.locks.ReentrantLock;
@@ -71,22 +78,28 @@ import org.slf4j.LoggerFactory;
  * It will deploy the applications at the container startup process. It will periodically scan the artifact directories in order
  * to process new deployments, remove artifacts that were previously deployed but the anchor file was removed and redeploy those
  * applications which configuration has changed.
+ * <p/>
+ * When {@link #FILE_SYSTEM_EVENTS_PROPERTY} is set, the artifact directories are scanned when the file system notifies changes
+ * on them instead of periodically, falling back to the periodic scan if the file system doesn't support it.
  */
 public class DeploymentDirectoryWatcher implements Runnable {
 
   public static final String ARTIFACT_ANCHOR_SUFFIX = "-anchor.txt";
   public static final String CHANGE_CHECK_INTERVAL_PROPERTY = "mule.launcher.changeCheckInterval";
+  public static final String FILE_SYSTEM_EVENTS_PROPERTY = "mule.launcher.fileSystemEvents";
+  public static final String CHANGE_QUIET_PERIOD_PROPERTY = "mule.launcher.changeQuietPeriod";
   public static final IOFileFilter JAR_ARTIFACT_FILTER =
       new AndFileFilter(new SuffixFileFilter(JAR_FILE_SUFFIX, INSENSITIVE), FileFileFilter.FILE);
   public static final IOFileFilter ZIP_ARTIFACT_FILTER =
       new AndFileFilter(new SuffixFileFilter(ZIP_FILE_SUFFIX, INSENSITIVE), FileFileFilter.FILE);
 
   protected static final int DEFAULT_CHANGES_CHECK_INTERVAL_MS = 5000;
+  protected static final int DEFAULT_CHANGE_QUIET_PERIOD_MS = 1000;
 
   protected transient final Logger logger = LoggerFactory.getLogger(getClass());
 
   private final ReentrantLock deploymentLock;
-  private final ArchiveDeployer<DomainDescriptor, Domain> domainArchiveDeployer;
+  protected final ArchiveDeployer<DomainDescriptor, Domain> domainArchiveDeployer;
   protected final ArchiveDeployer<ApplicationDescriptor, Application> applicationArchiveDeployer;
   protected final Supplier<SchedulerService> schedulerServiceSupplier;
   private final ArtifactTimestampListener<Application> applicationTimestampListener;
@@ -97,6 +110,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
   private final File appsDir;
   private final File domainsDir;
   private ScheduledExecutorService artifactDirMonitorTimer;
+  private DeploymentDirectoryEventsMonitor eventsMonitor;
 
   protected volatile boolean dirty;
 
@@ -160,6 +174,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
 
         deployPackedDomains(packagedDomains);
         deployExplodedDomains(explodedDomains);
+        waitForDomainsToDeploy();
         String[] apps = appString.split(":");
         apps = removeDuplicateAppNames(apps);
 
@@ -181,6 +196,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
         log(miniSplash("Mule is up and running in a fixed app set mode"));
       }
     } finally {
+      waitForDeploymentsToFinish();
       if (deploymentLock.isHeldByCurrentThread()) {
         deploymentLock.unlock();
       }
@@ -225,16 +241,82 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
+  private static int getChangeQuietPeriodMs() {
+    try {
+      String value = getProperty(CHANGE_QUIET_PERIOD_PROPERTY);
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return DEFAULT_CHANGE_QUIET_PERIOD_MS;
+    }
+  }
+
   private void scheduleChangeMonitor() {
     final int reloadIntervalMs = getChangesCheckIntervalMs();
     // TODO MULE-12337 migrate this to an scheduler
     artifactDirMonitorTimer = newSingleThreadScheduledExecutor(new ArtifactDeployerMonitorThreadFactory());
 
+    if (getBoolean(FILE_SYSTEM_EVENTS_PROPERTY)) {
+      final int quietPeriodMs = getChangeQuietPeriodMs();
+      try {
+        eventsMonitor = new DeploymentDirectoryEventsMonitor(artifactDirMonitorTimer, quietPeriodMs, asList(appsDir, domainsDir),
+                                                             this::getMonitoredFolders, this::checkForChanges);
+        eventsMonitor.start();
+
+        log(miniSplash(format("Mule is up and kicking (on file system changes, after %dms without changes)", quietPeriodMs)));
+        return;
+      } catch (IOException | UnsupportedOperationException e) {
+        logger.warn("File system events are not supported, the deployment directories will be checked every {}ms",
+                    reloadIntervalMs, e);
+      }
+    }
+
     artifactDirMonitorTimer.scheduleWithFixedDelay(this, reloadIntervalMs, reloadIntervalMs, MILLISECONDS);
 
     log(miniSplash(format("Mule is up and kicking (every %dms)", reloadIntervalMs)));
   }
 
+  /**
+   * @return the folders where changes can trigger a deployment, undeployment or redeployment
+   */
+  private Collection<File> getMonitoredFolders() {
+    Set<File> folders = new HashSet<>();
+    folders.add(appsDir);
+    folders.add(domainsDir);
+    addResourceFolders(folders, applications);
+    addResourceFolders(folders, domains);
+    addZombieFolders(folders, applicationArchiveDeployer);
+    addZombieFolders(folders, domainArchiveDeployer);
+    return folders;
+  }
+
+  /**
+   * Artifacts that failed to deploy (zombies) are redeployed once their resources change, see
+   * {@link ArchiveDeployer#isUpdatedZombieArtifact(String)}, so their folders have to be watched as well.
+   */
+  private void addZombieFolders(Set<File> folders, ArchiveDeployer<?, ?> archiveDeployer) {
+    for (Entry<String, Map<URI, Long>> zombie : archiveDeployer.getArtifactsZombieMap().entrySet()) {
+      File explodedFolder = new File(archiveDeployer.getDeploymentDirectory(), zombie.getKey());
+      if (explodedFolder.isDirectory()) {
+        folders.add(explodedFolder);
+      }
+      for (URI resource : zombie.getValue().keySet()) {
+        File resourceFile = new File(resource);
+        folders.add(resourceFile.isDirectory() ? resourceFile : resourceFile.getParentFile());
+      }
+    }
+  }
+
+  private void addResourceFolders(Set<File> folders, Collection<? extends DeployableArtifact> artifacts) {
+    for (DeployableArtifact artifact : artifacts) {
+      for (File resourceFile : artifact.getResourceFiles()) {
+        folders.add(resourceFile.getParentFile());
+      }
+      File descriptorFile = new File(artifact.getDescriptor().getArtifactLocation(),
+                                     ArtifactDescriptor.MULE_ARTIFACT_JSON_DESCRIPTOR_LOCATION);
+      folders.add(descriptorFile.getParentFile());
+    }
+  }
+
   protected void deployPackedApps(String[] zips) {
     for (String zip : zips) {
       try {
@@ -266,6 +348,15 @@ public class DeploymentDirectoryWatcher implements Runnable {
   // deploy exploded apps
   @Override
   public void run() {
+    checkForChanges();
+  }
+
+  /**
+   * Runs a deployment cycle.
+   *
+   * @return {@code false} if the cycle was skipped because another deployment operation is in progress, {@code true} otherwise
+   */
+  private boolean checkForChanges() {
     try {
       if (logger.isDebugEnabled()) {
         logger.debug("Checking for changes...");
@@ -277,7 +368,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
           logger.debug("Another deployment operation in progress, will skip this cycle. Owner thread: "
               + ((DebuggableReentrantLock) deploymentLock).getOwner());
         }
-        return;
+        return false;
       }
 
       undeployRemovedApps();
@@ -319,11 +410,14 @@ public class DeploymentDirectoryWatcher implements Runnable {
       // Sorts apps to ensure they are always deployed in the same order
       sort(apps);
       deployExplodedApps(apps);
+      return true;
     } catch (Exception e) {
       // preserve the flag for the thread
       Thread.currentThread().interrupt();
+      return true;
     } finally {
       if (deploymentLock.isHeldByCurrentThread()) {
+        waitForDeploymentsToFinish();
         deploymentLock.unlock();
       }
       dirty = false;
@@ -415,7 +509,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
     return anchors;
   }
 
-  private void deployExplodedDomains(String[] domains) {
+  protected void deployExplodedDomains(String[] domains) {
     for (String addedDomain : domains) {
       try {
         if (domainArchiveDeployer.isUpdatedZombieArtifact(addedDomain)) {
@@ -427,7 +521,7 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
-  private void deployPackedDomains(String[] zips) {
+  protected void deployPackedDomains(String[] zips) {
     for (String zip : zips) {
       try {
         domainArchiveDeployer.deployPackagedArtifact(zip, empty());
@@ -437,6 +531,29 @@ public class DeploymentDirectoryWatcher implements Runnable {
     }
   }
 
+  /**
+   * Waits for the domains being deployed to be done, so that the applications depending on them can be deployed. Domains are
+   * deployed right away by this watcher, so there is nothing to wait for.
+   */
+  protected void waitForDomainsToDeploy() {
+    // Nothing to do
+  }
+
+  /**
+   * Waits for all the artifacts being deployed to be done. Called before releasing the deployment lock, even if the deployment
+   * cycle failed. Artifacts are deployed right away by this watcher, so there is nothing to wait for.
+   */
+  protected void waitForDeploymentsToFinish() {
+    // Nothing to do
+  }
+
+  /**
+   * @return the timeline of the last deployment cycle, if it is recorded
+   */
+  Optional<DeploymentTimeline> getDeploymentTimeline() {
+    return empty();
+  }
+
   private void deleteAllAnchors() {
     deleteAnchorsFromDirectory(domainsDir);
     deleteAnchorsFromDirectory(appsDir);
@@ -470,6 +587,10 @@ public class DeploymentDirectoryWatcher implements Runnable {
 
   private void redeployModifiedApplications() {
     Collection<String> redeployableApplications = getArtifactsToRedeploy(applications, applicationTimestampListener);
+    if (!redeployableApplications.isEmpty()) {
+      // A modified application may now depend on a domain that is still being deployed
+      waitForDomainsToDeploy();
+    }
     redeployModifiedArtifacts(redeployableApplications, applicationArchiveDeployer);
   }
 
@@ -496,6 +617,9 @@ public class DeploymentDirectoryWatcher implements Runnable {
   }
 
   private void stopAppDirMonitorTimer() {
+    if (eventsMonitor != null) {
+      eventsMonitor.stop();
+    }
     if (artifactDirMonitorTimer != null) {
       artifactDirMonitorTimer.shutdown();
       try {
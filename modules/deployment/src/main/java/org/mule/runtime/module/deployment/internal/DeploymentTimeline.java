@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.core.internal.util.splash.SimpleLoggingTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records when each artifact was deployed relative to the beginning of a deployment cycle, and in which thread.
+ *
+ * @since 4.5.0
+ */
+final class DeploymentTimeline {
+
+  private static final int ARTIFACT_NAME_LABEL_LENGTH = 45;
+  private static final int KIND_LABEL_LENGTH = 8;
+  private static final int TIME_LABEL_LENGTH = 10;
+  private static final int THREAD_LABEL_LENGTH = 30;
+
+  private final long cycleStart = nanoTime();
+  private final List<Entry> entries = new ArrayList<>();
+
+  /**
+   * Records the beginning of the deployment of an artifact.
+   *
+   * @param artifactName the name of the artifact
+   * @param domain       whether the artifact is a domain
+   * @return the start time, to be passed to {@link #end(String, long, boolean)}
+   */
+  long start(String artifactName, boolean domain) {
+    long start = nanoTime();
+    synchronized (entries) {
+      entries.add(new Entry(artifactName, domain, currentThread().getName(), NANOSECONDS.toMillis(start - cycleStart)));
+    }
+    return start;
+  }
+
+  /**
+   * Records the end of the deployment of an artifact.
+   *
+   * @param artifactName the name of the artifact
+   * @param start        the value returned by {@link #start(String, boolean)} for the artifact
+   * @param successful   whether the artifact was deployed successfully
+   */
+  void end(String artifactName, long start, boolean successful) {
+    long duration = NANOSECONDS.toMillis(nanoTime() - start);
+    synchronized (entries) {
+      for (Entry entry : entries) {
+        if (entry.artifactName.equals(artifactName) && entry.duration < 0) {
+          entry.duration = duration;
+          entry.successful = successful;
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the deployments recorded so far, sorted by start time
+   */
+  List<Entry> getEntries() {
+    List<Entry> sorted;
+    synchronized (entries) {
+      sorted = new ArrayList<>(entries);
+    }
+    sorted.sort(comparingLong(Entry::getOffset));
+    return unmodifiableList(sorted);
+  }
+
+  /**
+   * @return the time in milliseconds from the beginning of the cycle to the end of the last deployment
+   */
+  long getMakespan() {
+    return getEntries().stream().mapToLong(entry -> entry.offset + max(entry.duration, 0)).max().orElse(0);
+  }
+
+  @Override
+  public String toString() {
+    SimpleLoggingTable table = new SimpleLoggingTable();
+    table.addColumn("ARTIFACT", ARTIFACT_NAME_LABEL_LENGTH);
+    table.addColumn("KIND", KIND_LABEL_LENGTH);
+    table.addColumn("START (ms)", TIME_LABEL_LENGTH);
+    table.addColumn("TIME (ms)", TIME_LABEL_LENGTH);
+    table.addColumn("THREAD", THREAD_LABEL_LENGTH);
+
+    for (Entry entry : getEntries()) {
+      table.addDataRow(new String[] {entry.artifactName + (entry.successful ? "" : " (FAILED)"),
+          entry.domain ? "DOMAIN" : "APP", String.valueOf(entry.offset), String.valueOf(entry.duration), entry.thread});
+    }
+    return table.toString();
+  }
+
+  /**
+   * The deployment of a single artifact.
+   */
+  static final class Entry {
+
+    private final String artifactName;
+    private final boolean domain;
+    private final String thread;
+    private final long offset;
+    private volatile long duration = -1;
+    private volatile boolean successful;
+
+    private Entry(String artifactName, boolean domain, String thread, long offset) {
+      this.artifactName = artifactName;
+      this.domain = domain;
+      this.thread = thread;
+      this.offset = offset;
+    }
+
+    String getArtifactName() {
+      return artifactName;
+    }
+
+    boolean isDomain() {
+      return domain;
+    }
+
+    long getOffset() {
+      return offset;
+    }
+
+    long getDuration() {
+      return duration;
+    }
+
+    boolean isSuccessful() {
+      return successful;
+    }
+  }
+}
@@ -142,4 +142,9 @@ public class DomainArchiveDeployer implements ArchiveDeployer<DomainDescriptor,
     domainDeployer.doNotPersistArtifactStop(artifact);
   }
 
+  @Override
+  public Optional<DomainDescriptor> getExplodedArtifactDescriptor(String artifactName) {
+    return domainDeployer.getExplodedArtifactDescriptor(artifactName);
+  }
+
 }
@@ -157,7 +157,7 @@ public class MuleDeploymentService implements DeploymentService {
     addDomainDeploymentListener(deploymentStatusTracker.getDomainDeploymentStatusTracker());
 
     StartupSummaryDeploymentListener summaryDeploymentListener =
-        new StartupSummaryDeploymentListener(deploymentStatusTracker, this);
+        new StartupSummaryDeploymentListener(deploymentStatusTracker, this, deploymentDirectoryWatcher::getDeploymentTimeline);
     addStartupListener(summaryDeploymentListener);
 
     deploymentDirectoryWatcher.start();
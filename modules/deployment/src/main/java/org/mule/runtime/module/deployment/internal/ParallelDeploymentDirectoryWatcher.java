@@ -8,28 +8,64 @@
 package org.mule.runtime.module.deployment.internal;
 
 import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getExecutionFolder;
+import static org.mule.runtime.deployment.model.api.domain.DomainDescriptor.DEFAULT_DOMAIN_NAME;
+import static org.mule.runtime.module.deployment.impl.internal.domain.DefaultDomainManager.isCompatibleBundle;
+import static org.mule.runtime.module.deployment.internal.DefaultArchiveDeployer.JAR_FILE_SUFFIX;
 
-import static java.lang.Thread.currentThread;
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.Long.parseLong;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptyList;
 import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+import static org.apache.commons.lang3.StringUtils.removeEnd;
 
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.deployment.model.api.DeploymentException;
 import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.application.ApplicationDescriptor;
 import org.mule.runtime.deployment.model.api.domain.Domain;
 import org.mule.runtime.deployment.model.api.domain.DomainDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.deployment.internal.ArtifactDeploymentGraph.ArtifactDeployment;
+import org.mule.runtime.module.deployment.internal.ArtifactDeploymentGraph.Node;
 import org.mule.runtime.module.deployment.internal.util.ObservableList;
 
-import java.util.ArrayList;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 /**
  * Provides parallel deployment of Mule applications.
+ * <p>
+ * Domains and applications are deployed as a graph in which each application depends on its domain: domains are deployed in
+ * parallel and each application starts deploying as soon as its domain is deployed, without waiting for other domains or
+ * applications. Among the artifacts ready to be deployed, the ones that took longer to deploy the last time are deployed first.
+ * The amount of artifacts deployed at the same time is bound by the available processors and
+ * {@link #MAX_APPS_IN_PARALLEL_DEPLOYMENT}.
+ * <p>
+ * The domain of an exploded application is resolved from its descriptor, as done when the application is deployed. When it can't
+ * be resolved, as for packaged applications, the application waits for all the domains being deployed in the same cycle. The
+ * applications that aren't deployed through the graph, such as the modified ones being redeployed, wait for all the domains.
  *
  * @since 3.8.2
  */
@@ -37,7 +73,17 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
 
   public static final int MAX_APPS_IN_PARALLEL_DEPLOYMENT = 20;
 
+  private static final String DEPLOYMENT_TIMES_FILE = "deployment-times.properties";
+
+  // Keyed by the type and name of the artifact, as a domain and an application may have the same name
+  private final Map<String, Long> deploymentTimes = new ConcurrentHashMap<>();
+  // Bundle descriptors of the exploded domains scheduled in the current cycle
+  private final Map<String, BundleDescriptor> scheduledDomainBundles = new ConcurrentHashMap<>();
+  private final File deploymentTimesFile;
+
   private Scheduler threadPoolExecutor;
+  private ArtifactDeploymentGraph deploymentGraph;
+  private volatile DeploymentTimeline deploymentTimeline;
 
   public ParallelDeploymentDirectoryWatcher(DomainBundleArchiveDeployer domainBundleDeployer,
                                             ArchiveDeployer<DomainDescriptor, Domain> domainArchiveDeployer,
@@ -46,71 +92,210 @@ public class ParallelDeploymentDirectoryWatcher extends DeploymentDirectoryWatch
                                             Supplier<SchedulerService> schedulerServiceSupplier, ReentrantLock deploymentLock) {
     super(domainBundleDeployer, domainArchiveDeployer, applicationArchiveDeployer, domains, applications,
           schedulerServiceSupplier, deploymentLock);
+    this.deploymentTimesFile = new File(getExecutionFolder(), DEPLOYMENT_TIMES_FILE);
+    loadDeploymentTimes();
   }
 
   @Override
-  protected void deployPackedApps(String[] zips) {
-    if (zips.length == 0) {
-      return;
+  protected void deployPackedDomains(String[] zips) {
+    for (final String zip : zips) {
+      schedule(removeEnd(zip, JAR_FILE_SUFFIX), true, emptyList(),
+               () -> domainArchiveDeployer.deployPackagedArtifact(zip, empty()));
     }
+  }
 
-    List<Callable<Object>> tasks = new ArrayList<>(zips.length);
-    for (final String zip : zips) {
-      tasks.add(() -> {
+  @Override
+  protected void deployExplodedDomains(String[] domains) {
+    for (final String addedDomain : domains) {
+      if (isScheduled(addedDomain, true) || !domainArchiveDeployer.isUpdatedZombieArtifact(addedDomain)) {
+        continue;
+      }
+
+      resolveBundleDescriptor(addedDomain).ifPresent(bundle -> scheduledDomainBundles.put(addedDomain, bundle));
+      schedule(addedDomain, true, emptyList(), () -> {
         try {
-          applicationArchiveDeployer.deployPackagedArtifact(zip, empty());
-        } catch (Exception e) {
-          // Ignore and continue
+          domainArchiveDeployer.deployExplodedArtifact(addedDomain, empty());
+        } catch (DeploymentException e) {
+          logger.error("Error deploying domain '{}'", addedDomain, e);
+          throw e;
         }
-        return null;
       });
     }
-
-    waitForTasksToFinish(tasks);
   }
 
+  @Override
+  protected void deployPackedApps(String[] zips) {
+    for (final String zip : zips) {
+      // The domain of a packaged application is only known once it's exploded
+      schedule(removeEnd(zip, JAR_FILE_SUFFIX), false, getScheduledDomains(),
+               () -> applicationArchiveDeployer.deployPackagedArtifact(zip, empty()));
+    }
+  }
 
   @Override
   protected void deployExplodedApps(String[] apps) {
-    List<Callable<Object>> tasks = new ArrayList<>(apps.length);
-
     for (final String addedApp : apps) {
-      if (applicationArchiveDeployer.isUpdatedZombieArtifact(addedApp)) {
-        tasks.add(() -> {
-          try {
-            applicationArchiveDeployer.deployExplodedArtifact(addedApp, empty());
-          } catch (Exception e) {
-            // Ignore and continue
-          }
-          return null;
-        });
+      if (isScheduled(addedApp, false) || !applicationArchiveDeployer.isUpdatedZombieArtifact(addedApp)) {
+        continue;
       }
+
+      schedule(addedApp, false, getDomainDependencies(addedApp),
+               () -> applicationArchiveDeployer.deployExplodedArtifact(addedApp, empty()));
     }
+  }
 
-    if (!tasks.isEmpty()) {
-      waitForTasksToFinish(tasks);
+  private void schedule(String artifactName, boolean domain, Collection<Node> dependencies, ArtifactDeployment deployment) {
+    ArtifactDeploymentGraph graph;
+    synchronized (this) {
+      if (deploymentGraph == null) {
+        int parallelism = max(1, min(getRuntime().availableProcessors(), MAX_APPS_IN_PARALLEL_DEPLOYMENT));
+        threadPoolExecutor = schedulerServiceSupplier.get()
+            .ioScheduler(config().withName("parallelDeployment").withMaxConcurrentTasks(parallelism));
+        deploymentTimeline = new DeploymentTimeline();
+        deploymentGraph = new ArtifactDeploymentGraph(threadPoolExecutor, parallelism, deploymentTimeline);
+      }
+      graph = deploymentGraph;
     }
+
+    // Artifacts never deployed before go first, as there's no way to know how long they take
+    String deploymentTimeKey = (domain ? "domain." : "app.") + artifactName;
+    long expectedTime = deploymentTimes.getOrDefault(deploymentTimeKey, MAX_VALUE);
+    // Added without holding the lock of the watcher, as a deployment rejected by the executor is run by this thread
+    graph.add(artifactName, domain, expectedTime, dependencies, () -> {
+      long start = nanoTime();
+      deployment.deploy();
+      deploymentTimes.put(deploymentTimeKey, NANOSECONDS.toMillis(nanoTime() - start));
+    });
+  }
+
+  private synchronized boolean isScheduled(String artifactName, boolean domain) {
+    return deploymentGraph != null && deploymentGraph.contains(artifactName, domain);
   }
 
-  private void waitForTasksToFinish(List<Callable<Object>> tasks) {
-    this.threadPoolExecutor =
-        schedulerServiceSupplier.get()
-            .ioScheduler(config().withName("parallelDeployment").withMaxConcurrentTasks(MAX_APPS_IN_PARALLEL_DEPLOYMENT));
+  private synchronized List<Node> getScheduledDomains() {
+    return deploymentGraph == null ? emptyList() : deploymentGraph.getDomains();
+  }
+
+  private Collection<Node> getDomainDependencies(String appName) {
+    List<Node> scheduledDomains = getScheduledDomains();
+    if (scheduledDomains.isEmpty()) {
+      return scheduledDomains;
+    }
+
+    Optional<ApplicationDescriptor> descriptor;
     try {
-      final List<Future<Object>> futures = threadPoolExecutor.invokeAll(tasks);
+      descriptor = applicationArchiveDeployer.getExplodedArtifactDescriptor(appName);
+    } catch (RuntimeException e) {
+      logger.debug("Could not resolve the domain of application '{}' before deploying it", appName, e);
+      descriptor = empty();
+    }
 
-      for (Future<Object> future : futures) {
-        try {
-          future.get();
-        } catch (ExecutionException e) {
-          // Ignore and continue with the next one
-        }
-      }
+    if (!descriptor.isPresent()) {
+      return scheduledDomains;
+    }
+
+    final String configuredDomainName = descriptor.get().getDomainName();
+    final Optional<BundleDescriptor> domainBundle = descriptor.get().getDomainDescriptor();
+    return scheduledDomains.stream()
+        .filter(domain -> mayBeDomainOf(domain.getArtifactName(), configuredDomainName, domainBundle))
+        .collect(toList());
+  }
+
+  /**
+   * Follows the resolution done when deploying the application, in
+   * {@link org.mule.runtime.module.deployment.impl.internal.application.DefaultMuleApplication}.
+   */
+  private boolean mayBeDomainOf(String domainName, String configuredDomainName, Optional<BundleDescriptor> domainBundle) {
+    if (!domainBundle.isPresent()) {
+      return DEFAULT_DOMAIN_NAME.equals(domainName);
+    }
 
-    } catch (InterruptedException e) {
-      currentThread().interrupt();
+    if (configuredDomainName != null) {
+      return configuredDomainName.equals(domainName);
+    }
+
+    BundleDescriptor scheduledBundle = scheduledDomainBundles.get(domainName);
+    // The bundle of packaged domains is only known once they are exploded, so they have to be waited for
+    return scheduledBundle == null || isCompatibleBundle(scheduledBundle, domainBundle.get());
+  }
+
+  private Optional<BundleDescriptor> resolveBundleDescriptor(String domainName) {
+    try {
+      return domainArchiveDeployer.getExplodedArtifactDescriptor(domainName)
+          .map(DomainDescriptor::getBundleDescriptor);
+    } catch (RuntimeException e) {
+      logger.debug("Could not resolve the bundle descriptor of domain '{}' before deploying it", domainName, e);
+      return empty();
+    }
+  }
+
+  @Override
+  protected void waitForDomainsToDeploy() {
+    ArtifactDeploymentGraph graph;
+    synchronized (this) {
+      graph = deploymentGraph;
+    }
+    if (graph != null) {
+      graph.awaitDomains();
+    }
+  }
+
+  @Override
+  protected void waitForDeploymentsToFinish() {
+    ArtifactDeploymentGraph graph;
+    synchronized (this) {
+      graph = deploymentGraph;
+    }
+    if (graph == null) {
+      return;
+    }
+
+    try {
+      graph.awaitCompletion();
     } finally {
-      threadPoolExecutor.stop();
+      synchronized (this) {
+        deploymentGraph = null;
+        threadPoolExecutor.stop();
+        threadPoolExecutor = null;
+      }
+      scheduledDomainBundles.clear();
+      storeDeploymentTimes();
+      logger.info("Parallel deployment finished in {} ms", deploymentTimeline.getMakespan());
+    }
+  }
+
+  @Override
+  Optional<DeploymentTimeline> getDeploymentTimeline() {
+    return ofNullable(deploymentTimeline);
+  }
+
+  private void loadDeploymentTimes() {
+    if (!deploymentTimesFile.exists()) {
+      return;
+    }
+
+    Properties properties = new Properties();
+    try (InputStream input = new FileInputStream(deploymentTimesFile)) {
+      properties.load(input);
+      for (String artifactName : properties.stringPropertyNames()) {
+        deploymentTimes.put(artifactName, parseLong(properties.getProperty(artifactName)));
+      }
+    } catch (IOException | NumberFormatException e) {
+      logger.debug("Could not read the deployment times from '{}'", deploymentTimesFile, e);
+    }
+  }
+
+  private void storeDeploymentTimes() {
+    Properties properties = new Properties();
+    deploymentTimes.forEach((artifactName, time) -> properties.setProperty(artifactName, String.valueOf(time)));
+    if (!deploymentTimesFile.getParentFile().exists()) {
+      return;
+    }
+
+    try (OutputStream output = new FileOutputStream(deploymentTimesFile)) {
+      properties.store(output, "Time in milliseconds each artifact took to deploy, used to prioritize parallel deployments");
+    } catch (IOException e) {
+      logger.debug("Could not write the deployment times to '{}'", deploymentTimesFile, e);
     }
   }
 }
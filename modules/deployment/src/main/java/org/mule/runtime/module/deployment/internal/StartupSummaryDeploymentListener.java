@@ -18,6 +18,8 @@ import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,9 +44,24 @@ public class StartupSummaryDeploymentListener implements StartupListener {
 
   protected DeploymentStatusTracker tracker;
 
+  private final Supplier<Optional<DeploymentTimeline>> deploymentTimelineSupplier;
+
   public StartupSummaryDeploymentListener(DeploymentStatusTracker tracker, DeploymentService deploymentService) {
+    this(tracker, deploymentService, Optional::empty);
+  }
+
+  /**
+   * @param tracker                    the tracker of the deployment status of the artifacts
+   * @param deploymentService          the service that deployed the artifacts
+   * @param deploymentTimelineSupplier provides the timeline of the startup deployment, if it was recorded
+   *
+   * @since 4.5.0
+   */
+  StartupSummaryDeploymentListener(DeploymentStatusTracker tracker, DeploymentService deploymentService,
+                                   Supplier<Optional<DeploymentTimeline>> deploymentTimelineSupplier) {
     this.tracker = tracker;
     this.deploymentService = deploymentService;
+    this.deploymentTimelineSupplier = deploymentTimelineSupplier;
   }
 
   public void onAfterStartup() {
@@ -94,6 +111,12 @@ public class StartupSummaryDeploymentListener implements StartupListener {
       message = String.format("%n%s", domainTable);
     }
 
+    Optional<DeploymentTimeline> deploymentTimeline = deploymentTimelineSupplier.get();
+    if (deploymentTimeline.isPresent()) {
+      message = String.format("%s%nDeployment timeline (%d ms):%n%s", message, deploymentTimeline.get().getMakespan(),
+                              deploymentTimeline.get());
+    }
+
     log(message);
   }
 }
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal.processor;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.FORCE_PARSE_CONFIG_XMLS_ON_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.ast.internal.serialization.ArtifactAstSerializerFactory.JSON;
+import static org.mule.runtime.core.api.config.MuleManifest.getProductVersion;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.emptySet;
+import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.regex.Pattern.compile;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.ImportedResource;
+import org.mule.runtime.ast.api.serialization.ArtifactAstDeserializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializerProvider;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.ConfigurationException;
+import org.mule.runtime.core.api.extension.ExtensionManager;
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactConfigurationProcessor;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
+import org.mule.runtime.dsl.api.ConfigResource;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+
+/**
+ * Implementation of {@link ArtifactConfigurationProcessor} that keeps a snapshot of the {@link ArtifactAst} parsed from the XML
+ * configuration files of the artifact in its working directory, so that following deployments of the same artifact on the same
+ * runtime can load it instead of parsing and validating the XML files again.
+ * <p>
+ * Snapshots are keyed by a hash of the contents of the configuration files, the artifact and deployment properties, the system
+ * properties referenced by the configuration files, the version of the runtime and the names and versions of the extensions
+ * available to the artifact. Only the referenced system properties are part of the key, since the rest, i.e.: the ones set by
+ * the JVM, may change on every start. The files imported by the configuration files are only known once parsed, so the hashes of
+ * their contents and the values of the system properties they reference are kept along with the snapshot and checked before
+ * loading it. Any change in those makes the configuration files be parsed again and the snapshot be replaced.
+ * <p>
+ * Snapshots are only used when {@link #ENABLE_AST_SNAPSHOT_PROPERTY} is set, and never for artifacts defined through an
+ * {@code ArtifactDeclaration} or which parent artifact has components of its own, since those aren't part of the key.
+ *
+ * @since 4.5.0
+ */
+class AstSnapshotArtifactConfigurationProcessor extends AbstractAstConfigurationProcessor {
+
+  /**
+   * When set to {@code true}, the parsed {@link ArtifactAst} of the deployed artifacts is stored and reused.
+   */
+  public static final String ENABLE_AST_SNAPSHOT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "deployment.enableAstSnapshot";
+
+  static final String SNAPSHOT_FILE_PREFIX = "artifact-ast-";
+  static final String SNAPSHOT_FILE_SUFFIX = ".snapshot";
+  static final String IMPORTS_FILE_SUFFIX = ".imports";
+
+  // Property placeholders and the p() function of the expression language
+  private static final Pattern PROPERTY_REFERENCE_PATTERN =
+      compile("\\$\\{([^}]+)}|\\bp\\(\\s*['\"]([^'\"]+)['\"]\\s*\\)");
+  private static final String PROPERTY_ENTRY_PREFIX = "${";
+
+  private static final Logger LOGGER = getLogger(AstSnapshotArtifactConfigurationProcessor.class);
+
+  private final AstXmlParserArtifactConfigurationProcessor xmlParserProcessor;
+  private final ArtifactAstSerializer serializer = new ArtifactAstSerializerProvider().getSerializer(JSON, "1.0");
+  private final ArtifactAstDeserializer deserializer = new ArtifactAstSerializerProvider().getDeserializer();
+
+  AstSnapshotArtifactConfigurationProcessor(AstXmlParserArtifactConfigurationProcessor xmlParserProcessor) {
+    this.xmlParserProcessor = xmlParserProcessor;
+  }
+
+  @Override
+  protected ArtifactAst obtainArtifactAst(ArtifactContextConfiguration artifactContextConfiguration)
+      throws ConfigurationException {
+    MuleContext muleContext = artifactContextConfiguration.getMuleContext();
+    if (!isSnapshotApplicable(artifactContextConfiguration)) {
+      return xmlParserProcessor.obtainArtifactAst(artifactContextConfiguration);
+    }
+
+    final File snapshotFolder = new File(muleContext.getConfiguration().getWorkingDirectory());
+    final File snapshot;
+    try {
+      snapshot = new File(snapshotFolder,
+                          SNAPSHOT_FILE_PREFIX + snapshotKey(artifactContextConfiguration) + SNAPSHOT_FILE_SUFFIX);
+    } catch (IOException e) {
+      LOGGER.warn("Could not compute the AST snapshot key for artifact '{}': {}", muleContext.getConfiguration().getId(),
+                  e.toString());
+      return xmlParserProcessor.obtainArtifactAst(artifactContextConfiguration);
+    }
+
+    final File importsFile = new File(snapshotFolder, snapshot.getName() + IMPORTS_FILE_SUFFIX);
+    if (snapshot.isFile() && importsUpToDate(importsFile)) {
+      long startTime = nanoTime();
+      try (InputStream snapshotStream = new FileInputStream(snapshot)) {
+        ArtifactAst artifactAst = deserializer.deserialize(snapshotStream,
+                                                           name -> getExtensions(muleContext.getExtensionManager())
+                                                               .stream()
+                                                               .filter(x -> x.getName().equals(name))
+                                                               .findFirst()
+                                                               .orElse(null));
+        LOGGER.info("Loaded AST snapshot for artifact '{}' in {} ms", muleContext.getConfiguration().getId(),
+                    NANOSECONDS.toMillis(nanoTime() - startTime));
+        return artifactAst;
+      } catch (Exception e) {
+        LOGGER.warn("Could not load AST snapshot '{}', parsing the configuration files: {}", snapshot, e.toString());
+        snapshot.delete();
+      }
+    }
+
+    long startTime = nanoTime();
+    ArtifactAst artifactAst = xmlParserProcessor.obtainArtifactAst(artifactContextConfiguration);
+    LOGGER.info("Parsed the configuration files of artifact '{}' in {} ms", muleContext.getConfiguration().getId(),
+                NANOSECONDS.toMillis(nanoTime() - startTime));
+
+    writeSnapshot(artifactAst, snapshotFolder, snapshot, importsFile);
+    return artifactAst;
+  }
+
+  /**
+   * @param importsFile the file with the hashes of the files imported by the configuration files when the snapshot was taken
+   * @return whether all the imported files still have the same contents
+   */
+  private boolean importsUpToDate(File importsFile) {
+    if (!importsFile.isFile()) {
+      return false;
+    }
+
+    Properties imports = new Properties();
+    try (InputStream importsStream = new FileInputStream(importsFile)) {
+      imports.load(importsStream);
+      for (String entry : imports.stringPropertyNames()) {
+        if (entry.startsWith(PROPERTY_ENTRY_PREFIX)) {
+          String propertyName = entry.substring(PROPERTY_ENTRY_PREFIX.length());
+          if (!imports.getProperty(entry).equals(propertyEntryValue(propertyName))) {
+            LOGGER.info("System property '{}' changed since the AST snapshot was taken, parsing the configuration files",
+                        propertyName);
+            return false;
+          }
+        } else if (!imports.getProperty(entry).equals(resourceHash(entry))) {
+          LOGGER.info("Imported file '{}' changed since the AST snapshot was taken, parsing the configuration files", entry);
+          return false;
+        }
+      }
+      return true;
+    } catch (Exception e) {
+      LOGGER.warn("Could not check the files imported by the AST snapshot, parsing the configuration files: {}", e.toString());
+      return false;
+    }
+  }
+
+  private boolean isSnapshotApplicable(ArtifactContextConfiguration artifactContextConfiguration) {
+    return getBoolean(ENABLE_AST_SNAPSHOT_PROPERTY)
+        && !getBoolean(FORCE_PARSE_CONFIG_XMLS_ON_DEPLOYMENT_PROPERTY)
+        && artifactContextConfiguration.getArtifactDeclaration() == null
+        && artifactContextConfiguration.getMuleContext().getConfiguration().getWorkingDirectory() != null
+        && !artifactContextConfiguration.getParentArtifactContext()
+            .map(parent -> parent.getArtifactAst().topLevelComponentsStream().findAny().isPresent())
+            .orElse(false);
+  }
+
+  private void writeSnapshot(ArtifactAst artifactAst, File snapshotFolder, File snapshot, File importsFile) {
+    File[] staleSnapshots =
+        snapshotFolder.listFiles((dir, name) -> name.startsWith(SNAPSHOT_FILE_PREFIX)
+            && (name.endsWith(SNAPSHOT_FILE_SUFFIX) || name.endsWith(IMPORTS_FILE_SUFFIX)));
+    if (staleSnapshots != null) {
+      for (File staleSnapshot : staleSnapshots) {
+        staleSnapshot.delete();
+      }
+    }
+
+    try {
+      Properties imports = new Properties();
+      for (ImportedResource importedResource : artifactAst.getImportedResources()) {
+        if (importedResource.getResolutionFailure().isPresent()) {
+          // the deployment fails anyway, and what the snapshot depends on can't be known
+          return;
+        }
+        imports.setProperty(importedResource.getResourceLocation(), resourceHash(importedResource.getResourceLocation()));
+        for (String propertyName : referencedPropertyNames(importedResource.getResourceLocation())) {
+          imports.setProperty(PROPERTY_ENTRY_PREFIX + propertyName, propertyEntryValue(propertyName));
+        }
+      }
+
+      snapshotFolder.mkdirs();
+      // Written before the snapshot, so a snapshot is never found without it
+      try (OutputStream importsStream = new FileOutputStream(importsFile)) {
+        imports.store(importsStream, null);
+      }
+
+      File tempSnapshot = File.createTempFile(SNAPSHOT_FILE_PREFIX, ".tmp", snapshotFolder);
+      try (InputStream serialized = serializer.serialize(artifactAst)) {
+        copy(serialized, tempSnapshot.toPath(), REPLACE_EXISTING);
+        move(tempSnapshot.toPath(), snapshot.toPath(), ATOMIC_MOVE);
+      } finally {
+        tempSnapshot.delete();
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Could not write AST snapshot '{}': {}", snapshot, e.toString());
+    }
+  }
+
+  private String snapshotKey(ArtifactContextConfiguration artifactContextConfiguration) throws IOException {
+    MessageDigest digest = sha256();
+    update(digest, getProductVersion());
+    update(digest, artifactContextConfiguration.getArtifactType().name());
+    update(digest, Boolean.toString(artifactContextConfiguration.isDisableXmlValidations()));
+
+    getExtensions(artifactContextConfiguration.getMuleContext().getExtensionManager()).stream()
+        .sorted(comparing(ExtensionModel::getName))
+        .forEach(extension -> update(digest, extension.getName() + ":" + extension.getVersion()));
+
+    // Any of these may be used to resolve the property placeholders of the configuration files
+    update(digest, "artifactProperties");
+    updateProperties(digest, artifactContextConfiguration.getArtifactProperties());
+    update(digest, "deploymentProperties");
+    updateProperties(digest, artifactContextConfiguration.getMuleContext().getDeploymentProperties());
+
+    for (String config : artifactContextConfiguration.getConfigResources()) {
+      update(digest, config);
+      updateResource(digest, config);
+      update(digest, "systemProperties");
+      for (String propertyName : referencedPropertyNames(config)) {
+        update(digest, propertyName + "=" + getProperty(propertyName));
+      }
+    }
+
+    return toHex(digest.digest());
+  }
+
+  private static void updateProperties(MessageDigest digest, Map<String, String> properties) {
+    if (properties != null) {
+      new TreeMap<>(properties).forEach((key, value) -> update(digest, key + "=" + value));
+    }
+  }
+
+  private static void updateProperties(MessageDigest digest, Properties properties) {
+    if (properties != null) {
+      // stringPropertyNames takes a consistent copy of the names, even if the properties are being modified
+      for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+        update(digest, key + "=" + properties.getProperty(key));
+      }
+    }
+  }
+
+  /**
+   * @param location the location of a configuration file
+   * @return the names of the properties referenced by the configuration file, sorted
+   */
+  private static Set<String> referencedPropertyNames(String location) throws IOException {
+    Set<String> propertyNames = new TreeSet<>();
+    try (InputStream resourceStream = new ConfigResource(location).getUrl().openStream()) {
+      Matcher matcher = PROPERTY_REFERENCE_PATTERN.matcher(IOUtils.toString(resourceStream, UTF_8));
+      while (matcher.find()) {
+        propertyNames.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+      }
+    }
+    return propertyNames;
+  }
+
+  private static String propertyEntryValue(String propertyName) {
+    String value = getProperty(propertyName);
+    // distinguishes a missing property from one set to an empty value
+    return value == null ? "" : "=" + value;
+  }
+
+  private static String resourceHash(String location) throws IOException {
+    MessageDigest digest = sha256();
+    updateResource(digest, location);
+    return toHex(digest.digest());
+  }
+
+  private static void updateResource(MessageDigest digest, String location) throws IOException {
+    byte[] buffer = new byte[8192];
+    try (InputStream resourceStream = new ConfigResource(location).getUrl().openStream()) {
+      int read;
+      while ((read = resourceStream.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder();
+    for (byte b : bytes) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(String.valueOf(value).getBytes(UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // every JVM is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Set<ExtensionModel> getExtensions(ExtensionManager extensionManager) {
+    return extensionManager == null ? emptySet() : extensionManager.getExtensions();
+  }
+}
@@ -77,7 +77,8 @@ public class SerializedAstArtifactConfigurationProcessor extends AbstractAstConf
   }
 
   public static ArtifactConfigurationProcessor serializedAstWithFallbackArtifactConfigurationProcessor() {
+    AstXmlParserArtifactConfigurationProcessor xmlParserProcessor = new AstXmlParserArtifactConfigurationProcessor();
     return new FallbackArtifactConfigurationProcessor(new SerializedAstArtifactConfigurationProcessor(),
-                                                      new AstXmlParserArtifactConfigurationProcessor());
+                                                      new AstSnapshotArtifactConfigurationProcessor(xmlParserProcessor));
   }
 }
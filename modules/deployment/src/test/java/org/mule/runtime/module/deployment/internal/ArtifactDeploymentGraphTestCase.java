@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.module.deployment.internal.ArtifactDeploymentGraph.Node;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Test;
+
+@SmallTest
+public class ArtifactDeploymentGraphTestCase extends AbstractMuleTestCase {
+
+  private final ExecutorService executor = newFixedThreadPool(2);
+  private final DeploymentTimeline timeline = new DeploymentTimeline();
+  private final List<String> deployed = new ArrayList<>();
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void longestFirst() {
+    ArtifactDeploymentGraph graph = new ArtifactDeploymentGraph(executor, 1, timeline);
+    CountDownLatch gate = new CountDownLatch(1);
+
+    graph.add("gate", false, 0, emptyList(), () -> gate.await(5, SECONDS));
+    graph.add("fast", false, 10, emptyList(), () -> record("fast"));
+    graph.add("slow", false, 100, emptyList(), () -> record("slow"));
+    graph.add("medium", false, 50, emptyList(), () -> record("medium"));
+    gate.countDown();
+    graph.awaitCompletion();
+
+    assertThat(deployed, contains("slow", "medium", "fast"));
+  }
+
+  @Test
+  public void appWaitsForItsDomainOnly() throws InterruptedException {
+    ArtifactDeploymentGraph graph = new ArtifactDeploymentGraph(executor, 2, timeline);
+    CountDownLatch slowDomainGate = new CountDownLatch(1);
+
+    Node slowDomain = graph.add("slowDomain", true, 100, emptyList(), () -> {
+      slowDomainGate.await(5, SECONDS);
+      record("slowDomain");
+    });
+    Node fastDomain = graph.add("fastDomain", true, 10, emptyList(), () -> record("fastDomain"));
+    graph.add("slowDomainApp", false, 0, singletonList(slowDomain), () -> record("slowDomainApp"));
+    CountDownLatch fastDomainAppDeployed = new CountDownLatch(1);
+    graph.add("fastDomainApp", false, 0, singletonList(fastDomain), () -> {
+      record("fastDomainApp");
+      fastDomainAppDeployed.countDown();
+    });
+
+    assertThat(fastDomainAppDeployed.await(5, SECONDS), is(true));
+    slowDomainGate.countDown();
+    graph.awaitCompletion();
+
+    assertThat(deployed, contains("fastDomain", "fastDomainApp", "slowDomain", "slowDomainApp"));
+  }
+
+  @Test
+  public void failedDependencyDoesNotBlockDependants() {
+    ArtifactDeploymentGraph graph = new ArtifactDeploymentGraph(executor, 2, timeline);
+
+    Node domain = graph.add("domain", true, 0, emptyList(), () -> {
+      throw new IllegalStateException("Expected");
+    });
+    graph.add("app", false, 0, singletonList(domain), () -> record("app"));
+    graph.awaitCompletion();
+
+    assertThat(deployed, contains("app"));
+    assertThat(timeline.getEntries(), hasSize(2));
+    assertThat(timeline.getEntries().get(0).isSuccessful(), is(false));
+    assertThat(timeline.getEntries().get(1).isSuccessful(), is(true));
+  }
+
+  @Test
+  public void awaitDomainsDoesNotWaitForApps() {
+    ArtifactDeploymentGraph graph = new ArtifactDeploymentGraph(executor, 2, timeline);
+    CountDownLatch appGate = new CountDownLatch(1);
+
+    Node domain = graph.add("domain", true, 0, emptyList(), () -> record("domain"));
+    graph.add("app", false, 0, singletonList(domain), () -> {
+      appGate.await(5, SECONDS);
+      record("app");
+    });
+    graph.awaitDomains();
+
+    assertThat(deployed, contains("domain"));
+    appGate.countDown();
+    graph.awaitCompletion();
+    assertThat(deployed, contains("domain", "app"));
+  }
+
+  @Test
+  public void rejectedDeploymentRunWithoutHoldingTheGraph() {
+    ArtifactDeploymentGraph graph = new ArtifactDeploymentGraph(command -> {
+      throw new RejectedExecutionException("Expected");
+    }, 2, timeline);
+
+    Node domain = graph.add("domain", true, 0, emptyList(), () -> record("domain"));
+    graph.add("app", false, 0, singletonList(domain), () -> {
+      // Would deadlock if the graph was held by the deploying thread
+      executor.submit(() -> graph.contains("app", false)).get(5, SECONDS);
+      record("app");
+    });
+    graph.awaitCompletion();
+
+    assertThat(deployed, contains("domain", "app"));
+  }
+
+  @Test
+  public void domainAndAppWithSameNameToldApart() {
+    ArtifactDeploymentGraph graph = new ArtifactDeploymentGraph(executor, 2, timeline);
+
+    graph.add("name", true, 0, emptyList(), () -> record("name"));
+    graph.awaitCompletion();
+
+    assertThat(graph.contains("name", true), is(true));
+    assertThat(graph.contains("name", false), is(false));
+  }
+
+  private void record(String artifactName) {
+    synchronized (deployed) {
+      deployed.add(artifactName);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class DeploymentDirectoryEventsMonitorTestCase extends AbstractMuleTestCase {
+
+  private static final int QUIET_PERIOD_MS = 100;
+  private static final int PROBER_TIMEOUT = 10000;
+  private static final int PROBER_INTERVAL = 50;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ScheduledExecutorService executor = newSingleThreadScheduledExecutor();
+  private final AtomicInteger scans = new AtomicInteger();
+  private final AtomicBoolean scanAllowed = new AtomicBoolean(true);
+
+  private File appsFolder;
+  private Collection<File> monitoredFolders;
+  private DeploymentDirectoryEventsMonitor monitor;
+
+  @Before
+  public void before() throws Exception {
+    appsFolder = temporaryFolder.newFolder("apps");
+    monitoredFolders = new CopyOnWriteArrayList<>(singletonList(appsFolder));
+    monitor = new DeploymentDirectoryEventsMonitor(executor, QUIET_PERIOD_MS, singletonList(appsFolder),
+                                                   () -> monitoredFolders, () -> {
+                                                     if (!scanAllowed.get()) {
+                                                       return false;
+                                                     }
+                                                     scans.incrementAndGet();
+                                                     return true;
+                                                   });
+  }
+
+  @After
+  public void after() {
+    monitor.stop();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void scansOnStart() {
+    monitor.start();
+
+    assertScans(1);
+  }
+
+  @Test
+  public void scansWhenArtifactIsAdded() throws Exception {
+    monitor.start();
+    assertScans(1);
+
+    writeStringToFile(new File(appsFolder, "app.jar"), "content");
+
+    assertScans(2);
+  }
+
+  @Test
+  public void retriesSkippedScan() throws Exception {
+    scanAllowed.set(false);
+    monitor.start();
+
+    Thread.sleep(QUIET_PERIOD_MS * 3);
+    assertThat(scans.get(), is(0));
+
+    scanAllowed.set(true);
+    assertScans(1);
+  }
+
+  @Test
+  public void scansWhenFolderAddedAfterScanChanges() throws Exception {
+    monitor.start();
+    assertScans(1);
+
+    // i.e.: the folder of an artifact that failed to deploy in the last scan
+    File zombieFolder = new File(appsFolder, "zombie");
+    zombieFolder.mkdir();
+    monitoredFolders.add(zombieFolder);
+    assertScans(2);
+
+    Thread.sleep(QUIET_PERIOD_MS * 3);
+    int scansBeforeChange = scans.get();
+    writeStringToFile(new File(zombieFolder, "mule-config.xml"), "updated");
+
+    assertScans(scansBeforeChange + 1);
+  }
+
+  private void assertScans(int expectedScans) {
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> {
+      assertThat(scans.get(), greaterThanOrEqualTo(expectedScans));
+      return true;
+    }));
+  }
+}
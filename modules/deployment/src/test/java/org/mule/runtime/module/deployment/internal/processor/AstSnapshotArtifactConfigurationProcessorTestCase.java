@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.deployment.internal.processor;
+
+import static org.mule.runtime.config.internal.context.BaseSpringMuleContextServiceConfigurator.DISABLE_TRANSFORMERS_SUPPORT;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
+import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
+import static org.mule.runtime.module.deployment.internal.processor.AstSnapshotArtifactConfigurationProcessor.ENABLE_AST_SNAPSHOT_PROPERTY;
+import static org.mule.runtime.module.deployment.internal.processor.AstSnapshotArtifactConfigurationProcessor.SNAPSHOT_FILE_PREFIX;
+import static org.mule.runtime.module.deployment.internal.processor.AstSnapshotArtifactConfigurationProcessor.SNAPSHOT_FILE_SUFFIX;
+import static org.mule.tck.util.MuleContextUtils.mockContextWithServices;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.apache.commons.io.FileUtils.copyURLToFile;
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AstSnapshotArtifactConfigurationProcessorTestCase extends AbstractMuleTestCase {
+
+  private static final String CONFIG = "simple.xml";
+  private static final String IMPORTING_CONFIG = "importing.xml";
+  private static final String IMPORTED_CONFIG = "imported.xml";
+  private static final String PROPERTY_CONFIG = "property.xml";
+  private static final String SNAPSHOT_KEY_PROPERTY = "astSnapshotTestCase.property";
+  private static final String PROPERTY_FLOW =
+      "<flow name=\"propertyService\"><logger message=\"${" + SNAPSHOT_KEY_PROPERTY + "}\"/></flow>";
+
+  @Rule
+  public TemporaryFolder configFolder = new TemporaryFolder();
+
+  @Rule
+  public TemporaryFolder workingFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty disableExpressionsSupport = new SystemProperty(DISABLE_TRANSFORMERS_SUPPORT, "true");
+
+  @Rule
+  public SystemProperty enableAstSnapshot = new SystemProperty(ENABLE_AST_SNAPSHOT_PROPERTY, "true");
+
+  private AstSnapshotArtifactConfigurationProcessor processor;
+  private MuleContextWithRegistry muleContext;
+
+  @Before
+  public void setUp() throws Exception {
+    muleContext = mockContextWithServices();
+    when(muleContext.getConfiguration().getWorkingDirectory()).thenReturn(workingFolder.getRoot().getAbsolutePath());
+    processor = new AstSnapshotArtifactConfigurationProcessor(new AstXmlParserArtifactConfigurationProcessor());
+
+    copyURLToFile(Thread.currentThread().getContextClassLoader().getResource(CONFIG), new File(configFolder.getRoot(), CONFIG));
+  }
+
+  @Test
+  public void snapshotWrittenOnFirstParse() throws Exception {
+    ArtifactAst artifactAst = obtainArtifactAst();
+
+    assertThat(snapshots(), arrayWithSize(1));
+    assertThat(artifactAst.topLevelComponents().get(0).getComponentId().get(), is("service"));
+  }
+
+  @Test
+  public void snapshotReused() throws Exception {
+    obtainArtifactAst();
+    File snapshot = snapshots()[0];
+    String snapshotContent = readFileToString(snapshot, UTF_8);
+    snapshot.setLastModified(0);
+
+    ArtifactAst artifactAst = obtainArtifactAst();
+
+    assertThat(snapshots(), arrayWithSize(1));
+    assertThat(snapshot.lastModified(), is(0L));
+    assertThat(readFileToString(snapshot, UTF_8), is(snapshotContent));
+    assertThat(artifactAst.topLevelComponents().get(0).getComponentId().get(), is("service"));
+  }
+
+  @Test
+  public void changedConfigReplacesSnapshot() throws Exception {
+    obtainArtifactAst();
+    File snapshot = snapshots()[0];
+
+    File config = new File(configFolder.getRoot(), CONFIG);
+    writeStringToFile(config, readFileToString(config, UTF_8).replace("\"service\"", "\"otherService\""), UTF_8);
+    ArtifactAst artifactAst = obtainArtifactAst();
+
+    assertThat(snapshots(), arrayWithSize(1));
+    assertThat(snapshots()[0].getName(), not(is(snapshot.getName())));
+    assertThat(artifactAst.topLevelComponents().get(0).getComponentId().get(), is("otherService"));
+  }
+
+  @Test
+  public void changedImportedConfigReplacesSnapshot() throws Exception {
+    writeStringToFile(new File(configFolder.getRoot(), IMPORTING_CONFIG),
+                      muleConfig("<import file=\"" + IMPORTED_CONFIG + "\"/>"), UTF_8);
+    File importedConfig = new File(configFolder.getRoot(), IMPORTED_CONFIG);
+    writeStringToFile(importedConfig, muleConfig("<flow name=\"importedService\"><logger/></flow>"), UTF_8);
+    obtainArtifactAst(IMPORTING_CONFIG);
+    File snapshot = snapshots()[0];
+    snapshot.setLastModified(0);
+
+    writeStringToFile(importedConfig, muleConfig("<flow name=\"otherImportedService\"><logger/></flow>"), UTF_8);
+    ArtifactAst artifactAst = obtainArtifactAst(IMPORTING_CONFIG);
+
+    assertThat(snapshots(), arrayWithSize(1));
+    assertThat(snapshot.lastModified(), not(is(0L)));
+    assertThat(artifactAst.topLevelComponents().get(0).getComponentId().get(), is("otherImportedService"));
+  }
+
+  @Test
+  public void changedReferencedSystemPropertyReplacesSnapshot() throws Exception {
+    writeStringToFile(new File(configFolder.getRoot(), PROPERTY_CONFIG), muleConfig(PROPERTY_FLOW), UTF_8);
+    System.setProperty(SNAPSHOT_KEY_PROPERTY, "value");
+    try {
+      obtainArtifactAst(PROPERTY_CONFIG);
+      File snapshot = snapshots()[0];
+
+      System.setProperty(SNAPSHOT_KEY_PROPERTY, "otherValue");
+      obtainArtifactAst(PROPERTY_CONFIG);
+
+      assertThat(snapshots(), arrayWithSize(1));
+      assertThat(snapshots()[0].getName(), not(is(snapshot.getName())));
+    } finally {
+      System.clearProperty(SNAPSHOT_KEY_PROPERTY);
+    }
+  }
+
+  @Test
+  public void changedUnreferencedSystemPropertyKeepsSnapshot() throws Exception {
+    System.setProperty(SNAPSHOT_KEY_PROPERTY, "value");
+    try {
+      obtainArtifactAst();
+      File snapshot = snapshots()[0];
+      snapshot.setLastModified(0);
+
+      System.setProperty(SNAPSHOT_KEY_PROPERTY, "otherValue");
+      obtainArtifactAst();
+
+      assertThat(snapshots(), arrayWithSize(1));
+      assertThat(snapshots()[0].getName(), is(snapshot.getName()));
+      assertThat(snapshot.lastModified(), is(0L));
+    } finally {
+      System.clearProperty(SNAPSHOT_KEY_PROPERTY);
+    }
+  }
+
+  @Test
+  public void changedSystemPropertyReferencedByImportedConfigReplacesSnapshot() throws Exception {
+    writeStringToFile(new File(configFolder.getRoot(), IMPORTING_CONFIG),
+                      muleConfig("<import file=\"" + IMPORTED_CONFIG + "\"/>"), UTF_8);
+    writeStringToFile(new File(configFolder.getRoot(), IMPORTED_CONFIG), muleConfig(PROPERTY_FLOW), UTF_8);
+    System.setProperty(SNAPSHOT_KEY_PROPERTY, "value");
+    try {
+      obtainArtifactAst(IMPORTING_CONFIG);
+      File snapshot = snapshots()[0];
+      snapshot.setLastModified(0);
+
+      System.setProperty(SNAPSHOT_KEY_PROPERTY, "otherValue");
+      obtainArtifactAst(IMPORTING_CONFIG);
+
+      assertThat(snapshots(), arrayWithSize(1));
+      assertThat(snapshot.lastModified(), not(is(0L)));
+    } finally {
+      System.clearProperty(SNAPSHOT_KEY_PROPERTY);
+    }
+  }
+
+  @Test
+  public void corruptedSnapshotDiscarded() throws Exception {
+    obtainArtifactAst();
+    File snapshot = snapshots()[0];
+    writeStringToFile(snapshot, "corrupted", UTF_8);
+
+    ArtifactAst artifactAst = obtainArtifactAst();
+
+    assertThat(artifactAst.topLevelComponents().get(0).getComponentId().get(), is("service"));
+    assertThat(readFileToString(snapshot, UTF_8), not(is("corrupted")));
+  }
+
+  @Test
+  public void snapshotNotWrittenWhenDisabled() throws Exception {
+    System.clearProperty(ENABLE_AST_SNAPSHOT_PROPERTY);
+
+    obtainArtifactAst();
+
+    assertThat(snapshots(), arrayWithSize(0));
+  }
+
+  private ArtifactAst obtainArtifactAst() throws Exception {
+    return obtainArtifactAst(CONFIG);
+  }
+
+  private ArtifactAst obtainArtifactAst(String config) throws Exception {
+    return withContextClassLoader(new URLClassLoader(new URL[] {configFolder.getRoot().toURI().toURL()}, null),
+                                  () -> processor.obtainArtifactAst(ArtifactContextConfiguration.builder()
+                                      .setConfigResources(new String[] {config})
+                                      .setArtifactType(APP)
+                                      .setMuleContext(muleContext)
+                                      .setEnableLazyInitialization(false)
+                                      .setDisableXmlValidations(false)
+                                      .build()));
+  }
+
+  private File[] snapshots() {
+    return workingFolder.getRoot()
+        .listFiles((dir, name) -> name.startsWith(SNAPSHOT_FILE_PREFIX) && name.endsWith(SNAPSHOT_FILE_SUFFIX));
+  }
+
+  private static String muleConfig(String content) {
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<mule xmlns=\"http://www.mulesoft.org/schema/mule/core\"\n"
+        + "      xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+        + "      xsi:schemaLocation=\"http://www.mulesoft.org/schema/mule/core "
+        + "http://www.mulesoft.org/schema/mule/core/current/mule.xsd\">\n"
+        + content + "\n"
+        + "</mule>\n";
+  }
+}
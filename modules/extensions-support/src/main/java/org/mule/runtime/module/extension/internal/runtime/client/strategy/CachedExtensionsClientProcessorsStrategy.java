@@ -6,23 +6,20 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.client.strategy;
 
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
-import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
-import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
-import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 
 import org.mule.runtime.api.artifact.Registry;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
-import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.extension.ExtensionManager;
 import org.mule.runtime.core.internal.policy.PolicyManager;
 import org.mule.runtime.extension.api.client.OperationParameters;
+import org.mule.runtime.extension.internal.client.ComplexParameter;
 import org.mule.runtime.module.extension.internal.runtime.operation.OperationMessageProcessor;
-import org.mule.runtime.module.extension.internal.runtime.resolver.ExpressionValueResolver;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolver;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvingContext;
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
@@ -31,6 +28,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
 import com.github.benmanes.caffeine.cache.Cache;
@@ -38,6 +36,10 @@ import com.github.benmanes.caffeine.cache.Cache;
 /**
  * {@link ExtensionsClientProcessorsStrategy} that reuses instances of {@link OperationMessageProcessor} for executions when
  * possible.
+ * <p>
+ * The parameters of each execution are passed to the cached processor as variables of the child event. The processor reads them
+ * through {@link EventVariableValueResolver}s, and parameters with literal values are set as variables as they are, so no
+ * expression needs to be evaluated unless a parameter value is itself an expression.
  *
  * @since 4.1.6
  */
@@ -65,18 +67,8 @@ public class CachedExtensionsClientProcessorsStrategy extends AbstractExtensions
                                                                 OperationParameters parameters) {
     String key = buildKey(extensionName, operationName, parameters);
     return operationMessageProcessorCache.get(key, (cacheKey) -> {
-      Map<String, ValueResolver> params = parameters.get().entrySet().stream()
-          .collect(toMap(e -> e.getKey(), e -> {
-            ExpressionValueResolver resolver =
-                new ExpressionValueResolver(DEFAULT_EXPRESSION_PREFIX + "vars.'" + INTERNAL_VARIABLE_PREFIX + e.getKey() + "'"
-                    + DEFAULT_EXPRESSION_POSTFIX);
-            try {
-              initialiseIfNeeded(resolver, true, muleContext);
-            } catch (InitialisationException ex) {
-              throw new MuleRuntimeException(ex);
-            }
-            return resolver;
-          }));
+      Map<String, ValueResolver> params = parameters.get().keySet().stream()
+          .collect(toMap(name -> name, name -> new EventVariableValueResolver<>(INTERNAL_VARIABLE_PREFIX + name)));
       return createProcessor(extensionName, operationName, parameters.getConfigName(), params);
     });
   }
@@ -99,19 +91,27 @@ public class CachedExtensionsClientProcessorsStrategy extends AbstractExtensions
 
   private CoreEvent buildChildEvent(CoreEvent event, OperationParameters parameters) {
     CoreEvent.Builder childEventBuilder = CoreEvent.builder(event);
-    Map<String, ValueResolver> operationParameters = resolveParameters(parameters.get(), event);
-    for (String key : operationParameters.keySet()) {
-      ValueResolver valueResolver = operationParameters.get(key);
-      try {
-        Object value = valueResolver.resolve(ValueResolvingContext.builder(event).build());
-        childEventBuilder.addVariable(INTERNAL_VARIABLE_PREFIX + key, value, DataType.fromObject(value));
-      } catch (MuleException e) {
-        throw new MuleRuntimeException(e);
-      }
+    for (Entry<String, Object> parameter : parameters.get().entrySet()) {
+      Object value = resolveParameterValue(parameter.getKey(), parameter.getValue(), event);
+      childEventBuilder.addVariable(INTERNAL_VARIABLE_PREFIX + parameter.getKey(), value, DataType.fromObject(value));
     }
     return childEventBuilder.build();
   }
 
+  private Object resolveParameterValue(String name, Object value, CoreEvent event) {
+    if (!(value instanceof ComplexParameter) && !(value instanceof String && parser.isContainsTemplate((String) value))) {
+      // literal values need no resolution, avoid creating and initialising a resolver for them
+      return value;
+    }
+
+    ValueResolver valueResolver = resolveParameters(singletonMap(name, value), event).get(name);
+    try {
+      return valueResolver.resolve(ValueResolvingContext.builder(event).build());
+    } catch (MuleException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
   private String buildKey(String extension, String operation, OperationParameters parameters) {
     char separator = '&';
     StringBuilder keyBuilder = new StringBuilder(256);
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.client.strategy;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolver;
+import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvingContext;
+
+/**
+ * {@link ValueResolver} which resolves to the value of a variable of the event being processed.
+ * <p>
+ * This is equivalent to an {@code #[vars.'variableName']} expression, but it reads the variable directly from the event instead
+ * of going through the expression language, which matters when it's evaluated for each parameter of each operation executed
+ * through the {@link org.mule.runtime.extension.api.client.ExtensionsClient}.
+ *
+ * @since 4.5.0
+ */
+final class EventVariableValueResolver<T> implements ValueResolver<T> {
+
+  private final String variableName;
+
+  /**
+   * Creates a new instance
+   *
+   * @param variableName the name of the variable to resolve
+   */
+  EventVariableValueResolver(String variableName) {
+    this.variableName = variableName;
+  }
+
+  @Override
+  public T resolve(ValueResolvingContext context) throws MuleException {
+    TypedValue<?> variable = context.getEvent().getVariables().get(variableName);
+    if (variable == null) {
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    T value = (T) variable.getValue();
+    return value;
+  }
+
+  @Override
+  public boolean isDynamic() {
+    return true;
+  }
+
+  @Override
+  public boolean isContent() {
+    return false;
+  }
+}
@@ -15,12 +15,14 @@ import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.meta.model.ComponentModel;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
 import org.mule.runtime.api.tx.TransactionException;
+import org.mule.runtime.core.internal.connection.ConnectionCircuitOpenException;
 import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 import org.mule.runtime.extension.api.runtime.operation.Interceptor;
 import org.mule.runtime.extension.internal.property.PagedOperationModelProperty;
 import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
 import org.mule.runtime.module.extension.internal.ExtensionProperties;
 
+import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
@@ -64,11 +66,21 @@ public final class ConnectionInterceptor implements Interceptor<ComponentModel>
     }
   }
 
+  @Override
+  public void onSuccess(ExecutionContext<ComponentModel> executionContext, Object result) {
+    connectionSupplier.onOperationSuccess(executionContext);
+  }
+
   @Override
   public Throwable onError(ExecutionContext<ComponentModel> executionContext, Throwable exception) {
-    if (extractConnectionException(exception).isPresent()) {
+    Optional<ConnectionException> connectionException = extractConnectionException(exception);
+    if (connectionException.isPresent()) {
+      if (!(connectionException.get() instanceof ConnectionCircuitOpenException)) {
+        connectionSupplier.onConnectionFailure(executionContext);
+      }
       setCloseCommand(executionContext, () -> withConnection(executionContext, ConnectionHandler::invalidate));
     } else {
+      connectionSupplier.onOperationFailure(executionContext);
       setCloseCommand(executionContext, () -> release(executionContext));
     }
 
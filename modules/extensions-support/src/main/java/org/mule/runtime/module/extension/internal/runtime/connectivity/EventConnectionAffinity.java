@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.connectivity;
+
+import static org.mule.runtime.core.api.util.StreamingUtils.supportsStreaming;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.api.meta.model.ComponentModel;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.internal.property.PagedOperationModelProperty;
+import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
+import org.mule.runtime.module.extension.internal.runtime.transaction.TransactionBindingDelegate.ConnectionSupplier;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps the connection obtained by an operation bound to the {@link EventContext} of the event that executed it, so that the
+ * following operations on that same event which use the same config reuse it instead of borrowing and returning a connection
+ * each time. Configs are compared by {@link ConfigurationInstance} identity rather than by name, since the instances of a dynamic
+ * config share its name but may connect with different credentials.
+ * <p>
+ * Only one connection is bound per {@link EventContext} at a time. The bound connection is released when the
+ * {@link EventContext} completes or when an operation of another config is executed for the same event, whatever happens first.
+ * It is discarded right away if it gets invalidated. A single completion callback is registered per {@link EventContext}, no
+ * matter how many times its connection is rebound.
+ * <p>
+ * Streaming and paged operations never take part in the affinity, since their connection lifecycle is bound to the produced
+ * stream or pages rather than to the operation execution.
+ *
+ * @since 4.5.0
+ */
+final class EventConnectionAffinity {
+
+  private static final Logger LOGGER = getLogger(EventConnectionAffinity.class);
+
+  private final Set<String> configNames;
+  private final Map<String, EventBinding> bindings = new ConcurrentHashMap<>();
+
+  /**
+   * @param configNames the names of the configs for which connection affinity is enabled
+   */
+  EventConnectionAffinity(Set<String> configNames) {
+    this.configNames = configNames;
+  }
+
+  /**
+   * @param executionContext the context of the operation about to obtain a connection
+   * @return whether the connection for the given {@code executionContext} has to be bound to its event
+   */
+  boolean appliesTo(ExecutionContextAdapter<? extends ComponentModel> executionContext) {
+    if (configNames.isEmpty()) {
+      return false;
+    }
+
+    ComponentModel componentModel = executionContext.getComponentModel();
+    return executionContext.getEvent() != null
+        && executionContext.getConfiguration().map(config -> configNames.contains(config.getName())).orElse(false)
+        && !supportsStreaming(componentModel)
+        && !componentModel.getModelProperty(PagedOperationModelProperty.class).isPresent();
+  }
+
+  /**
+   * Returns the connection bound to the event of the given {@code executionContext}, binding a new one obtained from the
+   * {@code connectionSupplier} if there's none bound yet.
+   *
+   * @param executionContext   the context of the operation that needs the connection
+   * @param connectionSupplier the supplier of the actual connections
+   * @return a {@link ConnectionHandler} which {@link ConnectionHandler#release()} is deferred until the event completes
+   * @throws ConnectionException if a new connection had to be obtained and it failed
+   */
+  <T> ConnectionHandler<T> getConnection(ExecutionContextAdapter<? extends ComponentModel> executionContext,
+                                         ConnectionSupplier<ConnectionHandler<T>> connectionSupplier)
+      throws ConnectionException {
+    final ConfigurationInstance config = executionContext.getConfiguration().get();
+    final EventBinding binding = getOrCreateBinding((BaseEventContext) executionContext.getEvent().getContext());
+
+    synchronized (binding) {
+      if (binding.connection != null && binding.connection.config == config) {
+        return binding.connection.as();
+      }
+
+      // an operation of another config runs for this event, so the previous binding is no longer useful
+      binding.release();
+      BoundConnectionHandler<T> bound = new BoundConnectionHandler<>(binding, config, connectionSupplier.get());
+      binding.connection = bound;
+      return bound;
+    }
+  }
+
+  /**
+   * Releases the connection bound to the event of the given {@code executionContext} if it belongs to another config, for
+   * operations to which the affinity does not apply.
+   *
+   * @param executionContext the context of an operation for which {@link #appliesTo(ExecutionContextAdapter)} is {@code false}
+   */
+  void releaseOtherConfig(ExecutionContextAdapter<? extends ComponentModel> executionContext) {
+    if (bindings.isEmpty() || executionContext.getEvent() == null) {
+      return;
+    }
+
+    EventBinding binding = bindings.get(executionContext.getEvent().getContext().getId());
+    if (binding == null) {
+      return;
+    }
+
+    ConfigurationInstance config = executionContext.getConfiguration().orElse(null);
+    synchronized (binding) {
+      if (binding.connection != null && binding.connection.config != config) {
+        binding.release();
+      }
+    }
+  }
+
+  private EventBinding getOrCreateBinding(BaseEventContext eventContext) {
+    final String key = eventContext.getId();
+    EventBinding binding = bindings.get(key);
+    if (binding != null) {
+      return binding;
+    }
+
+    final EventBinding newBinding = new EventBinding(key);
+    binding = bindings.putIfAbsent(key, newBinding);
+    if (binding != null) {
+      return binding;
+    }
+
+    // Registered outside of the map update, since the callback runs right away if the event already completed
+    eventContext.onComplete((e, t) -> unbind(newBinding));
+    return newBinding;
+  }
+
+  private void unbind(EventBinding binding) {
+    bindings.remove(binding.key, binding);
+    synchronized (binding) {
+      binding.release();
+    }
+  }
+
+  /**
+   * @return the amount of connections currently bound to an event
+   */
+  int getBoundConnectionsCount() {
+    int count = 0;
+    for (EventBinding binding : bindings.values()) {
+      synchronized (binding) {
+        if (binding.connection != null) {
+          ++count;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * The connection bound to an {@link EventContext}, replaced in place when the event switches to another config.
+   */
+  private static final class EventBinding {
+
+    private final String key;
+    private BoundConnectionHandler<?> connection;
+
+    private EventBinding(String key) {
+      this.key = key;
+    }
+
+    /**
+     * Releases the bound connection, if any. Must be called holding the lock of this binding.
+     */
+    private void release() {
+      if (connection == null) {
+        return;
+      }
+
+      ConnectionHandler<?> delegate = connection.delegate;
+      connection = null;
+      try {
+        delegate.release();
+      } catch (Exception e) {
+        LOGGER.warn("Ignored '{}: {}' during release of the connection bound to event '{}'", e.getClass().getName(),
+                    e.getMessage(), key);
+      }
+    }
+  }
+
+  private static final class BoundConnectionHandler<T> implements ConnectionHandler<T> {
+
+    private final EventBinding binding;
+    private final ConfigurationInstance config;
+    private final ConnectionHandler<T> delegate;
+
+    private BoundConnectionHandler(EventBinding binding, ConfigurationInstance config, ConnectionHandler<T> delegate) {
+      this.binding = binding;
+      this.config = config;
+      this.delegate = delegate;
+    }
+
+    /**
+     * The connections of a config instance are all of the same type, so the one bound for it can be handed to any operation of
+     * it.
+     */
+    @SuppressWarnings("unchecked")
+    private <C> ConnectionHandler<C> as() {
+      return (ConnectionHandler<C>) this;
+    }
+
+    @Override
+    public T getConnection() throws ConnectionException {
+      return delegate.getConnection();
+    }
+
+    /**
+     * Does nothing, the connection is released once the event completes.
+     */
+    @Override
+    public void release() {
+      // Nothing to do
+    }
+
+    @Override
+    public void invalidate() {
+      synchronized (binding) {
+        if (binding.connection != this) {
+          return;
+        }
+        binding.connection = null;
+      }
+      delegate.invalidate();
+    }
+  }
+}
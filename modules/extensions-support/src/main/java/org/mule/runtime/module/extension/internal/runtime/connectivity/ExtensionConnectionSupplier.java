@@ -7,8 +7,22 @@
 package org.mule.runtime.module.extension.internal.runtime.connectivity;
 
 import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
 import static java.lang.String.format;
+import static java.util.Arrays.stream;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toSet;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_CONNECTION_AFFINITY_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_CONNECTION_CIRCUIT_BREAKER_BACKOFF_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_CONNECTION_CIRCUIT_BREAKER_FAILURE_THRESHOLD_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_CONNECTION_CIRCUIT_BREAKER_MAX_BACKOFF_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_CONNECTIONS_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.internal.connection.ConnectionCircuitNotification.CONNECTION_CIRCUIT_CLOSED;
+import static org.mule.runtime.core.internal.connection.ConnectionCircuitNotification.CONNECTION_CIRCUIT_HALF_OPENED;
+import static org.mule.runtime.core.internal.connection.ConnectionCircuitNotification.CONNECTION_CIRCUIT_OPENED;
+import static org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.State.CLOSED;
+import static org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.State.OPEN;
 import static org.mule.runtime.extension.api.util.NameUtils.getComponentModelTypeName;
 
 import org.mule.runtime.api.connection.ConnectionException;
@@ -16,10 +30,15 @@ import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.meta.model.ComponentModel;
 import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.notification.NotificationDispatcher;
 import org.mule.runtime.api.tx.TransactionException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.transaction.TransactionConfig;
+import org.mule.runtime.core.internal.connection.ConnectionCircuitNotification;
+import org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator;
+import org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.Permit;
+import org.mule.runtime.core.internal.connection.ConnectionHealthCoordinator.State;
 import org.mule.runtime.extension.api.connectivity.TransactionalConnection;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
@@ -27,7 +46,10 @@ import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContext
 import org.mule.runtime.module.extension.internal.runtime.transaction.ExtensionTransactionKey;
 import org.mule.runtime.module.extension.internal.runtime.transaction.TransactionBindingDelegate;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 
@@ -35,16 +57,41 @@ import javax.inject.Inject;
  * A bridge between the execution of a {@link ComponentModel} and the {@link ConnectionManager} which provides the connections
  * that it needs.
  * <p>
- * It handles connection provisioning and transaction support
+ * It handles connection provisioning and transaction support. For the configs listed in the
+ * {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_CONNECTION_AFFINITY_DEPLOYMENT_PROPERTY} deployment
+ * property, transactionless connections are kept bound to the executing event through an {@link EventConnectionAffinity}.
+ * <p>
+ * If the
+ * {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_CONNECTION_CIRCUIT_BREAKER_FAILURE_THRESHOLD_DEPLOYMENT_PROPERTY}
+ * deployment property is set, connections of each config are obtained through a {@link ConnectionHealthCoordinator}, so that
+ * operations fail fast while the backend of that config is known to be down instead of all of them retrying against it. The
+ * outcome of each attempt is reported once the operation that obtained the connection completes, through
+ * {@link #onOperationSuccess(ExecutionContext)}, {@link #onConnectionFailure(ExecutionContext)} or
+ * {@link #onOperationFailure(ExecutionContext)}. Components that obtain connections outside of an operation execution, like
+ * paging providers fetching pages, report the outcome through those same methods. The transitions of each circuit are
+ * dispatched as {@link ConnectionCircuitNotification}s and its counters are published in the
+ * {@link org.mule.runtime.core.api.management.stats.AllStatistics} of the artifact.
  *
  * @since 4.0
  */
 public class ExtensionConnectionSupplier {
 
+  private static final double CIRCUIT_BREAKER_JITTER = 0.2;
+  private static final String CIRCUIT_ATTEMPT_VARIABLE = "connectionCircuitAttempt";
+
   @Inject
   private ConnectionManager connectionManager;
 
+  @Inject
+  private NotificationDispatcher notificationDispatcher;
+
+  private MuleContext muleContext;
   private boolean lazyConnections;
+  private EventConnectionAffinity connectionAffinity = new EventConnectionAffinity(emptySet());
+  private int circuitBreakerFailureThreshold;
+  private long circuitBreakerBackoff;
+  private long circuitBreakerMaxBackoff;
+  private final Map<String, ConnectionHealthCoordinator> healthCoordinators = new ConcurrentHashMap<>();
 
   /**
    * Returns the connection to be used with the {@code operationContext}.
@@ -60,7 +107,17 @@ public class ExtensionConnectionSupplier {
       throws ConnectionException, TransactionException {
     return executionContext.getTransactionConfig().isPresent()
         ? getTransactedConnectionHandler(executionContext, executionContext.getTransactionConfig().get())
-        : getTransactionlessConnectionHandler(executionContext);
+        : getAffineConnectionHandler(executionContext);
+  }
+
+  private <T> ConnectionHandler<T> getAffineConnectionHandler(ExecutionContextAdapter<? extends ComponentModel> executionContext)
+      throws ConnectionException {
+    if (connectionAffinity.appliesTo(executionContext)) {
+      return connectionAffinity.getConnection(executionContext, () -> getTransactionlessConnectionHandler(executionContext));
+    }
+
+    connectionAffinity.releaseOtherConfig(executionContext);
+    return getTransactionlessConnectionHandler(executionContext);
   }
 
   private <T extends TransactionalConnection> ConnectionHandler<T> getTransactedConnectionHandler(
@@ -69,7 +126,7 @@ public class ExtensionConnectionSupplier {
       throws ConnectionException, TransactionException {
 
     if (!transactionConfig.isTransacted()) {
-      return getTransactionlessConnectionHandler(executionContext);
+      return getAffineConnectionHandler(executionContext);
     }
 
     ExtensionModel extensionModel = executionContext.getExtensionModel();
@@ -90,7 +147,8 @@ public class ExtensionConnectionSupplier {
                                                        () -> getTransactionlessConnectionHandler(executionContext));
   }
 
-  private <T> ConnectionHandler<T> getTransactionlessConnectionHandler(ExecutionContext executionContext)
+  private <T> ConnectionHandler<T> getTransactionlessConnectionHandler(
+                                                                       ExecutionContextAdapter<? extends ComponentModel> executionContext)
       throws ConnectionException {
 
 
@@ -109,12 +167,141 @@ public class ExtensionConnectionSupplier {
                                              configRef));
     }
 
-    return connectionManager.getConnection(configuration.get().getValue());
+    ConnectionHealthCoordinator healthCoordinator = healthCoordinatorFor(configuration.get());
+    if (healthCoordinator == null) {
+      return connectionManager.getConnection(configuration.get().getValue());
+    }
+
+    Permit permit = healthCoordinator.acquirePermission();
+    try {
+      ConnectionHandler<T> connectionHandler = connectionManager.getConnection(configuration.get().getValue());
+      // A pooled or cached connection is not proof of connectivity, the outcome is known once the operation uses it
+      executionContext.setVariable(CIRCUIT_ATTEMPT_VARIABLE, new CircuitAttempt(healthCoordinator, permit));
+      return connectionHandler;
+    } catch (ConnectionException e) {
+      healthCoordinator.onFailure(permit);
+      throw e;
+    } catch (RuntimeException e) {
+      healthCoordinator.abort(permit);
+      throw e;
+    }
+  }
+
+  /**
+   * Notifies that an operation executed with the given {@code executionContext} completed successfully, so that the
+   * {@link ConnectionHealthCoordinator} of its config can take the connection it obtained as working.
+   *
+   * @param executionContext the context of the operation
+   */
+  public void onOperationSuccess(ExecutionContext executionContext) {
+    CircuitAttempt attempt = removeCircuitAttempt(executionContext);
+    if (attempt != null) {
+      attempt.healthCoordinator.onSuccess(attempt.permit);
+    }
+  }
+
+  /**
+   * Notifies that an operation executed with the given {@code executionContext} failed because of connectivity issues, so that
+   * the {@link ConnectionHealthCoordinator} of its config can take it into account.
+   *
+   * @param executionContext the context of the failed operation
+   */
+  public void onConnectionFailure(ExecutionContext executionContext) {
+    CircuitAttempt attempt = removeCircuitAttempt(executionContext);
+    if (attempt != null) {
+      attempt.healthCoordinator.onFailure(attempt.permit);
+    }
+  }
+
+  /**
+   * Notifies that an operation executed with the given {@code executionContext} failed for reasons not related to connectivity,
+   * so its outcome tells nothing about the connection it obtained.
+   *
+   * @param executionContext the context of the failed operation
+   */
+  public void onOperationFailure(ExecutionContext executionContext) {
+    CircuitAttempt attempt = removeCircuitAttempt(executionContext);
+    if (attempt != null) {
+      attempt.healthCoordinator.abort(attempt.permit);
+    }
+  }
+
+  private CircuitAttempt removeCircuitAttempt(ExecutionContext executionContext) {
+    if (circuitBreakerFailureThreshold <= 0) {
+      return null;
+    }
+
+    return ((ExecutionContextAdapter<?>) executionContext).removeVariable(CIRCUIT_ATTEMPT_VARIABLE);
+  }
+
+  private ConnectionHealthCoordinator healthCoordinatorFor(ConfigurationInstance configuration) {
+    if (circuitBreakerFailureThreshold <= 0) {
+      return null;
+    }
+
+    return healthCoordinators.computeIfAbsent(configuration.getName(), this::createHealthCoordinator);
+  }
+
+  private ConnectionHealthCoordinator createHealthCoordinator(String configName) {
+    ConnectionHealthCoordinator healthCoordinator = new ConnectionHealthCoordinator(configName,
+                                                                                    circuitBreakerFailureThreshold,
+                                                                                    circuitBreakerBackoff,
+                                                                                    circuitBreakerMaxBackoff,
+                                                                                    CIRCUIT_BREAKER_JITTER,
+                                                                                    this::onCircuitStateChange);
+    if (muleContext != null && muleContext.getStatistics() != null) {
+      muleContext.getStatistics().registerConnectionCircuitStatistics(healthCoordinator);
+    }
+    return healthCoordinator;
+  }
+
+  private void onCircuitStateChange(ConnectionHealthCoordinator healthCoordinator, State from, State to) {
+    if (notificationDispatcher == null) {
+      return;
+    }
+
+    int action;
+    if (to == OPEN) {
+      action = CONNECTION_CIRCUIT_OPENED;
+    } else if (to == CLOSED) {
+      action = CONNECTION_CIRCUIT_CLOSED;
+    } else {
+      action = CONNECTION_CIRCUIT_HALF_OPENED;
+    }
+    notificationDispatcher.dispatch(new ConnectionCircuitNotification(healthCoordinator, action));
   }
 
   @Inject
   public void setMuleContext(MuleContext muleContext) {
+    this.muleContext = muleContext;
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
     this.lazyConnections =
-        parseBoolean(muleContext.getDeploymentProperties().getProperty(MULE_LAZY_CONNECTIONS_DEPLOYMENT_PROPERTY, "false"));
+        parseBoolean(deploymentProperties.getProperty(MULE_LAZY_CONNECTIONS_DEPLOYMENT_PROPERTY, "false"));
+    this.circuitBreakerFailureThreshold =
+        parseInt(deploymentProperties.getProperty(MULE_CONNECTION_CIRCUIT_BREAKER_FAILURE_THRESHOLD_DEPLOYMENT_PROPERTY, "0"));
+    this.circuitBreakerBackoff =
+        parseLong(deploymentProperties.getProperty(MULE_CONNECTION_CIRCUIT_BREAKER_BACKOFF_DEPLOYMENT_PROPERTY, "1000"));
+    this.circuitBreakerMaxBackoff =
+        parseLong(deploymentProperties.getProperty(MULE_CONNECTION_CIRCUIT_BREAKER_MAX_BACKOFF_DEPLOYMENT_PROPERTY, "60000"));
+    this.connectionAffinity = new EventConnectionAffinity(stream(deploymentProperties
+        .getProperty(MULE_CONNECTION_AFFINITY_DEPLOYMENT_PROPERTY, "")
+        .split(","))
+        .map(String::trim)
+        .filter(configName -> !configName.isEmpty())
+        .collect(toSet()));
+  }
+
+  /**
+   * A connection obtained through a {@link ConnectionHealthCoordinator}, which outcome is still to be reported.
+   */
+  private static final class CircuitAttempt {
+
+    private final ConnectionHealthCoordinator healthCoordinator;
+    private final Permit permit;
+
+    private CircuitAttempt(ConnectionHealthCoordinator healthCoordinator, Permit permit) {
+      this.healthCoordinator = healthCoordinator;
+      this.permit = permit;
+    }
   }
 }
@@ -6,18 +6,28 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.operation;
 
+import static java.lang.Long.parseLong;
 import static java.lang.String.format;
+import static java.util.Arrays.stream;
 import static org.mule.runtime.api.config.MuleRuntimeFeature.ENABLE_POLICY_ISOLATION;
 import static org.mule.runtime.api.metadata.resolving.MetadataFailure.Builder.newFailure;
 import static org.mule.runtime.api.metadata.resolving.MetadataResult.failure;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.EXTENSION_PROFILING_EVENT;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_OPERATION_RESULT_CACHE_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_OPERATION_RESULT_CACHE_MAX_SIZE_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_OPERATION_RESULT_CACHE_TTL_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE_ASYNC;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
+import static org.mule.runtime.core.api.util.StreamingUtils.supportsStreaming;
 import static org.mule.runtime.module.extension.internal.runtime.ExecutionTypeMapper.asProcessingType;
+import static org.slf4j.LoggerFactory.getLogger;
 
+import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.config.FeatureFlaggingService;
 import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.config.ConfigurationModel;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
@@ -27,6 +37,7 @@ import org.mule.runtime.api.metadata.MetadataKeysContainer;
 import org.mule.runtime.api.metadata.MetadataResolvingException;
 import org.mule.runtime.api.metadata.descriptor.TypeMetadataDescriptor;
 import org.mule.runtime.api.metadata.resolving.MetadataResult;
+import org.mule.runtime.api.profiling.ProfilingService;
 import org.mule.runtime.core.api.extension.ExtensionManager;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.core.api.streaming.CursorProviderFactory;
@@ -35,13 +46,20 @@ import org.mule.runtime.core.internal.exception.ErrorMappingsAware;
 import org.mule.runtime.core.internal.policy.PolicyManager;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationProvider;
+import org.mule.runtime.extension.api.runtime.operation.CompletableComponentExecutor.ExecutorCallback;
+import org.mule.runtime.extension.internal.property.PagedOperationModelProperty;
+import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
 import org.mule.runtime.module.extension.internal.metadata.EntityMetadataMediator;
 import org.mule.runtime.module.extension.internal.runtime.operation.DefaultExecutionMediator.ResultTransformer;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSet;
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 
-import javax.inject.Inject;
 import java.util.List;
+import java.util.Properties;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
 
 /**
  * An implementation of a {@link ComponentMessageProcessor} for {@link OperationModel operation models}
@@ -51,9 +69,14 @@ import java.util.List;
 public class OperationMessageProcessor extends ComponentMessageProcessor<OperationModel>
     implements EntityMetadataProvider, ErrorMappingsAware {
 
+  private static final Logger LOGGER = getLogger(OperationMessageProcessor.class);
+
   static final String INVALID_TARGET_MESSAGE =
       "Root component '%s' defines an invalid usage of operation '%s' which uses %s as %s";
 
+  private static final String DEFAULT_RESULT_CACHE_TTL = "60000";
+  private static final String DEFAULT_RESULT_CACHE_MAX_SIZE = "1000";
+
   private final EntityMetadataMediator entityMetadataMediator;
 
   private final List<EnrichedErrorMapping> errorMappings;
@@ -61,6 +84,11 @@ public class OperationMessageProcessor extends ComponentMessageProcessor<Operati
   @Inject
   private FeatureFlaggingService featureFlaggingService;
 
+  @Inject
+  private ProfilingService profilingService;
+
+  private OperationResultCache resultCache;
+
   public OperationMessageProcessor(ExtensionModel extensionModel,
                                    OperationModel operationModel,
                                    ConfigurationProvider configurationProvider,
@@ -123,6 +151,61 @@ public class OperationMessageProcessor extends ComponentMessageProcessor<Operati
     }
   }
 
+  @Override
+  protected void doInitialise() throws InitialisationException {
+    super.doInitialise();
+    if (resultCache == null) {
+      resultCache = createResultCache();
+    }
+  }
+
+  private OperationResultCache createResultCache() {
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
+    ComponentLocation location = getLocation();
+    if (deploymentProperties == null || location == null) {
+      return null;
+    }
+
+    String cachedLocations = deploymentProperties.getProperty(MULE_OPERATION_RESULT_CACHE_DEPLOYMENT_PROPERTY);
+    if (cachedLocations == null
+        || stream(cachedLocations.split(",")).map(String::trim).noneMatch(location.getLocation()::equals)) {
+      return null;
+    }
+
+    if (supportsStreaming(componentModel) || componentModel.isTransactional() || nestedChain != null
+        || componentModel.getModelProperty(PagedOperationModelProperty.class).isPresent()) {
+      LOGGER.warn("Results of operation '{}' at '{}' can't be cached since it's either streaming, paged, transactional or has "
+          + "a nested chain", componentModel.getName(), location.getLocation());
+      return null;
+    }
+
+    long ttl = parseLong(deploymentProperties.getProperty(MULE_OPERATION_RESULT_CACHE_TTL_DEPLOYMENT_PROPERTY,
+                                                          DEFAULT_RESULT_CACHE_TTL));
+    long maxSize = parseLong(deploymentProperties.getProperty(MULE_OPERATION_RESULT_CACHE_MAX_SIZE_DEPLOYMENT_PROPERTY,
+                                                              DEFAULT_RESULT_CACHE_MAX_SIZE));
+    LOGGER.debug("Results of operation '{}' at '{}' will be cached for {} ms, up to {} results", componentModel.getName(),
+                 location.getLocation(), ttl, maxSize);
+    return new OperationResultCache(location.getLocation(), maxSize, ttl,
+                                    profilingService.getProfilingDataProducer(EXTENSION_PROFILING_EVENT));
+  }
+
+  @Override
+  protected void executeOperation(ExecutionContextAdapter<OperationModel> operationContext, ExecutorCallback callback) {
+    if (resultCache != null) {
+      resultCache.execute(operationContext, callback, super::executeOperation);
+    } else {
+      super.executeOperation(operationContext, callback);
+    }
+  }
+
+  @Override
+  public void doDispose() {
+    if (resultCache != null) {
+      resultCache.invalidateAll();
+    }
+    super.doDispose();
+  }
+
   /**
    * Validates that the {@link #componentModel} is valid for the given {@code configurationProvider}
    *
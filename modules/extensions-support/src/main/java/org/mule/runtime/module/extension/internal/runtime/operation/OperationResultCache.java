@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.operation;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.identityHashCode;
+import static java.lang.System.nanoTime;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.profiling.ProfilingDataProducer;
+import org.mule.runtime.api.profiling.type.context.ExtensionProfilingEventContext;
+import org.mule.runtime.api.streaming.Cursor;
+import org.mule.runtime.api.streaming.CursorProvider;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.operation.CompletableComponentExecutor.ExecutorCallback;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Caches the results of an operation, keyed by the config instance it's executed with and its resolved parameters. The config
+ * instance is compared by identity, since the instances of a dynamic config share the same name but may hold different
+ * credentials or parameters.
+ * <p>
+ * Results are kept in memory, bounded by size and expiring a fixed time after being obtained. When several executions with the
+ * same key miss the cache at the same time, only the first one actually executes the operation and the others get its result
+ * (single-flight). Failures are not shared: if that execution fails, each of the others executes the operation itself.
+ * <p>
+ * An execution is not cached when any of its parameters is a stream, since those can't be compared, nor when its result is a
+ * stream or a collection containing streams, since those can be consumed only once. Parameters are compared with {@link Object#equals(Object)}, so parameters which
+ * don't implement it will only produce hits for the very same instance.
+ * <p>
+ * Each hit and miss is reported as an {@code EXTENSION_PROFILING_EVENT}, with the time saved by a hit in the
+ * {@link #SAVED_LATENCY} entry.
+ *
+ * @since 4.5.0
+ */
+final class OperationResultCache {
+
+  static final String CACHE_HIT = "OPERATION_RESULT_CACHE_HIT";
+  static final String CACHE_MISS = "OPERATION_RESULT_CACHE_MISS";
+  static final String SAVED_LATENCY = "savedLatency";
+
+  private final String location;
+  private final Cache<CacheKey, CachedResult> cache;
+  private final Map<CacheKey, CompletableFuture<CachedResult>> inFlight = new ConcurrentHashMap<>();
+  private final ProfilingDataProducer<ExtensionProfilingEventContext, Object> profilingDataProducer;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Creates a new instance
+   *
+   * @param location              the location of the cached operation
+   * @param maxSize               the max amount of results to keep
+   * @param ttl                   the time in milliseconds a result is valid for after being obtained
+   * @param profilingDataProducer the producer through which hits and misses are reported
+   */
+  OperationResultCache(String location, long maxSize, long ttl,
+                       ProfilingDataProducer<ExtensionProfilingEventContext, Object> profilingDataProducer) {
+    this(location, maxSize, ttl, profilingDataProducer, Ticker.systemTicker());
+  }
+
+  OperationResultCache(String location, long maxSize, long ttl,
+                       ProfilingDataProducer<ExtensionProfilingEventContext, Object> profilingDataProducer, Ticker ticker) {
+    this.location = location;
+    this.profilingDataProducer = profilingDataProducer;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(ttl, MILLISECONDS)
+        .ticker(ticker)
+        .executor(Runnable::run)
+        .build();
+  }
+
+  /**
+   * Completes the {@code callback} with the cached result for the given {@code operationContext}, or executes the operation
+   * through the given {@code executor} and caches its result if there's none.
+   *
+   * @param operationContext the context of the operation execution
+   * @param callback         the callback to notify of the outcome of the execution
+   * @param executor         actually executes the operation
+   */
+  void execute(ExecutionContextAdapter<OperationModel> operationContext, ExecutorCallback callback,
+               BiConsumer<ExecutionContextAdapter<OperationModel>, ExecutorCallback> executor) {
+    Optional<CacheKey> key = keyFor(operationContext);
+    if (!key.isPresent()) {
+      executor.accept(operationContext, callback);
+      return;
+    }
+
+    CachedResult cached = cache.getIfPresent(key.get());
+    if (cached != null) {
+      onHit(cached);
+      callback.complete(cached.value);
+      return;
+    }
+
+    CompletableFuture<CachedResult> flight = new CompletableFuture<>();
+    CompletableFuture<CachedResult> existingFlight = inFlight.putIfAbsent(key.get(), flight);
+    if (existingFlight != null) {
+      existingFlight.whenComplete((result, error) -> {
+        if (error == null && result.cacheable) {
+          onHit(result);
+          callback.complete(result.value);
+        } else {
+          // the outcome of the execution in flight can't be shared
+          executor.accept(operationContext, callback);
+        }
+      });
+      return;
+    }
+
+    misses.increment();
+    profile(CACHE_MISS, 0);
+    final long startTime = nanoTime();
+    executor.accept(operationContext, new ExecutorCallback() {
+
+      @Override
+      public void complete(Object value) {
+        CachedResult result = new CachedResult(value, NANOSECONDS.toMillis(nanoTime() - startTime), isCacheable(value));
+        if (result.cacheable) {
+          cache.put(key.get(), result);
+        }
+        inFlight.remove(key.get(), flight);
+        try {
+          callback.complete(value);
+        } finally {
+          flight.complete(result);
+        }
+      }
+
+      @Override
+      public void error(Throwable e) {
+        inFlight.remove(key.get(), flight);
+        try {
+          callback.error(e);
+        } finally {
+          flight.completeExceptionally(e);
+        }
+      }
+    });
+  }
+
+  private Optional<CacheKey> keyFor(ExecutionContextAdapter<OperationModel> operationContext) {
+    Map<String, Object> parameters = new HashMap<>();
+    for (Map.Entry<String, Object> parameter : operationContext.getParameters().entrySet()) {
+      if (isStream(parameter.getValue())) {
+        return empty();
+      }
+      parameters.put(parameter.getKey(), parameter.getValue());
+    }
+
+    return of(new CacheKey(operationContext.getConfiguration().orElse(null), parameters));
+  }
+
+  private boolean isCacheable(Object value) {
+    if (value instanceof Result) {
+      value = ((Result) value).getOutput();
+    } else if (value instanceof Message) {
+      value = ((Message) value).getPayload();
+    }
+
+    if (isStream(value)) {
+      return false;
+    }
+
+    if (value instanceof TypedValue) {
+      value = ((TypedValue) value).getValue();
+    }
+    if (value instanceof Collection) {
+      // collections of streamed results would be replayed after their streams are consumed
+      for (Object element : (Collection<?>) value) {
+        if (!isCacheable(element)) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private boolean isStream(Object value) {
+    if (value instanceof TypedValue) {
+      value = ((TypedValue) value).getValue();
+    }
+
+    return value instanceof InputStream
+        || value instanceof CursorProvider
+        || value instanceof Cursor
+        || value instanceof Iterator;
+  }
+
+  private void onHit(CachedResult result) {
+    hits.increment();
+    profile(CACHE_HIT, result.executionTime);
+  }
+
+  private void profile(String subtype, long savedLatency) {
+    if (profilingDataProducer != null) {
+      profilingDataProducer
+          .triggerProfilingEvent(savedLatency, latency -> new CacheProfilingEventContext(subtype, location, latency));
+    }
+  }
+
+  /**
+   * Discards all the cached results.
+   */
+  void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * @return the amount of executions which result was taken from the cache
+   */
+  long getHitsCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the amount of executions which actually executed the operation
+   */
+  long getMissesCount() {
+    return misses.sum();
+  }
+
+  private static final class CacheKey {
+
+    private final ConfigurationInstance config;
+    private final Map<String, Object> parameters;
+    private final int hashCode;
+
+    private CacheKey(ConfigurationInstance config, Map<String, Object> parameters) {
+      this.config = config;
+      this.parameters = parameters;
+      this.hashCode = 31 * identityHashCode(config) + parameters.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+
+      CacheKey other = (CacheKey) obj;
+      return hashCode == other.hashCode
+          && config == other.config
+          && parameters.equals(other.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static final class CachedResult {
+
+    private final Object value;
+    private final long executionTime;
+    private final boolean cacheable;
+
+    private CachedResult(Object value, long executionTime, boolean cacheable) {
+      this.value = value;
+      this.executionTime = executionTime;
+      this.cacheable = cacheable;
+    }
+  }
+
+  private static final class CacheProfilingEventContext implements ExtensionProfilingEventContext {
+
+    private final String subtype;
+    private final String location;
+    private final long savedLatency;
+    private final long timestamp = currentTimeMillis();
+
+    private CacheProfilingEventContext(String subtype, String location, long savedLatency) {
+      this.subtype = subtype;
+      this.location = location;
+      this.savedLatency = savedLatency;
+    }
+
+    @Override
+    public long getTriggerTimestamp() {
+      return timestamp;
+    }
+
+    @Override
+    public String getProfilingDataSourceIdentifier() {
+      return location;
+    }
+
+    @Override
+    public String getExtensionEventSubtypeIdentifier() {
+      return subtype;
+    }
+
+    @Override
+    public Optional<Object> get(String key) {
+      return SAVED_LATENCY.equals(key) ? of(savedLatency) : empty();
+    }
+  }
+}
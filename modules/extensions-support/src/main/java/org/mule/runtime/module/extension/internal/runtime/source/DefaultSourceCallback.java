@@ -11,6 +11,7 @@ import static java.util.stream.Collectors.toSet;
 import static org.mule.runtime.api.metadata.MediaType.parseDefinedInApp;
 import static org.mule.runtime.api.metadata.MediaTypeUtils.parseCharset;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.tracing.TraceContextPropagator.TRACEPARENT;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
 import static org.mule.runtime.module.extension.internal.ExtensionProperties.ENCODING_PARAMETER_NAME;
 import static org.mule.runtime.module.extension.internal.ExtensionProperties.MIME_TYPE_PARAMETER_NAME;
@@ -32,6 +33,7 @@ import org.mule.runtime.core.api.transaction.TransactionConfig;
 import org.mule.runtime.core.api.util.func.Once;
 import org.mule.runtime.core.api.util.func.Once.RunOnce;
 import org.mule.runtime.core.internal.execution.ExceptionCallback;
+import org.mule.runtime.core.internal.execution.FlowProcessTemplate;
 import org.mule.runtime.core.internal.execution.MessageProcessContext;
 import org.mule.runtime.core.internal.execution.MessageProcessingManager;
 import org.mule.runtime.core.internal.execution.SourceResultAdapter;
@@ -43,6 +45,7 @@ import org.mule.sdk.api.runtime.operation.Result;
 import org.mule.sdk.api.runtime.source.SourceCallbackContext;
 
 import java.nio.charset.Charset;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -203,6 +206,7 @@ class DefaultSourceCallback<T, A> implements SourceCallbackAdapter<T, A> {
 
   private MediaType mimeTypeInitParam;
   private Charset encodingParam;
+  private PayloadMediaTypeResolver payloadMediaTypeResolver;
 
   private DefaultSourceCallback() {}
 
@@ -222,6 +226,8 @@ class DefaultSourceCallback<T, A> implements SourceCallbackAdapter<T, A> {
     if (mimeType != null) {
       mimeTypeInitParam = parseDefinedInApp(mimeType);
     }
+
+    payloadMediaTypeResolver = new PayloadMediaTypeResolver(defaultEncoding, defaultMediaType, encodingParam, mimeTypeInitParam);
   });
 
   /**
@@ -237,6 +243,21 @@ class DefaultSourceCallback<T, A> implements SourceCallbackAdapter<T, A> {
    */
   @Override
   public void handle(Result<T, A> result, SourceCallbackContext context) {
+    FlowProcessTemplate template = createTemplate(result, context);
+    messageProcessingManager.processMessage(template, messageProcessContext);
+    ((SourceCallbackContextAdapter) context).dispatched();
+  }
+
+  /**
+   * Validates the given {@code context} and creates the {@link FlowProcessTemplate} with which the {@code result} is routed
+   * through the flow, as {@link #handle(Result, SourceCallbackContext)} does before dispatching it.
+   *
+   * @param result  the generated result
+   * @param context the context of the message, which must have been created through this callback
+   * @return the template for the message
+   * @since 4.5.0
+   */
+  FlowProcessTemplate createTemplate(Result<T, A> result, SourceCallbackContext context) {
     resolveInitializationParams.runOnce();
     checkArgument(context instanceof SourceCallbackContextAdapter, "The supplied context was not created through this callback, "
         + "you naughty developer");
@@ -244,17 +265,28 @@ class DefaultSourceCallback<T, A> implements SourceCallbackAdapter<T, A> {
     SourceCallbackContextAdapter contextAdapter = (SourceCallbackContextAdapter) context;
     validateNotifications(contextAdapter);
     MediaType mediaType = resolveMediaType(result);
-    PayloadMediaTypeResolver payloadMediaTypeResolver = new PayloadMediaTypeResolver(getDefaultEncoding(muleContext),
-                                                                                     defaultMediaType,
-                                                                                     encodingParam,
-                                                                                     mimeTypeInitParam);
 
+    // The source provides the trace context of the message, if it was received with one, as a variable of its context
+    Optional<String> traceparent = context.<Object>getVariable(TRACEPARENT).map(Object::toString);
     SourceResultAdapter resultAdapter =
         new SourceResultAdapter(result, cursorProviderFactory, mediaType, returnsListOfMessages,
-                                context.getCorrelationId(), payloadMediaTypeResolver);
+                                context.getCorrelationId(), payloadMediaTypeResolver, traceparent);
+
+    return new ExtensionsFlowProcessingTemplate(resultAdapter, listener, contextAdapter.getNotificationsFunctions(),
+                                                completionHandlerFactory.createCompletionHandler(contextAdapter));
+  }
 
-    executeFlow(context, messageProcessContext, resultAdapter);
-    contextAdapter.dispatched();
+  /**
+   * Routes a batch of messages through the flow in a single pass. Each message keeps its own template, and so its own
+   * response and completion handling.
+   *
+   * @param templates the templates of the messages, created through {@link #createTemplate(Result, SourceCallbackContext)}
+   * @param contexts  the context of each message, in the same order as {@code templates}
+   * @since 4.5.0
+   */
+  void dispatch(List<FlowProcessTemplate> templates, List<SourceCallbackContextAdapter> contexts) {
+    messageProcessingManager.processMessages(templates, messageProcessContext);
+    contexts.forEach(SourceCallbackContextAdapter::dispatched);
   }
 
   private void validateNotifications(SourceCallbackContextAdapter contextAdapter) {
@@ -265,17 +297,6 @@ class DefaultSourceCallback<T, A> implements SourceCallbackAdapter<T, A> {
     });
   }
 
-  private void executeFlow(SourceCallbackContext context, MessageProcessContext messageProcessContext,
-                           SourceResultAdapter resultAdapter) {
-    SourceCallbackContextAdapter contextAdapter = (SourceCallbackContextAdapter) context;
-    messageProcessingManager.processMessage(
-                                            new ExtensionsFlowProcessingTemplate(resultAdapter, listener,
-                                                                                 contextAdapter.getNotificationsFunctions(),
-                                                                                 completionHandlerFactory
-                                                                                     .createCompletionHandler(contextAdapter)),
-                                            messageProcessContext);
-  }
-
   protected MediaType resolveMediaType(Object value) {
     Charset existingEncoding = encodingParam;
     MediaType mediaType = mimeTypeInitParam;
@@ -7,6 +7,8 @@
 package org.mule.runtime.module.extension.internal.runtime.source;
 
 import static com.google.common.collect.ImmutableMap.copyOf;
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
 import static java.lang.String.format;
 import static java.util.Collections.emptyMap;
 import static java.util.Optional.empty;
@@ -15,6 +17,8 @@ import static java.util.function.Function.identity;
 import static org.mule.runtime.api.config.MuleRuntimeFeature.COMPUTE_CONNECTION_ERRORS_IN_STATS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.notification.ConnectionNotification.CONNECTION_CONNECTED;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_SOURCE_MICRO_BATCHING_MAX_DELAY_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_SOURCE_MICRO_BATCHING_MAX_SIZE_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
@@ -97,6 +101,7 @@ import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -120,6 +125,7 @@ public class ExtensionMessageSource extends ExtensionComponent<SourceModel> impl
     ExceptionCallback<ConnectionException>, ParameterizedSource, ConfiguredComponent, LifecycleStateEnabled {
 
   private static final Logger LOGGER = getLogger(ExtensionMessageSource.class);
+  private static final String DEFAULT_MICRO_BATCHING_MAX_DELAY = "5";
 
   @Inject
   private MessageProcessingManager messageProcessingManager;
@@ -161,6 +167,8 @@ public class ExtensionMessageSource extends ExtensionComponent<SourceModel> impl
   private SourceAdapter sourceAdapter;
   private RetryPolicyTemplate retryPolicyTemplate;
   private Scheduler retryScheduler;
+  private Scheduler microBatchingScheduler;
+  private MicroBatchingSourceCallback microBatchingCallback;
   // FlowConstruct is obtained when needed because during MUnit's tooling tests and Lazy Init mode this should never be evaluated.
   private LazyValue<FlowConstruct> flowConstruct;
   private MessageProcessContext messageProcessContext;
@@ -284,6 +292,7 @@ public class ExtensionMessageSource extends ExtensionComponent<SourceModel> impl
           return restarting ? sourceAdapter.beginRestart() : null;
         } finally {
           sourceAdapter.stop();
+          flushMicroBatch();
           if (usesDynamicConfiguration()) {
             disposeSource();
           }
@@ -311,22 +320,73 @@ public class ExtensionMessageSource extends ExtensionComponent<SourceModel> impl
   }
 
   private SourceCallbackFactory createSourceCallbackFactory() {
-    return completionHandlerFactory -> DefaultSourceCallback.builder()
-        .setExceptionCallback(this)
-        .setSourceModel(sourceModel)
-        .setConfigurationInstance(getConfigurationInstance().orElse(null))
-        .setTransactionConfig(transactionConfig.get())
-        .setSource(this)
-        .setMuleContext(muleContext)
-        .setListener(messageProcessor)
-        .setProcessingManager(messageProcessingManager)
-        .setProcessContext(messageProcessContext)
-        .setApplicationName(applicationName)
-        .setNotificationDispatcher(notificationDispatcher)
-        .setTransactionFactoryManager(transactionFactoryManager)
-        .setCursorStreamProviderFactory(getCursorProviderFactory())
-        .setCompletionHandlerFactory(completionHandlerFactory)
-        .build();
+    return completionHandlerFactory -> {
+      DefaultSourceCallback sourceCallback = (DefaultSourceCallback) DefaultSourceCallback.builder()
+          .setExceptionCallback(this)
+          .setSourceModel(sourceModel)
+          .setConfigurationInstance(getConfigurationInstance().orElse(null))
+          .setTransactionConfig(transactionConfig.get())
+          .setSource(this)
+          .setMuleContext(muleContext)
+          .setListener(messageProcessor)
+          .setProcessingManager(messageProcessingManager)
+          .setProcessContext(messageProcessContext)
+          .setApplicationName(applicationName)
+          .setNotificationDispatcher(notificationDispatcher)
+          .setTransactionFactoryManager(transactionFactoryManager)
+          .setCursorStreamProviderFactory(getCursorProviderFactory())
+          .setCompletionHandlerFactory(completionHandlerFactory)
+          .build();
+
+      return withMicroBatching(sourceCallback);
+    };
+  }
+
+  /**
+   * Decorates the given {@code sourceCallback} with a {@link MicroBatchingSourceCallback} if micro-batching was enabled for this
+   * source through the {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_SOURCE_MICRO_BATCHING_MAX_SIZE_DEPLOYMENT_PROPERTY}
+   * deployment property.
+   * <p>
+   * Transacted sources are never batched, since the transaction is bound to the thread on which the source pushed the message.
+   */
+  private SourceCallbackAdapter withMicroBatching(DefaultSourceCallback sourceCallback) {
+    int maxSize = parseInt(getMicroBatchingProperty(MULE_SOURCE_MICRO_BATCHING_MAX_SIZE_DEPLOYMENT_PROPERTY, "1"));
+    if (maxSize <= 1 || transactionConfig.get().isTransacted()) {
+      return sourceCallback;
+    }
+
+    long maxDelay = parseLong(getMicroBatchingProperty(MULE_SOURCE_MICRO_BATCHING_MAX_DELAY_DEPLOYMENT_PROPERTY,
+                                                       DEFAULT_MICRO_BATCHING_MAX_DELAY));
+    synchronized (started) {
+      if (microBatchingScheduler == null) {
+        microBatchingScheduler = schedulerService.cpuLightScheduler();
+      }
+    }
+
+    LOGGER.debug("Message source '{}' on flow '{}' will dispatch messages in micro-batches of up to {} messages or {} ms",
+                 sourceModel.getName(), getLocation().getRootContainerName(), maxSize, maxDelay);
+    microBatchingCallback = new MicroBatchingSourceCallback(sourceCallback, maxSize, maxDelay, microBatchingScheduler);
+    return microBatchingCallback;
+  }
+
+  private String getMicroBatchingProperty(String propertyName, String defaultValue) {
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
+    if (deploymentProperties == null) {
+      return defaultValue;
+    }
+
+    return deploymentProperties.getProperty(propertyName + "." + getLocation().getRootContainerName(),
+                                            deploymentProperties.getProperty(propertyName, defaultValue));
+  }
+
+  private void flushMicroBatch() {
+    if (microBatchingCallback != null) {
+      try {
+        microBatchingCallback.flush();
+      } finally {
+        microBatchingCallback = null;
+      }
+    }
   }
 
   @Override
@@ -507,6 +567,13 @@ public class ExtensionMessageSource extends ExtensionComponent<SourceModel> impl
         retryScheduler = null;
       }
     }
+    if (microBatchingScheduler != null) {
+      try {
+        microBatchingScheduler.stop();
+      } finally {
+        microBatchingScheduler = null;
+      }
+    }
   }
 
   private void disposeSource() {
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.source;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.transaction.TransactionConfig;
+import org.mule.runtime.core.internal.execution.FlowProcessTemplate;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.module.extension.internal.runtime.transaction.TransactionSourceBinder;
+import org.mule.sdk.api.runtime.operation.Result;
+import org.mule.sdk.api.runtime.source.SourceCallbackContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import javax.transaction.TransactionManager;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link SourceCallbackAdapter} decorator which groups the messages pushed by a source into micro-batches.
+ * <p>
+ * Messages are buffered until either {@code maxSize} messages have been received or {@code maxDelay} milliseconds have elapsed
+ * since the first buffered message, whatever happens first. The whole batch is then routed through the flow in a single pass:
+ * the source policy receives all of its events at once and hands them to the processing strategy back-to-back.
+ * <p>
+ * Each message is validated and gets its own template when it is handled, so errors in the message itself are still thrown to
+ * the source. Responses, notifications and completion handlers remain per-message, and a failure processing one message of the
+ * batch is reported through that message's error response only. Batches are dispatched in the order they were filled.
+ *
+ * @param <T> the generic type of the output values of the generated results
+ * @param <A> the generic type of the attributes of the generated results
+ * @since 4.5.0
+ */
+class MicroBatchingSourceCallback<T, A> implements SourceCallbackAdapter<T, A> {
+
+  private static final Logger LOGGER = getLogger(MicroBatchingSourceCallback.class);
+
+  private final DefaultSourceCallback<T, A> delegate;
+  private final int maxSize;
+  private final long maxDelay;
+  private final Scheduler scheduler;
+
+  private final Object bufferLock = new Object();
+  private final Object dispatchLock = new Object();
+  private List<FlowProcessTemplate> templates;
+  private List<SourceCallbackContextAdapter> contexts;
+  private Future<?> scheduledFlush;
+
+  /**
+   * Creates a new instance
+   *
+   * @param delegate  the {@link DefaultSourceCallback} that creates the template of each message and dispatches the batches
+   * @param maxSize   the max amount of messages in a batch
+   * @param maxDelay  the max time in milliseconds a message may wait in the buffer before its batch is dispatched
+   * @param scheduler the {@link Scheduler} on which batches that reach {@code maxDelay} are dispatched
+   */
+  MicroBatchingSourceCallback(DefaultSourceCallback<T, A> delegate, int maxSize, long maxDelay, Scheduler scheduler) {
+    checkArgument(maxSize > 0, "maxSize must be greater than zero");
+    checkArgument(maxDelay >= 0, "maxDelay cannot be negative");
+    this.delegate = delegate;
+    this.maxSize = maxSize;
+    this.maxDelay = maxDelay;
+    this.scheduler = scheduler;
+    resetBuffer();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(Result<T, A> result) {
+    handle(result, createContext());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(Result<T, A> result, SourceCallbackContext context) {
+    FlowProcessTemplate template = delegate.createTemplate(result, context);
+
+    boolean full;
+    synchronized (bufferLock) {
+      templates.add(template);
+      contexts.add((SourceCallbackContextAdapter) context);
+      full = templates.size() >= maxSize;
+      if (!full && scheduledFlush == null) {
+        scheduledFlush = scheduler.schedule(this::scheduledFlush, maxDelay, MILLISECONDS);
+      }
+    }
+
+    if (full) {
+      flush();
+    }
+  }
+
+  /**
+   * Dispatches any buffered message right away, without waiting for the batch to be full or for {@code maxDelay} to elapse.
+   */
+  void flush() {
+    // The buffer is taken while holding the dispatch lock so that batches are dispatched in the order they were filled
+    synchronized (dispatchLock) {
+      List<FlowProcessTemplate> batchTemplates;
+      List<SourceCallbackContextAdapter> batchContexts;
+      synchronized (bufferLock) {
+        if (scheduledFlush != null) {
+          scheduledFlush.cancel(false);
+          scheduledFlush = null;
+        }
+        if (templates.isEmpty()) {
+          return;
+        }
+        batchTemplates = templates;
+        batchContexts = contexts;
+        resetBuffer();
+      }
+
+      delegate.dispatch(batchTemplates, batchContexts);
+    }
+  }
+
+  private void scheduledFlush() {
+    try {
+      flush();
+    } catch (Throwable t) {
+      LOGGER.error("Message source '{}' at '{}' failed to dispatch a micro-batch", getOwningSourceName(),
+                   getSourceLocation().getLocation(), t);
+    }
+  }
+
+  private void resetBuffer() {
+    templates = new ArrayList<>(maxSize);
+    contexts = new ArrayList<>(maxSize);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onConnectionException(ConnectionException e) {
+    delegate.onConnectionException(e);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SourceCallbackContext createContext() {
+    return delegate.createContext();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TransactionSourceBinder getTransactionSourceBinder() {
+    return delegate.getTransactionSourceBinder();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ConfigurationInstance getConfigurationInstance() {
+    return delegate.getConfigurationInstance();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TransactionConfig getTransactionConfig() {
+    return delegate.getTransactionConfig();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SourceConnectionManager getSourceConnectionManager() {
+    return delegate.getSourceConnectionManager();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getOwningSourceName() {
+    return delegate.getOwningSourceName();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getOwningExtensionName() {
+    return delegate.getOwningExtensionName();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ComponentLocation getSourceLocation() {
+    return delegate.getSourceLocation();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TransactionManager getTransactionManager() {
+    return delegate.getTransactionManager();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getTimeout() {
+    return delegate.getTimeout();
+  }
+}
@@ -152,10 +152,20 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
 
   private <R> R withConnection(Function<Object, R> function, int maxOAuthRefreshAttempts) {
     ConnectionSupplier connectionSupplier = getConnectionSupplier();
-    Object connection = getConnection(connectionSupplier);
+    Object connection;
     try {
-      return function.apply(connection);
+      connection = getConnection(connectionSupplier);
+    } catch (RuntimeException e) {
+      reportCircuitOutcome(e);
+      throw e;
+    }
+
+    try {
+      R result = function.apply(connection);
+      extensionConnectionSupplier.onOperationSuccess(executionContext);
+      return result;
     } catch (Exception caughtException) {
+      reportCircuitOutcome(caughtException);
       if (isFirstPage) {
         safely(() -> delegate.close(connection), e -> LOGGER.error("Found exception closing paging provider", e));
       } else if (maxOAuthRefreshAttempts > 0) {
@@ -178,6 +188,18 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
     }
   }
 
+  /**
+   * Pages are fetched outside of the execution of the operation, so {@link ExtensionConnectionSupplier} is told the outcome of
+   * each use of a connection here. Otherwise, the connection circuit of the config would wait for it forever.
+   */
+  private void reportCircuitOutcome(Exception exception) {
+    if (extractConnectionException(exception).isPresent()) {
+      extensionConnectionSupplier.onConnectionFailure(executionContext);
+    } else {
+      extensionConnectionSupplier.onOperationFailure(executionContext);
+    }
+  }
+
   private void handleException(Exception exception, ConnectionSupplier connectionSupplier) {
     ConnectionException connectionException = extractConnectionException(exception).orElse(null);
     if (connectionException != null) {
@@ -198,7 +220,9 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
     try {
       connectionSupplier = connectionSupplierFactory.getConnectionSupplier();
       delegate.close(connectionSupplier.getConnection());
+      extensionConnectionSupplier.onOperationSuccess(executionContext);
     } catch (Exception e) {
+      reportCircuitOutcome(e);
       throw new MuleRuntimeException(createStaticMessage(COULD_NOT_OBTAIN_A_CONNECTION), e);
     } finally {
       if (connectionSupplier != null) {
@@ -223,6 +247,7 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
     try {
       return connectionSupplierFactory.getConnectionSupplier();
     } catch (MuleException e) {
+      reportCircuitOutcome(e);
       throw new MuleRuntimeException(createStaticMessage(COULD_NOT_CREATE_A_CONNECTION_SUPPLIER), e);
     }
   }
@@ -17,6 +17,7 @@ import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.tx.TransactionException;
 import org.mule.runtime.core.api.transaction.Transaction;
 import org.mule.runtime.core.api.transaction.TransactionCoordination;
+import org.mule.runtime.core.internal.connection.ConnectionCircuitOpenException;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
 import org.mule.runtime.module.extension.internal.runtime.streaming.PagingProviderProducer;
@@ -49,6 +50,11 @@ public class ReconnectionUtils {
       return false;
     }
 
+    // The circuit of the config is open, so retrying would just hit it again. Fail fast instead.
+    if (connectionException.get() instanceof ConnectionCircuitOpenException) {
+      return false;
+    }
+
     // Transactions are bound to a connection, so the tx cannot continue on a newly established connection.
     // Because of this, operations within transactions cannot be retried.
     if (isPartOfActiveTransaction(context.getConfiguration().get())
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.client.strategy;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvingContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class EventVariableValueResolverTestCase extends AbstractMuleTestCase {
+
+  private static final String VARIABLE_NAME = "myVar";
+
+  private CoreEvent event;
+  private EventVariableValueResolver<Object> resolver;
+
+  @Before
+  public void before() {
+    event = mock(CoreEvent.class);
+    resolver = new EventVariableValueResolver<>(VARIABLE_NAME);
+  }
+
+  @Test
+  public void resolvesVariableValue() throws Exception {
+    Object value = new Object();
+    when(event.getVariables()).thenReturn(singletonMap(VARIABLE_NAME, TypedValue.of(value)));
+
+    assertThat(resolve(), is(value));
+  }
+
+  @Test
+  public void missingVariableResolvesToNull() throws Exception {
+    when(event.getVariables()).thenReturn(emptyMap());
+
+    assertThat(resolve(), is(nullValue()));
+  }
+
+  @Test
+  public void isDynamic() {
+    assertThat(resolver.isDynamic(), is(true));
+  }
+
+  private Object resolve() throws Exception {
+    return resolver.resolve(ValueResolvingContext.builder(event).build());
+  }
+}
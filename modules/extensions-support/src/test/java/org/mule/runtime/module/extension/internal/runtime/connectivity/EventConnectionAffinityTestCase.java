@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.connectivity;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.connection.ConnectionHandler;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class EventConnectionAffinityTestCase extends AbstractMuleTestCase {
+
+  private static final String CONFIG_NAME = "config";
+  private static final String OTHER_CONFIG_NAME = "otherConfig";
+
+  private final List<BiConsumer<CoreEvent, Throwable>> onCompleteCallbacks = new ArrayList<>();
+  private final Map<String, ConfigurationInstance> configs = new HashMap<>();
+
+  private EventConnectionAffinity affinity;
+  private BaseEventContext eventContext;
+  private ConnectionHandler<Object> connectionHandler;
+
+  @Before
+  public void before() {
+    affinity = new EventConnectionAffinity(singleton(CONFIG_NAME));
+    eventContext = mock(BaseEventContext.class);
+    when(eventContext.getId()).thenReturn("eventId");
+    doAnswer(inv -> onCompleteCallbacks.add(inv.getArgument(0))).when(eventContext).onComplete(any());
+    connectionHandler = mock(ConnectionHandler.class);
+  }
+
+  @Test
+  public void connectionReusedForSameEventAndConfig() throws Exception {
+    ExecutionContextAdapter executionContext = executionContext(CONFIG_NAME);
+
+    ConnectionHandler<Object> first = affinity.getConnection(executionContext, () -> connectionHandler);
+    first.release();
+    ConnectionHandler<Object> second = affinity.getConnection(executionContext, () -> mock(ConnectionHandler.class));
+
+    assertThat(second, is(sameInstance(first)));
+    verify(connectionHandler, never()).release();
+    assertThat(affinity.getBoundConnectionsCount(), is(1));
+  }
+
+  @Test
+  public void connectionReleasedOnEventCompletion() throws Exception {
+    affinity.getConnection(executionContext(CONFIG_NAME), () -> connectionHandler).release();
+
+    onCompleteCallbacks.forEach(callback -> callback.accept(null, null));
+
+    verify(connectionHandler).release();
+    assertThat(affinity.getBoundConnectionsCount(), is(0));
+  }
+
+  @Test
+  public void connectionReleasedWhenOtherConfigUsed() throws Exception {
+    affinity = new EventConnectionAffinity(new HashSet<>(asList(CONFIG_NAME, OTHER_CONFIG_NAME)));
+    ConnectionHandler<Object> otherHandler = mock(ConnectionHandler.class);
+
+    affinity.getConnection(executionContext(CONFIG_NAME), () -> connectionHandler);
+    ConnectionHandler<Object> other = affinity.getConnection(executionContext(OTHER_CONFIG_NAME), () -> otherHandler);
+
+    verify(connectionHandler).release();
+    other.getConnection();
+    verify(otherHandler).getConnection();
+    assertThat(affinity.getBoundConnectionsCount(), is(1));
+  }
+
+  @Test
+  public void connectionNotSharedBetweenDynamicConfigInstances() throws Exception {
+    ConnectionHandler<Object> otherHandler = mock(ConnectionHandler.class);
+
+    affinity.getConnection(executionContext(CONFIG_NAME), () -> connectionHandler);
+    ConnectionHandler<Object> other =
+        affinity.getConnection(executionContext(mockConfig(CONFIG_NAME)), () -> otherHandler);
+
+    verify(connectionHandler).release();
+    other.getConnection();
+    verify(otherHandler).getConnection();
+    assertThat(affinity.getBoundConnectionsCount(), is(1));
+  }
+
+  @Test
+  public void connectionReleasedWhenOtherDynamicConfigInstanceWithoutAffinityUsed() throws Exception {
+    affinity.getConnection(executionContext(CONFIG_NAME), () -> connectionHandler);
+
+    affinity.releaseOtherConfig(executionContext(mockConfig(CONFIG_NAME)));
+
+    verify(connectionHandler).release();
+    assertThat(affinity.getBoundConnectionsCount(), is(0));
+  }
+
+  @Test
+  public void singleCompletionCallbackWhenRebinding() throws Exception {
+    affinity = new EventConnectionAffinity(new HashSet<>(asList(CONFIG_NAME, OTHER_CONFIG_NAME)));
+    ConnectionHandler<Object> otherHandler = mock(ConnectionHandler.class);
+
+    affinity.getConnection(executionContext(CONFIG_NAME), () -> connectionHandler);
+    affinity.getConnection(executionContext(OTHER_CONFIG_NAME), () -> otherHandler);
+    affinity.getConnection(executionContext(CONFIG_NAME), () -> mock(ConnectionHandler.class));
+
+    assertThat(onCompleteCallbacks.size(), is(1));
+    verify(otherHandler).release();
+  }
+
+  @Test
+  public void connectionReleasedWhenConfigWithoutAffinityUsed() throws Exception {
+    affinity.getConnection(executionContext(CONFIG_NAME), () -> connectionHandler);
+
+    affinity.releaseOtherConfig(executionContext(OTHER_CONFIG_NAME));
+
+    verify(connectionHandler).release();
+    assertThat(affinity.getBoundConnectionsCount(), is(0));
+  }
+
+  @Test
+  public void connectionKeptWhenSameConfigWithoutAffinityUsed() throws Exception {
+    affinity.getConnection(executionContext(CONFIG_NAME), () -> connectionHandler);
+
+    affinity.releaseOtherConfig(executionContext(CONFIG_NAME));
+
+    verify(connectionHandler, never()).release();
+    assertThat(affinity.getBoundConnectionsCount(), is(1));
+  }
+
+  @Test
+  public void invalidatedConnectionUnbound() throws Exception {
+    affinity.getConnection(executionContext(CONFIG_NAME), () -> connectionHandler).invalidate();
+
+    verify(connectionHandler).invalidate();
+    assertThat(affinity.getBoundConnectionsCount(), is(0));
+
+    onCompleteCallbacks.forEach(callback -> callback.accept(null, null));
+    verify(connectionHandler, never()).release();
+  }
+
+  @Test
+  public void appliesOnlyToListedConfigs() {
+    assertThat(affinity.appliesTo(executionContext(CONFIG_NAME)), is(true));
+    assertThat(affinity.appliesTo(executionContext(OTHER_CONFIG_NAME)), is(false));
+    assertThat(new EventConnectionAffinity(emptySet()).appliesTo(executionContext(CONFIG_NAME)), is(false));
+  }
+
+  @Test
+  public void doesNotApplyWithoutConfig() {
+    ExecutionContextAdapter executionContext = executionContext(CONFIG_NAME);
+    when(executionContext.getConfiguration()).thenReturn(empty());
+
+    assertThat(affinity.appliesTo(executionContext), is(false));
+  }
+
+  private ExecutionContextAdapter executionContext(String configName) {
+    return executionContext(configs.computeIfAbsent(configName, this::mockConfig));
+  }
+
+  private ConfigurationInstance mockConfig(String configName) {
+    ConfigurationInstance config = mock(ConfigurationInstance.class);
+    when(config.getName()).thenReturn(configName);
+    return config;
+  }
+
+  private ExecutionContextAdapter executionContext(ConfigurationInstance config) {
+    ExecutionContextAdapter executionContext = mock(ExecutionContextAdapter.class, RETURNS_DEEP_STUBS);
+    when(executionContext.getConfiguration()).thenReturn(of(config));
+    when(executionContext.getComponentModel()).thenReturn(mock(OperationModel.class));
+
+    CoreEvent event = mock(CoreEvent.class);
+    when(event.getContext()).thenReturn(eventContext);
+    when(executionContext.getEvent()).thenReturn(event);
+    return executionContext;
+  }
+}
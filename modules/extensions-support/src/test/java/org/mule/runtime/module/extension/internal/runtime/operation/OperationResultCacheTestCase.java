@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.operation;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.operation.CompletableComponentExecutor.ExecutorCallback;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class OperationResultCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String CONFIG_NAME = "config";
+  private static final long TTL = 1000;
+
+  private final AtomicLong ticker = new AtomicLong();
+  private final List<ExecutorCallback> pendingExecutions = new ArrayList<>();
+  private final BiConsumer<ExecutionContextAdapter<OperationModel>, ExecutorCallback> executor =
+      (ctx, callback) -> pendingExecutions.add(callback);
+
+  private ConfigurationInstance config;
+  private OperationResultCache cache;
+
+  @Before
+  public void before() {
+    config = mockConfig();
+    cache = new OperationResultCache("flow/processors/0", 10, TTL, null, ticker::get);
+  }
+
+  @Test
+  public void resultReusedForSameParameters() {
+    Object result = new Object();
+
+    ExecutorCallback first = mock(ExecutorCallback.class);
+    cache.execute(context("value"), first, executor);
+    pendingExecutions.remove(0).complete(result);
+
+    ExecutorCallback second = mock(ExecutorCallback.class);
+    cache.execute(context("value"), second, executor);
+
+    assertThat(pendingExecutions.isEmpty(), is(true));
+    verify(first).complete(result);
+    verify(second).complete(result);
+    assertThat(cache.getHitsCount(), is(1L));
+    assertThat(cache.getMissesCount(), is(1L));
+  }
+
+  @Test
+  public void differentParametersMiss() {
+    cache.execute(context("value"), mock(ExecutorCallback.class), executor);
+    pendingExecutions.remove(0).complete(new Object());
+
+    cache.execute(context("otherValue"), mock(ExecutorCallback.class), executor);
+
+    assertThat(pendingExecutions.size(), is(1));
+    assertThat(cache.getMissesCount(), is(2L));
+  }
+
+  @Test
+  public void expiredResultMisses() {
+    cache.execute(context("value"), mock(ExecutorCallback.class), executor);
+    pendingExecutions.remove(0).complete(new Object());
+
+    ticker.addAndGet(MILLISECONDS.toNanos(TTL + 1));
+    cache.execute(context("value"), mock(ExecutorCallback.class), executor);
+
+    assertThat(pendingExecutions.size(), is(1));
+  }
+
+  @Test
+  public void concurrentMissesAreSingleFlight() {
+    Object result = new Object();
+    ExecutorCallback first = mock(ExecutorCallback.class);
+    ExecutorCallback second = mock(ExecutorCallback.class);
+
+    cache.execute(context("value"), first, executor);
+    cache.execute(context("value"), second, executor);
+    assertThat(pendingExecutions.size(), is(1));
+
+    pendingExecutions.remove(0).complete(result);
+    verify(first).complete(result);
+    verify(second).complete(result);
+  }
+
+  @Test
+  public void errorNotSharedWithWaitersAndNotCached() {
+    Exception error = new Exception();
+    ExecutorCallback first = mock(ExecutorCallback.class);
+    ExecutorCallback second = mock(ExecutorCallback.class);
+
+    cache.execute(context("value"), first, executor);
+    cache.execute(context("value"), second, executor);
+    pendingExecutions.remove(0).error(error);
+
+    verify(first).error(error);
+    // the waiter executes the operation itself and gets its own outcome
+    assertThat(pendingExecutions.size(), is(1));
+    Exception otherError = new Exception();
+    pendingExecutions.remove(0).error(otherError);
+    verify(second).error(otherError);
+
+    cache.execute(context("value"), mock(ExecutorCallback.class), executor);
+    assertThat(pendingExecutions.size(), is(1));
+  }
+
+  @Test
+  public void resultNotSharedBetweenConfigInstancesWithSameName() {
+    ConfigurationInstance dynamicConfig = mockConfig();
+    ConfigurationInstance otherDynamicConfig = mockConfig();
+
+    cache.execute(context(dynamicConfig, "value"), mock(ExecutorCallback.class), executor);
+    pendingExecutions.remove(0).complete(new Object());
+
+    cache.execute(context(otherDynamicConfig, "value"), mock(ExecutorCallback.class), executor);
+    assertThat(pendingExecutions.size(), is(1));
+    assertThat(cache.getMissesCount(), is(2L));
+
+    pendingExecutions.remove(0).complete(new Object());
+    cache.execute(context(dynamicConfig, "value"), mock(ExecutorCallback.class), executor);
+    assertThat(pendingExecutions.isEmpty(), is(true));
+    assertThat(cache.getHitsCount(), is(1L));
+  }
+
+  @Test
+  public void collectionOfStreamResultsNotCached() {
+    List<Result<InputStream, Object>> results =
+        asList(Result.<InputStream, Object>builder().output(new ByteArrayInputStream(new byte[0])).build());
+
+    cache.execute(context("value"), mock(ExecutorCallback.class), executor);
+    pendingExecutions.remove(0).complete(results);
+
+    cache.execute(context("value"), mock(ExecutorCallback.class), executor);
+    assertThat(pendingExecutions.size(), is(1));
+    assertThat(cache.getHitsCount(), is(0L));
+  }
+
+  @Test
+  public void collectionOfValuesCached() {
+    List<Result<String, Object>> results = asList(Result.<String, Object>builder().output("value").build());
+
+    cache.execute(context("value"), mock(ExecutorCallback.class), executor);
+    pendingExecutions.remove(0).complete(results);
+
+    ExecutorCallback callback = mock(ExecutorCallback.class);
+    cache.execute(context("value"), callback, executor);
+    assertThat(pendingExecutions.isEmpty(), is(true));
+    verify(callback).complete(results);
+  }
+
+  @Test
+  public void streamResultNotShared() {
+    InputStream stream = new ByteArrayInputStream(new byte[0]);
+    ExecutorCallback first = mock(ExecutorCallback.class);
+    ExecutorCallback second = mock(ExecutorCallback.class);
+
+    cache.execute(context("value"), first, executor);
+    cache.execute(context("value"), second, executor);
+    pendingExecutions.remove(0).complete(stream);
+
+    verify(first).complete(stream);
+    assertThat(pendingExecutions.size(), is(1));
+
+    InputStream otherStream = new ByteArrayInputStream(new byte[0]);
+    pendingExecutions.remove(0).complete(otherStream);
+    verify(second).complete(otherStream);
+  }
+
+  @Test
+  public void streamParameterBypassesCache() {
+    ExecutionContextAdapter<OperationModel> context = context(new ByteArrayInputStream(new byte[0]));
+    ExecutorCallback callback = mock(ExecutorCallback.class);
+
+    cache.execute(context, callback, executor);
+
+    assertThat(pendingExecutions.remove(0), is(sameInstance(callback)));
+    assertThat(cache.getMissesCount(), is(0L));
+  }
+
+  private ExecutionContextAdapter<OperationModel> context(Object parameterValue) {
+    return context(config, parameterValue);
+  }
+
+  private ExecutionContextAdapter<OperationModel> context(ConfigurationInstance config, Object parameterValue) {
+    ExecutionContextAdapter<OperationModel> context = mock(ExecutionContextAdapter.class);
+    when(context.getConfiguration()).thenReturn(of(config));
+    when(context.getParameters()).thenReturn(singletonMap("parameter", parameterValue));
+    return context;
+  }
+
+  private ConfigurationInstance mockConfig() {
+    ConfigurationInstance config = mock(ConfigurationInstance.class);
+    when(config.getName()).thenReturn(CONFIG_NAME);
+    return config;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.source;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.internal.execution.FlowProcessTemplate;
+import org.mule.sdk.api.runtime.operation.Result;
+import org.mule.sdk.api.runtime.source.SourceCallbackContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class MicroBatchingSourceCallbackTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_SIZE = 3;
+  private static final long MAX_DELAY = 10;
+
+  private DefaultSourceCallback<Object, Object> delegate;
+  private Scheduler scheduler;
+  private ScheduledFuture scheduledFlush;
+  private MicroBatchingSourceCallback<Object, Object> callback;
+
+  @Before
+  public void before() {
+    delegate = mock(DefaultSourceCallback.class);
+    scheduler = mock(Scheduler.class);
+    scheduledFlush = mock(ScheduledFuture.class);
+    when(scheduler.schedule(any(Runnable.class), anyLong(), any())).thenReturn(scheduledFlush);
+
+    callback = new MicroBatchingSourceCallback<>(delegate, MAX_SIZE, MAX_DELAY, scheduler);
+  }
+
+  @Test
+  public void batchDispatchedInSinglePassWhenFull() {
+    Result<Object, Object> result = mock(Result.class);
+    SourceCallbackContextAdapter first = mock(SourceCallbackContextAdapter.class);
+    SourceCallbackContextAdapter second = mock(SourceCallbackContextAdapter.class);
+    SourceCallbackContextAdapter third = mock(SourceCallbackContextAdapter.class);
+    FlowProcessTemplate firstTemplate = mockTemplate(result, first);
+    FlowProcessTemplate secondTemplate = mockTemplate(result, second);
+    FlowProcessTemplate thirdTemplate = mockTemplate(result, third);
+
+    callback.handle(result, first);
+    callback.handle(result, second);
+    verify(delegate, never()).dispatch(anyList(), anyList());
+    verify(scheduler).schedule(any(Runnable.class), eq(MAX_DELAY), eq(MILLISECONDS));
+
+    callback.handle(result, third);
+    verify(delegate).dispatch(asList(firstTemplate, secondTemplate, thirdTemplate), asList(first, second, third));
+    verify(scheduledFlush).cancel(false);
+  }
+
+  @Test
+  public void flushDispatchesPartialBatchesInOrder() {
+    Result<Object, Object> result = mock(Result.class);
+    SourceCallbackContextAdapter first = mock(SourceCallbackContextAdapter.class);
+    SourceCallbackContextAdapter second = mock(SourceCallbackContextAdapter.class);
+    FlowProcessTemplate firstTemplate = mockTemplate(result, first);
+    FlowProcessTemplate secondTemplate = mockTemplate(result, second);
+
+    callback.handle(result, first);
+    callback.flush();
+    callback.handle(result, second);
+    callback.flush();
+
+    InOrder inOrder = inOrder(delegate);
+    inOrder.verify(delegate).dispatch(singletonList(firstTemplate), singletonList(first));
+    inOrder.verify(delegate).dispatch(singletonList(secondTemplate), singletonList(second));
+  }
+
+  @Test
+  public void flushOnEmptyBufferDoesNothing() {
+    callback.flush();
+    verify(delegate, never()).dispatch(anyList(), anyList());
+  }
+
+  @Test
+  public void invalidMessageRejectedWithoutAffectingTheBatch() {
+    Result<Object, Object> result = mock(Result.class);
+    SourceCallbackContextAdapter valid = mock(SourceCallbackContextAdapter.class);
+    SourceCallbackContext foreign = mock(SourceCallbackContext.class);
+    FlowProcessTemplate validTemplate = mockTemplate(result, valid);
+    when(delegate.createTemplate(same(result), same(foreign))).thenThrow(new IllegalArgumentException("expected"));
+
+    callback.handle(result, valid);
+    try {
+      callback.handle(result, foreign);
+    } catch (IllegalArgumentException e) {
+      // expected, the source is notified right away
+    }
+    callback.flush();
+
+    verify(delegate).dispatch(singletonList(validTemplate), singletonList(valid));
+  }
+
+  private FlowProcessTemplate mockTemplate(Result<Object, Object> result, SourceCallbackContext context) {
+    FlowProcessTemplate template = mock(FlowProcessTemplate.class);
+    when(delegate.createTemplate(same(result), same(context))).thenReturn(template);
+    return template;
+  }
+}
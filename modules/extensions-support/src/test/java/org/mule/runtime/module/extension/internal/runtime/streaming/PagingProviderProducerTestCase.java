@@ -183,6 +183,44 @@ public class PagingProviderProducerTestCase {
     }
   }
 
+  @Test
+  public void circuitOutcomeReportedForEachPage() throws Exception {
+    produce();
+    produce();
+
+    verify(extensionConnectionSupplier, times(2)).onOperationSuccess(executionContext);
+  }
+
+  @Test
+  public void circuitFailureReportedOnConnectionExceptionInProduce() throws Exception {
+    doThrow(new RuntimeException(new ConnectionException("Invalid Connection"))).when(delegate).getPage(any());
+
+    try {
+      producer.produce();
+    } catch (Exception e) {
+      verify(extensionConnectionSupplier).onConnectionFailure(executionContext);
+      verify(extensionConnectionSupplier, never()).onOperationSuccess(executionContext);
+    }
+  }
+
+  @Test
+  public void circuitPermitGivenUpOnOtherExceptionInProduce() throws Exception {
+    doThrow(new IllegalArgumentException("Invalid arguments")).when(delegate).getPage(any());
+
+    try {
+      producer.produce();
+    } catch (Exception e) {
+      verify(extensionConnectionSupplier).onOperationFailure(executionContext);
+      verify(extensionConnectionSupplier, never()).onConnectionFailure(executionContext);
+    }
+  }
+
+  @Test
+  public void circuitOutcomeReportedInClose() throws Exception {
+    producer.close();
+    verify(extensionConnectionSupplier).onOperationSuccess(executionContext);
+  }
+
   @Test
   public void connectionIsClosedQuietlyInClose() throws Exception {
     producer = createProducer();
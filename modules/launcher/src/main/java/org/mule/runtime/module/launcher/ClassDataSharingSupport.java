@@ -0,0 +1,488 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher;
+
+import static org.mule.runtime.container.api.MuleFoldersUtil.getExecutionFolder;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getMuleLibFolder;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getServerPluginsFolder;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getServicesFolder;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.io.File.separator;
+import static java.lang.Integer.parseInt;
+import static java.lang.System.getProperty;
+import static java.lang.Thread.MIN_PRIORITY;
+import static java.lang.management.ManagementFactory.getRuntimeMXBean;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Arrays.asList;
+import static java.util.Arrays.sort;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Supports starting the container with a Class Data Sharing archive of the classes it loads. Requires Java 11 or newer, the first
+ * version that archives the classes of the application class path without commercial features.
+ * <p>
+ * The JVM options can't be changed once it is running, so it has to be started with the options matching the mode set in
+ * {@link #CDS_MODE_PROPERTY}, pointing to the files in the {@code cds} folder of the execution folder:
+ * <ul>
+ * <li>{@code train}: the JVM has to be started with {@code -XX:DumpLoadedClassList} pointing to {@link #getClassListFile()}, so
+ * it records the classes loaded while the container runs. With Java 13 or newer, {@code -XX:ArchiveClassesAtExit} pointing to
+ * {@link #getArchiveFile()} may be used instead, and the JVM creates the archive itself when it exits.</li>
+ * <li>{@code use}: the JVM has to be started with {@code -XX:SharedArchiveFile} pointing to {@link #getArchiveFile()}. When the
+ * archive is missing, was not mapped by the JVM, is older than the recorded class list, or the jars changed since it was
+ * created, it is created from the class list once the container started, by a separate JVM run in the background with
+ * {@code -Xshare:dump} and the options and class path of this one, so that the next boot maps it. The archive is written to a
+ * temporary file first, so a boot never finds a partial archive, and its creation is abandoned if the container stops.</li>
+ * </ul>
+ * Static archives created from a class list only contain the classes of the boot and application class paths. Classes loaded by
+ * the container and service class loaders are only archived in dynamic archives, by JVMs that support custom class loaders in
+ * them.
+ * <p>
+ * The time it takes for the container to start is recorded for the boots with and without the archive, and the boots with the
+ * archive log the comparison with the last boot without it.
+ *
+ * @since 4.5.0
+ */
+final class ClassDataSharingSupport {
+
+  /**
+   * The Class Data Sharing mode of the container, either {@code train} or {@code use}. Not set by default.
+   */
+  static final String CDS_MODE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "cds.mode";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClassDataSharingSupport.class);
+
+  private static final String CDS_FOLDER = "cds";
+  private static final String ARCHIVE_FILE = "container.jsa";
+  private static final String TEMPORARY_ARCHIVE_FILE = ARCHIVE_FILE + ".tmp";
+  private static final String CLASS_LIST_FILE = "container.classlist";
+  private static final String FINGERPRINT_FILE = "container.fingerprint";
+  private static final String DUMP_LOG_FILE = "dump.log";
+  private static final String STARTUP_TIMES_FILE = "startup-times.properties";
+
+  private static final String DUMP_LOADED_CLASS_LIST_OPTION = "-XX:DumpLoadedClassList=";
+  private static final String ARCHIVE_CLASSES_AT_EXIT_OPTION = "-XX:ArchiveClassesAtExit=";
+  private static final String SHARED_ARCHIVE_FILE_OPTION = "-XX:SharedArchiveFile=";
+  private static final String SHARED_CLASS_LIST_FILE_OPTION = "-XX:SharedClassListFile=";
+
+  // Options of this JVM not passed to the one creating the archive: the Class Data Sharing ones are set for the dump, and agents
+  // would be attached to it as well, for instance trying to listen on the debug port of this one
+  private static final List<String> NOT_FORWARDED_OPTIONS =
+      asList(DUMP_LOADED_CLASS_LIST_OPTION, ARCHIVE_CLASSES_AT_EXIT_OPTION, SHARED_ARCHIVE_FILE_OPTION,
+             SHARED_CLASS_LIST_FILE_OPTION, "-Xshare:", "-javaagent:", "-agentlib:", "-agentpath:", "-Xrunjdwp", "-Xdebug");
+
+  private static final String STARTUP_WITH_ARCHIVE = "withArchive";
+  private static final String STARTUP_WITHOUT_ARCHIVE = "withoutArchive";
+
+  private static final int MIN_JAVA_VERSION = 11;
+  private static final int MIN_DYNAMIC_ARCHIVE_JAVA_VERSION = 13;
+
+  private static final long DUMP_TIMEOUT_MINUTES = 5;
+
+  /**
+   * The available Class Data Sharing modes.
+   */
+  enum Mode {
+    TRAIN, USE
+  }
+
+  private final Optional<Mode> mode;
+  private final File cdsFolder;
+  private final List<String> jvmArguments;
+  private final Properties systemProperties;
+  private boolean enabled;
+  // Whether the archive has to be created from the class list once the container started
+  private boolean archiveOutdated;
+
+  private Process dumpProcess;
+  private boolean stopped;
+
+  ClassDataSharingSupport() {
+    this(getModeFromProperty(), new File(getExecutionFolder(), CDS_FOLDER), getRuntimeMXBean().getInputArguments(),
+         System.getProperties());
+  }
+
+  /**
+   * @param mode             the Class Data Sharing mode of the container
+   * @param cdsFolder        the folder of the archive and the files used to create it
+   * @param jvmArguments     the options the JVM was started with
+   * @param systemProperties the properties describing the JVM, as {@link System#getProperties()}
+   */
+  ClassDataSharingSupport(Optional<Mode> mode, File cdsFolder, List<String> jvmArguments, Properties systemProperties) {
+    this.mode = mode;
+    this.cdsFolder = cdsFolder;
+    this.jvmArguments = jvmArguments;
+    this.systemProperties = systemProperties;
+  }
+
+  private static Optional<Mode> getModeFromProperty() {
+    String mode = getProperty(CDS_MODE_PROPERTY);
+    if (mode == null) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(Mode.valueOf(mode.trim().toUpperCase()));
+    } catch (IllegalArgumentException e) {
+      LOGGER.warn("Invalid value '{}' for '{}', expected one of {}", mode, CDS_MODE_PROPERTY, asList(Mode.values()));
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @return the archive the JVM has to dump the loaded classes to or read them from
+   */
+  File getArchiveFile() {
+    return new File(cdsFolder, ARCHIVE_FILE);
+  }
+
+  /**
+   * @return the file the JVM has to record the loaded classes to during a training run
+   */
+  File getClassListFile() {
+    return new File(cdsFolder, CLASS_LIST_FILE);
+  }
+
+  /**
+   * Validates that the JVM was started with the options required by the configured mode, logging what has to be changed
+   * otherwise.
+   *
+   * @return whether the JVM uses the archive of the container or records what to create it from
+   */
+  boolean checkJvmOptions() {
+    archiveOutdated = false;
+    if (!mode.isPresent()) {
+      enabled = false;
+    } else if (getJavaVersion() < MIN_JAVA_VERSION) {
+      LOGGER.warn("Class Data Sharing of the container requires Java {} or newer, it is disabled", MIN_JAVA_VERSION);
+      enabled = false;
+    } else {
+      enabled = mode.get() == Mode.TRAIN ? checkTrainingOptions() : checkUseOptions();
+    }
+    return enabled;
+  }
+
+  private boolean checkTrainingOptions() {
+    if (isClassListTraining()) {
+      cdsFolder.mkdirs();
+      LOGGER.info("Class Data Sharing training run, the archive will be created from the loaded classes the next time the"
+          + " container is started with '{}=use'", CDS_MODE_PROPERTY);
+      return true;
+    }
+    if (isDynamicTraining()) {
+      if (getJavaVersion() < MIN_DYNAMIC_ARCHIVE_JAVA_VERSION) {
+        LOGGER.warn("'{}' requires Java {} or newer, no archive will be created", ARCHIVE_CLASSES_AT_EXIT_OPTION,
+                    MIN_DYNAMIC_ARCHIVE_JAVA_VERSION);
+        return false;
+      }
+      cdsFolder.mkdirs();
+      LOGGER.info("Class Data Sharing training run, the JVM will create the archive when it exits");
+      return true;
+    }
+
+    LOGGER.warn("Class Data Sharing training requested but the JVM was not started with '{}{}' or '{}{}', no archive will be"
+        + " created", DUMP_LOADED_CLASS_LIST_OPTION, getClassListFile().getAbsolutePath(), ARCHIVE_CLASSES_AT_EXIT_OPTION,
+                getArchiveFile().getAbsolutePath());
+    return false;
+  }
+
+  private boolean checkUseOptions() {
+    String archivePath = getArchiveFile().getAbsolutePath();
+    if (!hasJvmOption(SHARED_ARCHIVE_FILE_OPTION, getArchiveFile())) {
+      LOGGER.warn("Class Data Sharing requested but the JVM was not started with '{}{}'", SHARED_ARCHIVE_FILE_OPTION,
+                  archivePath);
+      return false;
+    }
+
+    boolean classListRecorded = getClassListFile().exists();
+    if (!getArchiveFile().exists()) {
+      archiveOutdated = classListRecorded;
+      if (classListRecorded) {
+        LOGGER.warn("Class Data Sharing archive '{}' not found, it will be created once the container started", archivePath);
+      } else {
+        LOGGER.warn("Class Data Sharing archive '{}' not found, start the container with '{}=train' to create it", archivePath,
+                    CDS_MODE_PROPERTY);
+      }
+      return false;
+    }
+
+    boolean mapped = isSharingEnabled();
+    if (!mapped) {
+      LOGGER.warn("The JVM did not map the Class Data Sharing archive '{}', it was probably created with different options or"
+          + " class path", archivePath);
+    } else if (!isFingerprintUpToDate()) {
+      LOGGER.warn("The jars of the container changed since the Class Data Sharing archive was created");
+    } else if (classListRecorded && getClassListFile().lastModified() > getArchiveFile().lastModified()) {
+      LOGGER.info("Classes were recorded since the Class Data Sharing archive was created");
+    } else {
+      return true;
+    }
+
+    archiveOutdated = classListRecorded;
+    if (classListRecorded) {
+      LOGGER.info("The Class Data Sharing archive will be recreated once the container started, for the next boot to use it");
+    } else {
+      LOGGER.warn("Start the container with '{}=train' to recreate the Class Data Sharing archive", CDS_MODE_PROPERTY);
+    }
+    return mapped;
+  }
+
+  private boolean isClassListTraining() {
+    return hasJvmOption(DUMP_LOADED_CLASS_LIST_OPTION, getClassListFile());
+  }
+
+  private boolean isDynamicTraining() {
+    return hasJvmOption(ARCHIVE_CLASSES_AT_EXIT_OPTION, getArchiveFile());
+  }
+
+  /**
+   * @return whether the JVM maps a Class Data Sharing archive, as reported in {@code java.vm.info}
+   */
+  private boolean isSharingEnabled() {
+    return systemProperties.getProperty("java.vm.info", "").contains("sharing");
+  }
+
+  private int getJavaVersion() {
+    String version = systemProperties.getProperty("java.specification.version", "");
+    try {
+      // Up to Java 8, the version is 1.x
+      return parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Records the time it took for the container to start since the JVM was started, and logs it along with the time of the last
+   * boot without the archive when the archive is used. Starts creating the archive in the background if it is outdated.
+   */
+  void containerStarted() {
+    long startupTime = getRuntimeMXBean().getUptime();
+    if (archiveOutdated) {
+      createArchiveInBackground();
+    }
+
+    if (!enabled) {
+      LOGGER.info("Mule container started in {} ms since JVM start (Class Data Sharing: disabled)", startupTime);
+      return;
+    }
+
+    Properties startupTimes = loadStartupTimes();
+    String withoutArchive = startupTimes.getProperty(STARTUP_WITHOUT_ARCHIVE);
+    if (mode.get() == Mode.USE) {
+      startupTimes.setProperty(STARTUP_WITH_ARCHIVE, String.valueOf(startupTime));
+      LOGGER.info("Mule container started in {} ms since JVM start (Class Data Sharing: use, last training boot: {})",
+                  startupTime, withoutArchive == null ? "unknown" : withoutArchive + " ms");
+    } else {
+      startupTimes.setProperty(STARTUP_WITHOUT_ARCHIVE, String.valueOf(startupTime));
+      LOGGER.info("Mule container started in {} ms since JVM start (Class Data Sharing: train)", startupTime);
+    }
+    storeStartupTimes(startupTimes);
+  }
+
+  /**
+   * Abandons the creation of the archive if it is still running, and records the fingerprint of the archived jars when the JVM
+   * creates the archive itself after a training run. Doesn't wait for anything, since it is part of the stop of the container.
+   */
+  void containerStopped() {
+    synchronized (this) {
+      stopped = true;
+      if (dumpProcess != null && dumpProcess.isAlive()) {
+        dumpProcess.destroyForcibly();
+        LOGGER.info("Creation of the Class Data Sharing archive abandoned, it will be retried on the next start");
+      }
+    }
+
+    if (enabled && mode.get() == Mode.TRAIN && isDynamicTraining()) {
+      writeFingerprint();
+    }
+  }
+
+  private void createArchiveInBackground() {
+    Thread thread = new Thread(this::createArchive, "[MuleRuntime].cds.dump");
+    thread.setDaemon(true);
+    thread.setPriority(MIN_PRIORITY);
+    thread.start();
+  }
+
+  /**
+   * Runs a JVM with the options and class path of this one that creates the archive from the class list recorded during the
+   * training run.
+   */
+  private void createArchive() {
+    File temporaryArchive = new File(cdsFolder, TEMPORARY_ARCHIVE_FILE);
+    File dumpLog = new File(cdsFolder, DUMP_LOG_FILE);
+    try {
+      Process process;
+      synchronized (this) {
+        if (stopped) {
+          return;
+        }
+        process = new ProcessBuilder(createDumpCommand(temporaryArchive))
+            .redirectErrorStream(true)
+            .redirectOutput(dumpLog)
+            .start();
+        dumpProcess = process;
+      }
+
+      if (!process.waitFor(DUMP_TIMEOUT_MINUTES, MINUTES)) {
+        process.destroyForcibly();
+        LOGGER.warn("Class Data Sharing archive not created after {} minutes, see '{}'", DUMP_TIMEOUT_MINUTES, dumpLog);
+        return;
+      }
+      if (process.exitValue() != 0) {
+        synchronized (this) {
+          if (!stopped) {
+            LOGGER.warn("Could not create the Class Data Sharing archive, see '{}'", dumpLog);
+          }
+        }
+        return;
+      }
+
+      move(temporaryArchive.toPath(), getArchiveFile().toPath(), REPLACE_EXISTING);
+    } catch (IOException e) {
+      LOGGER.warn("Could not create the Class Data Sharing archive", e);
+      return;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } finally {
+      temporaryArchive.delete();
+    }
+
+    writeFingerprint();
+    LOGGER.info("Class Data Sharing archive created at '{}', it will be used from the next start of the container",
+                getArchiveFile());
+  }
+
+  /**
+   * @param archive the file to create the archive to
+   * @return the command that creates the archive from the recorded class list
+   */
+  List<String> createDumpCommand(File archive) {
+    List<String> command = new ArrayList<>();
+    command.add(systemProperties.getProperty("java.home") + separator + "bin" + separator + "java");
+    // The archive is only mapped by JVMs with the same options and a matching class path
+    jvmArguments.stream()
+        .filter(argument -> NOT_FORWARDED_OPTIONS.stream().noneMatch(argument::startsWith))
+        .forEach(command::add);
+    command.add("-Xshare:dump");
+    command.add(SHARED_CLASS_LIST_FILE_OPTION + getClassListFile().getAbsolutePath());
+    command.add(SHARED_ARCHIVE_FILE_OPTION + archive.getAbsolutePath());
+    command.add("-cp");
+    command.add(systemProperties.getProperty("java.class.path"));
+    return command;
+  }
+
+  private void writeFingerprint() {
+    try {
+      writeStringToFile(new File(cdsFolder, FINGERPRINT_FILE), computeFingerprint(), UTF_8);
+    } catch (IOException e) {
+      LOGGER.warn("Could not write the fingerprint of the Class Data Sharing archive", e);
+    }
+  }
+
+  private boolean hasJvmOption(String optionPrefix, File expectedFile) {
+    for (String argument : jvmArguments) {
+      if (!argument.startsWith(optionPrefix)) {
+        continue;
+      }
+
+      File optionFile = new File(argument.substring(optionPrefix.length()));
+      if (isSameFile(optionFile, expectedFile)) {
+        return true;
+      }
+      LOGGER.warn("JVM option '{}' points to '{}' instead of '{}'", optionPrefix, optionFile, expectedFile.getAbsolutePath());
+    }
+    return false;
+  }
+
+  private boolean isSameFile(File file, File expectedFile) {
+    try {
+      return file.getCanonicalFile().equals(expectedFile.getCanonicalFile());
+    } catch (IOException e) {
+      return file.getAbsoluteFile().equals(expectedFile.getAbsoluteFile());
+    }
+  }
+
+  private Properties loadStartupTimes() {
+    Properties startupTimes = new Properties();
+    File startupTimesFile = new File(cdsFolder, STARTUP_TIMES_FILE);
+    if (startupTimesFile.exists()) {
+      try (InputStream input = new FileInputStream(startupTimesFile)) {
+        startupTimes.load(input);
+      } catch (IOException e) {
+        LOGGER.debug("Could not read the startup times of the container", e);
+      }
+    }
+    return startupTimes;
+  }
+
+  private void storeStartupTimes(Properties startupTimes) {
+    try (OutputStream output = new FileOutputStream(new File(cdsFolder, STARTUP_TIMES_FILE))) {
+      startupTimes.store(output, "Startup time of the container in ms, with and without the Class Data Sharing archive");
+    } catch (IOException e) {
+      LOGGER.debug("Could not store the startup times of the container", e);
+    }
+  }
+
+  private boolean isFingerprintUpToDate() {
+    File fingerprintFile = new File(cdsFolder, FINGERPRINT_FILE);
+    if (!fingerprintFile.exists()) {
+      return false;
+    }
+
+    try {
+      return readFileToString(fingerprintFile, UTF_8).equals(computeFingerprint());
+    } catch (IOException e) {
+      LOGGER.debug("Could not read the fingerprint of the Class Data Sharing archive", e);
+      return false;
+    }
+  }
+
+  private String computeFingerprint() {
+    CRC32 crc = new CRC32();
+    for (File folder : new File[] {getMuleLibFolder(), getServicesFolder(), getServerPluginsFolder()}) {
+      updateFingerprint(crc, folder);
+    }
+    return Long.toHexString(crc.getValue());
+  }
+
+  private void updateFingerprint(CRC32 crc, File file) {
+    if (file.isDirectory()) {
+      File[] children = file.listFiles();
+      if (children != null) {
+        sort(children);
+        for (File child : children) {
+          updateFingerprint(crc, child);
+        }
+      }
+    } else if (file.getName().endsWith(".jar")) {
+      crc.update((file.getPath() + ":" + file.length() + ":" + file.lastModified()).getBytes(UTF_8));
+    }
+  }
+}
@@ -46,6 +46,7 @@ import org.mule.runtime.module.launcher.coreextension.ClasspathMuleCoreExtension
 import org.mule.runtime.module.launcher.coreextension.DefaultMuleCoreExtensionManagerServer;
 import org.mule.runtime.module.launcher.coreextension.MuleCoreExtensionManagerServer;
 import org.mule.runtime.module.launcher.coreextension.ReflectionMuleCoreExtensionDependencyResolver;
+import org.mule.runtime.module.launcher.log4j2.AsyncLoggingStatisticsDeploymentListener;
 import org.mule.runtime.module.launcher.log4j2.MuleLog4jContextFactory;
 import org.mule.runtime.module.reboot.MuleContainerBootstrap;
 import org.mule.runtime.module.repository.api.RepositoryService;
@@ -104,6 +105,7 @@ public class MuleContainer {
       .artifactConfigurationProcessor(serializedAstWithFallbackArtifactConfigurationProcessor())
       .build();
   private static MuleLog4jContextFactory log4jContextFactory;
+  private final ClassDataSharingSupport classDataSharingSupport = new ClassDataSharingSupport();
 
   static {
     if (getProperty(MULE_SIMPLE_LOG) == null) {
@@ -251,6 +253,7 @@ public class MuleContainer {
       doResourceInitialization();
 
       createExecutionMuleFolder();
+      classDataSharingSupport.checkJvmOptions();
 
       serviceManager.start();
 
@@ -269,7 +272,10 @@ public class MuleContainer {
       toolingService.initialise();
 
       extensionModelLoaderManager.start();
+      deploymentService.addDeploymentListener(new AsyncLoggingStatisticsDeploymentListener());
       deploymentService.start();
+
+      classDataSharingSupport.containerStarted();
     } catch (Throwable e) {
       shutdown(e);
     }
@@ -367,6 +373,8 @@ public class MuleContainer {
       toolingService.stop();
     }
 
+    classDataSharingSupport.containerStopped();
+
     LoggerContextFactory defaultLogManagerFactory = LogManager.getFactory();
     if (defaultLogManagerFactory instanceof MuleLog4jContextFactory) {
       ((MuleLog4jContextFactory) defaultLogManagerFactory).dispose();
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+import static com.lmax.disruptor.util.Util.ceilingNextPowerOfTwo;
+
+import org.mule.runtime.core.api.management.stats.AsyncLoggingStatistics;
+import org.mule.runtime.core.internal.logging.LazyLogMessage;
+import org.mule.runtime.module.launcher.api.log4j2.AsyncLoggerExceptionHandler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * Writes the log events of an artifact to a delegate {@link Appender} from a background thread.
+ * <p>
+ * The events are copied into the preallocated slots of a bounded ring buffer, so no objects are created for each event when
+ * log4j runs in garbage free mode. What happens when the ring buffer is full depends on the {@link OverflowPolicy}.
+ * <p>
+ * Messages with a {@link LazyLogMessage} parameter are only evaluated once the event is accepted, and the event is discarded if
+ * its evaluation fails.
+ * <p>
+ * The delegate appender is owned by this appender, which starts and stops it. Once this appender is stopping, the ring buffer
+ * may never have space again, so events are written straight to the delegate while it is still started, and dropped after.
+ *
+ * @since 4.5.0
+ */
+final class ArtifactAsyncAppender extends AbstractAppender implements AsyncLoggingStatistics {
+
+  /**
+   * Name of the appender of the artifact's {@link org.apache.logging.log4j.core.LoggerContext} that writes the log events
+   * asynchronously.
+   */
+  static final String ASYNC_APPENDER_NAME = "asyncDefaultFileAppender";
+
+  static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private static final int SAMPLE_RATE = 10;
+  private static final long STOP_TIMEOUT_MILLIS = 5000;
+  private static final long BLOCK_PARK_NANOS = 100_000;
+
+  /**
+   * What to do with the events that don't fit in the ring buffer.
+   */
+  enum OverflowPolicy {
+
+    /**
+     * Drops {@code DEBUG} and {@code TRACE} events, waits for space for the others.
+     */
+    DROP_DEBUG_FIRST,
+
+    /**
+     * Waits for space for every event.
+     */
+    BLOCK,
+
+    /**
+     * Waits for space for one of every 10 events, drops the others.
+     */
+    SAMPLE;
+
+    static OverflowPolicy parse(String value) {
+      String normalized = value.trim().toUpperCase().replace('-', '_');
+      for (OverflowPolicy policy : values()) {
+        if (policy.name().equals(normalized)) {
+          return policy;
+        }
+      }
+      throw new IllegalArgumentException("Invalid overflow policy '" + value + "', expected one of "
+          + asList("drop-debug-first", "block", "sample"));
+    }
+  }
+
+  private final Appender delegate;
+  private final OverflowPolicy overflowPolicy;
+  private final int bufferSize;
+  private final Disruptor<MutableLogEvent> disruptor;
+  private final AtomicLong overflowedEvents = new AtomicLong();
+  private final AtomicLong droppedEvents = new AtomicLong();
+
+  private volatile RingBuffer<MutableLogEvent> ringBuffer;
+  private volatile Thread writerThread;
+
+  /**
+   * @param name           the name of this appender
+   * @param delegate       the appender the events are written to
+   * @param bufferSize     amount of events the ring buffer can hold, rounded up to the next power of 2
+   * @param overflowPolicy what to do with the events that don't fit in the ring buffer
+   * @param artifactName   the name of the artifact which events are written, for naming the writer thread
+   */
+  ArtifactAsyncAppender(String name, Appender delegate, int bufferSize, OverflowPolicy overflowPolicy, String artifactName) {
+    super(name, null, null, true);
+    this.delegate = delegate;
+    this.overflowPolicy = overflowPolicy;
+    this.bufferSize = ceilingNextPowerOfTwo(bufferSize);
+    this.disruptor = new Disruptor<>(MutableLogEvent::new, this.bufferSize, runnable -> {
+      Thread thread = new Thread(runnable, "[MuleRuntime].log4j.async." + artifactName);
+      thread.setDaemon(true);
+      writerThread = thread;
+      return thread;
+    }, ProducerType.MULTI, new BlockingWaitStrategy());
+    disruptor.setDefaultExceptionHandler(new AsyncLoggerExceptionHandler());
+    disruptor.handleEventsWith((event, sequence, endOfBatch) -> {
+      try {
+        // Slots of the discarded events are published without level
+        if (event.getLevel() != null) {
+          delegate.append(event);
+        }
+      } finally {
+        event.clear();
+      }
+    });
+  }
+
+  @Override
+  public void start() {
+    if (!delegate.isStarted()) {
+      delegate.start();
+    }
+    ringBuffer = disruptor.start();
+    super.start();
+  }
+
+  @Override
+  public boolean stop(long timeout, TimeUnit timeUnit) {
+    setStopping();
+    try {
+      // Waits for the pending events to be written
+      disruptor.shutdown(STOP_TIMEOUT_MILLIS, MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOGGER.warn("Timed out waiting for the pending log events of appender '{}' to be written", getName());
+      disruptor.halt();
+    }
+    delegate.stop(timeout, timeUnit);
+    if (droppedEvents.get() > 0) {
+      LOGGER.warn("Appender '{}' dropped {} log events because its buffer was full", getName(), droppedEvents.get());
+    }
+    setStopped();
+    return true;
+  }
+
+  @Override
+  public void append(LogEvent event) {
+    if (currentThread() == writerThread) {
+      // Avoids a deadlock if writing an event causes another one to be logged
+      if (evaluateLazyMessages(event)) {
+        delegate.append(event);
+      }
+      return;
+    }
+
+    if (!isStarted()) {
+      appendDirectly(event);
+      return;
+    }
+
+    long sequence;
+    try {
+      sequence = ringBuffer.tryNext();
+    } catch (InsufficientCapacityException e) {
+      if (!waitForSpace(event)) {
+        if (droppedEvents.getAndIncrement() == 0) {
+          LOGGER.warn("Buffer of appender '{}' is full, dropping log events according to the '{}' policy", getName(),
+                      overflowPolicy);
+        }
+        return;
+      }
+      sequence = nextWhileStarted();
+      if (sequence < 0) {
+        appendDirectly(event);
+        return;
+      }
+    }
+
+    MutableLogEvent slot = ringBuffer.get(sequence);
+    try {
+      if (evaluateLazyMessages(event)) {
+        slot.initFrom(event);
+      } else {
+        slot.clear();
+        slot.setLevel(null);
+      }
+    } finally {
+      ringBuffer.publish(sequence);
+    }
+  }
+
+  /**
+   * Waits for a slot of the ring buffer, unlike {@link RingBuffer#next()} giving up if this appender stops meanwhile.
+   *
+   * @return the sequence of the slot, or {@code -1} if this appender stopped
+   */
+  private long nextWhileStarted() {
+    while (isStarted()) {
+      try {
+        return ringBuffer.tryNext();
+      } catch (InsufficientCapacityException e) {
+        parkNanos(BLOCK_PARK_NANOS);
+      }
+    }
+    return -1;
+  }
+
+  private void appendDirectly(LogEvent event) {
+    if (!delegate.isStarted()) {
+      droppedEvents.incrementAndGet();
+    } else if (evaluateLazyMessages(event)) {
+      delegate.append(event);
+    }
+  }
+
+  private boolean evaluateLazyMessages(LogEvent event) {
+    Object[] parameters = event.getMessage().getParameters();
+    if (parameters != null) {
+      for (Object parameter : parameters) {
+        if (parameter instanceof LazyLogMessage && !((LazyLogMessage) parameter).evaluate()) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean waitForSpace(LogEvent event) {
+    switch (overflowPolicy) {
+      case BLOCK:
+        return true;
+      case SAMPLE:
+        return overflowedEvents.incrementAndGet() % SAMPLE_RATE == 0;
+      default:
+        return event.getLevel().isMoreSpecificThan(Level.INFO);
+    }
+  }
+
+  @Override
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  @Override
+  public long getQueueDepth() {
+    RingBuffer<MutableLogEvent> ringBuffer = this.ringBuffer;
+    return ringBuffer == null ? 0 : bufferSize - ringBuffer.remainingCapacity();
+  }
+
+  @Override
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+}
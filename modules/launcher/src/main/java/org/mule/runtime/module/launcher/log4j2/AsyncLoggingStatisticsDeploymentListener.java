@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONTEXT;
+import static org.mule.runtime.module.launcher.log4j2.ArtifactAsyncAppender.ASYNC_APPENDER_NAME;
+
+import static org.apache.logging.log4j.LogManager.getContext;
+
+import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.AsyncLoggingStatistics;
+import org.mule.runtime.module.deployment.api.DeploymentListener;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+
+/**
+ * Publishes the {@link AsyncLoggingStatistics} of the applications that log asynchronously in their {@link AllStatistics}.
+ * <p>
+ * They are only published when every appender of the application is an {@link ArtifactAsyncAppender}, since the logger relies
+ * on them being present to defer the evaluation of its messages to that appender.
+ *
+ * @since 4.5.0
+ */
+public final class AsyncLoggingStatisticsDeploymentListener implements DeploymentListener {
+
+  @Override
+  public void onArtifactInitialised(String artifactName, Registry registry) {
+    registry.<MuleContext>lookupByName(OBJECT_MULE_CONTEXT).ifPresent(muleContext -> {
+      AllStatistics statistics = muleContext.getStatistics();
+      Object loggerContext = getContext(muleContext.getExecutionClassLoader(), false);
+      if (statistics == null || !(loggerContext instanceof LoggerContext)) {
+        return;
+      }
+
+      if (getAsyncAppender((LoggerContext) loggerContext) != null) {
+        statistics.setAsyncLoggingStatistics(new LoggerContextAsyncLoggingStatistics((LoggerContext) loggerContext));
+      }
+    });
+  }
+
+  private static ArtifactAsyncAppender getAsyncAppender(LoggerContext loggerContext) {
+    Configuration configuration = loggerContext.getConfiguration();
+    for (Appender appender : configuration.getAppenders().values()) {
+      if (!(appender instanceof ArtifactAsyncAppender)) {
+        return null;
+      }
+    }
+
+    Appender appender = configuration.getAppender(ASYNC_APPENDER_NAME);
+    return appender instanceof ArtifactAsyncAppender ? (ArtifactAsyncAppender) appender : null;
+  }
+
+  /**
+   * Reads the statistics from the {@link ArtifactAsyncAppender} currently in the {@link LoggerContext}, which is replaced by a
+   * new one each time log4j reconfigures the context.
+   */
+  private static final class LoggerContextAsyncLoggingStatistics implements AsyncLoggingStatistics {
+
+    private final LoggerContext loggerContext;
+
+    private LoggerContextAsyncLoggingStatistics(LoggerContext loggerContext) {
+      this.loggerContext = loggerContext;
+    }
+
+    @Override
+    public int getBufferSize() {
+      ArtifactAsyncAppender appender = getAsyncAppender(loggerContext);
+      return appender == null ? 0 : appender.getBufferSize();
+    }
+
+    @Override
+    public long getQueueDepth() {
+      ArtifactAsyncAppender appender = getAsyncAppender(loggerContext);
+      return appender == null ? 0 : appender.getQueueDepth();
+    }
+
+    @Override
+    public long getDroppedEvents() {
+      ArtifactAsyncAppender appender = getAsyncAppender(loggerContext);
+      return appender == null ? 0 : appender.getDroppedEvents();
+    }
+  }
+}
@@ -7,7 +7,10 @@
 package org.mule.runtime.module.launcher.log4j2;
 
 import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Math.max;
 import static java.lang.Thread.currentThread;
+import static java.util.Collections.newSetFromMap;
 import static org.mule.runtime.core.api.util.ClassUtils.setContextClassLoader;
 import static org.mule.runtime.module.launcher.log4j2.ArtifactAwareContextSelector.resolveLoggerContextClassLoader;
 import static org.reflections.ReflectionUtils.getAllMethods;
@@ -16,10 +19,14 @@ import static org.reflections.ReflectionUtils.withParameters;
 
 import org.mule.runtime.api.util.Reference;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
@@ -28,6 +35,7 @@ import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.selector.ContextSelector;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.MessageFactory;
@@ -54,6 +62,9 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
  */
 abstract class DispatchingLogger extends Logger {
 
+  private static final AtomicLong configurationGeneration = new AtomicLong();
+  private static volatile LevelThreshold levelThreshold = new LevelThreshold(-1, null, MAX_VALUE);
+
   private final Logger originalLogger;
   private final ContextSelector contextSelector;
   private final int ownerClassLoaderHash;
@@ -62,6 +73,8 @@ abstract class DispatchingLogger extends Logger {
       .weakValues()
       .build(key -> new Reference<>());
 
+  private final ThreadLocal<ThreadLogger> threadLoggerCache = new ThreadLocal<>();
+
   private Method updateConfigurationMethod = null;
 
   DispatchingLogger(Logger originalLogger, int ownerClassLoaderHash, LoggerContext loggerContext, ContextSelector contextSelector,
@@ -72,11 +85,94 @@ abstract class DispatchingLogger extends Logger {
     this.ownerClassLoaderHash = ownerClassLoaderHash;
   }
 
+  /**
+   * Notifies that the configuration of a {@link LoggerContext} changed, so the levels enabled in the active contexts have to be
+   * recalculated.
+   */
+  static void loggerConfigurationChanged() {
+    configurationGeneration.incrementAndGet();
+  }
+
+  /**
+   * Checks whether the given level is disabled for every logger in every active {@link LoggerContext}, in which case the event
+   * can be discarded without resolving the context of the current thread.
+   * <p>
+   * Levels changed directly on a {@link Logger} that isn't a {@link DispatchingLogger} without updating the loggers of its
+   * context are not noticed by this check.
+   *
+   * @param level the level of the event
+   * @return {@code true} if no logger would accept events with the given level
+   */
+  private boolean isDisabledInAllContexts(Level level) {
+    long generation = configurationGeneration.get();
+    LevelThreshold threshold = levelThreshold;
+    if (threshold.generation != generation || threshold.contextSelector != contextSelector) {
+      threshold = new LevelThreshold(generation, contextSelector, getMostVerboseLevel());
+      levelThreshold = threshold;
+    }
+    return level.intLevel() > threshold.intLevel;
+  }
+
+  private int getMostVerboseLevel() {
+    Set<LoggerContext> loggerContexts = newSetFromMap(new IdentityHashMap<>());
+    loggerContexts.add(originalLogger.getContext());
+    loggerContexts.addAll(contextSelector.getLoggerContexts());
+
+    int mostVerboseLevel = Level.OFF.intLevel();
+    for (LoggerContext loggerContext : loggerContexts) {
+      Configuration configuration = loggerContext.getConfiguration();
+      if (configuration == null || configuration.getFilter() != null) {
+        // Context wide filters are evaluated before the level, so they may accept events of any level
+        return MAX_VALUE;
+      }
+
+      for (LoggerConfig loggerConfig : configuration.getLoggers().values()) {
+        mostVerboseLevel = max(mostVerboseLevel, intLevel(loggerConfig.getLevel()));
+      }
+      mostVerboseLevel = max(mostVerboseLevel, intLevel(configuration.getRootLogger().getLevel()));
+
+      for (Logger logger : loggerContext.getLoggers()) {
+        // Avoid resolving the context of the current thread for the dispatching loggers
+        Logger levelLogger = logger instanceof DispatchingLogger ? ((DispatchingLogger) logger).originalLogger : logger;
+        mostVerboseLevel = max(mostVerboseLevel, intLevel(levelLogger.getLevel()));
+      }
+    }
+    return mostVerboseLevel;
+  }
+
+  private static int intLevel(Level level) {
+    return level == null ? MAX_VALUE : level.intLevel();
+  }
+
   private Logger getLogger() {
-    return getLogger(resolveLoggerContextClassLoader(currentThread().getContextClassLoader()));
+    ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+
+    ThreadLogger threadLogger = threadLoggerCache.get();
+    Logger logger = threadLogger != null ? threadLogger.getLogger(contextClassLoader) : null;
+    if (logger != null) {
+      return logger;
+    }
+
+    logger = lookupLogger(resolveLoggerContextClassLoader(contextClassLoader));
+    if (logger == null) {
+      // The fallback is not cached, so the logger of the context is used once it is created
+      return resolveLogger(this.getClass().getClassLoader());
+    }
+
+    threadLoggerCache.set(new ThreadLogger(contextClassLoader, logger));
+    return logger;
   }
 
   private Logger getLogger(final ClassLoader resolvedCtxClassLoader) {
+    Logger logger = lookupLogger(resolvedCtxClassLoader);
+    return logger != null ? logger : resolveLogger(this.getClass().getClassLoader());
+  }
+
+  /**
+   * @param resolvedCtxClassLoader the class loader of the logger context to use
+   * @return the logger for the given class loader, or {@code null} if its context is still being created
+   */
+  private Logger lookupLogger(final ClassLoader resolvedCtxClassLoader) {
     if (useThisLoggerContextClassLoader(resolvedCtxClassLoader)) {
       return originalLogger;
     }
@@ -103,9 +199,9 @@ abstract class DispatchingLogger extends Logger {
           try {
             logger = resolveLogger(resolvedCtxClassLoader);
           } catch (RecursiveLoggerContextInstantiationException rle) {
-            // The required Logger is already under construction by a previous resolveLogger call. Falling back to container
-            // classloader.
-            return resolveLogger(this.getClass().getClassLoader());
+            // The required Logger is already under construction by a previous resolveLogger call. The caller falls back to the
+            // container classloader.
+            return null;
           }
           loggerReference.set(logger);
         }
@@ -193,6 +289,7 @@ abstract class DispatchingLogger extends Logger {
   @Override
   public void setLevel(Level level) {
     getLogger().setLevel(level);
+    loggerConfigurationChanged();
   }
 
   @Override
@@ -202,27 +299,27 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public boolean isEnabled(Level level, Marker marker, String message, Throwable t) {
-    return getLogger().isEnabled(level, marker, message, t);
+    return !isDisabledInAllContexts(level) && getLogger().isEnabled(level, marker, message, t);
   }
 
   @Override
   public boolean isEnabled(Level level, Marker marker, String message) {
-    return getLogger().isEnabled(level, marker, message);
+    return !isDisabledInAllContexts(level) && getLogger().isEnabled(level, marker, message);
   }
 
   @Override
   public boolean isEnabled(Level level, Marker marker, String message, Object... params) {
-    return getLogger().isEnabled(level, marker, message, params);
+    return !isDisabledInAllContexts(level) && getLogger().isEnabled(level, marker, message, params);
   }
 
   @Override
   public boolean isEnabled(Level level, Marker marker, Object message, Throwable t) {
-    return getLogger().isEnabled(level, marker, message, t);
+    return !isDisabledInAllContexts(level) && getLogger().isEnabled(level, marker, message, t);
   }
 
   @Override
   public boolean isEnabled(Level level, Marker marker, Message message, Throwable t) {
-    return getLogger().isEnabled(level, marker, message, t);
+    return !isDisabledInAllContexts(level) && getLogger().isEnabled(level, marker, message, t);
   }
 
   @Override
@@ -291,71 +388,113 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public void debug(Marker marker, Message msg) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(marker, msg);
   }
 
   @Override
   public void debug(Marker marker, Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(marker, msg, t);
   }
 
   @Override
   public void debug(Marker marker, Object message) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(marker, message);
   }
 
   @Override
   public void debug(Marker marker, Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(marker, message, t);
   }
 
   @Override
   public void debug(Marker marker, String message) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(marker, message);
   }
 
   @Override
   public void debug(Marker marker, String message, Object... params) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(marker, message, params);
   }
 
   @Override
   public void debug(Marker marker, String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(marker, message, t);
   }
 
   @Override
   public void debug(Message msg) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(msg);
   }
 
   @Override
   public void debug(Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(msg, t);
   }
 
   @Override
   public void debug(Object message) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(message);
   }
 
   @Override
   public void debug(Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(message, t);
   }
 
   @Override
   public void debug(String message) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(message);
   }
 
   @Override
   public void debug(String message, Object... params) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(message, params);
   }
 
   @Override
   public void debug(String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.DEBUG)) {
+      return;
+    }
     getLogger().debug(message, t);
   }
 
@@ -376,71 +515,113 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public void error(Marker marker, Message msg) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(marker, msg);
   }
 
   @Override
   public void error(Marker marker, Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(marker, msg, t);
   }
 
   @Override
   public void error(Marker marker, Object message) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(marker, message);
   }
 
   @Override
   public void error(Marker marker, Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(marker, message, t);
   }
 
   @Override
   public void error(Marker marker, String message) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(marker, message);
   }
 
   @Override
   public void error(Marker marker, String message, Object... params) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(marker, message, params);
   }
 
   @Override
   public void error(Marker marker, String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(marker, message, t);
   }
 
   @Override
   public void error(Message msg) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(msg);
   }
 
   @Override
   public void error(Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(msg, t);
   }
 
   @Override
   public void error(Object message) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(message);
   }
 
   @Override
   public void error(Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(message, t);
   }
 
   @Override
   public void error(String message) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(message);
   }
 
   @Override
   public void error(String message, Object... params) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(message, params);
   }
 
   @Override
   public void error(String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.ERROR)) {
+      return;
+    }
     getLogger().error(message, t);
   }
 
@@ -456,336 +637,495 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public void fatal(Marker marker, Message msg) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(marker, msg);
   }
 
   @Override
   public void fatal(Marker marker, Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(marker, msg, t);
   }
 
   @Override
   public void fatal(Marker marker, Object message) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(marker, message);
   }
 
   @Override
   public void fatal(Marker marker, Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(marker, message, t);
   }
 
   @Override
   public void fatal(Marker marker, String message) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(marker, message);
   }
 
   @Override
   public void fatal(Marker marker, String message, Object... params) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(marker, message, params);
   }
 
   @Override
   public void fatal(Marker marker, String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(marker, message, t);
   }
 
   @Override
   public void fatal(Message msg) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(msg);
   }
 
   @Override
   public void fatal(Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(msg, t);
   }
 
   @Override
   public void fatal(Object message) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(message);
   }
 
   @Override
   public void fatal(Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(message, t);
   }
 
   @Override
   public void fatal(String message) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(message);
   }
 
   @Override
   public void fatal(String message, Object... params) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(message, params);
   }
 
   @Override
   public void fatal(String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.FATAL)) {
+      return;
+    }
     getLogger().fatal(message, t);
   }
 
   @Override
   public void info(Marker marker, Message msg) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(marker, msg);
   }
 
   @Override
   public void info(Marker marker, Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(marker, msg, t);
   }
 
   @Override
   public void info(Marker marker, Object message) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(marker, message);
   }
 
   @Override
   public void info(Marker marker, Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(marker, message, t);
   }
 
   @Override
   public void info(Marker marker, String message) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(marker, message);
   }
 
   @Override
   public void info(Marker marker, String message, Object... params) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(marker, message, params);
   }
 
   @Override
   public void info(Marker marker, String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(marker, message, t);
   }
 
   @Override
   public void info(Message msg) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(msg);
   }
 
   @Override
   public void info(Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(msg, t);
   }
 
   @Override
   public void info(Object message) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(message);
   }
 
   @Override
   public void info(Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(message, t);
   }
 
   @Override
   public void info(String message) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(message);
   }
 
   @Override
   public void info(String message, Object... params) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(message, params);
   }
 
   @Override
   public void info(String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.INFO)) {
+      return;
+    }
     getLogger().info(message, t);
   }
 
   @Override
   public boolean isDebugEnabled() {
-    return getLogger().isDebugEnabled();
+    return !isDisabledInAllContexts(Level.DEBUG) && getLogger().isDebugEnabled();
   }
 
   @Override
   public boolean isDebugEnabled(Marker marker) {
-    return getLogger().isDebugEnabled(marker);
+    return !isDisabledInAllContexts(Level.DEBUG) && getLogger().isDebugEnabled(marker);
   }
 
   @Override
   public boolean isEnabled(Level level) {
-    return getLogger().isEnabled(level);
+    return !isDisabledInAllContexts(level) && getLogger().isEnabled(level);
   }
 
   @Override
   public boolean isEnabled(Level level, Marker marker) {
-    return getLogger().isEnabled(level, marker);
+    return !isDisabledInAllContexts(level) && getLogger().isEnabled(level, marker);
   }
 
   @Override
   public boolean isErrorEnabled() {
-    return getLogger().isErrorEnabled();
+    return !isDisabledInAllContexts(Level.ERROR) && getLogger().isErrorEnabled();
   }
 
   @Override
   public boolean isErrorEnabled(Marker marker) {
-    return getLogger().isErrorEnabled(marker);
+    return !isDisabledInAllContexts(Level.ERROR) && getLogger().isErrorEnabled(marker);
   }
 
   @Override
   public boolean isFatalEnabled() {
-    return getLogger().isFatalEnabled();
+    return !isDisabledInAllContexts(Level.FATAL) && getLogger().isFatalEnabled();
   }
 
   @Override
   public boolean isFatalEnabled(Marker marker) {
-    return getLogger().isFatalEnabled(marker);
+    return !isDisabledInAllContexts(Level.FATAL) && getLogger().isFatalEnabled(marker);
   }
 
   @Override
   public boolean isInfoEnabled() {
-    return getLogger().isInfoEnabled();
+    return !isDisabledInAllContexts(Level.INFO) && getLogger().isInfoEnabled();
   }
 
   @Override
   public boolean isInfoEnabled(Marker marker) {
-    return getLogger().isInfoEnabled(marker);
+    return !isDisabledInAllContexts(Level.INFO) && getLogger().isInfoEnabled(marker);
   }
 
   @Override
   public boolean isTraceEnabled() {
-    return getLogger().isTraceEnabled();
+    return !isDisabledInAllContexts(Level.TRACE) && getLogger().isTraceEnabled();
   }
 
   @Override
   public boolean isTraceEnabled(Marker marker) {
-    return getLogger().isTraceEnabled(marker);
+    return !isDisabledInAllContexts(Level.TRACE) && getLogger().isTraceEnabled(marker);
   }
 
   @Override
   public boolean isWarnEnabled() {
-    return getLogger().isWarnEnabled();
+    return !isDisabledInAllContexts(Level.WARN) && getLogger().isWarnEnabled();
   }
 
   @Override
   public boolean isWarnEnabled(Marker marker) {
-    return getLogger().isWarnEnabled(marker);
+    return !isDisabledInAllContexts(Level.WARN) && getLogger().isWarnEnabled(marker);
   }
 
   @Override
   public void log(Level level, Marker marker, Message msg) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, marker, msg);
   }
 
   @Override
   public void log(Level level, Marker marker, Message msg, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, marker, msg, t);
   }
 
   @Override
   public void log(Level level, Marker marker, Object message) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, marker, message);
   }
 
   @Override
   public void log(Level level, Marker marker, Object message, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, marker, message, t);
   }
 
   @Override
   public void log(Level level, Marker marker, String message) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, marker, message);
   }
 
   @Override
   public void log(Level level, Marker marker, String message, Object... params) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, marker, message, params);
   }
 
   @Override
   public void log(Level level, Marker marker, String message, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, marker, message, t);
   }
 
   @Override
   public void log(Level level, Message msg) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, msg);
   }
 
   @Override
   public void log(Level level, Message msg, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, msg, t);
   }
 
   @Override
   public void log(Level level, Object message) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, message);
   }
 
   @Override
   public void log(Level level, Object message, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, message, t);
   }
 
   @Override
   public void log(Level level, String message) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, message);
   }
 
   @Override
   public void log(Level level, String message, Object... params) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, message, params);
   }
 
   @Override
   public void log(Level level, String message, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().log(level, message, t);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, Message msg, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, msg, t);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, Object message, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, t);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object... params) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, params);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, t);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object p0) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, p0);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, MessageSupplier msgSupplier, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, msgSupplier, t);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, CharSequence message, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, t);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, Supplier<?> msgSupplier, Throwable t) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, msgSupplier, t);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Supplier<?>... paramSuppliers) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, paramSuppliers);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object p0, Object p1) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, p0, p1);
   }
 
@@ -796,52 +1136,79 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object p0, Object p1, Object p2, Object p3) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, p0, p1, p2, p3);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object p0, Object p1, Object p2, Object p3,
                            Object p4) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, p0, p1, p2, p3, p4);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object p0, Object p1, Object p2, Object p3,
                            Object p4, Object p5) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, p0, p1, p2, p3, p4, p5);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object p0, Object p1, Object p2, Object p3,
                            Object p4, Object p5, Object p6) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, p0, p1, p2, p3, p4, p5, p6);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object p0, Object p1, Object p2, Object p3,
                            Object p4, Object p5, Object p6, Object p7) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object p0, Object p1, Object p2, Object p3,
                            Object p4, Object p5, Object p6, Object p7, Object p8) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8);
   }
 
   @Override
   public void logIfEnabled(String fqcn, Level level, Marker marker, String message, Object p0, Object p1, Object p2, Object p3,
                            Object p4, Object p5, Object p6, Object p7, Object p8, Object p9) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().logIfEnabled(fqcn, level, marker, message, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
   }
 
   @Override
   public void printf(Level level, Marker marker, String format, Object... params) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().printf(level, marker, format, params);
   }
 
   @Override
   public void printf(Level level, String format, Object... params) {
+    if (isDisabledInAllContexts(level)) {
+      return;
+    }
     getLogger().printf(level, format, params);
   }
 
@@ -857,141 +1224,260 @@ abstract class DispatchingLogger extends Logger {
 
   @Override
   public void trace(Marker marker, Message msg) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(marker, msg);
   }
 
   @Override
   public void trace(Marker marker, Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(marker, msg, t);
   }
 
   @Override
   public void trace(Marker marker, Object message) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(marker, message);
   }
 
   @Override
   public void trace(Marker marker, Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(marker, message, t);
   }
 
   @Override
   public void trace(Marker marker, String message) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(marker, message);
   }
 
   @Override
   public void trace(Marker marker, String message, Object... params) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(marker, message, params);
   }
 
   @Override
   public void trace(Marker marker, String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(marker, message, t);
   }
 
   @Override
   public void trace(Message msg) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(msg);
   }
 
   @Override
   public void trace(Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(msg, t);
   }
 
   @Override
   public void trace(Object message) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(message);
   }
 
   @Override
   public void trace(Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(message, t);
   }
 
   @Override
   public void trace(String message) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(message);
   }
 
   @Override
   public void trace(String message, Object... params) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(message, params);
   }
 
   @Override
   public void trace(String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.TRACE)) {
+      return;
+    }
     getLogger().trace(message, t);
   }
 
   @Override
   public void warn(Marker marker, Message msg) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(marker, msg);
   }
 
   @Override
   public void warn(Marker marker, Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(marker, msg, t);
   }
 
   @Override
   public void warn(Marker marker, Object message) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(marker, message);
   }
 
   @Override
   public void warn(Marker marker, Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(marker, message, t);
   }
 
   @Override
   public void warn(Marker marker, String message) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(marker, message);
   }
 
   @Override
   public void warn(Marker marker, String message, Object... params) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(marker, message, params);
   }
 
   @Override
   public void warn(Marker marker, String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(marker, message, t);
   }
 
   @Override
   public void warn(Message msg) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(msg);
   }
 
   @Override
   public void warn(Message msg, Throwable t) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(msg, t);
   }
 
   @Override
   public void warn(Object message) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(message);
   }
 
   @Override
   public void warn(Object message, Throwable t) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(message, t);
   }
 
   @Override
   public void warn(String message) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(message);
   }
 
   @Override
   public void warn(String message, Object... params) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(message, params);
   }
 
   @Override
   public void warn(String message, Throwable t) {
+    if (isDisabledInAllContexts(Level.WARN)) {
+      return;
+    }
     getLogger().warn(message, t);
   }
+
+  /**
+   * The most verbose level enabled in the active logger contexts for a given configuration generation.
+   */
+  private static final class LevelThreshold {
+
+    private final long generation;
+    private final ContextSelector contextSelector;
+    private final int intLevel;
+
+    private LevelThreshold(long generation, ContextSelector contextSelector, int intLevel) {
+      this.generation = generation;
+      this.contextSelector = contextSelector;
+      this.intLevel = intLevel;
+    }
+  }
+
+  /**
+   * The logger last resolved by a thread, along with the context class loader it was resolved for. Both are weakly referenced
+   * so the class loaders of undeployed artifacts are not kept by the threads.
+   */
+  private static final class ThreadLogger {
+
+    private final WeakReference<ClassLoader> contextClassLoader;
+    private final WeakReference<Logger> logger;
+
+    private ThreadLogger(ClassLoader contextClassLoader, Logger logger) {
+      this.contextClassLoader = new WeakReference<>(contextClassLoader);
+      this.logger = new WeakReference<>(logger);
+    }
+
+    private Logger getLogger(ClassLoader currentContextClassLoader) {
+      return contextClassLoader.get() == currentContextClassLoader ? logger.get() : null;
+    }
+  }
 }
@@ -8,16 +8,22 @@ package org.mule.runtime.module.launcher.log4j2;
 
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.getInteger;
+import static java.lang.Integer.parseInt;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
 import static java.util.zip.Deflater.NO_COMPRESSION;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_FORCE_CONSOLE_LOG;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ASYNC_LOGGING_BUFFER_SIZE_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ASYNC_LOGGING_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_ASYNC_LOGGING_OVERFLOW_POLICY_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_MUTE_APP_LOGS_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_LOG_DEFAULT_POLICY_INTERVAL;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_LOG_DEFAULT_STRATEGY_MAX;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_LOG_DEFAULT_STRATEGY_MIN;
 import static org.mule.runtime.core.privileged.event.PrivilegedEvent.CORRELATION_ID_MDC_KEY;
+import static org.mule.runtime.module.launcher.log4j2.ArtifactAsyncAppender.ASYNC_APPENDER_NAME;
+import static org.mule.runtime.module.launcher.log4j2.ArtifactAsyncAppender.DEFAULT_BUFFER_SIZE;
 import static org.mule.runtime.module.reboot.api.MuleContainerBootstrapUtils.getMuleBase;
 import static org.mule.runtime.module.reboot.api.MuleContainerBootstrapUtils.getMuleConfDir;
 
@@ -27,6 +33,7 @@ import org.mule.runtime.core.api.util.FileUtils;
 import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
 import org.mule.runtime.module.artifact.api.classloader.ShutdownListener;
 import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
+import org.mule.runtime.module.launcher.log4j2.ArtifactAsyncAppender.OverflowPolicy;
 
 import java.io.File;
 import java.io.Serializable;
@@ -71,6 +78,8 @@ import org.apache.logging.log4j.core.util.FileWatcher;
  * <li>if the configuration did not include a monitorInterval, then one is set to a default value of 60</li>
  * <li>if the context is standalone, then it adds a rolling file appender associated to the artifact</li>
  * <li>if the context is not standalone, then it just logs to a file named mule-main.log</li>
+ * <li>if the artifact enables asynchronous logging through its deployment properties, its rolling file appender is written from
+ * a bounded ring buffer by an {@link ArtifactAsyncAppender}</li>
  * </ul>
  *
  * @since 3.6.0
@@ -170,6 +179,36 @@ final class LoggerContextConfigurer {
     doAddAppender(context, appender);
   }
 
+  private void addDefaultArtifactAppender(MuleLoggerContext context, String logFilePath) {
+    Properties deploymentProperties = getDeploymentProperties(context);
+    if (!parseBoolean(deploymentProperties.getProperty(MULE_ASYNC_LOGGING_DEPLOYMENT_PROPERTY, "false"))) {
+      addDefaultAppender(context, logFilePath);
+      return;
+    }
+
+    if (context.getConfiguration().getAppender(ASYNC_APPENDER_NAME) != null) {
+      return;
+    }
+
+    RollingFileAppender fileAppender =
+        createRollingFileAppender(logFilePath, ".%d{yyyy-MM-dd}", PER_APP_FILE_APPENDER_NAME, context.getConfiguration());
+    int bufferSize = parseInt(deploymentProperties.getProperty(MULE_ASYNC_LOGGING_BUFFER_SIZE_DEPLOYMENT_PROPERTY,
+                                                               String.valueOf(DEFAULT_BUFFER_SIZE)));
+    OverflowPolicy overflowPolicy =
+        OverflowPolicy.parse(deploymentProperties.getProperty(MULE_ASYNC_LOGGING_OVERFLOW_POLICY_DEPLOYMENT_PROPERTY,
+                                                              "drop-debug-first"));
+    doAddAppender(context, new ArtifactAsyncAppender(ASYNC_APPENDER_NAME, fileAppender, bufferSize, overflowPolicy,
+                                                     context.getArtifactName()));
+  }
+
+  private Properties getDeploymentProperties(MuleLoggerContext context) {
+    ArtifactDescriptor descriptor = context.getArtifactDescriptor();
+    if (descriptor == null || !descriptor.getDeploymentProperties().isPresent()) {
+      return new Properties();
+    }
+    return descriptor.getDeploymentProperties().get();
+  }
+
   private void forceConsoleAppender(MuleLoggerContext context) {
     doAddAppender(context, ConsoleAppender.newBuilder()
         .withLayout(createLayout(context.getConfiguration()))
@@ -235,18 +274,18 @@ final class LoggerContextConfigurer {
     File logFile = new File(logDir, logName);
 
     if (context.getConfigLocation() == null) {
-      addDefaultAppender(context, logFile.getAbsolutePath());
+      addDefaultArtifactAppender(context, logFile.getAbsolutePath());
     } else if (isUrlInsideDirectory(context.getConfigFile(), getMuleConfDir())) {
       removeAppender(context, containerConsoleAppenderMatcher);
       if (!hasFileAppender(context)) {
-        addDefaultAppender(context, logFile.getAbsolutePath());
+        addDefaultArtifactAppender(context, logFile.getAbsolutePath());
       }
     } else {
       // Removes Log4j added default console appender
       removeAppender(context, defaultConsoleAppenderMatcher);
 
       if (context.getConfiguration().getAppenders().isEmpty()) {
-        addDefaultAppender(context, logFile.getAbsolutePath());
+        addDefaultArtifactAppender(context, logFile.getAbsolutePath());
       }
     }
   }
@@ -261,7 +300,8 @@ final class LoggerContextConfigurer {
   }
 
   private boolean hasFileAppender(LoggerContext context) {
-    return hasAppender(context, FileAppender.class, RollingFileAppender.class, RandomAccessFileAppender.class);
+    return hasAppender(context, FileAppender.class, RollingFileAppender.class, RandomAccessFileAppender.class,
+                       ArtifactAsyncAppender.class);
   }
 
   private boolean hasAppender(LoggerContext context, Class<? extends Appender>... appenderTypes) {
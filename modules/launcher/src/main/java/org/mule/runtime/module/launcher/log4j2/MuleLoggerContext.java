@@ -103,6 +103,7 @@ class MuleLoggerContext extends LoggerContext implements LogConfigChangeSubject
   public void updateLoggers(Configuration config) {
     loggerContextConfigurer.update(this);
     super.updateLoggers(config);
+    DispatchingLogger.loggerConfigurationChanged();
   }
 
   @Override
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher;
+
+import static org.mule.runtime.module.launcher.ClassDataSharingSupport.Mode.TRAIN;
+import static org.mule.runtime.module.launcher.ClassDataSharingSupport.Mode.USE;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ClassDataSharingSupportTestCase extends AbstractMuleTestCase {
+
+  private static final String SHARING = "mixed mode, sharing";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void disabledByDefault() {
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.empty(), temporaryFolder.getRoot(), emptyList(), jvm("11", SHARING));
+
+    assertThat(support.checkJvmOptions(), is(false));
+    support.containerStarted();
+    assertThat(new File(temporaryFolder.getRoot(), "startup-times.properties").exists(), is(false));
+  }
+
+  @Test
+  public void requiresJava11() throws Exception {
+    File cdsFolder = temporaryFolder.newFolder("cds");
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.of(USE), cdsFolder,
+                                    singletonList("-XX:SharedArchiveFile=" + new File(cdsFolder, "container.jsa").getPath()),
+                                    jvm("1.8", SHARING));
+    support.getArchiveFile().createNewFile();
+
+    assertThat(support.checkJvmOptions(), is(false));
+  }
+
+  @Test
+  public void trainingRequiresArchiveOption() {
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.of(TRAIN), temporaryFolder.getRoot(), emptyList(), jvm("11", SHARING));
+
+    assertThat(support.checkJvmOptions(), is(false));
+  }
+
+  @Test
+  public void trainingRequiresOptionPointingToArchive() {
+    File cdsFolder = new File(temporaryFolder.getRoot(), "cds");
+    File otherArchive = new File(temporaryFolder.getRoot(), "other.jsa");
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.of(TRAIN), cdsFolder,
+                                    singletonList("-XX:ArchiveClassesAtExit=" + otherArchive.getAbsolutePath()),
+                                    jvm("13", SHARING));
+
+    assertThat(support.checkJvmOptions(), is(false));
+  }
+
+  @Test
+  public void dynamicTrainingRequiresJava13() {
+    File cdsFolder = new File(temporaryFolder.getRoot(), "cds");
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.of(TRAIN), cdsFolder,
+                                    singletonList("-XX:ArchiveClassesAtExit=" + new File(cdsFolder, "container.jsa").getPath()),
+                                    jvm("11", SHARING));
+
+    assertThat(support.checkJvmOptions(), is(false));
+  }
+
+  @Test
+  public void dynamicTrainingWritesFingerprintOnStop() {
+    File cdsFolder = new File(temporaryFolder.getRoot(), "cds");
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.of(TRAIN), cdsFolder,
+                                    singletonList("-XX:ArchiveClassesAtExit=" + new File(cdsFolder, "container.jsa").getPath()),
+                                    jvm("13", SHARING));
+
+    assertThat(support.checkJvmOptions(), is(true));
+    support.containerStopped();
+
+    assertThat(new File(cdsFolder, "container.fingerprint").exists(), is(true));
+  }
+
+  @Test
+  public void classListTrainingDoesNotCreateArchiveOnStop() {
+    File cdsFolder = new File(temporaryFolder.getRoot(), "cds");
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.of(TRAIN), cdsFolder,
+                                    singletonList("-XX:DumpLoadedClassList="
+                                        + new File(cdsFolder, "container.classlist").getPath()),
+                                    jvm("11", SHARING));
+
+    assertThat(support.checkJvmOptions(), is(true));
+    support.containerStopped();
+
+    assertThat(support.getArchiveFile().exists(), is(false));
+    assertThat(new File(cdsFolder, "container.fingerprint").exists(), is(false));
+  }
+
+  @Test
+  public void dumpCommandForwardsJvmOptions() {
+    File cdsFolder = new File(temporaryFolder.getRoot(), "cds");
+    String archiveOption = "-XX:SharedArchiveFile=" + new File(cdsFolder, "container.jsa").getPath();
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.of(USE), cdsFolder,
+                                    asList("-Xmx512m", "-XX:+UseG1GC", "-Dsome.property=value", "-Xshare:auto",
+                                           "-agentlib:jdwp=transport=dt_socket,server=y,address=5005", archiveOption),
+                                    jvm("11", SHARING));
+    File archive = new File(cdsFolder, "container.jsa.tmp");
+
+    List<String> command = support.createDumpCommand(archive);
+    assertThat(command, hasItems("-Xmx512m", "-XX:+UseG1GC", "-Dsome.property=value", "-Xshare:dump",
+                                 "-XX:SharedClassListFile=" + support.getClassListFile().getAbsolutePath(),
+                                 "-XX:SharedArchiveFile=" + archive.getAbsolutePath(), "-cp", "container.jar"));
+    assertThat(command, not(hasItem("-Xshare:auto")));
+    assertThat(command, not(hasItem(archiveOption)));
+    assertThat(command, not(hasItem("-agentlib:jdwp=transport=dt_socket,server=y,address=5005")));
+  }
+
+  @Test
+  public void useRequiresExistingArchive() throws Exception {
+    File cdsFolder = temporaryFolder.newFolder("cds");
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.of(USE), cdsFolder,
+                                    singletonList("-XX:SharedArchiveFile=" + new File(cdsFolder, "container.jsa").getPath()),
+                                    jvm("11", SHARING));
+
+    assertThat(support.checkJvmOptions(), is(false));
+
+    support.getArchiveFile().createNewFile();
+    assertThat(support.checkJvmOptions(), is(true));
+  }
+
+  @Test
+  public void useRequiresArchiveMappedByTheJvm() throws Exception {
+    File cdsFolder = temporaryFolder.newFolder("cds");
+    ClassDataSharingSupport support =
+        new ClassDataSharingSupport(Optional.of(USE), cdsFolder,
+                                    singletonList("-XX:SharedArchiveFile=" + new File(cdsFolder, "container.jsa").getPath()),
+                                    jvm("11", "mixed mode"));
+    support.getArchiveFile().createNewFile();
+
+    assertThat(support.checkJvmOptions(), is(false));
+  }
+
+  @Test
+  public void useRequiresOptionPointingToArchive() throws Exception {
+    File cdsFolder = temporaryFolder.newFolder("cds");
+    ClassDataSharingSupport support = new ClassDataSharingSupport(Optional.of(USE), cdsFolder,
+                                                                  singletonList("-XX:SharedArchiveFile=container.jsa"),
+                                                                  jvm("11", SHARING));
+    support.getArchiveFile().createNewFile();
+
+    assertThat(support.checkJvmOptions(), is(false));
+  }
+
+  @Test
+  public void recordsStartupTimesWithAndWithoutArchive() throws Exception {
+    File cdsFolder = new File(temporaryFolder.getRoot(), "cds");
+    ClassDataSharingSupport training =
+        new ClassDataSharingSupport(Optional.of(TRAIN), cdsFolder,
+                                    singletonList("-XX:ArchiveClassesAtExit=" + new File(cdsFolder, "container.jsa").getPath()),
+                                    jvm("13", SHARING));
+    assertThat(training.checkJvmOptions(), is(true));
+    training.containerStarted();
+
+    ClassDataSharingSupport use =
+        new ClassDataSharingSupport(Optional.of(USE), cdsFolder,
+                                    singletonList("-XX:SharedArchiveFile=" + new File(cdsFolder, "container.jsa").getPath()),
+                                    jvm("13", SHARING));
+    use.getArchiveFile().createNewFile();
+    assertThat(use.checkJvmOptions(), is(true));
+    use.containerStarted();
+
+    Properties startupTimes = new Properties();
+    try (InputStream input = new FileInputStream(new File(cdsFolder, "startup-times.properties"))) {
+      startupTimes.load(input);
+    }
+    assertThat(startupTimes.getProperty("withoutArchive"), notNullValue());
+    assertThat(startupTimes.getProperty("withArchive"), notNullValue());
+  }
+
+  private static Properties jvm(String javaVersion, String vmInfo) {
+    Properties properties = new Properties();
+    properties.setProperty("java.specification.version", javaVersion);
+    properties.setProperty("java.vm.info", vmInfo);
+    properties.setProperty("java.home", "jdk");
+    properties.setProperty("java.class.path", "container.jar");
+    return properties;
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static org.mule.runtime.module.launcher.log4j2.ArtifactAsyncAppender.OverflowPolicy.BLOCK;
+import static org.mule.runtime.module.launcher.log4j2.ArtifactAsyncAppender.OverflowPolicy.DROP_DEBUG_FIRST;
+import static org.mule.runtime.module.launcher.log4j2.ArtifactAsyncAppender.OverflowPolicy.SAMPLE;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.core.internal.logging.LazyLogMessage;
+import org.mule.runtime.module.launcher.log4j2.ArtifactAsyncAppender.OverflowPolicy;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.After;
+import org.junit.Test;
+
+@SmallTest
+public class ArtifactAsyncAppenderTestCase extends AbstractMuleTestCase {
+
+  private static final int PROBER_TIMEOUT = 5000;
+  private static final int PROBER_INTERVAL = 50;
+
+  private final CountDownLatch writeLatch = new CountDownLatch(1);
+  private final CountDownLatch firstEventLatch = new CountDownLatch(1);
+  private final TestAppender delegate = new TestAppender();
+
+  private ArtifactAsyncAppender appender;
+
+  @After
+  public void after() {
+    writeLatch.countDown();
+    if (appender != null) {
+      appender.stop();
+    }
+  }
+
+  @Test
+  public void writesEventsInOrder() {
+    writeLatch.countDown();
+    appender = createAppender(8, BLOCK);
+
+    appender.append(createEvent(Level.INFO, "first"));
+    appender.append(createEvent(Level.DEBUG, "second"));
+    appender.append(createEvent(Level.ERROR, "third"));
+
+    assertWrittenMessages("first", "second", "third");
+    assertThat(appender.getDroppedEvents(), is(0L));
+  }
+
+  @Test
+  public void stopsDelegate() {
+    appender = createAppender(8, BLOCK);
+
+    appender.stop();
+
+    assertThat(delegate.isStopped(), is(true));
+  }
+
+  @Test
+  public void dropsDebugEventsWhenFull() throws Exception {
+    appender = createAppender(2, DROP_DEBUG_FIRST);
+    fillBuffer();
+
+    appender.append(createEvent(Level.DEBUG, "dropped"));
+    appender.append(createEvent(Level.TRACE, "dropped"));
+
+    assertThat(appender.getDroppedEvents(), is(2L));
+    assertThat(appender.getQueueDepth(), is(2L));
+
+    writeLatch.countDown();
+    assertWrittenMessages("fill", "fill");
+  }
+
+  @Test
+  public void samplesEventsWhenFull() throws Exception {
+    appender = createAppender(2, SAMPLE);
+    fillBuffer();
+
+    for (int i = 0; i < 9; ++i) {
+      appender.append(createEvent(Level.ERROR, "dropped"));
+    }
+
+    assertThat(appender.getDroppedEvents(), is(9L));
+  }
+
+  @Test
+  public void discardsEventsWithFailedLazyMessage() {
+    writeLatch.countDown();
+    appender = createAppender(8, BLOCK);
+    LazyLogMessage failedMessage = new LazyLogMessage(() -> {
+      throw new IllegalStateException("Expected");
+    });
+
+    appender.append(createEvent(Level.INFO, "before"));
+    appender.append(createLazyEvent(Level.INFO, failedMessage));
+    appender.append(createEvent(Level.INFO, "after"));
+
+    assertWrittenMessages("before", "after");
+    assertThat(failedMessage.evaluate(), is(false));
+  }
+
+  @Test
+  public void doesNotEvaluateLazyMessageOfDroppedEvents() throws Exception {
+    appender = createAppender(2, DROP_DEBUG_FIRST);
+    fillBuffer();
+    AtomicInteger evaluations = new AtomicInteger();
+
+    appender.append(createLazyEvent(Level.DEBUG, new LazyLogMessage(() -> "dropped " + evaluations.incrementAndGet())));
+
+    assertThat(appender.getDroppedEvents(), is(1L));
+    assertThat(evaluations.get(), is(0));
+  }
+
+  @Test
+  public void blockedEventWrittenDirectlyWhenStopped() throws Exception {
+    appender = createAppender(2, BLOCK);
+    fillBuffer();
+
+    Thread producer = new Thread(() -> appender.append(createEvent(Level.INFO, "blocked")));
+    producer.start();
+    Thread stopper = new Thread(() -> appender.stop());
+    stopper.start();
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> !appender.isStarted()));
+
+    writeLatch.countDown();
+    producer.join(PROBER_TIMEOUT);
+    stopper.join(PROBER_TIMEOUT);
+
+    assertThat(producer.isAlive(), is(false));
+    assertThat(delegate.messages, containsInAnyOrder("fill", "fill", "blocked"));
+  }
+
+  @Test
+  public void eventDroppedAfterStopped() {
+    writeLatch.countDown();
+    appender = createAppender(8, BLOCK);
+    appender.stop();
+
+    appender.append(createEvent(Level.INFO, "dropped"));
+
+    assertThat(appender.getDroppedEvents(), is(1L));
+    assertThat(delegate.messages.isEmpty(), is(true));
+  }
+
+  @Test
+  public void parsesOverflowPolicy() {
+    assertThat(OverflowPolicy.parse("drop-debug-first"), is(DROP_DEBUG_FIRST));
+    assertThat(OverflowPolicy.parse("block"), is(BLOCK));
+    assertThat(OverflowPolicy.parse(" SAMPLE "), is(SAMPLE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidOverflowPolicy() {
+    OverflowPolicy.parse("discard");
+  }
+
+  private ArtifactAsyncAppender createAppender(int bufferSize, OverflowPolicy overflowPolicy) {
+    ArtifactAsyncAppender appender = new ArtifactAsyncAppender("async", delegate, bufferSize, overflowPolicy, "app");
+    appender.start();
+    return appender;
+  }
+
+  private void fillBuffer() throws InterruptedException {
+    // The first event is held by the writer thread, which keeps its slot until it is written
+    appender.append(createEvent(Level.INFO, "fill"));
+    firstEventLatch.await();
+    appender.append(createEvent(Level.INFO, "fill"));
+  }
+
+  private LogEvent createEvent(Level level, String message) {
+    return Log4jLogEvent.newBuilder().setLevel(level).setMessage(new SimpleMessage(message)).build();
+  }
+
+  private LogEvent createLazyEvent(Level level, LazyLogMessage message) {
+    return Log4jLogEvent.newBuilder().setLevel(level).setMessage(new ParameterizedMessage("{}", message)).build();
+  }
+
+  private void assertWrittenMessages(String... messages) {
+    new PollingProber(PROBER_TIMEOUT, PROBER_INTERVAL).check(new JUnitLambdaProbe(() -> {
+      assertThat(delegate.messages, contains(messages));
+      return true;
+    }));
+  }
+
+  private class TestAppender extends AbstractAppender {
+
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    private TestAppender() {
+      super("test", null, null, true);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+      firstEventLatch.countDown();
+      try {
+        writeLatch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      messages.add(event.getMessage().getFormattedMessage());
+    }
+  }
+}
@@ -6,9 +6,17 @@
  */
 package org.mule.runtime.module.launcher.log4j2;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +31,8 @@ import org.mule.tck.size.SmallTest;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.selector.ContextSelector;
 import org.apache.logging.log4j.message.MessageFactory;
 import org.junit.Before;
@@ -146,4 +156,67 @@ public class DispatchingLoggerTestCase extends AbstractMuleTestCase {
     verify(regionClassLoaderLogger, times(1)).info("Test Message");
   }
 
+  @Test
+  public void disabledLevelDoesNotResolveLoggerContext() {
+    mockActiveLoggerContextLevel(Level.INFO);
+
+    RegionClassLoader regionClassLoader = mock(RegionClassLoader.class);
+    withContextClassLoader(regionClassLoader, () -> {
+      assertThat(logger.isDebugEnabled(), is(false));
+      logger.debug(MESSAGE);
+      verify(contextSelector, never()).getContext(anyString(), any(ClassLoader.class), anyBoolean());
+    });
+  }
+
+  @Test
+  public void enabledLevelResolvesLoggerContext() {
+    mockActiveLoggerContextLevel(Level.INFO);
+
+    RegionClassLoader regionClassLoader = mock(RegionClassLoader.class);
+    withContextClassLoader(regionClassLoader, () -> {
+      logger.info(MESSAGE);
+      verify(contextSelector).getContext(LOGGER_NAME, regionClassLoader, true);
+    });
+  }
+
+  @Test
+  public void configurationChangeEnablesLevel() {
+    LoggerConfig rootLoggerConfig = mockActiveLoggerContextLevel(Level.INFO);
+    logger.debug(MESSAGE);
+    verify(originalLogger, never()).debug(MESSAGE);
+
+    when(rootLoggerConfig.getLevel()).thenReturn(Level.DEBUG);
+    DispatchingLogger.loggerConfigurationChanged();
+
+    logger.debug(MESSAGE);
+    verify(originalLogger).debug(MESSAGE);
+  }
+
+  @Test
+  public void resolvedLoggerDependsOnContextClassLoader() {
+    RegionClassLoader regionClassLoader = mock(RegionClassLoader.class);
+    withContextClassLoader(regionClassLoader, () -> logger.info(MESSAGE));
+    verify(contextSelector).getContext(LOGGER_NAME, regionClassLoader, true);
+    verify(originalLogger, never()).info(MESSAGE);
+
+    logger.info(MESSAGE);
+    verify(originalLogger).info(MESSAGE);
+  }
+
+  private LoggerConfig mockActiveLoggerContextLevel(Level level) {
+    LoggerConfig rootLoggerConfig = mock(LoggerConfig.class);
+    when(rootLoggerConfig.getLevel()).thenReturn(level);
+    Configuration configuration = mock(Configuration.class);
+    when(configuration.getRootLogger()).thenReturn(rootLoggerConfig);
+    when(configuration.getLoggers()).thenReturn(emptyMap());
+    LoggerContext loggerContext = mock(LoggerContext.class);
+    when(loggerContext.getConfiguration()).thenReturn(configuration);
+    when(loggerContext.getLoggers()).thenReturn(emptyList());
+
+    when(originalLogger.getContext()).thenReturn(loggerContext);
+    when(contextSelector.getLoggerContexts()).thenReturn(singletonList(loggerContext));
+    DispatchingLogger.loggerConfigurationChanged();
+    return rootLoggerConfig;
+  }
+
 }
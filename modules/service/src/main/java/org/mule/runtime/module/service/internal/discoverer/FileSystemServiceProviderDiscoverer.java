@@ -7,9 +7,12 @@
 
 package org.mule.runtime.module.service.internal.discoverer;
 
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
 import static java.security.AccessController.doPrivileged;
 import static java.security.AccessController.getContext;
 import static java.util.Optional.empty;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.rx.Exceptions.unwrap;
 
@@ -18,6 +21,10 @@ import java.security.AccessControlContext;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.mule.runtime.api.deployment.meta.MuleServiceContractModel;
@@ -38,6 +45,9 @@ import org.mule.runtime.module.service.internal.artifact.ServiceDescriptorFactor
 
 /**
  * Discovers services artifacts from the {@link MuleFoldersUtil#SERVICES_FOLDER} folder.
+ * <p>
+ * The descriptors of the services are loaded in parallel, as they are independent of each other. The class loaders of the
+ * services are not created until the services are used.
  */
 public class FileSystemServiceProviderDiscoverer implements ServiceProviderDiscoverer {
 
@@ -125,17 +135,54 @@ public class FileSystemServiceProviderDiscoverer implements ServiceProviderDisco
     final File[] serviceDirectories = this.targetServicesFolder.get().listFiles(File::isDirectory);
     List<ServiceDescriptor> foundServices = new ArrayList<>(serviceDirectories.length);
 
-    for (File serviceDirectory : serviceDirectories) {
-      try {
-        final ServiceDescriptor serviceDescriptor = serviceDescriptorFactory.create(serviceDirectory, empty());
-        foundServices.add(serviceDescriptor);
-      } catch (Exception e) {
-        throw new ServiceResolutionError("Error processing service JAR file", unwrap(e));
+    int parallelism = min(serviceDirectories.length, getRuntime().availableProcessors());
+    if (parallelism <= 1) {
+      for (File serviceDirectory : serviceDirectories) {
+        foundServices.add(createServiceDescriptor(serviceDescriptorFactory, serviceDirectory));
       }
+      return foundServices;
+    }
+
+    // The scheduler service is not available yet, as it is one of the services being discovered
+    final AtomicInteger threadNumber = new AtomicInteger(1);
+    ExecutorService executor = newFixedThreadPool(parallelism, r -> {
+      Thread thread = new Thread(r, "Mule.service.discoverer." + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      List<Future<ServiceDescriptor>> futures = new ArrayList<>(serviceDirectories.length);
+      for (File serviceDirectory : serviceDirectories) {
+        futures.add(executor.submit(() -> createServiceDescriptor(serviceDescriptorFactory, serviceDirectory)));
+      }
+
+      // Descriptors are collected in the order of the directories to keep the resolution order consistent
+      for (Future<ServiceDescriptor> future : futures) {
+        foundServices.add(future.get());
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ServiceResolutionError) {
+        throw (ServiceResolutionError) e.getCause();
+      }
+      throw new ServiceResolutionError("Error processing service JAR file", unwrap(e.getCause()));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServiceResolutionError("Interrupted while processing service JAR files", e);
+    } finally {
+      executor.shutdownNow();
     }
     return foundServices;
   }
 
+  private ServiceDescriptor createServiceDescriptor(ServiceDescriptorFactory serviceDescriptorFactory, File serviceDirectory)
+      throws ServiceResolutionError {
+    try {
+      return serviceDescriptorFactory.create(serviceDirectory, empty());
+    } catch (Exception e) {
+      throw new ServiceResolutionError("Error processing service JAR file", unwrap(e));
+    }
+  }
+
   private List<ServiceAssembly> assemble(List<ServiceDescriptor> serviceDescriptors,
                                          ArtifactClassLoaderFactory<ServiceDescriptor> serviceClassLoaderFactory)
       throws ServiceResolutionError {
@@ -7,9 +7,11 @@
 package org.mule.runtime.module.service.internal.manager;
 
 import static java.lang.String.format;
+import static java.lang.System.nanoTime;
 import static java.lang.reflect.Proxy.getInvocationHandler;
 import static java.lang.reflect.Proxy.isProxyClass;
 import static java.lang.reflect.Proxy.newProxyInstance;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
@@ -130,11 +132,15 @@ public class LazyServiceProxy implements InvocationHandler {
 
   private CheckedSupplier<Service> createService(Injector containerInjector) {
     return () -> {
+      // The class loader of the service is created here, so its cost is attributed to the first use of the service
+      final long start = nanoTime();
       Service serviceInstance = withServiceClassLoader(() -> instantiateService(containerInjector));
       if (started.compareAndSet(false, true)) {
         doStart(serviceInstance);
         stopped.set(false);
       }
+      LOGGER.info("Service '{}' initialized on first use in {} ms", assembly.getName(),
+                  NANOSECONDS.toMillis(nanoTime() - start));
       return serviceInstance;
     };
   }
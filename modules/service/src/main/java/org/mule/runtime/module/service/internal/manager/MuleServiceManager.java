@@ -8,7 +8,9 @@
 package org.mule.runtime.module.service.internal.manager;
 
 import static java.lang.String.format;
+import static java.lang.System.nanoTime;
 import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.container.api.MuleFoldersUtil.getServicesFolder;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
@@ -56,8 +58,11 @@ public class MuleServiceManager implements ServiceManager {
     }
 
     try {
+      final long start = nanoTime();
       services = serviceDiscoverer.discoverServices();
       startServices();
+      LOGGER.info("Discovered {} services in {} ms, each service is initialized on its first use", services.size(),
+                  NANOSECONDS.toMillis(nanoTime() - start));
     } catch (Exception e) {
       throw new StartException(e, this);
     }
@@ -18,6 +18,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 import static org.mule.runtime.container.api.MuleFoldersUtil.getServicesFolder;
@@ -127,6 +129,24 @@ public class FileSystemServiceProviderDiscovererTestCase extends AbstractMuleTes
     assertThat(BarServiceProvider.INVOKED, is(true));
   }
 
+  @Test
+  public void discoversServicesWithoutCreatingClassLoaders() throws Exception {
+    installService("fooService", FooServiceProvider.class);
+    installService("barService", BarServiceProvider.class);
+    installService("bazService", FooServiceProvider.class);
+
+    final FileSystemServiceProviderDiscoverer serviceProviderDiscoverer =
+        new FileSystemServiceProviderDiscoverer(containerClassLoader, serviceClassLoaderFactory, descriptorLoaderRepository,
+                                                builder());
+
+    final List<ServiceAssembly> assemblies = serviceProviderDiscoverer.discover();
+
+    assertThat(assemblies.size(), equalTo(3));
+    verify(serviceClassLoaderFactory, never()).create(argThat(any(String.class)), argThat(any(ServiceDescriptor.class)),
+                                                      argThat(any(ClassLoader.class)),
+                                                      argThat(any(ClassLoaderLookupPolicy.class)));
+  }
+
   private void installService(String serviceName, Class<? extends ServiceProvider> providerClass) throws Exception {
     installService(serviceName, providerClass, false);
   }
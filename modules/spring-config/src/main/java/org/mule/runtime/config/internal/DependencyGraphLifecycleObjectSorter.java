@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.config.internal;
 
+import static java.lang.Math.max;
 import static java.util.Arrays.stream;
 import static java.util.Collections.reverse;
 import static java.util.Objects.requireNonNull;
@@ -22,8 +23,10 @@ import org.mule.runtime.core.internal.lifecycle.phases.LifecycleObjectSorter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 
 import org.jgrapht.alg.cycle.CycleDetector;
@@ -145,34 +148,79 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
    */
   @Override
   public List<Object> getSortedObjects() {
-    List<BeanWrapper> res = dependencyGraphs.stream().map(graph -> {
+    List<BeanWrapper> res = dependencyGraphs.stream().map(this::sortGraph)
+        .reduce(new ArrayList<>(), (sortedObjectList, b) -> {
+          for (BeanWrapper v : b) {
+            if (!sortedObjectList.contains(v)) {
+              sortedObjectList.add(v);
+            }
+          }
+          return sortedObjectList;
+
+        });
 
-      List<BeanWrapper> sortedObjects = newArrayList(new TopologicalOrderIterator<>(graph, new Comparator<BeanWrapper>() {
+    return res.stream().map(BeanWrapper::getWrappedObject).collect(toList());
+
+  }
+
+  /**
+   * The objects in each graph(bucket) are grouped by their depth in the graph: objects without prerequisites go to the first
+   * layer, and every other object goes to the layer following the one of its deepest prerequisite. Layers of a graph(bucket) come
+   * after the layers of the previous ones, and objects already present in a previous graph(bucket) are not repeated.
+   *
+   * @return the objects sorted based on the lifecycle type, grouped in layers of objects that don't depend on each other
+   */
+  @Override
+  public List<List<Object>> getSortedObjectLayers() {
+    List<List<Object>> layers = new ArrayList<>();
+    Set<BeanWrapper> processed = new HashSet<>();
+
+    for (DefaultDirectedGraph<BeanWrapper, DefaultEdge> graph : dependencyGraphs) {
+      Map<BeanWrapper, Integer> depths = new HashMap<>();
+      List<List<Object>> graphLayers = new ArrayList<>();
+
+      // prerequisites come before the objects depending on them, so their depth is always known at this point
+      for (BeanWrapper vertex : sortGraph(graph)) {
+        if (!processed.add(vertex)) {
+          continue;
+        }
 
-        @Override
-        public int compare(BeanWrapper o1, BeanWrapper o2) {
-          if (getLifeCycleObjectNameOrder().getOrDefault(o1.getName(), -1) > getLifeCycleObjectNameOrder()
-              .getOrDefault(o2.getName(), -1)) {
-            return -1;
-          } else {
-            return 1;
+        int depth = 0;
+        for (DefaultEdge edge : graph.outgoingEdgesOf(vertex)) {
+          Integer prerequisiteDepth = depths.get(graph.getEdgeTarget(edge));
+          if (prerequisiteDepth != null) {
+            depth = max(depth, prerequisiteDepth + 1);
           }
         }
-      }));
-      reverse(sortedObjects);
-      return sortedObjects;
-    }).reduce(new ArrayList<>(), (sortedObjectList, b) -> {
-      for (BeanWrapper v : b) {
-        if (!sortedObjectList.contains(v)) {
-          sortedObjectList.add(v);
+        depths.put(vertex, depth);
+
+        while (graphLayers.size() <= depth) {
+          graphLayers.add(new ArrayList<>());
         }
+        graphLayers.get(depth).add(vertex.getWrappedObject());
       }
-      return sortedObjectList;
 
-    });
+      layers.addAll(graphLayers);
+    }
 
-    return res.stream().map(BeanWrapper::getWrappedObject).collect(toList());
+    return layers;
+  }
+
+  private List<BeanWrapper> sortGraph(DefaultDirectedGraph<BeanWrapper, DefaultEdge> graph) {
+    List<BeanWrapper> sortedObjects = newArrayList(new TopologicalOrderIterator<>(graph, new Comparator<BeanWrapper>() {
 
+      @Override
+      public int compare(BeanWrapper o1, BeanWrapper o2) {
+        if (getLifeCycleObjectNameOrder().getOrDefault(o1.getName(), -1) > getLifeCycleObjectNameOrder()
+            .getOrDefault(o2.getName(), -1)) {
+          return -1;
+        } else {
+          return 1;
+        }
+      }
+    }));
+    reverse(sortedObjects);
+    return sortedObjects;
   }
 
   /**
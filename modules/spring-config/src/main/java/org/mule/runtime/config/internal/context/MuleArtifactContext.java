@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.config.internal.context;
 
+import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
 import static java.util.Collections.emptySet;
@@ -26,14 +27,17 @@ import static org.mule.runtime.ast.api.util.MuleAstUtils.validatorBuilder;
 import static org.mule.runtime.ast.api.validation.Validation.Level.ERROR;
 import static org.mule.runtime.ast.api.validation.Validation.Level.WARN;
 import static org.mule.runtime.config.api.dsl.CoreDslConstants.CONFIGURATION_IDENTIFIER;
+import static org.mule.runtime.config.api.dsl.CoreDslConstants.FLOW_IDENTIFIER;
 import static org.mule.runtime.config.api.dsl.CoreDslConstants.NOTIFICATIONS_IDENTIFIER;
 import static org.mule.runtime.config.internal.context.AbstractSpringMuleContextServiceConfigurator.getBeanDefinitionBuilder;
+import static org.mule.runtime.config.internal.context.lazy.LazyFlowMaterializer.OBJECT_LAZY_FLOW_MATERIALIZER;
 import static org.mule.runtime.config.internal.dsl.spring.BeanDefinitionFactory.SPRING_SINGLETON_OBJECT;
 import static org.mule.runtime.config.internal.model.ApplicationModel.findComponentDefinitionModel;
 import static org.mule.runtime.config.internal.model.ApplicationModel.prepareAstForRuntime;
 import static org.mule.runtime.config.internal.model.ApplicationModelAstPostProcessor.AST_POST_PROCESSORS;
 import static org.mule.runtime.config.internal.model.properties.PropertiesResolverUtils.createConfigurationAttributeResolver;
 import static org.mule.runtime.config.internal.parsers.generic.AutoIdUtils.uniqueValue;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONFIGURATION;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONTEXT;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_NOTIFICATION_MANAGER;
@@ -71,6 +75,7 @@ import org.mule.runtime.api.ioc.ObjectProvider;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.memory.management.MemoryManagementService;
 import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.source.SourceModel;
 import org.mule.runtime.api.meta.model.stereotype.HasStereotypeModel;
 import org.mule.runtime.api.notification.ConnectionNotification;
 import org.mule.runtime.api.notification.ConnectionNotificationListener;
@@ -88,6 +93,7 @@ import org.mule.runtime.api.notification.SecurityNotification;
 import org.mule.runtime.api.notification.SecurityNotificationListener;
 import org.mule.runtime.api.notification.TransactionNotification;
 import org.mule.runtime.api.notification.TransactionNotificationListener;
+import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.ast.api.ArtifactAst;
 import org.mule.runtime.ast.api.ComponentAst;
@@ -97,6 +103,7 @@ import org.mule.runtime.ast.api.validation.ValidationResultItem;
 import org.mule.runtime.config.internal.bean.NotificationConfig;
 import org.mule.runtime.config.internal.bean.NotificationConfig.EnabledNotificationConfig;
 import org.mule.runtime.config.internal.bean.ServerNotificationManagerConfigurator;
+import org.mule.runtime.config.internal.context.lazy.LazyFlowMaterializer;
 import org.mule.runtime.config.internal.dsl.model.ClassLoaderResourceProvider;
 import org.mule.runtime.config.internal.dsl.model.SpringComponentModel;
 import org.mule.runtime.config.internal.dsl.model.config.PropertiesResolverConfigurationProperties;
@@ -108,6 +115,7 @@ import org.mule.runtime.config.internal.model.ApplicationModelAstPostProcessor;
 import org.mule.runtime.config.internal.model.ComponentBuildingDefinitionRegistryFactory;
 import org.mule.runtime.config.internal.processor.ComponentLocatorCreatePostProcessor;
 import org.mule.runtime.config.internal.processor.DiscardedOptionalBeanPostProcessor;
+import org.mule.runtime.config.internal.processor.LazyFlowPostProcessor;
 import org.mule.runtime.config.internal.processor.LifecycleStatePostProcessor;
 import org.mule.runtime.config.internal.processor.MuleInjectorProcessor;
 import org.mule.runtime.config.internal.processor.PostRegistrationActionsPostProcessor;
@@ -144,6 +152,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -190,6 +199,7 @@ public class MuleArtifactContext extends AbstractRefreshableConfigApplicationCon
   private final Map<String, String> artifactProperties;
   protected List<ConfigurableObjectProvider> objectProviders = new ArrayList<>();
   private final ExtensionManager extensionManager;
+  private final boolean lazyFlows;
 
 
   /**
@@ -235,6 +245,10 @@ public class MuleArtifactContext extends AbstractRefreshableConfigApplicationCon
     this.artifactProperties = artifactProperties;
     this.memoryManagementService = memoryManagementService;
 
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
+    this.lazyFlows = deploymentProperties != null
+        && parseBoolean(deploymentProperties.getProperty(MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY, "false"));
+
     extensionManager = muleContext.getExtensionManager();
 
     componentLocator = new SpringConfigurationComponentLocator(componentName -> {
@@ -411,6 +425,10 @@ public class MuleArtifactContext extends AbstractRefreshableConfigApplicationCon
                                                                  (DefaultListableBeanFactory) beanFactory),
                           new LifecycleStatePostProcessor(muleContext.getLifecycleManager().getState()),
                           new ComponentLocatorCreatePostProcessor(componentLocator));
+    if (lazyFlows) {
+      addBeanPostProcessors(beanFactory, new LazyFlowPostProcessor(new LazyValue<>(() -> beanFactory
+          .getBean(OBJECT_LAZY_FLOW_MATERIALIZER, LazyFlowMaterializer.class))));
+    }
 
     beanFactory.registerSingleton(OBJECT_MULE_CONTEXT, muleContext);
 
@@ -612,6 +630,11 @@ public class MuleArtifactContext extends AbstractRefreshableConfigApplicationCon
       }
     }
 
+    if (isLazyFlow(resolvedComponentModel.getComponent())) {
+      // Its processors are inner beans of the flow, so none of them is created until the flow is looked up
+      resolvedComponentModel.getBeanDefinition().setLazyInit(true);
+    }
+
     beanFactory.registerBeanDefinition(nameAttribute,
                                        requireNonNull(resolvedComponentModel.getBeanDefinition(),
                                                       "BeanDefinition null for "
@@ -619,6 +642,16 @@ public class MuleArtifactContext extends AbstractRefreshableConfigApplicationCon
     postProcessBeanDefinition(resolvedComponentModel, beanFactory, nameAttribute);
   }
 
+  /**
+   * @param component a top level component of the artifact
+   * @return whether {@code component} is a flow without a source that has to be created only when looked up
+   * @see LazyFlowMaterializer
+   */
+  private boolean isLazyFlow(ComponentAst component) {
+    return lazyFlows && FLOW_IDENTIFIER.equals(component.getIdentifier())
+        && component.directChildrenStream().noneMatch(child -> child.getModel(SourceModel.class).isPresent());
+  }
+
   @Override
   protected void customizeBeanFactory(DefaultListableBeanFactory beanFactory) {
     super.customizeBeanFactory(beanFactory);
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal.context.lazy;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_FLOWS_IDLE_TIMEOUT_DEPLOYMENT_PROPERTY;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Long.parseLong;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Mono.from;
+import static reactor.core.publisher.Mono.fromCallable;
+import static reactor.core.publisher.Mono.just;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.construct.DefaultFlowBuilder.DefaultFlow;
+import org.mule.runtime.core.internal.construct.DefaultFlowBuilder.DefaultFlow.OnDemandLifecycle;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.registry.MuleRegistry;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Defers the initialization and start of the flows of an application that don't have a source until they are actually called.
+ * <p>
+ * When {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY} is enabled, the
+ * registry lifecycle skips those flows. Since they may be called from anywhere, be it a {@code flow-ref}, a router looking them
+ * up in the registry or an extension, each of them gets an on demand lifecycle that runs whenever it is about to receive events.
+ * The first call initializes and starts the flow, concurrent calls waiting for it to be done. When the call comes from a thread
+ * that must not block, the flow is started in an IO thread and the call is resumed once it is done. Deferred flows that were
+ * never called are left out of the stop and dispose phases of the registry.
+ * <p>
+ * The beans of those flows are created lazily as well, when the flow is first looked up, see
+ * {@link org.mule.runtime.config.internal.processor.LazyFlowPostProcessor}.
+ * <p>
+ * If {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_LAZY_FLOWS_IDLE_TIMEOUT_DEPLOYMENT_PROPERTY} is set,
+ * materialized flows that have no events in flight and haven't been called for that time are stopped, releasing their
+ * processing resources, and started again on their next call.
+ *
+ * @since 4.5.0
+ */
+public final class LazyFlowMaterializer implements Stoppable {
+
+  public static final String OBJECT_LAZY_FLOW_MATERIALIZER = "_muleLazyFlowMaterializer";
+
+  private static final Logger LOGGER = getLogger(LazyFlowMaterializer.class);
+
+  @Inject
+  private MuleContext muleContext;
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private final Map<String, FlowState> deferredFlows = new ConcurrentHashMap<>();
+  private volatile Boolean enabled;
+  private long idleTimeout;
+  private Scheduler idleScheduler;
+  private Scheduler materializationScheduler;
+
+  /**
+   * @param object an object the registry lifecycle is about to be applied to
+   * @return whether the lifecycle must not be applied to the given {@code object} because it's a flow that has to be initialized
+   *         on demand and hasn't been called yet
+   */
+  public boolean isDeferred(Object object) {
+    if (!(object instanceof DefaultFlow) || ((Flow) object).getSource() != null || !isEnabled()) {
+      return false;
+    }
+
+    FlowState state = deferredFlows.computeIfAbsent(((Flow) object).getName(), name -> {
+      FlowState flowState = new FlowState((DefaultFlow) object);
+      flowState.flow.setOnDemandLifecycle(flowState);
+      return flowState;
+    });
+    return !state.requested;
+  }
+
+  /**
+   * @param object an object the registry lifecycle is about to be applied to
+   * @return whether the given {@code object} is a flow which lifecycle is applied on demand, when it is called
+   */
+  public boolean isOnDemand(Object object) {
+    if (!(object instanceof Flow)) {
+      return false;
+    }
+
+    FlowState state = deferredFlows.get(((Flow) object).getName());
+    return state != null && state.flow == object;
+  }
+
+  /**
+   * Makes sure that the flow of the given {@code state} is started, blocking the calling thread until it is.
+   *
+   * @param state the state of a flow about to receive an event
+   * @throws MuleRuntimeException if the flow could not be initialized or started
+   */
+  private void materialize(FlowState state) {
+    if (state.resident) {
+      return;
+    }
+
+    // Applied holding the lifecycle lock, as any other lifecycle applied on demand, so that it can't overlap with the stop of
+    // the application. This is never called from a thread that must not block, see FlowState#whenApplied.
+    muleContext.withLifecycleLock(() -> {
+      synchronized (state) {
+        if (!state.resident && (muleContext.isStarted() || muleContext.isStarting()) && !muleContext.isStopping()) {
+          doMaterialize(state);
+        }
+      }
+    });
+  }
+
+  private void doMaterialize(FlowState state) {
+    final Flow flow = state.flow;
+    long startTime = nanoTime();
+    state.requested = true;
+    try {
+      MuleRegistry registry = ((MuleContextWithRegistry) muleContext).getRegistry();
+      if (!flow.getLifecycleState().isInitialised()) {
+        registry.applyLifecycle(flow, Initialisable.PHASE_NAME);
+      }
+      registry.applyLifecycle(flow, Initialisable.PHASE_NAME, Startable.PHASE_NAME);
+    } catch (MuleException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not materialize flow '" + flow.getName() + "'"), e);
+    }
+    state.lastAccess = nanoTime();
+    state.resident = true;
+
+    LOGGER.info("Materialized flow '{}' in {} ms ({} of {} deferred flows resident)", flow.getName(),
+                NANOSECONDS.toMillis(nanoTime() - startTime), getResidentFlowsCount(), getDeferredFlowsCount());
+    scheduleIdleCheckIfNeeded();
+  }
+
+  private synchronized Scheduler getMaterializationScheduler() {
+    if (materializationScheduler == null) {
+      materializationScheduler = schedulerService.ioScheduler(muleContext.getSchedulerBaseConfig()
+          .withName("LazyFlowMaterializer"));
+    }
+    return materializationScheduler;
+  }
+
+  private synchronized void scheduleIdleCheckIfNeeded() {
+    if (idleTimeout <= 0 || idleScheduler != null) {
+      return;
+    }
+
+    idleScheduler = schedulerService.customScheduler(muleContext.getSchedulerBaseConfig()
+        .withName("LazyFlowMaterializer-IdleMonitor").withMaxConcurrentTasks(1));
+    long period = max(idleTimeout / 2, 1);
+    idleScheduler.scheduleWithFixedDelay(this::unloadIdleFlows, period, period, MILLISECONDS);
+  }
+
+  private void unloadIdleFlows() {
+    for (FlowState state : deferredFlows.values()) {
+      if (state.resident) {
+        unloadIfIdle(state);
+      }
+    }
+  }
+
+  private void unloadIfIdle(FlowState state) {
+    final Flow flow = state.flow;
+    synchronized (state) {
+      if (!state.resident || !isIdle(state) || !muleContext.isStarted() || muleContext.isStopping()) {
+        return;
+      }
+
+      // Flag the flow as not resident before checking the events in flight again, so that an event entering concurrently either
+      // sees it as not resident and waits for it to be started again, or is seen here as in flight.
+      state.resident = false;
+      if (!isIdle(state)) {
+        state.resident = true;
+        return;
+      }
+
+      try {
+        flow.stop();
+        LOGGER.info("Stopped idle flow '{}' ({} of {} deferred flows resident)", flow.getName(), getResidentFlowsCount(),
+                    getDeferredFlowsCount());
+      } catch (MuleException e) {
+        LOGGER.warn("Could not stop idle flow '" + flow.getName() + "'", e);
+        state.resident = true;
+      }
+    }
+  }
+
+  private boolean isIdle(FlowState state) {
+    return state.inFlight.get() == 0 && NANOSECONDS.toMillis(nanoTime() - state.lastAccess) >= idleTimeout;
+  }
+
+  private boolean isEnabled() {
+    if (enabled == null) {
+      Properties deploymentProperties = muleContext.getDeploymentProperties();
+      idleTimeout = deploymentProperties == null
+          ? 0
+          : parseLong(deploymentProperties.getProperty(MULE_LAZY_FLOWS_IDLE_TIMEOUT_DEPLOYMENT_PROPERTY, "0"));
+      enabled = deploymentProperties != null
+          && parseBoolean(deploymentProperties.getProperty(MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY, "false"));
+    }
+    return enabled;
+  }
+
+  /**
+   * @return the amount of flows which initialization is deferred
+   */
+  public int getDeferredFlowsCount() {
+    return deferredFlows.size();
+  }
+
+  /**
+   * @return the amount of flows which initialization was deferred and are currently started
+   */
+  public int getResidentFlowsCount() {
+    return (int) deferredFlows.values().stream().filter(state -> state.resident).count();
+  }
+
+  @Override
+  public synchronized void stop() throws MuleException {
+    if (idleScheduler != null) {
+      idleScheduler.stop();
+      idleScheduler = null;
+    }
+    if (materializationScheduler != null) {
+      materializationScheduler.stop();
+      materializationScheduler = null;
+    }
+  }
+
+  private final class FlowState implements OnDemandLifecycle {
+
+    private final DefaultFlow flow;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean requested;
+    private volatile boolean resident;
+    private volatile long lastAccess;
+
+    private FlowState(DefaultFlow flow) {
+      this.flow = flow;
+    }
+
+    @Override
+    public void apply() {
+      materialize(this);
+    }
+
+    @Override
+    public <T> Publisher<T> whenApplied(T value) {
+      if (resident) {
+        return just(value);
+      }
+
+      Mono<T> materialized = fromCallable(() -> {
+        materialize(this);
+        return value;
+      });
+      // Starting a flow may block, so it must not be done in a thread meant for non blocking work
+      return schedulerService.isCurrentThreadForCpuWork()
+          ? materialized.subscribeOn(fromExecutorService(getMaterializationScheduler()))
+          : materialized;
+    }
+
+    @Override
+    public Publisher<CoreEvent> enter(CoreEvent event) {
+      if (idleTimeout > 0) {
+        // The event has to be accounted as in flight before reading resident, see #unloadIfIdle
+        inFlight.incrementAndGet();
+        lastAccess = nanoTime();
+        ((BaseEventContext) event.getContext()).onResponse((response, throwable) -> {
+          lastAccess = nanoTime();
+          inFlight.decrementAndGet();
+        });
+      }
+
+      if (resident) {
+        return just(event);
+      }
+      return from(whenApplied(event))
+          .onErrorResume(e -> {
+            // Let the event in anyway, so that it is rejected by the flow in the same way as when it is not started
+            LOGGER.error(e.getMessage(), e);
+            return just(event);
+          });
+    }
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal.processor;
+
+import org.mule.runtime.config.internal.context.lazy.LazyFlowMaterializer;
+import org.mule.runtime.core.internal.construct.DefaultFlowBuilder.DefaultFlow;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * A {@link BeanPostProcessor} which hands the flows to the {@link LazyFlowMaterializer} as they are created.
+ * <p>
+ * The beans of the flows without a source are lazy when
+ * {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY} is enabled, so they may
+ * be created after the registry lifecycle was applied, when they are first looked up. This makes sure that those flows are
+ * started on demand as well.
+ *
+ * @since 4.5.0
+ */
+public final class LazyFlowPostProcessor implements BeanPostProcessor {
+
+  private final Supplier<LazyFlowMaterializer> materializer;
+
+  public LazyFlowPostProcessor(Supplier<LazyFlowMaterializer> materializer) {
+    this.materializer = materializer;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+    return bean;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+    if (bean instanceof DefaultFlow) {
+      materializer.get().isDeferred(bean);
+    }
+
+    return bean;
+  }
+}
@@ -7,6 +7,8 @@
 package org.mule.runtime.config.internal.registry;
 
 import static org.mule.runtime.config.internal.context.MuleArtifactContext.INNER_BEAN_PREFIX;
+import static org.mule.runtime.config.internal.context.lazy.LazyFlowMaterializer.OBJECT_LAZY_FLOW_MATERIALIZER;
+import static org.mule.runtime.core.internal.lifecycle.LayeredLifecycleExecutor.isEnabledFor;
 
 import org.mule.runtime.api.el.ExpressionLanguage;
 import org.mule.runtime.api.exception.MuleException;
@@ -19,6 +21,7 @@ import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.service.Service;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.config.internal.DependencyGraphLifecycleObjectSorter;
+import org.mule.runtime.config.internal.context.lazy.LazyFlowMaterializer;
 import org.mule.runtime.config.internal.resolvers.AutoDiscoveredDependencyResolver;
 import org.mule.runtime.config.internal.resolvers.ConfigurationDependencyResolver;
 import org.mule.runtime.config.internal.resolvers.DeclaredDependencyResolver;
@@ -27,6 +30,7 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.component.Component;
 import org.mule.runtime.core.api.config.Config;
 import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.context.notification.ServerNotificationManager;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
@@ -56,6 +60,8 @@ import java.util.Map;
 
 public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
 
+  private LazyFlowMaterializer lazyFlowMaterializer;
+
   public SpringRegistryLifecycleManager(String id, Registry springRegistry, MuleContext muleContext,
                                         LifecycleInterceptor lifecycleInterceptor) {
     super(id, springRegistry, muleContext, lifecycleInterceptor);
@@ -67,8 +73,8 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
 
     registerPhase(NotInLifecyclePhase.PHASE_NAME, new NotInLifecyclePhase(), new EmptyLifecycleCallback<>());
     registerPhase(Initialisable.PHASE_NAME, new SpringContextInitialisePhase(), callback);
-    registerPhase(Startable.PHASE_NAME, new MuleContextStartPhase(), callback);
-    registerPhase(Stoppable.PHASE_NAME, new MuleContextStopPhase(), callback);
+    registerPhase(Startable.PHASE_NAME, new SpringContextStartPhase(), callback);
+    registerPhase(Stoppable.PHASE_NAME, new SpringContextStopPhase(), callback);
     registerPhase(Disposable.PHASE_NAME, new SpringContextDisposePhase(), callback);
   }
 
@@ -134,13 +140,44 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
         if (isNamedBean(name)) {
           super.applyLifecycle(o);
         }
-      } else {
+      } else if (!isDeferredFlow(o)) {
+        super.applyLifecycle(o);
+      }
+    }
+
+    @Override
+    public LifecycleObjectSorter newLifecycleObjectSorter() {
+      AutoDiscoveredDependencyResolver autoDiscoveredDependencyResolver =
+          new AutoDiscoveredDependencyResolver(getSpringRegistry());
+      DeclaredDependencyResolver declaredDependencyResolver = new DeclaredDependencyResolver(getSpringRegistry());
+      ConfigurationDependencyResolver configurationDependencyResolver =
+          getSpringRegistry().getConfigurationDependencyResolver();
+      DependencyGraphBeanDependencyResolver dependencyGraphBeanDependencyResolver =
+          new DependencyGraphBeanDependencyResolver(configurationDependencyResolver, declaredDependencyResolver,
+                                                    autoDiscoveredDependencyResolver, getSpringRegistry());
+      return new DependencyGraphLifecycleObjectSorter(dependencyGraphBeanDependencyResolver, orderedLifecycleTypes);
+    }
+  }
+
+  /**
+   * A {@link MuleContextStartPhase} that sorts the objects based on their dependencies when the lifecycle is applied in parallel,
+   * so that independent objects can be started at the same time.
+   */
+  class SpringContextStartPhase extends MuleContextStartPhase {
+
+    @Override
+    public void applyLifecycle(Object o) throws LifecycleException {
+      if (!isDeferredFlow(o)) {
         super.applyLifecycle(o);
       }
     }
 
     @Override
     public LifecycleObjectSorter newLifecycleObjectSorter() {
+      if (!isEnabledFor(getName())) {
+        return super.newLifecycleObjectSorter();
+      }
+
       AutoDiscoveredDependencyResolver autoDiscoveredDependencyResolver =
           new AutoDiscoveredDependencyResolver(getSpringRegistry());
       DeclaredDependencyResolver declaredDependencyResolver = new DeclaredDependencyResolver(getSpringRegistry());
@@ -153,6 +190,20 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
     }
   }
 
+  /**
+   * A {@link MuleContextStopPhase} that leaves out the flows which lifecycle is applied on demand and are not started, either
+   * because they were never called or because they were stopped for being idle.
+   */
+  class SpringContextStopPhase extends MuleContextStopPhase {
+
+    @Override
+    public void applyLifecycle(Object o) throws LifecycleException {
+      if (!(isOnDemandFlow(o) && !((Flow) o).getLifecycleState().isStarted())) {
+        super.applyLifecycle(o);
+      }
+    }
+  }
+
   /**
    * Detects if a bean is an inner bean to prevent applying lifecycle to it since lifecycle is already applied by the owner, i.e.:
    * a flow
@@ -186,6 +237,9 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
     public void applyLifecycle(Object o) throws LifecycleException {
       if (o instanceof AbstractSpringRegistry) {
         ((AbstractSpringRegistry) o).doDispose();
+      } else if (isOnDemandFlow(o) && !((Flow) o).getLifecycleState().isInitialised()) {
+        // a flow which initialization was deferred and that was never called
+        return;
       } else if (o instanceof Transformer) {
         String name = ((Transformer) o).getName();
         if (isNamedBean(name)) {
@@ -210,6 +264,42 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
     }
   }
 
+  /**
+   * @param o an object the lifecycle is about to be applied to
+   * @return whether {@code o} is a flow which initialization is deferred until it is called
+   * @see LazyFlowMaterializer
+   */
+  private boolean isDeferredFlow(Object o) {
+    if (!(o instanceof Flow)) {
+      return false;
+    }
+
+    LazyFlowMaterializer materializer = getLazyFlowMaterializer();
+    return materializer != null && materializer.isDeferred(o);
+  }
+
+  /**
+   * @param o an object the lifecycle is about to be applied to
+   * @return whether {@code o} is a flow which lifecycle is applied on demand, when it is called
+   * @see LazyFlowMaterializer
+   */
+  private boolean isOnDemandFlow(Object o) {
+    if (!(o instanceof Flow)) {
+      return false;
+    }
+
+    LazyFlowMaterializer materializer = getLazyFlowMaterializer();
+    return materializer != null && materializer.isOnDemand(o);
+  }
+
+  private LazyFlowMaterializer getLazyFlowMaterializer() {
+    if (lazyFlowMaterializer == null) {
+      // Resolved once, since it can't be looked up anymore once the application context is closed
+      lazyFlowMaterializer = getSpringRegistry().lookupObject(OBJECT_LAZY_FLOW_MATERIALIZER);
+    }
+    return lazyFlowMaterializer;
+  }
+
   private AbstractSpringRegistry getSpringRegistry() {
     return (AbstractSpringRegistry) getLifecycleObject();
   }
@@ -16,6 +16,7 @@ import static java.util.Collections.emptyMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
@@ -300,4 +301,49 @@ public class DependencyGraphLifecycleObjectSorterTestCase {
 
     assertThat(sorter.getSortedObjects(), containsInRelativeOrder(objectB, objectA, objectC));
   }
+
+  @Test
+  @Description("Components sharing the same prerequisite go to the same layer. " +
+      "A -> C, B -> C: C should be in the first layer, and A and B in the second one.")
+  public void sortComponentsInLayersTest() {
+    BeanWrapper componentA = new BeanWrapper("objectA", objectA);
+    BeanWrapper componentB = new BeanWrapper("objectB", objectB);
+    BeanWrapper componentC = new BeanWrapper("objectC", objectC);
+
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfA = new LinkedHashMap<>();
+    transitiveDependenciesOfA.put(componentA, asList(componentC));
+    transitiveDependenciesOfA.put(componentC, emptyList());
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfB = new LinkedHashMap<>();
+    transitiveDependenciesOfB.put(componentB, asList(componentC));
+    transitiveDependenciesOfB.put(componentC, emptyList());
+
+    when(resolver.getTransitiveDependencies("objectA", 5)).thenReturn(transitiveDependenciesOfA);
+    when(resolver.getTransitiveDependencies("objectB", 5)).thenReturn(transitiveDependenciesOfB);
+    when(resolver.getTransitiveDependencies("objectC", 5)).thenReturn(emptyMap());
+
+    sorter.addObject("objectA", objectA);
+    sorter.addObject("objectB", objectB);
+    sorter.addObject("objectC", objectC);
+
+    List<List<Object>> layers = sorter.getSortedObjectLayers();
+    assertThat(layers.size(), is(2));
+    assertThat(layers.get(0), contains(objectC));
+    assertThat(layers.get(1), containsInAnyOrder(objectA, objectB));
+  }
+
+  @Test
+  @Description("Components of different lifecycle types go to different layers, in the order of their types.")
+  public void layersFollowLifecycleTypesTest() {
+    FlowConstruct flow = mock(FlowConstruct.class);
+    when(resolver.getTransitiveDependencies("flow", 9)).thenReturn(emptyMap());
+    when(resolver.getTransitiveDependencies("objectA", 5)).thenReturn(emptyMap());
+
+    sorter.addObject("flow", flow);
+    sorter.addObject("objectA", objectA);
+
+    List<List<Object>> layers = sorter.getSortedObjectLayers();
+    assertThat(layers.size(), is(2));
+    assertThat(layers.get(0), contains(objectA));
+    assertThat(layers.get(1), contains(flow));
+  }
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal.context.lazy;
+
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_LAZY_FLOWS_IDLE_TIMEOUT_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.construct.Flow.builder;
+
+import static java.lang.Thread.sleep;
+import static java.util.Optional.of;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.source.MessageSource;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyFlowMaterializerTestCase extends AbstractMuleContextTestCase {
+
+  private static final long IDLE_TIMEOUT = 200;
+
+  private final AtomicInteger processed = new AtomicInteger();
+  private LazyFlowMaterializer materializer;
+  private Flow flow;
+
+  public LazyFlowMaterializerTestCase() {
+    setStartContext(true);
+  }
+
+  @Override
+  protected Optional<Properties> getDeploymentProperties() {
+    Properties deploymentProperties = new Properties();
+    deploymentProperties.setProperty(MULE_LAZY_FLOWS_DEPLOYMENT_PROPERTY, "true");
+    deploymentProperties.setProperty(MULE_LAZY_FLOWS_IDLE_TIMEOUT_DEPLOYMENT_PROPERTY, String.valueOf(IDLE_TIMEOUT));
+    return of(deploymentProperties);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    materializer = muleContext.getInjector().inject(new LazyFlowMaterializer());
+
+    flow = builder("deferredFlow", muleContext)
+        .processors((Processor) event -> {
+          processed.incrementAndGet();
+          return event;
+        })
+        .build();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    materializer.stop();
+    if (flow.getLifecycleState().isStarted()) {
+      flow.stop();
+    }
+    if (flow.getLifecycleState().isInitialised()) {
+      flow.dispose();
+    }
+  }
+
+  @Test
+  public void flowWithoutSourceDeferred() {
+    assertThat(materializer.isDeferred(flow), is(true));
+    assertThat(materializer.isOnDemand(flow), is(true));
+    assertThat(materializer.getDeferredFlowsCount(), is(1));
+    assertThat(materializer.getResidentFlowsCount(), is(0));
+    assertThat(flow.getLifecycleState().isInitialised(), is(false));
+  }
+
+  @Test
+  public void flowWithSourceNotDeferred() {
+    Flow flowWithSource = builder("sourceFlow", muleContext).source(mock(MessageSource.class)).build();
+
+    assertThat(materializer.isDeferred(flowWithSource), is(false));
+    assertThat(materializer.isOnDemand(flowWithSource), is(false));
+    assertThat(materializer.getDeferredFlowsCount(), is(0));
+  }
+
+  @Test
+  public void deferredFlowMaterializedWhenCalledDirectly() throws Exception {
+    materializer.isDeferred(flow);
+
+    flow.process(testEvent());
+
+    assertThat(processed.get(), is(1));
+    assertThat(flow.getLifecycleState().isStarted(), is(true));
+    assertThat(materializer.getResidentFlowsCount(), is(1));
+    assertThat(materializer.isDeferred(flow), is(false));
+  }
+
+  @Test
+  public void materializedOnce() throws Exception {
+    materializer.isDeferred(flow);
+
+    flow.process(testEvent());
+    flow.process(testEvent());
+
+    assertThat(processed.get(), is(2));
+    assertThat(materializer.getResidentFlowsCount(), is(1));
+  }
+
+  @Test
+  public void notMaterializedWhenContextStopped() throws Exception {
+    materializer.isDeferred(flow);
+    muleContext.stop();
+
+    try {
+      flow.process(testEvent());
+      fail("Expected the event to be rejected by the deferred flow");
+    } catch (Exception e) {
+      assertThat(processed.get(), is(0));
+      assertThat(flow.getLifecycleState().isInitialised(), is(false));
+      assertThat(materializer.getResidentFlowsCount(), is(0));
+    }
+  }
+
+  @Test
+  public void notUnloadedWhileEventInFlight() throws Exception {
+    materializer.isDeferred(flow);
+
+    CoreEvent event = testEvent();
+    flow.process(event);
+    sleep(IDLE_TIMEOUT * 3);
+
+    assertThat(flow.getLifecycleState().isStarted(), is(true));
+    assertThat(materializer.getResidentFlowsCount(), is(1));
+
+    ((BaseEventContext) event.getContext()).success(event);
+    new PollingProber(IDLE_TIMEOUT * 10, IDLE_TIMEOUT / 4).check(new JUnitLambdaProbe(() -> {
+      assertThat(materializer.getResidentFlowsCount(), is(0));
+      assertThat(flow.getLifecycleState().isStopped(), is(true));
+      return true;
+    }));
+  }
+
+  @Test
+  public void materializedAgainAfterUnloaded() throws Exception {
+    materializer.isDeferred(flow);
+
+    CoreEvent event = testEvent();
+    flow.process(event);
+    ((BaseEventContext) event.getContext()).success(event);
+    new PollingProber(IDLE_TIMEOUT * 10, IDLE_TIMEOUT / 4).check(new JUnitLambdaProbe(() -> {
+      assertThat(materializer.getResidentFlowsCount(), is(0));
+      return true;
+    }));
+
+    flow.process(newEvent());
+
+    assertThat(processed.get(), is(2));
+    assertThat(flow.getLifecycleState().isStarted(), is(true));
+    assertThat(materializer.getResidentFlowsCount(), is(1));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal.el;
+
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+
+import static java.util.Optional.empty;
+
+import static org.apache.commons.lang3.reflect.FieldUtils.readField;
+import static org.apache.commons.lang3.reflect.FieldUtils.writeField;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.Injector;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.el.ExtendedExpressionManager;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.el.DefaultExpressionManager;
+import org.mule.runtime.core.internal.el.ExtendedExpressionLanguageAdaptor;
+import org.mule.runtime.core.internal.processor.LoggerMessageProcessor;
+import org.mule.runtime.core.privileged.util.TemplateParser.CompiledTemplate;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class DefaultExpressionManagerFactoryBeanTestCase extends AbstractMuleTestCase {
+
+  private final MuleContext muleContext = mock(MuleContext.class);
+  private final ExtendedExpressionLanguageAdaptor dwExpressionLanguage = mock(ExtendedExpressionLanguageAdaptor.class);
+
+  private ExtendedExpressionManager expressionManager;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getInjector()).thenReturn(mock(Injector.class));
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(dwExpressionLanguage.evaluateLogExpression(eq("payload"), any(CoreEvent.class), any(), any(BindingContext.class)))
+        .thenAnswer(invocation -> new TypedValue<>("world", STRING));
+
+    DefaultExpressionManagerFactoryBean factoryBean = new DefaultExpressionManagerFactoryBean();
+    writeField(factoryBean, "muleContext", muleContext, true);
+    writeField(factoryBean, "dwExpressionLanguage", dwExpressionLanguage, true);
+    writeField(factoryBean, "compatibilityPluginInstalled", empty(), true);
+    expressionManager = factoryBean.getObject();
+  }
+
+  @Test
+  public void compilesLogTemplatesThroughProxy() {
+    assertThat(expressionManager, not(instanceOf(DefaultExpressionManager.class)));
+
+    CompiledTemplate literal = expressionManager.compileLogTemplate("Hello world");
+    assertThat(literal.isLiteral(), is(true));
+    assertThat(expressionManager.parseLogTemplate(literal, mock(CoreEvent.class), null, NULL_BINDING_CONTEXT),
+               is("Hello world"));
+    verify(dwExpressionLanguage, never()).evaluateLogExpression(any(), any(), any(), any());
+
+    CompiledTemplate template = expressionManager.compileLogTemplate("Hello #[payload]");
+    assertThat(template.isLiteral(), is(false));
+    assertThat(expressionManager.parseLogTemplate(template, mock(CoreEvent.class), null, NULL_BINDING_CONTEXT),
+               is("Hello world"));
+  }
+
+  @Test
+  public void loggerCompilesMessageWithExpressionManagerFromFactory() throws Exception {
+    when(muleContext.getExpressionManager()).thenReturn(expressionManager);
+    when(muleContext.getDeploymentProperties()).thenReturn(new Properties());
+
+    LoggerMessageProcessor logger = new LoggerMessageProcessor();
+    logger.setMuleContext(muleContext);
+    logger.setMessage("Hello #[payload]");
+    logger.initialise();
+
+    assertThat(readField(logger, "compiledMessage", true), is(notNullValue()));
+  }
+}
@@ -8,7 +8,9 @@ package org.mule.runtime.module.troubleshooting.api;
 
 import org.mule.api.annotation.Experimental;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.Writer;
 import java.util.Map;
 
 /**
@@ -29,4 +31,19 @@ public interface TroubleshootingOperationCallback {
    * @return a {@link Serializable} object, which is the operation result.
    */
   Serializable execute(Map<String, String> arguments);
+
+  /**
+   * The operation logic, writing its result to the given {@code writer} as it is generated instead of returning it.
+   * <p>
+   * Operations which result may be big should override this method so that the result doesn't have to be kept in memory. By
+   * default, the result of {@link #execute(Map)} is written.
+   *
+   * @param arguments A dictionary with the argument names and values.
+   * @param writer    the {@link Writer} to write the operation result to.
+   * @throws IOException if the result couldn't be written.
+   * @since 4.5.0
+   */
+  default void execute(Map<String, String> arguments, Writer writer) throws IOException {
+    writer.write(String.valueOf(execute(arguments)));
+  }
 }
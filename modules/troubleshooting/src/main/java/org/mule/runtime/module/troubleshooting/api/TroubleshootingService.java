@@ -9,6 +9,8 @@ package org.mule.runtime.module.troubleshooting.api;
 import org.mule.api.annotation.Experimental;
 import org.mule.api.annotation.NoImplement;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +43,21 @@ public interface TroubleshootingService {
    */
   Object executeOperation(String name, Map<String, String> arguments) throws TroubleshootingOperationException;
 
+  /**
+   * Invokes an operation with the given parameters, writing its result to the given {@code writer} as it is generated. User must
+   * respect the definitions retrieved with {@link #getAvailableOperations()}
+   *
+   * @param name      The name of the operation to execute.
+   * @param arguments A dictionary with the arguments.
+   * @param writer    The {@link Writer} to write the result of the operation to.
+   * @throws TroubleshootingOperationException if it couldn't execute the operation because it wasn't available or there is an
+   *                                           error in the arguments.
+   * @throws IOException                       if the result of the operation couldn't be written.
+   * @since 4.5.0
+   */
+  void executeOperation(String name, Map<String, String> arguments, Writer writer)
+      throws TroubleshootingOperationException, IOException;
+
   /**
    * Registers a new {@link TroubleshootingOperation}.
    * 
@@ -16,7 +16,11 @@ import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefin
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationException;
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingService;
 import org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation;
+import org.mule.runtime.module.troubleshooting.internal.operations.MetricsOperation;
+import org.mule.runtime.module.troubleshooting.internal.operations.ProfileOperation;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +33,8 @@ public class DefaultTroubleshootingService implements TroubleshootingService {
 
   public DefaultTroubleshootingService(DeploymentService deploymentService) {
     registerOperation(new EventDumpOperation(deploymentService));
+    registerOperation(new ProfileOperation(deploymentService));
+    registerOperation(new MetricsOperation(deploymentService));
   }
 
   @Override
@@ -58,6 +64,13 @@ public class DefaultTroubleshootingService implements TroubleshootingService {
     return callback.execute(arguments);
   }
 
+  @Override
+  public void executeOperation(String name, Map<String, String> arguments, Writer writer)
+      throws TroubleshootingOperationException, IOException {
+    TroubleshootingOperationCallback callback = getCallback(name, arguments);
+    callback.execute(arguments, writer);
+  }
+
   private TroubleshootingOperationCallback getCallback(String operationName, Map<String, String> receivedArguments)
       throws TroubleshootingOperationException {
     TroubleshootingOperationCallback callback = callbacksByName.get(operationName);
@@ -6,7 +6,13 @@
  */
 package org.mule.runtime.module.troubleshooting.internal.operations;
 
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Long.parseLong;
 import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.lineSeparator;
+
+import static org.json.JSONObject.quote;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -23,7 +29,14 @@ import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOp
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
 
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Operation used to collect an event dump in JSON format.
@@ -33,7 +46,14 @@ import java.util.List;
  * Arguments:
  * <ul>
  * <li>application (Optional): The application to collect the event dump from</li>
+ * <li>flow (Optional): Only collects the events that originated in this flow</li>
+ * <li>minAge (Optional): Only collects the events received more than this amount of milliseconds ago</li>
+ * <li>component (Optional): Only collects the events currently in this component, or in one nested in it</li>
+ * <li>aggregate (Optional): When {@code true}, collects the amount of events waiting in each component instead of the events
+ * themselves</li>
  * </ul>
+ * The events are written one at a time as they are collected when the operation is executed with a {@link Writer}, one event per
+ * line. Otherwise, the result is returned pretty printed.
  */
 public class EventDumpOperation implements TroubleshootingOperation {
 
@@ -43,6 +63,20 @@ public class EventDumpOperation implements TroubleshootingOperation {
   public static final String APPLICATION_ARGUMENT_NAME = "application";
   public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to collect the event dump from";
 
+  public static final String FLOW_ARGUMENT_NAME = "flow";
+  public static final String FLOW_ARGUMENT_DESCRIPTION = "Flow the collected events originated in";
+
+  public static final String MIN_AGE_ARGUMENT_NAME = "minAge";
+  public static final String MIN_AGE_ARGUMENT_DESCRIPTION =
+      "Minimum time in milliseconds since the collected events were received";
+
+  public static final String COMPONENT_ARGUMENT_NAME = "component";
+  public static final String COMPONENT_ARGUMENT_DESCRIPTION = "Location of the component the collected events are currently in";
+
+  public static final String AGGREGATE_ARGUMENT_NAME = "aggregate";
+  public static final String AGGREGATE_ARGUMENT_DESCRIPTION =
+      "Whether to collect the amount of events waiting in each component instead of the events";
+
   private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
 
   private final DeploymentService deploymentService;
@@ -58,47 +92,167 @@ public class EventDumpOperation implements TroubleshootingOperation {
 
   @Override
   public TroubleshootingOperationCallback getCallback() {
-    return arguments -> {
-      JSONObject flowStacks = new JSONObject();
+    return new EventDumpCallback();
+  }
+
+  private class EventDumpCallback implements TroubleshootingOperationCallback {
+
+    @Override
+    public Serializable execute(Map<String, String> arguments) {
       final String applicationName = arguments.get(APPLICATION_ARGUMENT_NAME);
+      final String flowName = arguments.get(FLOW_ARGUMENT_NAME);
+      final Predicate<FlowStackEntry> filter = createFilter(arguments);
+      final boolean aggregate = parseBoolean(arguments.get(AGGREGATE_ARGUMENT_NAME));
+
+      JSONObject flowStacks = new JSONObject();
       if (applicationName == null) {
-        addFlowStacksForAllApplications(flowStacks);
+        for (Application application : deploymentService.getApplications()) {
+          addFlowStacksFor(application, flowName, filter, aggregate, flowStacks);
+        }
       } else {
         Application application = deploymentService.findApplication(applicationName);
-        addFlowStacksFor(application, flowStacks);
+        addFlowStacksFor(application, flowName, filter, aggregate, flowStacks);
       }
       return flowStacks.toString(2);
-    };
+    }
+
+    @Override
+    public void execute(Map<String, String> arguments, Writer writer) throws IOException {
+      final String applicationName = arguments.get(APPLICATION_ARGUMENT_NAME);
+      final String flowName = arguments.get(FLOW_ARGUMENT_NAME);
+      final Predicate<FlowStackEntry> filter = createFilter(arguments);
+      final boolean aggregate = parseBoolean(arguments.get(AGGREGATE_ARGUMENT_NAME));
+
+      writer.write("{");
+      if (applicationName == null) {
+        boolean first = true;
+        for (Application application : deploymentService.getApplications()) {
+          if (!first) {
+            writer.write(",");
+          }
+          writeFlowStacksFor(application, flowName, filter, aggregate, writer);
+          first = false;
+        }
+      } else {
+        Application application = deploymentService.findApplication(applicationName);
+        writeFlowStacksFor(application, flowName, filter, aggregate, writer);
+      }
+      writer.write(lineSeparator() + "}");
+      writer.flush();
+    }
+  }
+
+  private static Predicate<FlowStackEntry> createFilter(Map<String, String> arguments) {
+    Predicate<FlowStackEntry> filter = entry -> true;
+
+    final String minAge = arguments.get(MIN_AGE_ARGUMENT_NAME);
+    if (minAge != null) {
+      final long minAgeMillis = parseMinAge(minAge);
+      filter = filter.and(entry -> isOlderThan(entry, minAgeMillis));
+    }
+
+    final String componentLocation = arguments.get(COMPONENT_ARGUMENT_NAME);
+    if (componentLocation != null) {
+      filter = filter.and(entry -> isIn(getCurrentProcessorPath(entry), componentLocation));
+    }
+
+    return filter;
+  }
+
+  private static long parseMinAge(String minAge) {
+    try {
+      return parseLong(minAge);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(format("Invalid value '%s' for argument '%s', it must be a number of milliseconds.",
+                                                minAge, MIN_AGE_ARGUMENT_NAME));
+    }
+  }
+
+  private static boolean isOlderThan(FlowStackEntry entry, long minAgeMillis) {
+    Instant receivedTime = entry.getReceivedTime();
+    return receivedTime != null && currentTimeMillis() - receivedTime.toEpochMilli() > minAgeMillis;
+  }
+
+  private static boolean isIn(String processorPath, String componentLocation) {
+    return processorPath != null
+        && (processorPath.equals(componentLocation) || processorPath.startsWith(componentLocation + "/"));
   }
 
-  private static void addFlowStacksFor(Application application, JSONObject flowStacks) {
-    flowStacks.put(application.getArtifactName(), getFlowStackEntries(application));
+  /**
+   * @return the path of the processor the event of the given entry is currently in, or {@code null} if it isn't in any yet.
+   */
+  private static String getCurrentProcessorPath(FlowStackEntry entry) {
+    // The elements of the call stack are ordered from the innermost flow
+    List<FlowStackElement> elements = entry.getFlowCallStack().getElements();
+    return elements.isEmpty() ? null : elements.get(0).getProcessorPath();
   }
 
-  private void addFlowStacksForAllApplications(JSONObject flowStacks) {
-    for (Application application : deploymentService.getApplications()) {
-      addFlowStacksFor(application, flowStacks);
+  private static void addFlowStacksFor(Application application, String flowName, Predicate<FlowStackEntry> filter,
+                                       boolean aggregate, JSONObject flowStacks) {
+    EventContextService eventContextService = getEventContextService(application);
+
+    if (aggregate) {
+      flowStacks.put(application.getArtifactName(), waitingCountsToJSON(eventContextService, flowName, filter));
+    } else {
+      JSONArray entriesArrayAsJSON = new JSONArray();
+      eventContextService.visitCurrentlyActiveFlowStacks(flowName, flowStackEntry -> {
+        if (filter.test(flowStackEntry)) {
+          entriesArrayAsJSON.put(flowStackEntryToJSON(flowStackEntry));
+        }
+      });
+      flowStacks.put(application.getArtifactName(), entriesArrayAsJSON);
     }
   }
 
-  private static JSONArray getFlowStackEntries(Application application) {
-    EventContextService eventContextService = application
+  private static void writeFlowStacksFor(Application application, String flowName, Predicate<FlowStackEntry> filter,
+                                         boolean aggregate, Writer writer)
+      throws IOException {
+    EventContextService eventContextService = getEventContextService(application);
+
+    writer.write(lineSeparator() + "  " + quote(application.getArtifactName()) + ": ");
+    if (aggregate) {
+      writer.write(waitingCountsToJSON(eventContextService, flowName, filter).toString(2).replace("\n", "\n  "));
+    } else {
+      writeFlowStackEntries(eventContextService, flowName, filter, writer);
+    }
+  }
+
+  private static EventContextService getEventContextService(Application application) {
+    return application
         .getArtifactContext()
         .getRegistry()
         .lookupByName(EventContextService.REGISTRY_KEY)
         .map(EventContextService.class::cast)
         .orElseThrow(() -> new IllegalArgumentException(format("Could not get EventContextService for application %s.",
                                                                application.getArtifactName())));
+  }
 
-    return flowStackEntriesToJSON(eventContextService.getCurrentlyActiveFlowStacks());
+  private static void writeFlowStackEntries(EventContextService eventContextService, String flowName,
+                                            Predicate<FlowStackEntry> filter, Writer writer)
+      throws IOException {
+    EntriesWriter entriesWriter = new EntriesWriter(writer);
+    writer.write("[");
+    eventContextService.visitCurrentlyActiveFlowStacks(flowName, flowStackEntry -> {
+      if (filter.test(flowStackEntry)) {
+        entriesWriter.write(flowStackEntryToJSON(flowStackEntry));
+      }
+    });
+    entriesWriter.checkFailure();
+    writer.write(entriesWriter.isEmpty() ? "]" : lineSeparator() + "  ]");
   }
 
-  private static JSONArray flowStackEntriesToJSON(List<FlowStackEntry> flowStackEntries) {
-    JSONArray entriesArrayAsJSON = new JSONArray();
-    for (FlowStackEntry flowStackEntry : flowStackEntries) {
-      entriesArrayAsJSON.put(flowStackEntryToJSON(flowStackEntry));
-    }
-    return entriesArrayAsJSON;
+  private static JSONObject waitingCountsToJSON(EventContextService eventContextService, String flowName,
+                                                Predicate<FlowStackEntry> filter) {
+    Map<String, Integer> waitingCounts = new HashMap<>();
+    eventContextService.visitCurrentlyActiveFlowStacks(flowName, flowStackEntry -> {
+      if (filter.test(flowStackEntry)) {
+        String processorPath = getCurrentProcessorPath(flowStackEntry);
+        if (processorPath != null) {
+          waitingCounts.merge(processorPath, 1, Integer::sum);
+        }
+      }
+    });
+    return new JSONObject(waitingCounts);
   }
 
   private static JSONObject flowStackEntryToJSON(FlowStackEntry flowStackEntry) {
@@ -117,12 +271,70 @@ public class EventDumpOperation implements TroubleshootingOperation {
     return callStackAsJSON;
   }
 
+  /**
+   * Writes each entry in its own line as it is visited, keeping the first failure to write so it can be rethrown once the visit
+   * is done.
+   */
+  private static final class EntriesWriter {
+
+    private final Writer writer;
+    private boolean empty = true;
+    private IOException failure;
+
+    private EntriesWriter(Writer writer) {
+      this.writer = writer;
+    }
+
+    private void write(JSONObject entryAsJSON) {
+      if (failure != null) {
+        return;
+      }
+
+      try {
+        writer.write((empty ? "" : ",") + lineSeparator() + "    " + entryAsJSON.toString());
+        empty = false;
+      } catch (IOException e) {
+        failure = e;
+      }
+    }
+
+    private void checkFailure() throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+
+    private boolean isEmpty() {
+      return empty;
+    }
+  }
+
   private static TroubleshootingOperationDefinition createOperationDefinition() {
     return new DefaultTroubleshootingOperationDefinition(EVENT_DUMP_OPERATION_NAME, EVENT_DUMP_OPERATION_DESCRIPTION,
-                                                         createApplicationArgumentDefinition());
+                                                         createApplicationArgumentDefinition(),
+                                                         createFlowArgumentDefinition(),
+                                                         createMinAgeArgumentDefinition(),
+                                                         createComponentArgumentDefinition(),
+                                                         createAggregateArgumentDefinition());
   }
 
   private static ArgumentDefinition createApplicationArgumentDefinition() {
     return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
   }
+
+  private static ArgumentDefinition createFlowArgumentDefinition() {
+    return new DefaultArgumentDefinition(FLOW_ARGUMENT_NAME, FLOW_ARGUMENT_DESCRIPTION, false);
+  }
+
+  private static ArgumentDefinition createMinAgeArgumentDefinition() {
+    return new DefaultArgumentDefinition(MIN_AGE_ARGUMENT_NAME, MIN_AGE_ARGUMENT_DESCRIPTION, false);
+  }
+
+  private static ArgumentDefinition createComponentArgumentDefinition() {
+    return new DefaultArgumentDefinition(COMPONENT_ARGUMENT_NAME, COMPONENT_ARGUMENT_DESCRIPTION, false);
+  }
+
+  private static ArgumentDefinition createAggregateArgumentDefinition() {
+    return new DefaultArgumentDefinition(AGGREGATE_ARGUMENT_NAME, AGGREGATE_ARGUMENT_DESCRIPTION, false);
+  }
 }
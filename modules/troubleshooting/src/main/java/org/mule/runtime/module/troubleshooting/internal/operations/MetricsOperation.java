@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.internal.management.stats.ComponentLatencyStatisticsExporters.getExporter;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatisticsExporter;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+import org.json.JSONObject;
+
+/**
+ * Operation used to collect the latency, executions and errors of each processor, as recorded when the
+ * {@link org.mule.runtime.core.api.config.MuleDeploymentProperties#MULE_COMPONENT_LATENCY_STATISTICS_DEPLOYMENT_PROPERTY} is
+ * set.
+ * <p>
+ * The name of the operation is "metrics".
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>application (Optional): The application to collect the metrics from</li>
+ * <li>format (Optional): The format of the metrics, JSON if not provided. Any other format is written by the
+ * {@link ComponentLatencyStatisticsExporter} for it, i.e: {@code prometheus}</li>
+ * </ul>
+ *
+ * @since 4.5.0
+ */
+public class MetricsOperation implements TroubleshootingOperation {
+
+  public static final String METRICS_OPERATION_NAME = "metrics";
+  public static final String METRICS_OPERATION_DESCRIPTION = "Collects the latency, executions and errors of each processor";
+
+  public static final String APPLICATION_ARGUMENT_NAME = "application";
+  public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to collect the metrics from";
+
+  public static final String FORMAT_ARGUMENT_NAME = "format";
+  public static final String FORMAT_ARGUMENT_DESCRIPTION = "Format of the metrics, i.e: json or prometheus. Defaults to json";
+
+  private static final String JSON_FORMAT = "json";
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  private final DeploymentService deploymentService;
+
+  public MetricsOperation(DeploymentService deploymentService) {
+    this.deploymentService = deploymentService;
+  }
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      final String applicationName = arguments.get(APPLICATION_ARGUMENT_NAME);
+      final String metricsFormat = arguments.getOrDefault(FORMAT_ARGUMENT_NAME, JSON_FORMAT);
+      Collection<Application> applications = applicationName == null
+          ? deploymentService.getApplications()
+          : singletonList(deploymentService.findApplication(applicationName));
+
+      if (JSON_FORMAT.equalsIgnoreCase(metricsFormat)) {
+        JSONObject metrics = new JSONObject();
+        for (Application application : applications) {
+          metrics.put(application.getArtifactName(), statisticsToJSON(getStatistics(application)));
+        }
+        return metrics.toString(2);
+      }
+
+      StringWriter writer = new StringWriter();
+      for (Application application : applications) {
+        ComponentLatencyStatisticsExporter exporter =
+            getExporter(metricsFormat, application.getArtifactClassLoader().getClassLoader())
+                .orElseThrow(() -> new IllegalArgumentException(format("Unsupported metrics format '%s'.", metricsFormat)));
+        writer.write("# Application: " + application.getArtifactName() + "\n");
+        try {
+          exporter.export(getStatistics(application), writer);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return writer.toString();
+    };
+  }
+
+  private static Collection<ComponentLatencyStatistics> getStatistics(Application application) {
+    if (application.getArtifactContext() == null) {
+      return emptyList();
+    }
+    AllStatistics statistics = application.getArtifactContext().getMuleContext().getStatistics();
+    return statistics == null ? emptyList() : statistics.getComponentLatencyStatistics();
+  }
+
+  private static JSONObject statisticsToJSON(Collection<ComponentLatencyStatistics> statistics) {
+    JSONObject flows = new JSONObject();
+    for (ComponentLatencyStatistics componentStatistics : statistics) {
+      JSONObject flow = flows.optJSONObject(componentStatistics.getFlowName());
+      if (flow == null) {
+        flow = new JSONObject();
+        flows.put(componentStatistics.getFlowName(), flow);
+      }
+      flow.put(componentStatistics.getComponentLocation(), componentStatisticsToJSON(componentStatistics));
+    }
+    return flows;
+  }
+
+  private static JSONObject componentStatisticsToJSON(ComponentLatencyStatistics statistics) {
+    JSONObject statisticsAsJSON = new JSONObject();
+    statisticsAsJSON.put("component", statistics.getComponentIdentifier());
+    statisticsAsJSON.put("executions", statistics.getExecutionCount());
+    statisticsAsJSON.put("errors", statistics.getErrorCount());
+    statisticsAsJSON.put("meanMicros", NANOSECONDS.toMicros((long) statistics.getMeanLatencyNanos()));
+    statisticsAsJSON.put("p50Micros", NANOSECONDS.toMicros(statistics.getLatencyNanosAtPercentile(50)));
+    statisticsAsJSON.put("p90Micros", NANOSECONDS.toMicros(statistics.getLatencyNanosAtPercentile(90)));
+    statisticsAsJSON.put("p99Micros", NANOSECONDS.toMicros(statistics.getLatencyNanosAtPercentile(99)));
+    statisticsAsJSON.put("maxMicros", NANOSECONDS.toMicros(statistics.getMaxLatencyNanos()));
+    return statisticsAsJSON;
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(METRICS_OPERATION_NAME, METRICS_OPERATION_DESCRIPTION,
+                                                         createApplicationArgumentDefinition(),
+                                                         createFormatArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createApplicationArgumentDefinition() {
+    return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
+  }
+
+  private static ArgumentDefinition createFormatArgumentDefinition() {
+    return new DefaultArgumentDefinition(FORMAT_ARGUMENT_NAME, FORMAT_ARGUMENT_DESCRIPTION, false);
+  }
+}
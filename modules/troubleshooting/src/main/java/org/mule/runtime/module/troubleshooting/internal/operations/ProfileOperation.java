@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PROFILING_SERVICE_KEY;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.core.internal.profiling.DefaultProfilingService;
+import org.mule.runtime.core.internal.profiling.ProfilingServiceWrapper;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentSamplingProfile;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentSamplingProfiler;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import java.util.Optional;
+
+import org.json.JSONObject;
+
+/**
+ * Operation used to collect the CPU and wait time attributed to each flow and processor by the sampling profiler, in JSON format.
+ * <p>
+ * The name of the operation is "profile".
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>application (Optional): The application to collect the profile from</li>
+ * </ul>
+ *
+ * @since 4.5.0
+ */
+public class ProfileOperation implements TroubleshootingOperation {
+
+  public static final String PROFILE_OPERATION_NAME = "profile";
+  public static final String PROFILE_OPERATION_DESCRIPTION =
+      "Collects the CPU and wait time of each flow and processor during the last minute in JSON format";
+
+  public static final String APPLICATION_ARGUMENT_NAME = "application";
+  public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to collect the profile from";
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  private final DeploymentService deploymentService;
+
+  public ProfileOperation(DeploymentService deploymentService) {
+    this.deploymentService = deploymentService;
+  }
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      JSONObject profiles = new JSONObject();
+      final String applicationName = arguments.get(APPLICATION_ARGUMENT_NAME);
+      if (applicationName == null) {
+        for (Application application : deploymentService.getApplications()) {
+          profiles.put(application.getArtifactName(), getProfile(application));
+        }
+      } else {
+        Application application = deploymentService.findApplication(applicationName);
+        profiles.put(application.getArtifactName(), getProfile(application));
+      }
+      return profiles.toString(2);
+    };
+  }
+
+  private static JSONObject getProfile(Application application) {
+    JSONObject profile = new JSONObject();
+    Optional<ComponentSamplingProfiler> profiler = getSamplingProfiler(application);
+    profile.put("enabled", profiler.isPresent());
+    profiler.ifPresent(p -> {
+      profile.put("samplingIntervalMillis", p.getSamplingIntervalMillis());
+      profile.put("windowMillis", p.getWindowMillis());
+      profile.put("flows", flowsToJSON(p));
+    });
+    return profile;
+  }
+
+  private static Optional<ComponentSamplingProfiler> getSamplingProfiler(Application application) {
+    return application
+        .getArtifactContext()
+        .getRegistry()
+        .lookupByName(MULE_PROFILING_SERVICE_KEY)
+        .filter(ProfilingServiceWrapper.class::isInstance)
+        .map(profilingService -> ((ProfilingServiceWrapper) profilingService).getProfilingService())
+        .filter(DefaultProfilingService.class::isInstance)
+        .flatMap(profilingService -> ((DefaultProfilingService) profilingService).getComponentSamplingProfiler());
+  }
+
+  private static JSONObject flowsToJSON(ComponentSamplingProfiler profiler) {
+    JSONObject flows = new JSONObject();
+    for (ComponentSamplingProfile componentProfile : profiler.getComponentProfiles()) {
+      JSONObject flow = flows.optJSONObject(componentProfile.getFlowName());
+      if (flow == null) {
+        flow = new JSONObject();
+        flow.put("samples", 0L);
+        flow.put("cpuTimeMillis", 0L);
+        flow.put("waitTimeMillis", 0L);
+        flow.put("processors", new JSONObject());
+        flows.put(componentProfile.getFlowName(), flow);
+      }
+
+      flow.put("samples", flow.getLong("samples") + componentProfile.getSamples());
+      flow.put("cpuTimeMillis", flow.getLong("cpuTimeMillis") + toMillis(componentProfile.getCpuTimeNanos()));
+      flow.put("waitTimeMillis", flow.getLong("waitTimeMillis") + toMillis(componentProfile.getWaitTimeNanos()));
+      flow.getJSONObject("processors").put(componentProfile.getLocation(), componentProfileToJSON(componentProfile));
+    }
+    return flows;
+  }
+
+  private static JSONObject componentProfileToJSON(ComponentSamplingProfile componentProfile) {
+    JSONObject profileAsJSON = new JSONObject();
+    profileAsJSON.put("samples", componentProfile.getSamples());
+    profileAsJSON.put("cpuTimeMillis", toMillis(componentProfile.getCpuTimeNanos()));
+    profileAsJSON.put("waitTimeMillis", toMillis(componentProfile.getWaitTimeNanos()));
+    return profileAsJSON;
+  }
+
+  private static long toMillis(long nanos) {
+    return NANOSECONDS.toMillis(nanos);
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(PROFILE_OPERATION_NAME, PROFILE_OPERATION_DESCRIPTION,
+                                                         createApplicationArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createApplicationArgumentDefinition() {
+    return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
+  }
+}
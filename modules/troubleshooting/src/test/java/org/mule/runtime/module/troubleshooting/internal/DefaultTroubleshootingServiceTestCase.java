@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.troubleshooting.internal;
 
+import static com.google.gson.JsonParser.parseString;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
@@ -15,7 +16,10 @@ import static org.mule.runtime.module.troubleshooting.internal.TestTroubleshooti
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockFlowStackEntry;
+import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.APPLICATION_ARGUMENT_NAME;
 import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.EVENT_DUMP_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.MetricsOperation.METRICS_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ProfileOperation.PROFILE_OPERATION_NAME;
 
 import org.junit.After;
 import org.junit.Before;
@@ -26,6 +30,8 @@ import org.mule.runtime.module.deployment.api.DeploymentService;
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationException;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,10 +58,11 @@ public class DefaultTroubleshootingServiceTestCase {
   @Test
   public void checkOperations() {
     List<TroubleshootingOperationDefinition> availableOperations = troubleshootingService.getAvailableOperations();
-    assertThat(availableOperations.size(), is(2));
+    assertThat(availableOperations.size(), is(4));
 
     List<String> operationNames = availableOperations.stream().map(TroubleshootingOperationDefinition::getName).collect(toList());
-    assertThat(operationNames, containsInAnyOrder(EVENT_DUMP_OPERATION_NAME, TEST_OPERATION_NAME));
+    assertThat(operationNames, containsInAnyOrder(EVENT_DUMP_OPERATION_NAME, METRICS_OPERATION_NAME, PROFILE_OPERATION_NAME,
+                                                  TEST_OPERATION_NAME));
   }
 
   @Test(expected = TroubleshootingOperationException.class)
@@ -76,6 +83,23 @@ public class DefaultTroubleshootingServiceTestCase {
     troubleshootingService.executeOperation(TEST_OPERATION_NAME, unexpectedParameter);
   }
 
+  @Test
+  public void executeOperationWritingTheResult() throws TroubleshootingOperationException, IOException {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(APPLICATION_ARGUMENT_NAME, "app1");
+    StringWriter writer = new StringWriter();
+    troubleshootingService.executeOperation(EVENT_DUMP_OPERATION_NAME, arguments, writer);
+
+    assertThat(parseString(writer.toString()),
+               is(parseString((String) troubleshootingService.executeOperation(EVENT_DUMP_OPERATION_NAME, arguments))));
+  }
+
+  @Test(expected = TroubleshootingOperationException.class)
+  public void executeNotExistingOperationWritingTheResultThrowsException()
+      throws TroubleshootingOperationException, IOException {
+    troubleshootingService.executeOperation("notExistingOperation", new HashMap<>(), new StringWriter());
+  }
+
   @Test
   public void notIncludingOptionalIsOk() throws TroubleshootingOperationException {
     Map<String, String> onlyRequired = new HashMap<>();
@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.module.troubleshooting.internal;
 
+import static java.time.Instant.now;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.of;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -22,6 +25,10 @@ import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactContext;
 import org.mule.runtime.module.deployment.api.DeploymentService;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
 public final class TroubleshootingTestUtils {
 
   private TroubleshootingTestUtils() {}
@@ -40,7 +47,13 @@ public final class TroubleshootingTestUtils {
     when(mockApp.getArtifactName()).thenReturn(appName);
 
     EventContextService eventContextService = mock(EventContextService.class);
-    when(eventContextService.getCurrentlyActiveFlowStacks()).thenReturn(asList(flowStackEntries));
+    List<FlowStackEntry> flowStackEntriesList = asList(flowStackEntries);
+    when(eventContextService.getCurrentlyActiveFlowStacks()).thenReturn(flowStackEntriesList);
+    doAnswer(invocation -> {
+      Consumer<FlowStackEntry> visitor = invocation.getArgument(1);
+      flowStackEntriesList.forEach(visitor);
+      return null;
+    }).when(eventContextService).visitCurrentlyActiveFlowStacks(any(), any());
 
     Registry registry = mock(Registry.class);
     when(registry.lookupByName(EventContextService.REGISTRY_KEY)).thenReturn(of(eventContextService));
@@ -52,11 +65,16 @@ public final class TroubleshootingTestUtils {
   }
 
   public static FlowStackEntry mockFlowStackEntry() {
+    return mockFlowStackEntry("EventId", "MockLocation", now());
+  }
+
+  public static FlowStackEntry mockFlowStackEntry(String eventId, String processorPath, Instant receivedTime) {
     FlowStackEntry mockEntry = mock(FlowStackEntry.class);
-    when(mockEntry.getEventId()).thenReturn("EventId");
+    when(mockEntry.getEventId()).thenReturn(eventId);
     when(mockEntry.getServerId()).thenReturn("ServerId");
+    when(mockEntry.getReceivedTime()).thenReturn(receivedTime);
 
-    FlowStackElement flowStackElement = new FlowStackElement("MockFlow", "MockLocation");
+    FlowStackElement flowStackElement = new FlowStackElement("MockFlow", processorPath);
 
     FlowCallStack flowCallStack = mock(FlowCallStack.class);
     when(flowCallStack.getElements()).thenReturn(singletonList(flowStackElement));
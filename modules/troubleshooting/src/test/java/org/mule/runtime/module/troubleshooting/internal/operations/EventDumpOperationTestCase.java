@@ -7,20 +7,30 @@
 package org.mule.runtime.module.troubleshooting.internal.operations;
 
 import static com.google.gson.JsonParser.parseString;
+import static java.time.Instant.now;
 import static java.util.Optional.empty;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockFlowStackEntry;
+import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.AGGREGATE_ARGUMENT_NAME;
 import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.APPLICATION_ARGUMENT_DESCRIPTION;
 import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.APPLICATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.COMPONENT_ARGUMENT_NAME;
 import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.EVENT_DUMP_OPERATION_DESCRIPTION;
 import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.EVENT_DUMP_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.FLOW_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.MIN_AGE_ARGUMENT_NAME;
 
 import com.google.gson.JsonElement;
+import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 import org.mule.runtime.api.artifact.Registry;
@@ -30,6 +40,8 @@ import org.mule.runtime.deployment.model.api.application.Application;
 import org.mule.runtime.module.deployment.api.DeploymentService;
 import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -51,7 +63,7 @@ public class EventDumpOperationTestCase {
   public void definitionHasCorrectNameDescriptionAndNumberOfArguments() {
     assertThat(eventDumpOperation.getDefinition().getName(), is(EVENT_DUMP_OPERATION_NAME));
     assertThat(eventDumpOperation.getDefinition().getDescription(), is(EVENT_DUMP_OPERATION_DESCRIPTION));
-    assertThat(eventDumpOperation.getDefinition().getArgumentDefinitions().size(), is(1));
+    assertThat(eventDumpOperation.getDefinition().getArgumentDefinitions().size(), is(5));
   }
 
   @Test
@@ -96,4 +108,98 @@ public class EventDumpOperationTestCase {
     arguments.put(APPLICATION_ARGUMENT_NAME, "app1");
     eventDumpOperation.getCallback().execute(arguments);
   }
+
+  @Test
+  public void whenExecutedWithoutAWriterItReturnsThePrettyPrintedResult() {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(APPLICATION_ARGUMENT_NAME, "app1");
+    String result = (String) eventDumpOperation.getCallback().execute(arguments);
+
+    assertThat(result, is(new JSONObject(result).toString(2)));
+    assertThat(result, containsString("\"eventId\": \"EventId\""));
+  }
+
+  @Test
+  public void whenExecutedWithAWriterItWritesTheSameResult() throws IOException {
+    Map<String, String> arguments = new HashMap<>();
+    StringWriter writer = new StringWriter();
+    eventDumpOperation.getCallback().execute(arguments, writer);
+
+    JsonElement resultJson = parseString(writer.toString());
+    JsonElement expectedJson = parseString((String) eventDumpOperation.getCallback().execute(arguments));
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
+
+  @Test
+  public void whenFlowIsPassedOnlyItsEventsAreVisited() {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(APPLICATION_ARGUMENT_NAME, "app1");
+    arguments.put(FLOW_ARGUMENT_NAME, "flow");
+    eventDumpOperation.getCallback().execute(arguments);
+
+    EventContextService eventContextService = (EventContextService) deploymentService.findApplication("app1")
+        .getArtifactContext().getRegistry().lookupByName(EventContextService.REGISTRY_KEY).get();
+    verify(eventContextService).visitCurrentlyActiveFlowStacks(eq("flow"), any());
+  }
+
+  @Test
+  public void whenMinAgeIsPassedItReturnsOnlyTheOlderEvents() {
+    FlowStackEntry[] entries = {
+        mockFlowStackEntry("old", "flow/processors/0", now().minusSeconds(10)),
+        mockFlowStackEntry("new", "flow/processors/0", now())
+    };
+    EventDumpOperation operation = new EventDumpOperation(mockDeploymentService(mockApplication("app", entries)));
+
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(MIN_AGE_ARGUMENT_NAME, "5000");
+    Object result = operation.getCallback().execute(arguments);
+
+    JsonElement resultJson = parseString((String) result);
+    JsonElement expectedJson =
+        parseString("{\"app\":[{\"eventId\":\"old\",\"serverId\":\"ServerId\",\"flowCallStack\":[\"MockFlow(flow/processors/0)\"]}]}");
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenMinAgeIsNotANumberItRaisesAnException() {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(MIN_AGE_ARGUMENT_NAME, "notANumber");
+    eventDumpOperation.getCallback().execute(arguments);
+  }
+
+  @Test
+  public void whenComponentIsPassedItReturnsOnlyTheEventsInIt() {
+    FlowStackEntry[] entries = {
+        mockFlowStackEntry("nested", "flow/processors/0/processors/1", now()),
+        mockFlowStackEntry("other", "flow/processors/1", now())
+    };
+    EventDumpOperation operation = new EventDumpOperation(mockDeploymentService(mockApplication("app", entries)));
+
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(COMPONENT_ARGUMENT_NAME, "flow/processors/0");
+    Object result = operation.getCallback().execute(arguments);
+
+    JsonElement resultJson = parseString((String) result);
+    JsonElement expectedJson =
+        parseString("{\"app\":[{\"eventId\":\"nested\",\"serverId\":\"ServerId\",\"flowCallStack\":[\"MockFlow(flow/processors/0/processors/1)\"]}]}");
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
+
+  @Test
+  public void whenAggregateIsPassedItReturnsTheAmountOfEventsWaitingInEachComponent() {
+    FlowStackEntry[] entries = {
+        mockFlowStackEntry("1", "flow/processors/0", now()),
+        mockFlowStackEntry("2", "flow/processors/0", now()),
+        mockFlowStackEntry("3", "flow/processors/1", now())
+    };
+    EventDumpOperation operation = new EventDumpOperation(mockDeploymentService(mockApplication("app", entries)));
+
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(AGGREGATE_ARGUMENT_NAME, "true");
+    Object result = operation.getCallback().execute(arguments);
+
+    JsonElement resultJson = parseString((String) result);
+    JsonElement expectedJson = parseString("{\"app\":{\"flow/processors/0\":2,\"flow/processors/1\":1}}");
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static com.google.gson.JsonParser.parseString;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
+import static org.mule.runtime.module.troubleshooting.internal.operations.MetricsOperation.APPLICATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.MetricsOperation.FORMAT_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.MetricsOperation.METRICS_OPERATION_DESCRIPTION;
+import static org.mule.runtime.module.troubleshooting.internal.operations.MetricsOperation.METRICS_OPERATION_NAME;
+
+import com.google.gson.JsonElement;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatistics;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class MetricsOperationTestCase {
+
+  private MetricsOperation metricsOperation;
+
+  @Before
+  public void setup() {
+    ComponentLatencyStatistics loggerStatistics = new ComponentLatencyStatistics("flow/processors/0", "mule:logger", "flow");
+    loggerStatistics.recordLatency(2_000_000);
+    loggerStatistics.recordLatency(2_000_000);
+    loggerStatistics.recordError();
+
+    Application app1 = mockApplicationWithStatistics("app1", asList(loggerStatistics));
+    Application app2 = mockApplicationWithStatistics("app2", emptyList());
+    metricsOperation = new MetricsOperation(mockDeploymentService(app1, app2));
+  }
+
+  @Test
+  public void definitionHasCorrectNameDescriptionAndNumberOfArguments() {
+    assertThat(metricsOperation.getDefinition().getName(), is(METRICS_OPERATION_NAME));
+    assertThat(metricsOperation.getDefinition().getDescription(), is(METRICS_OPERATION_DESCRIPTION));
+    assertThat(metricsOperation.getDefinition().getArgumentDefinitions().size(), is(2));
+  }
+
+  @Test
+  public void whenNoFormatIsPassedItReturnsJsonForAllApplications() {
+    Object result = metricsOperation.getCallback().execute(new HashMap<>());
+
+    JsonElement resultJson = parseString((String) result);
+    JsonElement expectedJson =
+        parseString("{\"app1\":{\"flow\":{\"flow/processors/0\":{\"component\":\"mule:logger\",\"executions\":2,\"errors\":1,"
+            + "\"meanMicros\":2000,\"p50Micros\":2000,\"p90Micros\":2000,\"p99Micros\":2000,\"maxMicros\":2000}}},"
+            + "\"app2\":{}}");
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
+
+  @Test
+  public void whenApplicationIsPassedItReturnsOnlyThePassedOne() {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(APPLICATION_ARGUMENT_NAME, "app2");
+    Object result = metricsOperation.getCallback().execute(arguments);
+
+    assertThat(parseString((String) result), is(equalTo(parseString("{\"app2\":{}}"))));
+  }
+
+  @Test
+  public void whenPrometheusFormatIsPassedItReturnsTheExposition() {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(FORMAT_ARGUMENT_NAME, "prometheus");
+    String result = (String) metricsOperation.getCallback().execute(arguments);
+
+    String labels = "flow=\"flow\",location=\"flow/processors/0\",component=\"mule:logger\"";
+    assertThat(result, allOf(containsString("# Application: app1\n"),
+                             containsString("# Application: app2\n"),
+                             containsString("# TYPE mule_component_latency_seconds summary\n"),
+                             containsString("mule_component_latency_seconds{" + labels + ",quantile=\"0.5\"} 0.002\n"),
+                             containsString("mule_component_latency_seconds_sum{" + labels + "} 0.004\n"),
+                             containsString("mule_component_latency_seconds_count{" + labels + "} 2\n"),
+                             containsString("# TYPE mule_component_errors_total counter\n"),
+                             containsString("mule_component_errors_total{" + labels + "} 1\n")));
+  }
+
+  @Test
+  public void whenPrometheusFormatIsPassedForAnApplicationItReturnsOnlyThePassedOne() {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(FORMAT_ARGUMENT_NAME, "prometheus");
+    arguments.put(APPLICATION_ARGUMENT_NAME, "app2");
+    String result = (String) metricsOperation.getCallback().execute(arguments);
+
+    assertThat(result, allOf(containsString("# Application: app2\n"), not(containsString("mule:logger"))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenFormatIsNotSupportedItRaisesAnException() {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(FORMAT_ARGUMENT_NAME, "unsupported");
+    metricsOperation.getCallback().execute(arguments);
+  }
+
+  private static Application mockApplicationWithStatistics(String appName, Collection<ComponentLatencyStatistics> statistics) {
+    Application application = mockApplication(appName);
+
+    AllStatistics allStatistics = mock(AllStatistics.class);
+    when(allStatistics.getComponentLatencyStatistics()).thenReturn(statistics);
+    MuleContext muleContext = mock(MuleContext.class);
+    when(muleContext.getStatistics()).thenReturn(allStatistics);
+    when(application.getArtifactContext().getMuleContext()).thenReturn(muleContext);
+
+    ArtifactClassLoader artifactClassLoader = mock(ArtifactClassLoader.class);
+    when(artifactClassLoader.getClassLoader()).thenReturn(MetricsOperationTestCase.class.getClassLoader());
+    when(application.getArtifactClassLoader()).thenReturn(artifactClassLoader);
+    return application;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static com.google.gson.JsonParser.parseString;
+import static java.util.Arrays.asList;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PROFILING_SERVICE_KEY;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ProfileOperation.APPLICATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ProfileOperation.PROFILE_OPERATION_DESCRIPTION;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ProfileOperation.PROFILE_OPERATION_NAME;
+
+import com.google.gson.JsonElement;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.core.internal.profiling.DefaultProfilingService;
+import org.mule.runtime.core.internal.profiling.ProfilingServiceWrapper;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentSamplingProfile;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentSamplingProfiler;
+import org.mule.runtime.deployment.model.api.application.Application;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ProfileOperationTestCase {
+
+  private static final String APP1_PROFILE = "{\"enabled\":true,\"samplingIntervalMillis\":10,\"windowMillis\":60000,"
+      + "\"flows\":{"
+      + "\"flow\":{\"samples\":5,\"cpuTimeMillis\":30,\"waitTimeMillis\":45,\"processors\":{"
+      + "\"flow/processors/0\":{\"samples\":3,\"cpuTimeMillis\":20,\"waitTimeMillis\":5},"
+      + "\"flow/processors/1\":{\"samples\":2,\"cpuTimeMillis\":10,\"waitTimeMillis\":40}}},"
+      + "\"other\":{\"samples\":1,\"cpuTimeMillis\":1,\"waitTimeMillis\":0,\"processors\":{"
+      + "\"other/processors/0\":{\"samples\":1,\"cpuTimeMillis\":1,\"waitTimeMillis\":0}}}}}";
+
+  private ProfileOperation profileOperation;
+
+  @Before
+  public void setup() {
+    ComponentSamplingProfiler profiler = mock(ComponentSamplingProfiler.class);
+    when(profiler.getSamplingIntervalMillis()).thenReturn(10L);
+    when(profiler.getWindowMillis()).thenReturn(60000L);
+    when(profiler.getComponentProfiles())
+        .thenReturn(asList(new ComponentSamplingProfile("flow", "flow/processors/0", 3, 20_000_000, 5_000_000),
+                           new ComponentSamplingProfile("flow", "flow/processors/1", 2, 10_000_000, 40_000_000),
+                           new ComponentSamplingProfile("other", "other/processors/0", 1, 1_000_000, 0)));
+
+    DefaultProfilingService profilingService = mock(DefaultProfilingService.class);
+    when(profilingService.getComponentSamplingProfiler()).thenReturn(of(profiler));
+    ProfilingServiceWrapper profilingServiceWrapper = mock(ProfilingServiceWrapper.class);
+    when(profilingServiceWrapper.getProfilingService()).thenReturn(profilingService);
+
+    Application app1 = mockApplication("app1");
+    when(app1.getArtifactContext().getRegistry().lookupByName(MULE_PROFILING_SERVICE_KEY))
+        .thenReturn(of(profilingServiceWrapper));
+    Application app2 = mockApplication("app2");
+    profileOperation = new ProfileOperation(mockDeploymentService(app1, app2));
+  }
+
+  @Test
+  public void definitionHasCorrectNameDescriptionAndNumberOfArguments() {
+    assertThat(profileOperation.getDefinition().getName(), is(PROFILE_OPERATION_NAME));
+    assertThat(profileOperation.getDefinition().getDescription(), is(PROFILE_OPERATION_DESCRIPTION));
+    assertThat(profileOperation.getDefinition().getArgumentDefinitions().size(), is(1));
+  }
+
+  @Test
+  public void whenNoApplicationIsPassedItReturnsAllApplications() {
+    Object result = profileOperation.getCallback().execute(new HashMap<>());
+
+    JsonElement resultJson = parseString((String) result);
+    JsonElement expectedJson = parseString("{\"app1\":" + APP1_PROFILE + ",\"app2\":{\"enabled\":false}}");
+    assertThat(resultJson, is(equalTo(expectedJson)));
+  }
+
+  @Test
+  public void whenApplicationIsPassedItReturnsOnlyThePassedOne() {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(APPLICATION_ARGUMENT_NAME, "app1");
+    Object result = profileOperation.getCallback().execute(arguments);
+
+    assertThat(parseString((String) result), is(equalTo(parseString("{\"app1\":" + APP1_PROFILE + "}"))));
+  }
+
+  @Test
+  public void whenProfilerIsNotEnabledItReturnsDisabled() {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(APPLICATION_ARGUMENT_NAME, "app2");
+    Object result = profileOperation.getCallback().execute(arguments);
+
+    assertThat(parseString((String) result), is(equalTo(parseString("{\"app2\":{\"enabled\":false}}"))));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.concurrent;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.internal.lock.InstanceLockGroup;
+import org.mule.runtime.core.internal.lock.SingleServerLockProvider;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the contention of {@link InstanceLockGroup} when locking many unrelated ids, as idempotent filters do with message
+ * ids, and when locking a single id from all the threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class InstanceLockGroupBenchmark extends AbstractBenchmark {
+
+  private static final int LOCK_IDS = 1024;
+
+  @Param({"true", "false"})
+  public boolean fair;
+
+  private final String[] lockIds = new String[LOCK_IDS];
+  private InstanceLockGroup lockGroup;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    for (int i = 0; i < LOCK_IDS; ++i) {
+      lockIds[i] = "message-" + i;
+    }
+    lockGroup = new InstanceLockGroup(new SingleServerLockProvider(fair));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    lockGroup.dispose();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void lockUnrelatedIds() {
+    String lockId = lockIds[ThreadLocalRandom.current().nextInt(LOCK_IDS)];
+    lockGroup.lock(lockId);
+    lockGroup.unlock(lockId);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public boolean tryLockUnrelatedIds() {
+    String lockId = lockIds[ThreadLocalRandom.current().nextInt(LOCK_IDS)];
+    if (lockGroup.tryLock(lockId)) {
+      lockGroup.unlock(lockId);
+      return true;
+    }
+    return false;
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void lockSameId() {
+    lockGroup.lock(lockIds[0]);
+    lockGroup.unlock(lockIds[0]);
+  }
+}
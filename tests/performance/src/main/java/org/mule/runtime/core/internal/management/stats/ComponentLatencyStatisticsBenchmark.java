@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentLatencyStatistics;
+import org.mule.runtime.core.api.management.stats.ComponentStatistics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the overhead of recording the latency of a component in its {@link ComponentLatencyStatistics}, compared to the
+ * execution time recorded in {@link ComponentStatistics}.
+ * <p>
+ * The recorder is also measured from all the available threads, each one with many events in progress, as a component does
+ * under load.
+ */
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Benchmark)
+public class ComponentLatencyStatisticsBenchmark extends AbstractBenchmark {
+
+  // Events each thread has in progress
+  private static final int EVENTS_IN_PROGRESS = 256;
+
+  private MuleContext muleContext;
+  private Flow flow;
+  private AllStatistics allStatistics;
+  private int index;
+  private ComponentStatistics componentStatistics;
+  private ComponentLatencyRecorder recorder;
+  private ComponentLatencyRecorder nestedRecorder;
+  private EventContext eventContext;
+
+  private long latency;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    flow = createFlow(muleContext);
+
+    allStatistics = new AllStatistics();
+    index = allStatistics.registerComponentLatencyStatistics(flow);
+    componentStatistics = new ComponentStatistics();
+    componentStatistics.setEnabled(true);
+    recorder = new ComponentLatencyRecorder(allStatistics, index);
+    nestedRecorder = new ComponentLatencyRecorder(allStatistics, index);
+    eventContext = createEvent(flow).getContext();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public void componentStatistics() {
+    componentStatistics.addExecutionTime(++latency);
+  }
+
+  @Benchmark
+  public void recordLatency() {
+    allStatistics.getComponentLatencyStatistics(index).recordLatency(++latency);
+  }
+
+  @Benchmark
+  public void recorderStartedFinished() {
+    recorder.started(eventContext);
+    recorder.finished(eventContext);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void recorderStartedFinishedConcurrently(ThreadEvents threadEvents) {
+    recorder.started(threadEvents.nextStarted());
+    recorder.finished(threadEvents.nextFinished());
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void recorderNestedConcurrently(ThreadEvents threadEvents) {
+    EventContext context = threadEvents.nextStarted();
+    recorder.started(context);
+    nestedRecorder.started(context);
+    nestedRecorder.finished(context);
+    recorder.finished(context);
+  }
+
+  @Benchmark
+  public long percentile() {
+    return allStatistics.getComponentLatencyStatistics(index).getLatencyNanosAtPercentile(99);
+  }
+
+  /**
+   * The events a thread has in progress. Each one is started by an invocation and finished half a round later.
+   */
+  @State(Scope.Thread)
+  public static class ThreadEvents {
+
+    private final EventContext[] contexts = new EventContext[EVENTS_IN_PROGRESS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(ComponentLatencyStatisticsBenchmark benchmark) {
+      for (int i = 0; i < EVENTS_IN_PROGRESS; ++i) {
+        contexts[i] = benchmark.createEvent(benchmark.flow).getContext();
+      }
+    }
+
+    EventContext nextStarted() {
+      next = (next + 1) % EVENTS_IN_PROGRESS;
+      return contexts[next];
+    }
+
+    EventContext nextFinished() {
+      return contexts[(next + EVENTS_IN_PROGRESS / 2) % EVENTS_IN_PROGRESS];
+    }
+  }
+}
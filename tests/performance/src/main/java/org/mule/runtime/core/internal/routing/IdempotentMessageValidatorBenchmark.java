@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.lang.Long.toHexString;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_IDEMPOTENT_VALIDATOR_PREFILTER_EXPECTED_IDS_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.config.MuleDeploymentProperties.MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.tck.junit4.AbstractMuleContextTestCase.getAppleFlowComponentLocationAnnotations;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.SimpleMemoryObjectStore;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the throughput of an {@link IdempotentMessageValidator} accepting new ids when each one is checked and written to its
+ * store as its message is processed, against using the prefilter, batching the writes, or both. The store of the validator
+ * takes {@code storeLatencyMicros} for each operation, as a remote or persistent one does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+public class IdempotentMessageValidatorBenchmark extends AbstractBenchmark {
+
+  private static final long BATCHING_WINDOW_MILLIS = 100;
+
+  @Param({"PER_MESSAGE", "PREFILTER", "BATCHING", "PREFILTER_AND_BATCHING"})
+  public String storeAccess;
+
+  @Param({"0", "50"})
+  public long storeLatencyMicros;
+
+  private MuleContext muleContext;
+  private EventContext eventContext;
+  private IdempotentMessageValidator validator;
+  private final AtomicLong nextId = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    eventContext = create(createFlow(muleContext), CONNECTOR_LOCATION);
+
+    Properties deploymentProperties = muleContext.getDeploymentProperties();
+    if (storeAccess.startsWith("PREFILTER")) {
+      deploymentProperties.setProperty(MULE_IDEMPOTENT_VALIDATOR_PREFILTER_DEPLOYMENT_PROPERTY, "true");
+      deploymentProperties.setProperty(MULE_IDEMPOTENT_VALIDATOR_PREFILTER_EXPECTED_IDS_DEPLOYMENT_PROPERTY, "50000000");
+    }
+    if (storeAccess.endsWith("BATCHING")) {
+      deploymentProperties.setProperty(MULE_IDEMPOTENT_VALIDATOR_STORE_BATCHING_WINDOW_DEPLOYMENT_PROPERTY,
+                                       Long.toString(BATCHING_WINDOW_MILLIS));
+    }
+
+    validator = new IdempotentMessageValidator() {
+
+      @Override
+      protected ObjectStore<String> createMessageIdStore() {
+        return new SlowObjectStore(MICROSECONDS.toNanos(storeLatencyMicros));
+      }
+    };
+    validator.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    validator.setIdExpression("#[payload]");
+    initialiseIfNeeded(validator, muleContext);
+    startIfNeeded(validator);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws MuleException {
+    stopIfNeeded(validator);
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent newId() throws MuleException {
+    return validator.process(CoreEvent.builder(eventContext).message(of(toHexString(nextId.incrementAndGet()))).build());
+  }
+
+  private static class SlowObjectStore extends SimpleMemoryObjectStore<String> {
+
+    private final long latencyNanos;
+
+    SlowObjectStore(long latencyNanos) {
+      this.latencyNanos = latencyNanos;
+    }
+
+    @Override
+    protected boolean doContains(String key) throws ObjectStoreException {
+      parkNanos(latencyNanos);
+      return super.doContains(key);
+    }
+
+    @Override
+    protected void doStore(String key, String value) throws ObjectStoreException {
+      parkNanos(latencyNanos);
+      super.doStore(key, value);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.policy;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.nCopies;
+import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.component.execution.CompletableCallback;
+import org.mule.runtime.api.functional.Either;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.util.func.CheckedFunction;
+import org.mule.runtime.core.internal.message.InternalEvent;
+import org.mule.runtime.core.internal.policy.MessageSourceResponseParametersProcessor;
+import org.mule.runtime.core.internal.policy.NoSourcePolicy;
+import org.mule.runtime.core.internal.policy.SourcePolicy;
+import org.mule.runtime.core.internal.policy.SourcePolicyContext;
+import org.mule.runtime.core.internal.policy.SourcePolicyFailureResult;
+import org.mule.runtime.core.internal.policy.SourcePolicySuccessResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares dispatching {@code batchSize} source messages through the source policy one by one against dispatching them as a
+ * single micro-batch. Both benchmarks dispatch the same amount of messages per invocation and wait for all of them to complete.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class SourceMicroBatchingBenchmark extends AbstractBenchmark {
+
+  @Param({"16", "64"})
+  public int batchSize;
+
+  private SourcePolicy handler;
+  private MessageSourceResponseParametersProcessor sourceRpp;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    handler = new NoSourcePolicy(eventPub -> Flux.from(eventPub)
+        .flatMap(e -> Mono.just(e)));
+
+    sourceRpp = new MessageSourceResponseParametersProcessor() {
+
+      @Override
+      public CheckedFunction<CoreEvent, Map<String, Object>> getSuccessfulExecutionResponseParametersFunction() {
+        return event -> emptyMap();
+      }
+
+      @Override
+      public CheckedFunction<CoreEvent, Map<String, Object>> getFailedExecutionResponseParametersFunction() {
+        return event -> emptyMap();
+      }
+    };
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void perMessage() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(batchSize);
+    for (int i = 0; i < batchSize; ++i) {
+      handler.process(createSourceEvent(), sourceRpp, countDown(latch));
+    }
+    latch.await();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void microBatch() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(batchSize);
+    List<CoreEvent> events = new ArrayList<>(batchSize);
+    List<CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>>> callbacks =
+        new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; ++i) {
+      events.add(createSourceEvent());
+      callbacks.add(countDown(latch));
+    }
+
+    handler.processBatch(events, nCopies(batchSize, sourceRpp), callbacks);
+    latch.await();
+  }
+
+  private CoreEvent createSourceEvent() {
+    CoreEvent event = CoreEvent.builder(create("", "", CONNECTOR_LOCATION, null, empty()))
+        .message(Message.builder().value(PAYLOAD).build())
+        .build();
+    ((InternalEvent) event).setSourcePolicyContext(new SourcePolicyContext(null));
+    return event;
+  }
+
+  private CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>> countDown(CountDownLatch latch) {
+    return new CompletableCallback<Either<SourcePolicyFailureResult, SourcePolicySuccessResult>>() {
+
+      @Override
+      public void complete(Either<SourcePolicyFailureResult, SourcePolicySuccessResult> value) {
+        latch.countDown();
+      }
+
+      @Override
+      public void error(Throwable e) {
+        latch.countDown();
+      }
+    };
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.deployment.model.internal;
+
+import static org.mule.runtime.module.artifact.api.classloader.ChildOnlyLookupStrategy.CHILD_ONLY;
+import static org.mule.runtime.module.artifact.api.classloader.ParentFirstLookupStrategy.PARENT_FIRST;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.management.ManagementFactory.getClassLoadingMXBean;
+import static java.lang.management.ManagementFactory.getMemoryPoolMXBeans;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.apache.commons.io.FileUtils.toFile;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.openjdk.jmh.annotations.AuxCounters.Type.EVENTS;
+import static org.openjdk.jmh.annotations.Level.Iteration;
+import static org.openjdk.jmh.annotations.Scope.Thread;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.deployment.model.api.plugin.ArtifactPluginDescriptor;
+import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.classloader.ClassLoaderLookupPolicy;
+import org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.ClassLoaderModel.ClassLoaderModelBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the deployment of the class loaders of a plugin for many regions, loading all the plugin classes in each of them,
+ * with and without sharing the plugin class loader. Besides the time, the classes loaded and the metaspace used by the
+ * deployment of all the regions are reported as totals per iteration.
+ */
+@OutputTimeUnit(MILLISECONDS)
+public class SharedPluginClassLoadersBenchmark extends AbstractBenchmark {
+
+  private static final String GROUP_ID = "org.apache.commons";
+  private static final String ARTIFACT_ID = "commons-lang3";
+  private static final String PLUGIN_PACKAGE = StringUtils.class.getPackage().getName();
+  private static final int REGIONS = 20;
+
+  @Param({"true", "false"})
+  public String shared;
+
+  private final ClassLoader parent = getClass().getClassLoader();
+  private final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+  private final List<String> pluginClasses = new ArrayList<>();
+  private File sharedPluginsFolder;
+  private SharedPluginClassLoaders sharedPluginClassLoaders;
+  private ArtifactPluginDescriptor descriptor;
+
+  @Setup
+  public void setUp() throws IOException {
+    // Any jar with no dependencies other than the JDK will do, as long as its classes are loaded by the plugin class loader
+    URL pluginJar = StringUtils.class.getProtectionDomain().getCodeSource().getLocation();
+    try (JarFile jarFile = new JarFile(toFile(pluginJar))) {
+      jarFile.stream().map(JarEntry::getName)
+          .filter(name -> name.endsWith(".class") && !name.startsWith("META-INF") && !name.contains("-"))
+          .map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.'))
+          .forEach(pluginClasses::add);
+    }
+
+    when(lookupPolicy.getClassLookupStrategy(anyString()))
+        .thenAnswer(invocation -> ((String) invocation.getArgument(0)).startsWith(PLUGIN_PACKAGE) ? CHILD_ONLY : PARENT_FIRST);
+
+    descriptor = new ArtifactPluginDescriptor(ARTIFACT_ID);
+    descriptor.setBundleDescriptor(new BundleDescriptor.Builder().setGroupId(GROUP_ID).setArtifactId(ARTIFACT_ID)
+        .setVersion("1.0").setClassifier("mule-plugin").build());
+    descriptor.setClassLoaderModel(new ClassLoaderModelBuilder().containing(pluginJar).build());
+
+    sharedPluginsFolder = createTempDirectory("sharedPluginsBenchmark").toFile();
+    sharedPluginClassLoaders = new SharedPluginClassLoaders(singleton(GROUP_ID + ":" + ARTIFACT_ID), sharedPluginsFolder);
+  }
+
+  @TearDown
+  public void tearDown() {
+    deleteQuietly(sharedPluginsFolder);
+  }
+
+  @Benchmark
+  public List<ArtifactClassLoader> deployRegions(ClassLoadingCounters counters) throws ClassNotFoundException {
+    long loadedClassesBefore = getClassLoadingMXBean().getTotalLoadedClassCount();
+    long metaspaceBefore = getMetaspaceUsed();
+
+    List<ArtifactClassLoader> classLoaders = new ArrayList<>(REGIONS);
+    for (int i = 0; i < REGIONS; ++i) {
+      ArtifactClassLoader classLoader = parseBoolean(shared)
+          ? sharedPluginClassLoaders.acquire(parent, descriptor, lookupPolicy)
+          : new MuleArtifactClassLoader(ARTIFACT_ID + "@" + i, descriptor, descriptor.getClassLoaderModel().getUrls(), parent,
+                                        lookupPolicy);
+      for (String pluginClass : pluginClasses) {
+        classLoader.getClassLoader().loadClass(pluginClass);
+      }
+      classLoaders.add(classLoader);
+    }
+
+    counters.loadedClasses += getClassLoadingMXBean().getTotalLoadedClassCount() - loadedClassesBefore;
+    counters.metaspaceKb += (getMetaspaceUsed() - metaspaceBefore) / 1024;
+
+    classLoaders.forEach(ArtifactClassLoader::dispose);
+    return classLoaders;
+  }
+
+  private static long getMetaspaceUsed() {
+    for (MemoryPoolMXBean memoryPool : getMemoryPoolMXBeans()) {
+      if ("Metaspace".equals(memoryPool.getName())) {
+        return memoryPool.getUsage().getUsed();
+      }
+    }
+    return 0;
+  }
+
+  @State(Thread)
+  @AuxCounters(EVENTS)
+  public static class ClassLoadingCounters {
+
+    public long loadedClasses;
+    public long metaspaceKb;
+
+    @Setup(Iteration)
+    public void reset() {
+      loadedClasses = 0;
+      metaspaceKb = 0;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.api.classloader;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.module.artifact.api.classloader.FineGrainedControlClassLoader.DISABLE_RESOURCE_INDEX_PROPERTY;
+
+import org.mule.AbstractBenchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures resource and class lookups on a class loader with as many jars as an application with lots of plugins, with and
+ * without the class path resource index.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class ClassLoaderResourceLookupBenchmark extends AbstractBenchmark {
+
+  private static final int JARS = 50;
+  private static final int PACKAGES_PER_JAR = 20;
+  private static final int ENTRIES_PER_PACKAGE = 20;
+
+  @Param({"true", "false"})
+  public String resourceIndex;
+
+  private File jarsFolder;
+  private FineGrainedControlClassLoader classLoader;
+
+  @Setup
+  public void setUp() throws IOException {
+    jarsFolder = createTempDirectory("resourceLookupBenchmark").toFile();
+    URL[] urls = new URL[JARS];
+    for (int i = 0; i < JARS; i++) {
+      urls[i] = createJar(i);
+    }
+
+    if (!parseBoolean(resourceIndex)) {
+      setProperty(DISABLE_RESOURCE_INDEX_PROPERTY, "true");
+    }
+    try {
+      classLoader = new FineGrainedControlClassLoader(urls, null, mock(ClassLoaderLookupPolicy.class));
+    } finally {
+      clearProperty(DISABLE_RESOURCE_INDEX_PROPERTY);
+    }
+    // builds the index before measuring
+    classLoader.findResource("warmup");
+  }
+
+  @TearDown
+  public void tearDown() {
+    classLoader.dispose();
+    deleteQuietly(jarsFolder);
+  }
+
+  private URL createJar(int index) throws IOException {
+    File file = new File(jarsFolder, "plugin-" + index + ".jar");
+    try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(file))) {
+      for (int p = 0; p < PACKAGES_PER_JAR; p++) {
+        for (int e = 0; e < ENTRIES_PER_PACKAGE; e++) {
+          jar.putNextEntry(new JarEntry("org/plugin" + index + "/package" + p + "/Entry" + e + ".class"));
+          jar.closeEntry();
+        }
+      }
+    }
+    return file.toURI().toURL();
+  }
+
+  @Benchmark
+  public URL missingResource() {
+    return classLoader.findResource("META-INF/services/javax.xml.stream.XMLInputFactory");
+  }
+
+  @Benchmark
+  public Enumeration<URL> missingResources() throws IOException {
+    return classLoader.findResources("META-INF/spring.handlers");
+  }
+
+  @Benchmark
+  public URL existingResourceInLastJar() {
+    return classLoader.findResource("org/plugin" + (JARS - 1) + "/package0/Entry0.class");
+  }
+
+  @Benchmark
+  public Object missingClass() {
+    try {
+      return classLoader.findLocalClass("org.missing.MissingClass");
+    } catch (ClassNotFoundException e) {
+      return e;
+    }
+  }
+}
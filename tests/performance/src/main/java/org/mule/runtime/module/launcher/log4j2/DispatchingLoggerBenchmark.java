@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.launcher.log4j2;
+
+import static org.mule.runtime.module.launcher.log4j2.ArtifactAwareContextSelector.resolveLoggerContextClassLoader;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.mockito.Mockito.mock;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.module.artifact.api.classloader.RegionClassLoader;
+
+import java.net.URI;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.NullConfiguration;
+import org.apache.logging.log4j.core.selector.ContextSelector;
+import org.apache.logging.log4j.message.ParameterizedMessageFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures logging through a {@link DispatchingLogger} from the container and from an artifact, for a level disabled in every
+ * logger context and for an enabled level. The contexts have no appenders so only the dispatching is measured.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class DispatchingLoggerBenchmark extends AbstractBenchmark {
+
+  private static final String LOGGER_NAME = DispatchingLoggerBenchmark.class.getName();
+  private static final String MESSAGE = "Hello Log!";
+
+  @Param({"container", "artifact"})
+  public String contextClassLoader;
+
+  private LoggerContext containerLoggerContext;
+  private LoggerContext artifactLoggerContext;
+  private ClassLoader containerClassLoader;
+  private ClassLoader loggingClassLoader;
+  private Logger logger;
+
+  @Setup
+  public void setUp() {
+    containerClassLoader = currentThread().getContextClassLoader();
+    RegionClassLoader artifactClassLoader = mock(RegionClassLoader.class);
+    loggingClassLoader = "artifact".equals(contextClassLoader) ? artifactClassLoader : containerClassLoader;
+
+    containerLoggerContext = createLoggerContext("container");
+    artifactLoggerContext = createLoggerContext("artifact");
+
+    ContextSelector contextSelector = new ContextSelector() {
+
+      @Override
+      public LoggerContext getContext(String fqcn, ClassLoader loader, boolean currentContext) {
+        return loader == artifactClassLoader ? artifactLoggerContext : containerLoggerContext;
+      }
+
+      @Override
+      public LoggerContext getContext(String fqcn, ClassLoader loader, boolean currentContext, URI configLocation) {
+        return getContext(fqcn, loader, currentContext);
+      }
+
+      @Override
+      public List<LoggerContext> getLoggerContexts() {
+        return asList(containerLoggerContext, artifactLoggerContext);
+      }
+
+      @Override
+      public void removeContext(LoggerContext context) {}
+    };
+
+    Logger originalLogger = containerLoggerContext.getLogger(LOGGER_NAME);
+    logger = new DispatchingLogger(originalLogger, resolveLoggerContextClassLoader(containerClassLoader).hashCode(),
+                                   containerLoggerContext, contextSelector, new ParameterizedMessageFactory()) {
+
+      @Override
+      public String getName() {
+        return LOGGER_NAME;
+      }
+    };
+    DispatchingLogger.loggerConfigurationChanged();
+  }
+
+  private LoggerContext createLoggerContext(String name) {
+    NullConfiguration configuration = new NullConfiguration();
+    configuration.getRootLogger().setLevel(Level.INFO);
+    LoggerContext loggerContext = new LoggerContext(name);
+    loggerContext.start(configuration);
+    return loggerContext;
+  }
+
+  @TearDown
+  public void tearDown() {
+    currentThread().setContextClassLoader(containerClassLoader);
+    containerLoggerContext.stop();
+    artifactLoggerContext.stop();
+  }
+
+  @Benchmark
+  public void debugDisabled() {
+    currentThread().setContextClassLoader(loggingClassLoader);
+    logger.debug(MESSAGE);
+  }
+
+  @Benchmark
+  public boolean isDebugEnabled() {
+    currentThread().setContextClassLoader(loggingClassLoader);
+    return logger.isDebugEnabled();
+  }
+
+  @Benchmark
+  public void infoEnabled() {
+    currentThread().setContextClassLoader(loggingClassLoader);
+    logger.info(MESSAGE);
+  }
+
+}